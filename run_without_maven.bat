@@ -23,11 +23,23 @@ if %ERRORLEVEL% neq 0 (
 )
 
 REM Now compile all the rest with full classpath
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\logging\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\metrics\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\profiling\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\admission\*.java
 javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\api\*.java
 javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\model\*.java
 javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\manager\*.java
 javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\github\*.java
 javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\storage\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\patch\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\events\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\history\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\analytics\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\search\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\bulk\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\generator\*.java
+javac -d target\classes -cp ".;target\classes;libs\*" src\main\java\com\agileteam\sprinttracker\loadtest\*.java
 
 if %ERRORLEVEL% neq 0 (
     echo Compilation failed! Please check the errors above.
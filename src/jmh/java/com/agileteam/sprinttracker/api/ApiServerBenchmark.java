@@ -0,0 +1,79 @@
+package com.agileteam.sprinttracker.api;
+
+import com.agileteam.sprinttracker.benchmark.BenchmarkWorkspace;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.agileteam.sprinttracker.storage.DataStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work in the API server that does not depend on the servlet container: matching
+ * the path to a route and serializing the response body.
+ *
+ * This lives in the api package so it can reach the package-private route table and serializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiServerBenchmark {
+    // From the first route checked to the last, plus one that matches nothing
+    private static final String[] PATHS = {
+        "/sprints",
+        "/sprints/3f2a9c1e-0b7d-4e55-9a1f-2c8d7e6b5a40/stories/8c1d2e3f-4a5b-6c7d-8e9f-0a1b2c3d4e5f/tasks/1",
+        "/team-members/5",
+        "/changes",
+        "/admin/jfr",
+        "/no/such/route"
+    };
+
+    private ApiServer server;
+    private Task task;
+    private List<Task> storyTasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        SprintManager manager = BenchmarkWorkspace.create(BenchmarkWorkspace.TASKS_PER_STORY);
+        DataStorage storage = new DataStorage(Files.createTempDirectory("sprint-tracker-bench").toFile());
+        server = new ApiServer(manager, storage, 0);
+        UserStory story = manager.getAllSprints().get(0).getUserStories().get(0);
+        storyTasks = story.getTasks();
+        task = storyTasks.get(0);
+    }
+
+    @Benchmark
+    public void matchRoute(Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(ApiRoute.match(path));
+        }
+    }
+
+    @Benchmark
+    public String serializeTask() {
+        return server.toResponseJson(task);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String serializeStoryTasks() {
+        return server.toResponseJson(storyTasks);
+    }
+}
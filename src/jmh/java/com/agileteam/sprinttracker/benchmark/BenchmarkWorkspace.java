@@ -0,0 +1,52 @@
+package com.agileteam.sprinttracker.benchmark;
+
+import com.agileteam.sprinttracker.generator.WorkspaceGenerator;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.UserStory;
+
+/**
+ * Builds a deterministic workspace of a given size for benchmarks: sprints of
+ * {@value #STORIES_PER_SPRINT} stories with {@value #TASKS_PER_STORY} tasks each, spread over a
+ * fixed team. The same size always produces the same statuses and assignments.
+ */
+public final class BenchmarkWorkspace {
+    public static final int STORIES_PER_SPRINT = 10;
+    public static final int TASKS_PER_STORY = 100;
+    private static final int TEAM_SIZE = 10;
+    private static final long SEED = 42;
+
+    private BenchmarkWorkspace() {
+    }
+
+    /**
+     * @param taskCount The total number of tasks; rounded up to a whole story, or to a whole
+     *                  sprint once there is more than one
+     */
+    public static SprintManager create(int taskCount) {
+        int tasksPerSprint = STORIES_PER_SPRINT * TASKS_PER_STORY;
+        int storyCount = Math.max(1, (taskCount + TASKS_PER_STORY - 1) / TASKS_PER_STORY);
+
+        WorkspaceGenerator generator = new WorkspaceGenerator();
+        generator.setSeed(SEED);
+        generator.setTeamMemberCount(TEAM_SIZE);
+        generator.setTasksPerStory(TASKS_PER_STORY);
+        if (taskCount <= tasksPerSprint) {
+            generator.setSprintCount(1);
+            generator.setStoriesPerSprint(storyCount);
+        } else {
+            generator.setSprintCount((taskCount + tasksPerSprint - 1) / tasksPerSprint);
+            generator.setStoriesPerSprint(STORIES_PER_SPRINT);
+        }
+
+        // Even mixes, so no status or priority dominates what the benchmarks measure
+        for (Task.Status status : Task.Status.values()) {
+            generator.setStatusWeight(status, 1);
+        }
+        for (UserStory.Priority priority : UserStory.Priority.values()) {
+            generator.setPriorityWeight(priority, 1);
+        }
+        generator.setUnassignedPercent(25);
+        return generator.generate();
+    }
+}
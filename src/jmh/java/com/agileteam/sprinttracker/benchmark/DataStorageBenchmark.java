@@ -0,0 +1,70 @@
+package com.agileteam.sprinttracker.benchmark;
+
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.storage.DataStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading the whole workspace. Every API mutation saves, so save time bounds write
+ * throughput. Files go to a temporary directory, never the real data directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DataStorageBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    private File directory;
+    private DataStorage storage;
+    private SprintManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sprint-tracker-bench").toFile();
+        storage = new DataStorage(directory);
+        manager = BenchmarkWorkspace.create(taskCount);
+        storage.saveData(manager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        storage.saveData(manager);
+    }
+
+    @Benchmark
+    public SprintManager load() throws IOException {
+        return storage.loadData();
+    }
+}
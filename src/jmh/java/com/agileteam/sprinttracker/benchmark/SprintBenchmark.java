@@ -0,0 +1,54 @@
+package com.agileteam.sprinttracker.benchmark;
+
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-sprint aggregates computed when rendering the sprint list and board.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SprintBenchmark {
+    @Param({"100", "1000"})
+    public int tasksInSprint;
+
+    private Sprint sprint;
+
+    @Setup
+    public void setUp() {
+        sprint = BenchmarkWorkspace.create(tasksInSprint).getAllSprints().get(0);
+    }
+
+    @Benchmark
+    public int getCompletionPercentage() {
+        return sprint.getCompletionPercentage();
+    }
+
+    @Benchmark
+    public List<Task> getAllTasks() {
+        return sprint.getAllTasks();
+    }
+
+    @Benchmark
+    public int getTotalStoryPoints() {
+        return sprint.getTotalStoryPoints();
+    }
+}
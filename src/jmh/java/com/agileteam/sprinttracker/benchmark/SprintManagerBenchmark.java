@@ -0,0 +1,79 @@
+package com.agileteam.sprinttracker.benchmark;
+
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups by ID, which the API does on every request for a sprint, story, task or member. The
+ * IDs looked up are the last ones, the worst case for a linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SprintManagerBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    private SprintManager manager;
+    private Sprint lastSprint;
+    private String lastSprintId;
+    private String lastStoryId;
+    private String lastTaskId;
+    private String lastMemberId;
+
+    @Setup
+    public void setUp() {
+        manager = BenchmarkWorkspace.create(taskCount);
+        List<Sprint> sprints = manager.getAllSprints();
+        lastSprint = sprints.get(sprints.size() - 1);
+        lastSprintId = lastSprint.getId();
+        List<UserStory> stories = lastSprint.getUserStories();
+        UserStory lastStory = stories.get(stories.size() - 1);
+        lastStoryId = lastStory.getId();
+        List<Task> tasks = lastStory.getTasks();
+        lastTaskId = tasks.get(tasks.size() - 1).getId();
+        List<TeamMember> members = manager.getAllTeamMembers();
+        lastMemberId = members.get(members.size() - 1).getId();
+    }
+
+    @Benchmark
+    public Optional<Sprint> getSprintById() {
+        return manager.getSprintById(lastSprintId);
+    }
+
+    @Benchmark
+    public Optional<UserStory> getUserStoryById() {
+        return lastSprint.getUserStoryById(lastStoryId);
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return lastSprint.getTaskById(lastTaskId);
+    }
+
+    @Benchmark
+    public Optional<TeamMember> getTeamMemberById() {
+        return manager.getTeamMemberById(lastMemberId);
+    }
+}
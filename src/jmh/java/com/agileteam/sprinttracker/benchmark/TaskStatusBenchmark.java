@@ -0,0 +1,44 @@
+package com.agileteam.sprinttracker.benchmark;
+
+import com.agileteam.sprinttracker.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a status string from a request or an import. The inputs cover the exact enum name, the
+ * frontend's spelling, a display name and an unknown value, which takes the exception path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskStatusBenchmark {
+    @Param({"IN_PROGRESS", "TODO", "In Progress", "blocked"})
+    public String status;
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = new Task("Benchmark task", "");
+    }
+
+    @Benchmark
+    public Task.Status setStatusFromString() {
+        task.setStatus(status);
+        return task.getStatus();
+    }
+}
@@ -1,11 +1,26 @@
 package com.agileteam.sprinttracker;
 
 import com.agileteam.sprinttracker.api.ApiServer;
+import com.agileteam.sprinttracker.bulk.BulkImporter;
+import com.agileteam.sprinttracker.bulk.ImportResult;
+import com.agileteam.sprinttracker.bulk.WorkspaceExporter;
+import com.agileteam.sprinttracker.generator.WorkspaceGenerator;
+import com.agileteam.sprinttracker.loadtest.LoadOperation;
+import com.agileteam.sprinttracker.loadtest.LoadTest;
+import com.agileteam.sprinttracker.logging.Log;
+import com.agileteam.sprinttracker.logging.LogLevel;
 import com.agileteam.sprinttracker.manager.SprintManager;
 import com.agileteam.sprinttracker.storage.DataStorage;
 import com.agileteam.sprinttracker.ui.UIManager;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Main entry point for the Agile Team Sprint Tracker application.
@@ -16,6 +31,18 @@ public class Main {
         System.out.println("Starting Agile Team Sprint Tracker...");
         
         try {
+            // Generator mode: write a synthetic workspace and exit without touching the live data
+            if (args.length > 0 && args[0].equalsIgnoreCase("--generate")) {
+                runGenerator(args);
+                return;
+            }
+
+            // Load test mode: drive an in-process server over a generated workspace and exit
+            if (args.length > 0 && args[0].equalsIgnoreCase("--load-test")) {
+                runLoadTest(args);
+                return;
+            }
+
             // Initialize data storage
             System.out.println("Initializing data storage...");
             DataStorage dataStorage = new DataStorage();
@@ -35,6 +62,16 @@ public class Main {
                 sprintManager = new SprintManager();
             }
 
+            // Bulk import mode: import an NDJSON file and exit
+            if (args.length > 0 && args[0].equalsIgnoreCase("--import")) {
+                if (args.length < 2) {
+                    System.err.println("Usage: --import <file.ndjson>");
+                    return;
+                }
+                runBulkImport(args[1], sprintManager, dataStorage);
+                return;
+            }
+
             // Check if running in API mode or CLI mode
             boolean apiMode = args.length > 0 && args[0].equalsIgnoreCase("--api");
             System.out.println("Running in " + (apiMode ? "API" : "CLI") + " mode");
@@ -48,13 +85,16 @@ public class Main {
                     apiServer.start();
                     System.out.println("API Server started. Press Ctrl+C to stop.");
                     
-                    // Keep the main thread alive
+                    // Drain requests and save on SIGTERM or Ctrl+C, then flush the log last
+                    Log.takeOverShutdown();
                     Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                         try {
                             System.out.println("Shutting down API Server...");
                             apiServer.stop();
                         } catch (Exception e) {
                             e.printStackTrace();
+                        } finally {
+                            Log.shutdown();
                         }
                     }));
                     
@@ -78,4 +118,200 @@ public class Main {
             e.printStackTrace();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Imports newline-delimited JSON records from a file, printing progress as it goes.
+     */
+    private static void runBulkImport(String fileName, SprintManager sprintManager, DataStorage dataStorage) {
+        System.out.println("Importing records from " + fileName + "...");
+
+        BulkImporter importer = new BulkImporter(sprintManager, dataStorage);
+        importer.setProgressListener((records, rate) ->
+                System.out.println(String.format("  %d records processed (%.0f records/s)", records, rate)));
+
+        try (FileReader reader = new FileReader(fileName)) {
+            ImportResult result = importer.importFrom(reader);
+            System.out.println("Import finished: " + result);
+            for (ImportResult.ImportError error : result.getErrors()) {
+                System.out.println("  " + error);
+            }
+            if (result.getErrorCount() > result.getErrors().size()) {
+                System.out.println("  ... and " + (result.getErrorCount() - result.getErrors().size()) + " more");
+            }
+        } catch (IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Generates a synthetic workspace from key=value arguments and writes it out.
+     *
+     * Supported keys are sprints, stories, tasks, members, unassigned, seed, format (json, ndjson
+     * or csv) and out. The json format writes a data directory that the API and CLI can load; the
+     * other formats write a single file.
+     */
+    private static void runGenerator(String[] args) {
+        WorkspaceGenerator generator = new WorkspaceGenerator();
+        // null means the DataStorage layout
+        WorkspaceExporter.Format exportFormat = null;
+        String out = null;
+
+        try {
+            for (Map.Entry<String, String> option : parseOptions(args).entrySet()) {
+                String key = option.getKey();
+                String value = option.getValue();
+                if (applyGeneratorOption(generator, key, value)) {
+                    continue;
+                }
+                switch (key) {
+                    case "format":
+                        exportFormat = value.equalsIgnoreCase("json") ? null : WorkspaceExporter.Format.fromString(value);
+                        break;
+                    case "out":
+                        out = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + key);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: --generate [sprints=N] [stories=N] [tasks=N] [members=N] [unassigned=PCT] "
+                    + "[seed=N] [format=json|ndjson|csv] [out=path]");
+            return;
+        }
+
+        System.out.println("Generating " + generator.getTaskCount() + " tasks...");
+        SprintManager sprintManager = generator.generate();
+
+        try {
+            if (exportFormat == null) {
+                File directory = new File(out != null ? out : "generated");
+                new DataStorage(directory).saveData(sprintManager);
+                System.out.println("Workspace written to " + directory.getPath());
+            } else {
+                String fileName = out != null ? out : "generated." + exportFormat.getFileExtension();
+                try (Writer writer = new BufferedWriter(new FileWriter(fileName))) {
+                    long records = new WorkspaceExporter(sprintManager).export(writer, exportFormat);
+                    System.out.println(records + " records written to " + fileName);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Generation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a load test against an in-process server from key=value arguments and prints the report.
+     *
+     * Besides the generator's keys, supported keys are clients, rate (requests per second, 0 for
+     * unthrottled), duration and warmup (seconds), and mix, e.g. mix=list:40,open:40,move:20.
+     */
+    private static void runLoadTest(String[] args) {
+        // Per-request access logs would drown the report and compete with the server for CPU
+        if (System.getProperty("sprinttracker.log.level") == null) {
+            Log.setLevel(LogLevel.WARN);
+        }
+
+        WorkspaceGenerator generator = new WorkspaceGenerator();
+        LoadTest loadTest = new LoadTest(generator);
+        try {
+            for (Map.Entry<String, String> option : parseOptions(args).entrySet()) {
+                String key = option.getKey();
+                String value = option.getValue();
+                if (applyGeneratorOption(generator, key, value)) {
+                    continue;
+                }
+                switch (key) {
+                    case "clients":
+                        loadTest.setClients(Integer.parseInt(value));
+                        break;
+                    case "rate":
+                        loadTest.setTargetRate(Double.parseDouble(value));
+                        break;
+                    case "duration":
+                        loadTest.setDurationSeconds(Integer.parseInt(value));
+                        break;
+                    case "warmup":
+                        loadTest.setWarmupSeconds(Integer.parseInt(value));
+                        break;
+                    case "mix":
+                        // Operations left out of the mix get no traffic
+                        for (LoadOperation operation : LoadOperation.values()) {
+                            loadTest.setWeight(operation, 0);
+                        }
+                        for (String part : value.split(",")) {
+                            String[] weight = part.split(":");
+                            if (weight.length != 2) {
+                                throw new IllegalArgumentException("Expected operation:weight but got " + part);
+                            }
+                            loadTest.setWeight(LoadOperation.fromKey(weight[0].trim()),
+                                    Integer.parseInt(weight[1].trim()));
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + key);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: --load-test [sprints=N] [stories=N] [tasks=N] [members=N] [seed=N] [clients=N] "
+                    + "[rate=REQ_PER_S] [duration=S] [warmup=S] [mix=list:W,open:W,move:W,create:W,import:W]");
+            return;
+        }
+
+        System.out.println("Running load test over " + generator.getTaskCount() + " tasks...");
+        try {
+            System.out.print(loadTest.run());
+        } catch (Exception e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the key=value arguments that follow the mode flag.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + args[i]);
+            }
+            options.put(args[i].substring(0, eq), args[i].substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Applies an option that shapes the generated workspace.
+     *
+     * @return false if the key is not a generator option
+     */
+    private static boolean applyGeneratorOption(WorkspaceGenerator generator, String key, String value) {
+        switch (key) {
+            case "sprints":
+                generator.setSprintCount(Integer.parseInt(value));
+                return true;
+            case "stories":
+                generator.setStoriesPerSprint(Integer.parseInt(value));
+                return true;
+            case "tasks":
+                generator.setTasksPerStory(Integer.parseInt(value));
+                return true;
+            case "members":
+                generator.setTeamMemberCount(Integer.parseInt(value));
+                return true;
+            case "unassigned":
+                generator.setUnassignedPercent(Integer.parseInt(value));
+                return true;
+            case "seed":
+                generator.setSeed(Long.parseLong(value));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
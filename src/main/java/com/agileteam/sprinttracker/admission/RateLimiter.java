@@ -0,0 +1,57 @@
+package com.agileteam.sprinttracker.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client rate limiting with one {@link TokenBucket} per client key.
+ *
+ * Buckets are created on a client's first request. To keep memory bounded when many clients come
+ * and go, buckets that have refilled completely are dropped once there are more than
+ * {@code maxClients}; a dropped client simply starts again with a full bucket.
+ */
+public class RateLimiter {
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param ratePerSecond The sustained requests per second each client may make
+     * @param burst How many requests a client may make at once after being idle
+     * @param maxClients How many buckets to keep before idle ones are dropped
+     */
+    public RateLimiter(double ratePerSecond, int burst, int maxClients) {
+        if (ratePerSecond <= 0 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Rate, burst and maxClients must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Counts a request against a client's budget.
+     *
+     * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be
+     */
+    public long tryAcquire(String clientKey) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(clientKey, key -> new TokenBucket(ratePerSecond, burst, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    public int getClientCount() {
+        return buckets.size();
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
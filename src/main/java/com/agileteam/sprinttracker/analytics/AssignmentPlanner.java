@@ -0,0 +1,334 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.agileteam.sprinttracker.search.Tokenizer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Proposes assignees for a sprint's unassigned open tasks, so that open story points end up
+ * balanced against how fast each member gets through their work.
+ *
+ * A greedy pass hands out the largest tasks first, each to whichever member of the task's roles a
+ * priority queue says will be free soonest: their open points divided by their throughput relative
+ * to the team. Local search then moves and swaps the suggested tasks between members for as long
+ * as that evens out the loads further. Existing assignments are never changed.
+ *
+ * A task is for the roles whose distinctive words ("frontend" in "Frontend Developer", but not
+ * "developer") appear in its title, its description or its story's title. A task that mentions no
+ * role can go to anyone.
+ */
+public class AssignmentPlanner {
+    // Tasks of unestimated stories still take time, so they are balanced as if they had some points
+    private static final double MIN_TASK_POINTS = 0.5;
+    private static final int MAX_REFINE_PASSES = 16;
+    // Swaps look at every pair of tasks, so very large sprints get moves only
+    private static final int MAX_SWAP_CANDIDATES = 2000;
+    // Shorter words must match a task's words exactly, longer ones may match as prefixes
+    private static final int MIN_STEM_LENGTH = 4;
+    private static final double EPSILON = 1e-9;
+    private static final Set<String> GENERIC_ROLE_WORDS = new HashSet<>(Arrays.asList(
+            "team", "member", "developer", "engineer", "dev", "senior", "junior", "lead", "principal", "staff",
+            "and", "of", "the"));
+
+    private final SprintManager sprintManager;
+    private final VelocityEngine velocityEngine;
+
+    /**
+     * An unassigned open task and the member it is suggested for.
+     */
+    private static final class Candidate {
+        final Task task;
+        final UserStory story;
+        final double points;
+        final double weight;
+        // By role index, whether the task is for that role; null if it is for anyone
+        final boolean[] roles;
+        int member;
+
+        Candidate(Task task, UserStory story, double points, boolean[] roles) {
+            this.task = task;
+            this.story = story;
+            this.points = points;
+            this.weight = Math.max(points, MIN_TASK_POINTS);
+            this.roles = roles;
+        }
+
+        boolean allows(int role) {
+            return roles == null || roles[role];
+        }
+    }
+
+    public AssignmentPlanner(SprintManager sprintManager, VelocityEngine velocityEngine) {
+        this.sprintManager = sprintManager;
+        this.velocityEngine = velocityEngine;
+    }
+
+    /**
+     * @param historySprints How many of the last ended sprints to take throughput from
+     * @param refine Whether to improve the greedy assignment with local search
+     * @throws IllegalStateException If there are no team members
+     */
+    public AssignmentSuggestions suggest(Sprint sprint, int historySprints, boolean refine) {
+        return suggest(sprint, historySprints, refine, LocalDate.now());
+    }
+
+    public AssignmentSuggestions suggest(Sprint sprint, int historySprints, boolean refine, LocalDate today) {
+        List<TeamMember> members = new ArrayList<>(sprintManager.getAllTeamMembers());
+        if (members.isEmpty()) {
+            throw new IllegalStateException("There are no team members to assign tasks to");
+        }
+        int memberCount = members.size();
+
+        // Throughput relative to the average member who completed anything; members with none on
+        // record count as average
+        Map<String, double[]> rates = velocityEngine.getMemberTaskRates(historySprints, today);
+        double[] tasksPerDay = new double[memberCount];
+        int sampledSprints = 0;
+        double rateTotal = 0;
+        int withThroughput = 0;
+        for (int member = 0; member < memberCount; member++) {
+            double[] memberRates = rates.get(members.get(member).getId());
+            if (memberRates == null || memberRates.length == 0) {
+                continue;
+            }
+            sampledSprints = memberRates.length;
+            double sum = 0;
+            for (double rate : memberRates) {
+                sum += rate;
+            }
+            tasksPerDay[member] = sum / memberRates.length;
+            if (tasksPerDay[member] > 0) {
+                rateTotal += tasksPerDay[member];
+                withThroughput++;
+            }
+        }
+        double[] speed = new double[memberCount];
+        double[] openPoints = new double[memberCount];
+        double[] load = new double[memberCount];
+        for (int member = 0; member < memberCount; member++) {
+            speed[member] = tasksPerDay[member] > 0 ? tasksPerDay[member] * withThroughput / rateTotal : 1;
+            openPoints[member] = members.get(member).getOpenStoryPoints();
+            load[member] = openPoints[member];
+        }
+
+        Map<String, Integer> roleIndexes = new HashMap<>();
+        List<Set<String>> roleWords = new ArrayList<>();
+        int[] memberRoles = new int[memberCount];
+        for (int member = 0; member < memberCount; member++) {
+            String role = members.get(member).getRole() != null ? members.get(member).getRole() : "";
+            String key = role.trim().toLowerCase(Locale.ROOT);
+            Integer index = roleIndexes.get(key);
+            if (index == null) {
+                index = roleWords.size();
+                roleIndexes.put(key, index);
+                roleWords.add(distinctiveWords(role));
+            }
+            memberRoles[member] = index;
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (UserStory story : sprint.getUserStories()) {
+            List<Task> tasks = story.getTasks();
+            for (Task task : tasks) {
+                if (task.getAssignedTeamMember() == null && task.getStatus() != Task.Status.DONE) {
+                    candidates.add(new Candidate(task, story, story.getStoryPoints() / (double) tasks.size(),
+                            rolesFor(task, story, roleWords)));
+                }
+            }
+        }
+
+        assignGreedily(candidates, memberRoles, roleWords.size(), load, speed);
+        int moves = refine ? refine(candidates, memberRoles, load, speed) : 0;
+
+        List<AssignmentSuggestions.Suggestion> suggestions = new ArrayList<>(candidates.size());
+        int[] suggestedTasks = new int[memberCount];
+        double[] suggestedPoints = new double[memberCount];
+        for (Candidate candidate : candidates) {
+            TeamMember member = members.get(candidate.member);
+            suggestedTasks[candidate.member]++;
+            suggestedPoints[candidate.member] += candidate.points;
+            suggestions.add(new AssignmentSuggestions.Suggestion(candidate.task.getId(), candidate.task.getTitle(),
+                    candidate.story.getId(), candidate.story.getTitle(), VelocityReport.Statistics.round(candidate.points),
+                    member.getId(), member.getName(), candidate.roles != null));
+        }
+        List<AssignmentSuggestions.MemberLoad> loads = new ArrayList<>(memberCount);
+        for (int member = 0; member < memberCount; member++) {
+            TeamMember teamMember = members.get(member);
+            loads.add(new AssignmentSuggestions.MemberLoad(teamMember.getId(), teamMember.getName(),
+                    teamMember.getRole(), VelocityReport.Statistics.round(tasksPerDay[member]),
+                    VelocityReport.Statistics.round(openPoints[member]), suggestedTasks[member],
+                    VelocityReport.Statistics.round(suggestedPoints[member])));
+        }
+        return new AssignmentSuggestions(sprint.getId(), sampledSprints, refine, moves, suggestions, loads);
+    }
+
+    /**
+     * Longest tasks first, each to the member of its roles who will be free soonest: one priority
+     * queue per role, so a task only looks at the heads of the queues it may draw from.
+     */
+    private static void assignGreedily(List<Candidate> candidates, int[] memberRoles, int roleCount,
+                                       double[] load, double[] speed) {
+        Comparator<Integer> soonestFree = Comparator.comparingDouble((Integer member) -> load[member] / speed[member])
+                .thenComparingInt(member -> member);
+        List<PriorityQueue<Integer>> queues = new ArrayList<>(roleCount);
+        for (int role = 0; role < roleCount; role++) {
+            queues.add(new PriorityQueue<>(soonestFree));
+        }
+        for (int member = 0; member < memberRoles.length; member++) {
+            queues.get(memberRoles[member]).add(member);
+        }
+
+        List<Candidate> largestFirst = new ArrayList<>(candidates);
+        largestFirst.sort(Comparator.comparingDouble((Candidate candidate) -> candidate.weight).reversed());
+        for (Candidate candidate : largestFirst) {
+            PriorityQueue<Integer> best = null;
+            for (int role = 0; role < roleCount; role++) {
+                PriorityQueue<Integer> queue = queues.get(role);
+                if (candidate.allows(role) && (best == null || soonestFree.compare(queue.peek(), best.peek()) < 0)) {
+                    best = queue;
+                }
+            }
+            // A member's load may only change while they are out of their queue
+            int member = best.poll();
+            load[member] += candidate.weight;
+            candidate.member = member;
+            best.add(member);
+        }
+    }
+
+    /**
+     * Moves single tasks to the member where they lower the total cost most, then swaps pairs of
+     * tasks between members, until a pass finds nothing to improve. The cost of a member is their
+     * load squared over their speed, which is lowest when everyone would finish at the same time.
+     *
+     * @return How many moves and swaps were made
+     */
+    private static int refine(List<Candidate> candidates, int[] memberRoles, double[] load, double[] speed) {
+        int moves = 0;
+        for (int pass = 0; pass < MAX_REFINE_PASSES; pass++) {
+            int movesBefore = moves;
+            for (Candidate candidate : candidates) {
+                int from = candidate.member;
+                int bestTo = -1;
+                double bestDelta = -EPSILON;
+                for (int to = 0; to < load.length; to++) {
+                    if (to != from && candidate.allows(memberRoles[to])) {
+                        double delta = moveDelta(load, speed, from, to, candidate.weight);
+                        if (delta < bestDelta) {
+                            bestDelta = delta;
+                            bestTo = to;
+                        }
+                    }
+                }
+                if (bestTo >= 0) {
+                    load[from] -= candidate.weight;
+                    load[bestTo] += candidate.weight;
+                    candidate.member = bestTo;
+                    moves++;
+                }
+            }
+
+            if (candidates.size() <= MAX_SWAP_CANDIDATES) {
+                for (int i = 0; i < candidates.size(); i++) {
+                    Candidate first = candidates.get(i);
+                    for (int j = i + 1; j < candidates.size(); j++) {
+                        Candidate second = candidates.get(j);
+                        int a = first.member;
+                        int b = second.member;
+                        double difference = first.weight - second.weight;
+                        if (a == b || Math.abs(difference) < EPSILON
+                                || !first.allows(memberRoles[b]) || !second.allows(memberRoles[a])) {
+                            continue;
+                        }
+                        // Swapping is the same as moving the difference in weight from a to b
+                        if (moveDelta(load, speed, a, b, difference) < -EPSILON) {
+                            load[a] -= difference;
+                            load[b] += difference;
+                            first.member = b;
+                            second.member = a;
+                            moves++;
+                        }
+                    }
+                }
+            }
+
+            if (moves == movesBefore) {
+                break;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * @return The change in total cost from moving weight from one member to another
+     */
+    private static double moveDelta(double[] load, double[] speed, int from, int to, double weight) {
+        return (weight * weight - 2 * load[from] * weight) / speed[from]
+                + (weight * weight + 2 * load[to] * weight) / speed[to];
+    }
+
+    /**
+     * @return Per role, whether the task mentions it; null if it mentions none
+     */
+    private static boolean[] rolesFor(Task task, UserStory story, List<Set<String>> roleWords) {
+        Set<String> terms = new HashSet<>(Tokenizer.tokenize(task.getTitle()));
+        terms.addAll(Tokenizer.tokenize(task.getDescription()));
+        terms.addAll(Tokenizer.tokenize(story.getTitle()));
+
+        boolean[] roles = null;
+        for (int role = 0; role < roleWords.size(); role++) {
+            for (String word : roleWords.get(role)) {
+                if (mentions(terms, word)) {
+                    if (roles == null) {
+                        roles = new boolean[roleWords.size()];
+                    }
+                    roles[role] = true;
+                    break;
+                }
+            }
+        }
+        return roles;
+    }
+
+    private static boolean mentions(Set<String> terms, String word) {
+        if (terms.contains(word)) {
+            return true;
+        }
+        if (word.length() < MIN_STEM_LENGTH) {
+            return false;
+        }
+        // "design" for a designer, "databases" for a database administrator
+        for (String term : terms) {
+            if (term.length() >= MIN_STEM_LENGTH && (term.startsWith(word) || word.startsWith(term))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> distinctiveWords(String role) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : Tokenizer.tokenize(role)) {
+            if (word.length() >= 2 && !GENERIC_ROLE_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,181 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Proposed assignees for a sprint's unassigned open tasks, with each member's workload before and
+ * after taking them on.
+ */
+public class AssignmentSuggestions {
+    /**
+     * The member proposed for one task.
+     */
+    public static class Suggestion {
+        private final String taskId;
+        private final String taskTitle;
+        private final String storyId;
+        private final String storyTitle;
+        private final double storyPoints;
+        private final String memberId;
+        private final String memberName;
+        private final boolean roleMatch;
+
+        Suggestion(String taskId, String taskTitle, String storyId, String storyTitle, double storyPoints,
+                   String memberId, String memberName, boolean roleMatch) {
+            this.taskId = taskId;
+            this.taskTitle = taskTitle;
+            this.storyId = storyId;
+            this.storyTitle = storyTitle;
+            this.storyPoints = storyPoints;
+            this.memberId = memberId;
+            this.memberName = memberName;
+            this.roleMatch = roleMatch;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+
+        public String getTaskTitle() {
+            return taskTitle;
+        }
+
+        public String getStoryId() {
+            return storyId;
+        }
+
+        public String getStoryTitle() {
+            return storyTitle;
+        }
+
+        /**
+         * @return The task's share of its story's points
+         */
+        public double getStoryPoints() {
+            return storyPoints;
+        }
+
+        public String getMemberId() {
+            return memberId;
+        }
+
+        public String getMemberName() {
+            return memberName;
+        }
+
+        /**
+         * @return Whether the task mentions the member's role, rather than mentioning no role at all
+         */
+        public boolean isRoleMatch() {
+            return roleMatch;
+        }
+    }
+
+    /**
+     * One member's workload with the suggestions applied.
+     */
+    public static class MemberLoad {
+        private final String memberId;
+        private final String name;
+        private final String role;
+        private final double tasksPerDay;
+        private final double openStoryPoints;
+        private final int suggestedTasks;
+        private final double suggestedStoryPoints;
+
+        MemberLoad(String memberId, String name, String role, double tasksPerDay, double openStoryPoints,
+                   int suggestedTasks, double suggestedStoryPoints) {
+            this.memberId = memberId;
+            this.name = name;
+            this.role = role;
+            this.tasksPerDay = tasksPerDay;
+            this.openStoryPoints = openStoryPoints;
+            this.suggestedTasks = suggestedTasks;
+            this.suggestedStoryPoints = suggestedStoryPoints;
+        }
+
+        public String getMemberId() {
+            return memberId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        /**
+         * @return Average tasks completed per day over the sampled sprints
+         */
+        public double getTasksPerDay() {
+            return tasksPerDay;
+        }
+
+        /**
+         * @return Open story points already assigned, in any sprint
+         */
+        public double getOpenStoryPoints() {
+            return openStoryPoints;
+        }
+
+        public int getSuggestedTasks() {
+            return suggestedTasks;
+        }
+
+        public double getSuggestedStoryPoints() {
+            return suggestedStoryPoints;
+        }
+    }
+
+    private final String sprintId;
+    private final int historySprints;
+    private final boolean refined;
+    private final int refinementMoves;
+    private final List<Suggestion> suggestions;
+    private final List<MemberLoad> members;
+
+    AssignmentSuggestions(String sprintId, int historySprints, boolean refined, int refinementMoves,
+                          List<Suggestion> suggestions, List<MemberLoad> members) {
+        this.sprintId = sprintId;
+        this.historySprints = historySprints;
+        this.refined = refined;
+        this.refinementMoves = refinementMoves;
+        this.suggestions = suggestions;
+        this.members = members;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    /**
+     * @return How many ended sprints throughput was taken from
+     */
+    public int getHistorySprints() {
+        return historySprints;
+    }
+
+    public boolean isRefined() {
+        return refined;
+    }
+
+    /**
+     * @return How many moves and swaps local search made after the greedy pass
+     */
+    public int getRefinementMoves() {
+        return refinementMoves;
+    }
+
+    /**
+     * @return One suggestion per unassigned open task, in the sprint's order
+     */
+    public List<Suggestion> getSuggestions() {
+        return suggestions;
+    }
+
+    public List<MemberLoad> getMembers() {
+        return members;
+    }
+}
@@ -0,0 +1,46 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Daily burndown and burnup figures for a sprint, from its start date up to today or its end date,
+ * whichever comes first.
+ */
+public class Burndown {
+    private final String sprintId;
+    private final String startDate;
+    private final String endDate;
+    private final int totalPoints;
+    private final List<BurndownDay> days;
+
+    public Burndown(String sprintId, String startDate, String endDate, int totalPoints, List<BurndownDay> days) {
+        this.sprintId = sprintId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalPoints = totalPoints;
+        this.days = days;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return The story points of the sprint's current stories
+     */
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public List<BurndownDay> getDays() {
+        return days;
+    }
+}
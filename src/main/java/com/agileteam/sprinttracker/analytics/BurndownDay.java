@@ -0,0 +1,53 @@
+package com.agileteam.sprinttracker.analytics;
+
+/**
+ * One day of a sprint burndown, as it stood at the end of that day.
+ */
+public class BurndownDay {
+    private final String date;
+    private final int remainingPoints;
+    private final int completedPoints;
+    private final int remainingTasks;
+    private final int completedTasks;
+    private final int totalTasks;
+    private final double idealRemainingPoints;
+
+    public BurndownDay(String date, int remainingPoints, int completedPoints, int remainingTasks,
+                       int completedTasks, int totalTasks, double idealRemainingPoints) {
+        this.date = date;
+        this.remainingPoints = remainingPoints;
+        this.completedPoints = completedPoints;
+        this.remainingTasks = remainingTasks;
+        this.completedTasks = completedTasks;
+        this.totalTasks = totalTasks;
+        this.idealRemainingPoints = idealRemainingPoints;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public int getRemainingPoints() {
+        return remainingPoints;
+    }
+
+    public int getCompletedPoints() {
+        return completedPoints;
+    }
+
+    public int getRemainingTasks() {
+        return remainingTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public double getIdealRemainingPoints() {
+        return idealRemainingPoints;
+    }
+}
@@ -0,0 +1,231 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.events.EntitySnapshots;
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sprint burndown, burnup and cumulative flow charts built from the transition history.
+ *
+ * Each sprint's status changes are folded into daily buckets as they are recorded, and so are the
+ * whole workspace's: every call first applies only the transitions added since the previous call,
+ * so a chart costs time in proportion to its days and stories, not to the history. Tasks count as remaining until
+ * done; a story's points count as remaining until all of its tasks are done. Points are the
+ * stories' current estimates. If a sprint's dates change, the buckets are rebuilt from the
+ * whole history once.
+ */
+public class BurndownTracker {
+    private static final int DONE = Task.Status.DONE.ordinal();
+    private static final List<String> STATUS_NAMES = statusNames();
+
+    /**
+     * Stands in for the buckets of a sprint that no longer exists, whose tasks are skipped.
+     */
+    private static final DailyStatusBuckets DELETED_SPRINT = new DailyStatusBuckets(LocalDate.MIN, LocalDate.MIN);
+
+    private final SprintManager sprintManager;
+    private final TransitionHistory history;
+    private final ZoneId zone;
+    private final Map<Integer, DailyStatusBuckets> bucketsBySprint = new HashMap<>();
+    private DailyStatusTotals totals = new DailyStatusTotals();
+    private int processedTransitions;
+
+    // Where each task's transitions go, by task number, so catching up is array lookups per row
+    private DailyStatusBuckets[] taskBuckets = new DailyStatusBuckets[0];
+    private int[] taskStorySlots = new int[0];
+
+    // The calendar day of the last transition applied; transitions come in time order
+    private long cachedDayStartMillis = Long.MAX_VALUE;
+    private long cachedDayEndMillis = Long.MIN_VALUE;
+    private long cachedEpochDay;
+
+    public BurndownTracker(SprintManager sprintManager) {
+        this(sprintManager, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param zone The time zone whose calendar days the buckets follow
+     */
+    public BurndownTracker(SprintManager sprintManager, ZoneId zone) {
+        this.sprintManager = sprintManager;
+        this.history = sprintManager.getTransitionHistory();
+        this.zone = zone;
+    }
+
+    /**
+     * @return The sprint's burndown from its start date through today or its end date
+     */
+    public Burndown getBurndown(Sprint sprint) {
+        return getBurndown(sprint, LocalDate.now(zone));
+    }
+
+    public synchronized Burndown getBurndown(Sprint sprint, LocalDate today) {
+        DailyStatusBuckets buckets = bucketsFor(sprint);
+        int days = buckets.getDays();
+        int visibleDays = (int) Math.max(0, Math.min(days, ChronoUnit.DAYS.between(sprint.getStartDate(), today) + 1));
+
+        int totalPoints = 0;
+        int[] completedPointsByDay = new int[days + 1];
+        for (UserStory story : sprint.getUserStories()) {
+            totalPoints += story.getStoryPoints();
+            int completedDay = buckets.completedDay(history.getStoryIndex(story.getId()));
+            if (completedDay != DailyStatusBuckets.NOT_COMPLETE) {
+                completedPointsByDay[completedDay] += story.getStoryPoints();
+            }
+        }
+
+        int[][] counts = buckets.countsByDay(visibleDays);
+        List<BurndownDay> burndownDays = new ArrayList<>(visibleDays);
+        int completedPoints = 0;
+        for (int day = 0; day < visibleDays; day++) {
+            completedPoints += completedPointsByDay[day];
+            int totalTasks = 0;
+            for (int[] statusCounts : counts) {
+                totalTasks += statusCounts[day];
+            }
+            int completedTasks = counts[DONE][day];
+            double ideal = days == 1 ? 0 : totalPoints * (double) (days - 1 - day) / (days - 1);
+            burndownDays.add(new BurndownDay(sprint.getStartDate().plusDays(day).toString(),
+                    totalPoints - completedPoints, completedPoints, totalTasks - completedTasks, completedTasks,
+                    totalTasks, Math.round(ideal * 10) / 10.0));
+        }
+
+        return new Burndown(sprint.getId(), sprint.getStartDate().toString(), sprint.getEndDate().toString(),
+                totalPoints, burndownDays);
+    }
+
+    /**
+     * @return The sprint's task counts per status for each day from its start date through today
+     *         or its end date
+     */
+    public CumulativeFlow getCumulativeFlow(Sprint sprint) {
+        return getCumulativeFlow(sprint, LocalDate.now(zone));
+    }
+
+    public synchronized CumulativeFlow getCumulativeFlow(Sprint sprint, LocalDate today) {
+        DailyStatusBuckets buckets = bucketsFor(sprint);
+        int visibleDays = (int) Math.max(0, Math.min(buckets.getDays(),
+                ChronoUnit.DAYS.between(sprint.getStartDate(), today) + 1));
+        return cumulativeFlow(sprint.getId(), sprint.getStartDate(), sprint.getEndDate(),
+                buckets.countsByDay(visibleDays));
+    }
+
+    /**
+     * @return Task counts per status across the workspace for each day from {@code from} through {@code to}
+     */
+    public synchronized CumulativeFlow getCumulativeFlow(LocalDate from, LocalDate to) {
+        catchUp();
+        int days = (int) Math.max(0, ChronoUnit.DAYS.between(from, to) + 1);
+        return cumulativeFlow(null, from, to, totals.countsByDay(from.toEpochDay(), days));
+    }
+
+    private static CumulativeFlow cumulativeFlow(String sprintId, LocalDate start, LocalDate end, int[][] counts) {
+        int days = counts[0].length;
+        List<CumulativeFlowDay> flowDays = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            int[] dayCounts = new int[counts.length];
+            for (int status = 0; status < counts.length; status++) {
+                dayCounts[status] = counts[status][day];
+            }
+            flowDays.add(new CumulativeFlowDay(start.plusDays(day).toString(), dayCounts));
+        }
+        return new CumulativeFlow(sprintId, start.toString(), end.toString(), STATUS_NAMES, flowDays);
+    }
+
+    private static List<String> statusNames() {
+        List<String> names = new ArrayList<>();
+        for (Task.Status status : Task.Status.values()) {
+            names.add(EntitySnapshots.statusName(status));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Brings the buckets up to date and returns the sprint's.
+     */
+    private DailyStatusBuckets bucketsFor(Sprint sprint) {
+        catchUp();
+        int sprintIndex = history.getSprintIndex(sprint.getId());
+        DailyStatusBuckets buckets = sprintIndex != TransitionHistory.NONE ? bucketsBySprint.get(sprintIndex) : null;
+        if (buckets != null && !buckets.matches(sprint.getStartDate(), sprint.getEndDate())) {
+            // The sprint was moved; its history has to be bucketed again under the new dates
+            bucketsBySprint.clear();
+            totals = new DailyStatusTotals();
+            taskBuckets = new DailyStatusBuckets[0];
+            taskStorySlots = new int[0];
+            processedTransitions = 0;
+            catchUp();
+            buckets = bucketsBySprint.get(sprintIndex);
+        }
+        return buckets != null ? buckets : new DailyStatusBuckets(sprint.getStartDate(), sprint.getEndDate());
+    }
+
+    /**
+     * Applies the status transitions recorded since the last call.
+     */
+    private void catchUp() {
+        Map<String, Sprint> sprintsById = new HashMap<>();
+        for (Sprint sprint : sprintManager.getAllSprints()) {
+            sprintsById.put(sprint.getId(), sprint);
+        }
+
+        processedTransitions = history.forEachStatusTransitionFrom(processedTransitions, (task, from, to, time) -> {
+            if (task >= taskBuckets.length) {
+                int capacity = Math.max(task + 1, taskBuckets.length * 2);
+                taskBuckets = Arrays.copyOf(taskBuckets, capacity);
+                taskStorySlots = Arrays.copyOf(taskStorySlots, capacity);
+            }
+            long epochDay = epochDay(time);
+            totals.apply(from, to, epochDay);
+            DailyStatusBuckets buckets = taskBuckets[task];
+            if (buckets == null) {
+                buckets = bucketsForSprint(history.getSprintIndexOfTask(task), sprintsById);
+                taskBuckets[task] = buckets;
+                if (buckets != DELETED_SPRINT) {
+                    taskStorySlots[task] = buckets.storySlot(history.getStoryIndexOfTask(task));
+                }
+            }
+            if (buckets != DELETED_SPRINT) {
+                buckets.apply(taskStorySlots[task], from, to, epochDay);
+            }
+        });
+    }
+
+    private DailyStatusBuckets bucketsForSprint(int sprintIndex, Map<String, Sprint> sprintsById) {
+        DailyStatusBuckets buckets = bucketsBySprint.get(sprintIndex);
+        if (buckets == null) {
+            Sprint sprint = sprintsById.get(history.getSprintId(sprintIndex));
+            if (sprint == null || sprint.getStartDate() == null || sprint.getEndDate() == null) {
+                // Deleted sprints have no chart
+                return DELETED_SPRINT;
+            }
+            buckets = new DailyStatusBuckets(sprint.getStartDate(), sprint.getEndDate());
+            bucketsBySprint.put(sprintIndex, buckets);
+        }
+        return buckets;
+    }
+
+    private long epochDay(long epochMillis) {
+        if (epochMillis < cachedDayStartMillis || epochMillis >= cachedDayEndMillis) {
+            LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+            cachedEpochDay = date.toEpochDay();
+            cachedDayStartMillis = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            cachedDayEndMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return cachedEpochDay;
+    }
+}
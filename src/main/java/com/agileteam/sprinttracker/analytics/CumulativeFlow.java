@@ -0,0 +1,49 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Daily task counts per status over a sprint or a date range, for a cumulative flow diagram.
+ */
+public class CumulativeFlow {
+    private final String sprintId;
+    private final String startDate;
+    private final String endDate;
+    private final List<String> statuses;
+    private final List<CumulativeFlowDay> days;
+
+    public CumulativeFlow(String sprintId, String startDate, String endDate, List<String> statuses,
+                          List<CumulativeFlowDay> days) {
+        this.sprintId = sprintId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.statuses = statuses;
+        this.days = days;
+    }
+
+    /**
+     * @return The sprint, or null for a date range over the whole workspace
+     */
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return The status names, in the order each day's counts are given
+     */
+    public List<String> getStatuses() {
+        return statuses;
+    }
+
+    public List<CumulativeFlowDay> getDays() {
+        return days;
+    }
+}
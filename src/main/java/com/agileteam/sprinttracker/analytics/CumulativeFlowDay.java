@@ -0,0 +1,25 @@
+package com.agileteam.sprinttracker.analytics;
+
+/**
+ * One day of a cumulative flow diagram, as it stood at the end of that day.
+ */
+public class CumulativeFlowDay {
+    private final String date;
+    private final int[] counts;
+
+    public CumulativeFlowDay(String date, int[] counts) {
+        this.date = date;
+        this.counts = counts;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    /**
+     * @return Tasks in each status, in the order of {@link CumulativeFlow#getStatuses()}
+     */
+    public int[] getCounts() {
+        return counts;
+    }
+}
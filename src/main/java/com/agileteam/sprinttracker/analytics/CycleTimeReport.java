@@ -0,0 +1,118 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Cycle time percentiles for tasks (first moved to in progress until done) and lead time
+ * percentiles for stories (first task started until every task is done), overall and per group.
+ */
+public class CycleTimeReport {
+    /**
+     * Duration percentiles in hours.
+     */
+    public static class Percentiles {
+        private static final double HOUR_MINUTES = 60.0;
+
+        private final long count;
+        private final double p50Hours;
+        private final double p85Hours;
+        private final double p95Hours;
+
+        Percentiles(DurationSketch minutes) {
+            this.count = minutes.getCount();
+            this.p50Hours = hours(minutes.getValueAtQuantile(0.50));
+            this.p85Hours = hours(minutes.getValueAtQuantile(0.85));
+            this.p95Hours = hours(minutes.getValueAtQuantile(0.95));
+        }
+
+        private static double hours(long minutes) {
+            return Math.round(minutes / HOUR_MINUTES * 10) / 10.0;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getP50Hours() {
+            return p50Hours;
+        }
+
+        public double getP85Hours() {
+            return p85Hours;
+        }
+
+        public double getP95Hours() {
+            return p95Hours;
+        }
+    }
+
+    /**
+     * The percentiles for one sprint, member or priority.
+     */
+    public static class Group {
+        private final String id;
+        private final String name;
+        private final Percentiles cycleTime;
+        private final Percentiles leadTime;
+
+        Group(String id, String name, Percentiles cycleTime, Percentiles leadTime) {
+            this.id = id;
+            this.name = name;
+            this.cycleTime = cycleTime;
+            this.leadTime = leadTime;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Percentiles getCycleTime() {
+            return cycleTime;
+        }
+
+        /**
+         * @return Story lead times, or null when grouping by member, since a story has no single member
+         */
+        public Percentiles getLeadTime() {
+            return leadTime;
+        }
+    }
+
+    private final String groupBy;
+    private final Percentiles cycleTime;
+    private final Percentiles leadTime;
+    private final List<Group> groups;
+
+    CycleTimeReport(String groupBy, Percentiles cycleTime, Percentiles leadTime, List<Group> groups) {
+        this.groupBy = groupBy;
+        this.cycleTime = cycleTime;
+        this.leadTime = leadTime;
+        this.groups = groups;
+    }
+
+    /**
+     * @return sprint, member, priority, or null if not grouped
+     */
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public Percentiles getCycleTime() {
+        return cycleTime;
+    }
+
+    /**
+     * @return Story lead times, or null when filtering by member
+     */
+    public Percentiles getLeadTime() {
+        return leadTime;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+}
@@ -0,0 +1,357 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Task cycle times and story lead times from the transition history, kept in quantile sketches.
+ *
+ * A task's cycle time runs from when it was first moved to in progress until it was done; a
+ * story's lead time from when its first task was started until all of its tasks were done. Each
+ * is added to a sketch for its sprint, member and priority as it happens, and taken out again if
+ * the task or story is reopened or deleted, so a report merges a handful of small sketches
+ * instead of sorting durations. Like the burndown, every call first applies only the transitions
+ * recorded since the previous one.
+ *
+ * A task counts for the member it was assigned to when it was done. Priorities are the story's
+ * when the tracker first saw one of its tasks complete.
+ */
+public class CycleTimeTracker {
+    /**
+     * What a report can be grouped by.
+     */
+    public enum Dimension {
+        SPRINT,
+        MEMBER,
+        PRIORITY
+    }
+
+    private static final int NONE = TransitionHistory.NONE;
+    private static final int IN_PROGRESS = Task.Status.IN_PROGRESS.ordinal();
+    private static final int DONE = Task.Status.DONE.ordinal();
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final UserStory.Priority[] PRIORITIES = UserStory.Priority.values();
+
+    // Stands in for a story whose priority hasn't been looked up yet
+    private static final int UNKNOWN_PRIORITY = -2;
+
+    private final SprintManager sprintManager;
+    private final TransitionHistory history;
+
+    // Sketches of minutes by (sprint, member, priority); see cellKey
+    private final Map<Long, DurationSketch> taskCells = new HashMap<>();
+    private final Map<Long, DurationSketch> storyCells = new HashMap<>();
+    private int processedStatusTransitions;
+    private int processedAssignmentTransitions;
+
+    // Per task, by task number
+    private int[] taskStories = new int[0];
+    private int[] taskMembers = new int[0];
+    private long[] taskStartedAt = new long[0];
+    private int[] taskCycleMinutes = new int[0];
+    private long[] taskCellKeys = new long[0];
+
+    // Per story, by story number
+    private int[] storySprints = new int[0];
+    private int[] storyPriorities = new int[0];
+    private int[] storyTasks = new int[0];
+    private int[] storyDoneTasks = new int[0];
+    private long[] storyStartedAt = new long[0];
+    private int[] storyLeadMinutes = new int[0];
+
+    // Built at most once per catch-up, when a story's priority is first needed
+    private Map<String, UserStory> storiesById;
+
+    public CycleTimeTracker(SprintManager sprintManager) {
+        this.sprintManager = sprintManager;
+        this.history = sprintManager.getTransitionHistory();
+    }
+
+    /**
+     * @param sprintId Only tasks and stories of this sprint, or null for all
+     * @param memberId Only tasks done by this member, or null for all; story lead times are left out
+     * @param priority Only tasks and stories of this priority, or null for all
+     * @param groupBy What to break the figures down by, or null for the totals only
+     */
+    public synchronized CycleTimeReport getReport(String sprintId, String memberId, UserStory.Priority priority,
+                                                  Dimension groupBy) {
+        catchUp();
+
+        int sprintFilter = sprintId != null ? history.getSprintIndex(sprintId) : NONE;
+        int memberFilter = memberId != null ? history.getMemberIndex(memberId) : NONE;
+        boolean matchesNothing = (sprintId != null && sprintFilter == NONE) || (memberId != null && memberFilter == NONE);
+        boolean withStories = memberId == null;
+
+        DurationSketch cycleTimes = new DurationSketch();
+        DurationSketch leadTimes = new DurationSketch();
+        Map<Integer, DurationSketch[]> groups = new TreeMap<>();
+        if (!matchesNothing) {
+            collect(taskCells, 0, sprintFilter, memberFilter, priority, groupBy, cycleTimes, groups);
+            if (withStories) {
+                // Stories have no member, so they're only in the totals when grouping by member
+                collect(storyCells, 1, sprintFilter, NONE, priority, groupBy != Dimension.MEMBER ? groupBy : null,
+                        leadTimes, groups);
+            }
+        }
+
+        List<CycleTimeReport.Group> groupRows = new ArrayList<>();
+        for (Map.Entry<Integer, DurationSketch[]> entry : groups.entrySet()) {
+            DurationSketch[] sketches = entry.getValue();
+            if (sketches[0].getCount() == 0 && sketches[1].getCount() == 0) {
+                continue;
+            }
+            CycleTimeReport.Percentiles leadTime = withStories && groupBy != Dimension.MEMBER
+                    ? new CycleTimeReport.Percentiles(sketches[1]) : null;
+            groupRows.add(group(groupBy, entry.getKey(), new CycleTimeReport.Percentiles(sketches[0]), leadTime));
+        }
+
+        return new CycleTimeReport(groupBy != null ? groupBy.name().toLowerCase() : null,
+                new CycleTimeReport.Percentiles(cycleTimes),
+                withStories ? new CycleTimeReport.Percentiles(leadTimes) : null, groupRows);
+    }
+
+    /**
+     * Merges the matching cells into the total and, by group, into slot {@code slot} of each group's sketches.
+     */
+    private static void collect(Map<Long, DurationSketch> cells, int slot, int sprintFilter, int memberFilter,
+                                UserStory.Priority priority, Dimension groupBy, DurationSketch total,
+                                Map<Integer, DurationSketch[]> groups) {
+        for (Map.Entry<Long, DurationSketch> cell : cells.entrySet()) {
+            long key = cell.getKey();
+            int sprint = (int) (key >>> 32);
+            int member = (int) ((key >>> 3) & 0x1FFFFFFF) - 1;
+            int priorityOrdinal = (int) (key & 7) - 1;
+            if ((sprintFilter != NONE && sprint != sprintFilter)
+                    || (memberFilter != NONE && member != memberFilter)
+                    || (priority != null && priorityOrdinal != priority.ordinal())) {
+                continue;
+            }
+            total.addAll(cell.getValue());
+            if (groupBy != null) {
+                int group = groupBy == Dimension.SPRINT ? sprint : groupBy == Dimension.MEMBER ? member : priorityOrdinal;
+                groups.computeIfAbsent(group, g -> new DurationSketch[]{new DurationSketch(), new DurationSketch()})
+                        [slot].addAll(cell.getValue());
+            }
+        }
+    }
+
+    private CycleTimeReport.Group group(Dimension groupBy, int group, CycleTimeReport.Percentiles cycleTime,
+                                        CycleTimeReport.Percentiles leadTime) {
+        switch (groupBy) {
+            case SPRINT: {
+                String id = history.getSprintId(group);
+                Optional<Sprint> sprint = sprintManager.getSprintById(id);
+                return new CycleTimeReport.Group(id, sprint.map(Sprint::getName).orElse(null), cycleTime, leadTime);
+            }
+            case MEMBER: {
+                if (group == NONE) {
+                    return new CycleTimeReport.Group(null, "Unassigned", cycleTime, leadTime);
+                }
+                String id = history.getMemberId(group);
+                Optional<TeamMember> member = sprintManager.getTeamMemberById(id);
+                return new CycleTimeReport.Group(id, member.map(TeamMember::getName).orElse(null), cycleTime, leadTime);
+            }
+            default:
+                if (group == NONE) {
+                    return new CycleTimeReport.Group(null, null, cycleTime, leadTime);
+                }
+                UserStory.Priority priority = PRIORITIES[group];
+                return new CycleTimeReport.Group(priority.name(), priority.getDisplayName(), cycleTime, leadTime);
+        }
+    }
+
+    /**
+     * Applies the transitions recorded since the last call. Assignments are replayed alongside
+     * status changes in time order, so each task is credited to whoever had it when it was done.
+     * Both are read in one go, so a change recorded meanwhile can't land in one but not the other.
+     */
+    private void catchUp() {
+        PendingAssignments assignments = new PendingAssignments();
+        history.readConsistently(() -> {
+            processedAssignmentTransitions = history.forEachAssignmentTransitionFrom(processedAssignmentTransitions,
+                    (task, from, to, time) -> assignments.add(task, to, time));
+
+            processedStatusTransitions = history.forEachStatusTransitionFrom(processedStatusTransitions,
+                    (task, from, to, time) -> {
+                        while (assignments.next < assignments.size && assignments.times[assignments.next] <= time) {
+                            assign(assignments.tasks[assignments.next], assignments.members[assignments.next]);
+                            assignments.next++;
+                        }
+                        applyStatus(task, from, to, time);
+                    });
+        });
+        while (assignments.next < assignments.size) {
+            assign(assignments.tasks[assignments.next], assignments.members[assignments.next]);
+            assignments.next++;
+        }
+        storiesById = null;
+    }
+
+    private void assign(int task, int member) {
+        ensureTask(task);
+        taskMembers[task] = member;
+    }
+
+    private void applyStatus(int task, int from, int to, long time) {
+        ensureTask(task);
+        int story = taskStories[task];
+        if (story == NONE) {
+            story = history.getStoryIndexOfTask(task);
+            taskStories[task] = story;
+            ensureStory(story);
+            if (storySprints[story] == NONE) {
+                storySprints[story] = history.getSprintIndexOfTask(task);
+            }
+        }
+
+        if (to == IN_PROGRESS && taskStartedAt[task] == 0) {
+            taskStartedAt[task] = time;
+            if (storyStartedAt[story] == 0) {
+                storyStartedAt[story] = time;
+            }
+        }
+
+        // Task cycle time: taken out when the task leaves done, added when it gets there
+        if (from == DONE && taskCycleMinutes[task] != NONE) {
+            taskCells.get(taskCellKeys[task]).remove(taskCycleMinutes[task]);
+            taskCycleMinutes[task] = NONE;
+        }
+        if (to == DONE && taskStartedAt[task] != 0) {
+            long key = cellKey(storySprints[story], taskMembers[task], priorityOf(story));
+            int minutes = minutesBetween(taskStartedAt[task], time);
+            taskCells.computeIfAbsent(key, k -> new DurationSketch()).add(minutes);
+            taskCellKeys[task] = key;
+            taskCycleMinutes[task] = minutes;
+        }
+
+        // Story lead time, the same way on the story becoming complete or not
+        boolean wasComplete = isComplete(story);
+        if (from == NONE) {
+            storyTasks[story]++;
+        } else if (from == DONE) {
+            storyDoneTasks[story]--;
+        }
+        if (to == NONE) {
+            storyTasks[story]--;
+        } else if (to == DONE) {
+            storyDoneTasks[story]++;
+        }
+        boolean complete = isComplete(story);
+        if (wasComplete && !complete && storyLeadMinutes[story] != NONE) {
+            storyCells.get(cellKey(storySprints[story], NONE, priorityOf(story))).remove(storyLeadMinutes[story]);
+            storyLeadMinutes[story] = NONE;
+        } else if (!wasComplete && complete && storyStartedAt[story] != 0) {
+            int minutes = minutesBetween(storyStartedAt[story], time);
+            storyCells.computeIfAbsent(cellKey(storySprints[story], NONE, priorityOf(story)), k -> new DurationSketch())
+                    .add(minutes);
+            storyLeadMinutes[story] = minutes;
+        }
+    }
+
+    private boolean isComplete(int story) {
+        return storyTasks[story] > 0 && storyDoneTasks[story] == storyTasks[story];
+    }
+
+    /**
+     * @return The story's priority ordinal, or NONE if the story no longer exists
+     */
+    private int priorityOf(int story) {
+        if (storyPriorities[story] == UNKNOWN_PRIORITY) {
+            if (storiesById == null) {
+                storiesById = new HashMap<>();
+                for (Sprint sprint : sprintManager.getAllSprints()) {
+                    for (UserStory userStory : sprint.getUserStories()) {
+                        storiesById.put(userStory.getId(), userStory);
+                    }
+                }
+            }
+            UserStory userStory = storiesById.get(history.getStoryId(story));
+            storyPriorities[story] = userStory != null && userStory.getPriority() != null
+                    ? userStory.getPriority().ordinal() : NONE;
+        }
+        return storyPriorities[story];
+    }
+
+    /**
+     * Packs a sprint, member and priority, each of which may be NONE except the sprint, into a map key.
+     */
+    private static long cellKey(int sprint, int member, int priority) {
+        return ((long) sprint << 32) | ((member + 1L) << 3) | (priority + 1);
+    }
+
+    private static int minutesBetween(long fromMillis, long toMillis) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, toMillis - fromMillis) / MINUTE_MILLIS);
+    }
+
+    private void ensureTask(int task) {
+        if (task < taskStories.length) {
+            return;
+        }
+        int capacity = Math.max(task + 1, taskStories.length * 2);
+        taskStories = grow(taskStories, capacity);
+        taskMembers = grow(taskMembers, capacity);
+        taskCycleMinutes = grow(taskCycleMinutes, capacity);
+        taskStartedAt = Arrays.copyOf(taskStartedAt, capacity);
+        taskCellKeys = Arrays.copyOf(taskCellKeys, capacity);
+    }
+
+    private void ensureStory(int story) {
+        if (story < storySprints.length) {
+            return;
+        }
+        int capacity = Math.max(story + 1, storySprints.length * 2);
+        storySprints = grow(storySprints, capacity);
+        storyLeadMinutes = grow(storyLeadMinutes, capacity);
+        int length = storyPriorities.length;
+        storyPriorities = Arrays.copyOf(storyPriorities, capacity);
+        Arrays.fill(storyPriorities, length, capacity, UNKNOWN_PRIORITY);
+        storyTasks = Arrays.copyOf(storyTasks, capacity);
+        storyDoneTasks = Arrays.copyOf(storyDoneTasks, capacity);
+        storyStartedAt = Arrays.copyOf(storyStartedAt, capacity);
+    }
+
+    /**
+     * @return A copy of the array with the new entries set to NONE
+     */
+    private static int[] grow(int[] array, int capacity) {
+        int length = array.length;
+        int[] grown = Arrays.copyOf(array, capacity);
+        Arrays.fill(grown, length, capacity, NONE);
+        return grown;
+    }
+
+    /**
+     * Assignment transitions read ahead of the status transitions they are interleaved with.
+     */
+    private static final class PendingAssignments {
+        int[] tasks = new int[16];
+        int[] members = new int[16];
+        long[] times = new long[16];
+        int size;
+        int next;
+
+        void add(int task, int member, long time) {
+            if (size == tasks.length) {
+                tasks = Arrays.copyOf(tasks, size * 2);
+                members = Arrays.copyOf(members, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            tasks[size] = task;
+            members[size] = member;
+            times[size] = time;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.model.Task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-day task status changes for one sprint, kept as an int array per status so a chart is a
+ * prefix sum over the sprint's days rather than a replay of its history.
+ *
+ * Day 0 also collects everything that happened before the sprint started, and one extra bucket
+ * after the last day collects everything after it ended. Alongside the counts, the day each story
+ * last became complete (all of its tasks done) is tracked for point burndowns.
+ */
+final class DailyStatusBuckets {
+    static final int NOT_COMPLETE = -1;
+
+    private static final int STATUS_COUNT = Task.Status.values().length;
+    private static final int DONE = Task.Status.DONE.ordinal();
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long startEpochDay;
+    private final int days;
+    private final int[][] statusDeltas;
+
+    // Per-story progress, indexed by the story's slot in these buckets
+    private final Map<Integer, Integer> storySlots = new HashMap<>();
+    private int[] storyTasks = new int[8];
+    private int[] storyDoneTasks = new int[8];
+    private int[] storyCompletedDays = new int[8];
+
+    DailyStatusBuckets(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startEpochDay = startDate.toEpochDay();
+        this.days = (int) Math.max(1, ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        this.statusDeltas = new int[STATUS_COUNT][days + 1];
+    }
+
+    /**
+     * @return Whether these buckets were laid out for the given dates
+     */
+    boolean matches(LocalDate start, LocalDate end) {
+        return startDate.equals(start) && endDate.equals(end);
+    }
+
+    int getDays() {
+        return days;
+    }
+
+    /**
+     * @param story A story number from the transition history
+     * @return The story's slot, to pass to {@link #apply}
+     */
+    int storySlot(int story) {
+        Integer slot = storySlots.get(story);
+        if (slot == null) {
+            slot = storySlots.size();
+            storySlots.put(story, slot);
+            if (slot == storyTasks.length) {
+                storyTasks = Arrays.copyOf(storyTasks, slot * 2);
+                storyDoneTasks = Arrays.copyOf(storyDoneTasks, slot * 2);
+                storyCompletedDays = Arrays.copyOf(storyCompletedDays, slot * 2);
+            }
+            storyCompletedDays[slot] = NOT_COMPLETE;
+        }
+        return slot;
+    }
+
+    /**
+     * Applies one status transition from the history.
+     */
+    void apply(int storySlot, int from, int to, long epochDay) {
+        int day = (int) Math.max(0, Math.min(days, epochDay - startEpochDay));
+        if (from != TransitionHistory.NONE) {
+            statusDeltas[from][day]--;
+        }
+        if (to != TransitionHistory.NONE) {
+            statusDeltas[to][day]++;
+        }
+
+        boolean wasComplete = isComplete(storySlot);
+        if (from == TransitionHistory.NONE) {
+            storyTasks[storySlot]++;
+        } else if (from == DONE) {
+            storyDoneTasks[storySlot]--;
+        }
+        if (to == TransitionHistory.NONE) {
+            storyTasks[storySlot]--;
+        } else if (to == DONE) {
+            storyDoneTasks[storySlot]++;
+        }
+        if (!isComplete(storySlot)) {
+            storyCompletedDays[storySlot] = NOT_COMPLETE;
+        } else if (!wasComplete) {
+            storyCompletedDays[storySlot] = day;
+        }
+    }
+
+    private boolean isComplete(int storySlot) {
+        return storyTasks[storySlot] > 0 && storyDoneTasks[storySlot] == storyTasks[storySlot];
+    }
+
+    /**
+     * @return Task counts per status at the end of each of the first {@code dayCount} days,
+     *         indexed by status ordinal and then day
+     */
+    int[][] countsByDay(int dayCount) {
+        int[][] counts = new int[STATUS_COUNT][dayCount];
+        for (int status = 0; status < STATUS_COUNT; status++) {
+            int[] deltas = statusDeltas[status];
+            int[] statusCounts = counts[status];
+            int running = 0;
+            for (int day = 0; day < dayCount; day++) {
+                running += deltas[day];
+                statusCounts[day] = running;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return The day the story last became complete, {@link #getDays()} if that was after the
+     *         sprint ended, or NOT_COMPLETE
+     */
+    int completedDay(int story) {
+        Integer slot = storySlots.get(story);
+        return slot != null ? storyCompletedDays[slot] : NOT_COMPLETE;
+    }
+}
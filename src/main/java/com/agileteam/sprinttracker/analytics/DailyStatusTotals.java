@@ -0,0 +1,82 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.model.Task;
+
+/**
+ * Per-day task status changes across the whole workspace, kept as an int array per status and
+ * grown as days are seen, so counts for any date range are a prefix sum over days rather than a
+ * replay of the history.
+ */
+final class DailyStatusTotals {
+    private static final int STATUS_COUNT = Task.Status.values().length;
+
+    private long firstEpochDay;
+    private int[][] statusDeltas = new int[STATUS_COUNT][0];
+
+    /**
+     * Applies one status transition from the history.
+     */
+    void apply(int from, int to, long epochDay) {
+        int day = dayIndex(epochDay);
+        if (from != TransitionHistory.NONE) {
+            statusDeltas[from][day]--;
+        }
+        if (to != TransitionHistory.NONE) {
+            statusDeltas[to][day]++;
+        }
+    }
+
+    /**
+     * @return Task counts per status at the end of each of {@code dayCount} days from
+     *         {@code fromEpochDay}, indexed by status ordinal and then day
+     */
+    int[][] countsByDay(long fromEpochDay, int dayCount) {
+        int[][] counts = new int[STATUS_COUNT][dayCount];
+        int days = statusDeltas[0].length;
+        long start = fromEpochDay - firstEpochDay;
+        for (int status = 0; status < STATUS_COUNT; status++) {
+            int[] deltas = statusDeltas[status];
+            int[] statusCounts = counts[status];
+            int running = 0;
+            for (int day = 0; day < Math.min(start, days); day++) {
+                running += deltas[day];
+            }
+            for (int i = 0; i < dayCount; i++) {
+                long day = start + i;
+                if (day >= 0 && day < days) {
+                    running += deltas[(int) day];
+                }
+                statusCounts[i] = running;
+            }
+        }
+        return counts;
+    }
+
+    private int dayIndex(long epochDay) {
+        int days = statusDeltas[0].length;
+        if (days == 0) {
+            firstEpochDay = epochDay;
+            grow(0, 64);
+        } else if (epochDay < firstEpochDay) {
+            // Rows come in time order, so this is only a safeguard
+            int shift = (int) (firstEpochDay - epochDay);
+            grow(shift, days + shift);
+            firstEpochDay = epochDay;
+        } else if (epochDay - firstEpochDay >= days) {
+            grow(0, (int) Math.max(epochDay - firstEpochDay + 1, days * 2L));
+        }
+        return (int) (epochDay - firstEpochDay);
+    }
+
+    /**
+     * Reallocates the arrays at the given length, moving the existing days {@code shift} later.
+     */
+    private void grow(int shift, int length) {
+        for (int status = 0; status < STATUS_COUNT; status++) {
+            int[] grown = new int[length];
+            System.arraycopy(statusDeltas[status], 0, grown, shift, statusDeltas[status].length);
+            statusDeltas[status] = grown;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.Arrays;
+
+/**
+ * A streaming quantile sketch of durations with log-linear buckets, like the metrics package's
+ * LatencyHistogram but sized for minutes to years, mergeable, and able to take values back out.
+ *
+ * Each power of two is split into {@value #SUB_BUCKET_COUNT} buckets, so quantiles are accurate to
+ * about 3% whatever the magnitude. Only the range of buckets actually used is allocated, so a
+ * sketch of similar durations stays a few hundred bytes however many values it has seen.
+ */
+final class DurationSketch {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // Counts for the buckets from offset on
+    private int[] counts = new int[0];
+    private int offset;
+    private long count;
+
+    void add(long value) {
+        adjust(bucketIndex(value), 1);
+    }
+
+    /**
+     * Takes back a value that was added earlier.
+     */
+    void remove(long value) {
+        adjust(bucketIndex(value), -1);
+    }
+
+    void addAll(DurationSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                first = first < 0 ? i : first;
+                last = i;
+            }
+        }
+        cover(other.offset + first);
+        cover(other.offset + last);
+        for (int i = first; i <= last; i++) {
+            counts[other.offset + i - offset] += other.counts[i];
+        }
+        count += other.count;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * @param quantile Between 0 and 1
+     * @return The estimated value at the quantile, or 0 if the sketch is empty
+     */
+    long getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketMidpoint(offset + i);
+            }
+        }
+        return bucketMidpoint(offset + counts.length - 1);
+    }
+
+    private void adjust(int index, int delta) {
+        cover(index);
+        counts[index - offset] += delta;
+        count += delta;
+    }
+
+    /**
+     * Grows the allocated range to include the bucket, at least doubling it so growth is amortized.
+     */
+    private void cover(int index) {
+        if (counts.length == 0) {
+            counts = new int[8];
+            offset = Math.max(0, index - 4);
+        } else if (index < offset) {
+            int newOffset = Math.max(0, Math.min(index, offset - counts.length));
+            int[] grown = new int[counts.length + offset - newOffset];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index - offset + 1, counts.length * 2));
+        }
+    }
+
+    static int bucketIndex(long value) {
+        value = Math.max(0, value);
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS + 1 bits: the shift picks the power of two, the rest the sub-bucket
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return subBucket << shift;
+    }
+
+    private static long bucketMidpoint(int index) {
+        long lower = bucketLowerBound(index);
+        long width = bucketLowerBound(index + 1) - lower;
+        return lower + width / 2;
+    }
+}
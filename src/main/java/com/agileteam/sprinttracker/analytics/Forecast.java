@@ -0,0 +1,104 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * When a sprint's remaining tasks are likely to be done, from Monte Carlo trials over the team's
+ * past throughput.
+ */
+public class Forecast {
+    /**
+     * The date by which the given share of trials had finished.
+     */
+    public static class Percentile {
+        private final int percentile;
+        private final String date;
+
+        Percentile(int percentile, String date) {
+            this.percentile = percentile;
+            this.date = date;
+        }
+
+        public int getPercentile() {
+            return percentile;
+        }
+
+        /**
+         * @return The date, or null if fewer trials than that finished within the horizon
+         */
+        public String getDate() {
+            return date;
+        }
+    }
+
+    private final String sprintId;
+    private final String fromDate;
+    private final String endDate;
+    private final int remainingTasks;
+    private final int trials;
+    private final int historySprints;
+    private final double onTimeProbability;
+    private final int unfinishedTrials;
+    private final List<Percentile> percentiles;
+
+    Forecast(String sprintId, String fromDate, String endDate, int remainingTasks, int trials, int historySprints,
+             double onTimeProbability, int unfinishedTrials, List<Percentile> percentiles) {
+        this.sprintId = sprintId;
+        this.fromDate = fromDate;
+        this.endDate = endDate;
+        this.remainingTasks = remainingTasks;
+        this.trials = trials;
+        this.historySprints = historySprints;
+        this.onTimeProbability = onTimeProbability;
+        this.unfinishedTrials = unfinishedTrials;
+        this.percentiles = percentiles;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    /**
+     * @return The first simulated day: today, or the sprint's start date if it hasn't started
+     */
+    public String getFromDate() {
+        return fromDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public int getRemainingTasks() {
+        return remainingTasks;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    /**
+     * @return How many ended sprints the throughput was sampled from
+     */
+    public int getHistorySprints() {
+        return historySprints;
+    }
+
+    /**
+     * @return The share of trials that finished by the sprint's end date
+     */
+    public double getOnTimeProbability() {
+        return onTimeProbability;
+    }
+
+    /**
+     * @return Trials still unfinished after a year
+     */
+    public int getUnfinishedTrials() {
+        return unfinishedTrials;
+    }
+
+    public List<Percentile> getPercentiles() {
+        return percentiles;
+    }
+}
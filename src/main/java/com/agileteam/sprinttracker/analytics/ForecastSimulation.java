@@ -0,0 +1,121 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a range of Monte Carlo trials of a sprint's remaining work and counts how many finish on
+ * each day.
+ *
+ * Ranges are split in half until they are small enough to run on one thread; each half gets its
+ * own generator split from its parent's, so trials never share random state and a forecast with
+ * a given seed comes out the same however the work is scheduled.
+ *
+ * In each trial every member gets a daily rate drawn from one of their past sprints, then works
+ * for a Poisson-distributed number of tasks each day at that rate: first on their own remaining
+ * tasks, then on unassigned ones.
+ */
+final class ForecastSimulation extends RecursiveTask<int[]> {
+    private static final int TRIALS_PER_LEAF = 2048;
+
+    // e^-rate for each member's past sprints, precomputed for Poisson sampling
+    private final double[][] memberExpRates;
+    private final int[] memberRemaining;
+    private final int unassigned;
+    private final int horizonDays;
+    private final int trials;
+    private final SplittableRandom random;
+
+    /**
+     * @param memberExpRates Per member, e^-rate for each past sprint's tasks per day; never empty
+     * @param memberRemaining Per member, the tasks assigned to them that are not done
+     * @param unassigned Tasks that are not done and have no assignee
+     * @param horizonDays Days to simulate before giving up on a trial
+     */
+    ForecastSimulation(double[][] memberExpRates, int[] memberRemaining, int unassigned, int horizonDays,
+                       int trials, SplittableRandom random) {
+        this.memberExpRates = memberExpRates;
+        this.memberRemaining = memberRemaining;
+        this.unassigned = unassigned;
+        this.horizonDays = horizonDays;
+        this.trials = trials;
+        this.random = random;
+    }
+
+    /**
+     * @return Trials finishing on each day, indexed by days from the start; the last entry counts
+     *         trials that were not finished within the horizon
+     */
+    @Override
+    protected int[] compute() {
+        if (trials <= TRIALS_PER_LEAF) {
+            return simulate();
+        }
+        int half = trials / 2;
+        ForecastSimulation left = new ForecastSimulation(memberExpRates, memberRemaining, unassigned, horizonDays,
+                half, random.split());
+        ForecastSimulation right = new ForecastSimulation(memberExpRates, memberRemaining, unassigned, horizonDays,
+                trials - half, random);
+        left.fork();
+        int[] finished = right.compute();
+        int[] leftFinished = left.join();
+        for (int day = 0; day < finished.length; day++) {
+            finished[day] += leftFinished[day];
+        }
+        return finished;
+    }
+
+    private int[] simulate() {
+        int members = memberRemaining.length;
+        int total = unassigned;
+        for (int remaining : memberRemaining) {
+            total += remaining;
+        }
+
+        int[] finished = new int[horizonDays + 1];
+        int[] remaining = new int[members];
+        double[] expRates = new double[members];
+        for (int trial = 0; trial < trials; trial++) {
+            System.arraycopy(memberRemaining, 0, remaining, 0, members);
+            for (int member = 0; member < members; member++) {
+                double[] pastRates = memberExpRates[member];
+                expRates[member] = pastRates[random.nextInt(pastRates.length)];
+            }
+
+            int pool = unassigned;
+            int left = total;
+            int day = 0;
+            while (left > 0 && day < horizonDays) {
+                for (int member = 0; member < members && left > 0; member++) {
+                    if (remaining[member] == 0 && pool == 0) {
+                        // Nothing this member could pick up
+                        continue;
+                    }
+                    int capacity = poisson(expRates[member]);
+                    int own = Math.min(capacity, remaining[member]);
+                    remaining[member] -= own;
+                    int shared = Math.min(capacity - own, pool);
+                    pool -= shared;
+                    left -= own + shared;
+                }
+                day++;
+            }
+            // A trial that finishes during day d counts for day d; one with nothing to do, for day 0
+            finished[left > 0 ? horizonDays : Math.max(0, day - 1)]++;
+        }
+        return finished;
+    }
+
+    /**
+     * Knuth's method, which is fast for the small daily rates of one person.
+     */
+    private int poisson(double expRate) {
+        int count = 0;
+        double product = random.nextDouble();
+        while (product > expRate) {
+            count++;
+            product *= random.nextDouble();
+        }
+        return count;
+    }
+}
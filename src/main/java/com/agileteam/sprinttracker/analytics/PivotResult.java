@@ -0,0 +1,126 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Task counts and story points broken down by any combination of status, assignee, priority and
+ * sprint.
+ */
+public class PivotResult {
+    /**
+     * One combination of the grouped dimensions. Dimensions that were not grouped by are left null.
+     */
+    public static class Row {
+        private final String status;
+        private final String statusName;
+        private final String assigneeId;
+        private final String assigneeName;
+        private final String priority;
+        private final String priorityName;
+        private final String sprintId;
+        private final String sprintName;
+        private final int tasks;
+        private final double storyPoints;
+
+        Row(String status, String statusName, String assigneeId, String assigneeName, String priority,
+            String priorityName, String sprintId, String sprintName, int tasks, double storyPoints) {
+            this.status = status;
+            this.statusName = statusName;
+            this.assigneeId = assigneeId;
+            this.assigneeName = assigneeName;
+            this.priority = priority;
+            this.priorityName = priorityName;
+            this.sprintId = sprintId;
+            this.sprintName = sprintName;
+            this.tasks = tasks;
+            this.storyPoints = storyPoints;
+        }
+
+        /**
+         * @return The status as the rest of the API names it (TODO, IN_PROGRESS, DONE), or null if
+         *         not grouped by status
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        public String getStatusName() {
+            return statusName;
+        }
+
+        /**
+         * @return The member's ID, or null for unassigned tasks or if not grouped by assignee
+         */
+        public String getAssigneeId() {
+            return assigneeId;
+        }
+
+        public String getAssigneeName() {
+            return assigneeName;
+        }
+
+        /**
+         * @return The story's priority, NONE for stories without one, or null if not grouped by priority
+         */
+        public String getPriority() {
+            return priority;
+        }
+
+        public String getPriorityName() {
+            return priorityName;
+        }
+
+        public String getSprintId() {
+            return sprintId;
+        }
+
+        public String getSprintName() {
+            return sprintName;
+        }
+
+        public int getTasks() {
+            return tasks;
+        }
+
+        /**
+         * @return The tasks' shares of their stories' points
+         */
+        public double getStoryPoints() {
+            return storyPoints;
+        }
+    }
+
+    private final List<String> groupBy;
+    private final int totalTasks;
+    private final double totalStoryPoints;
+    private final List<Row> rows;
+
+    PivotResult(List<String> groupBy, int totalTasks, double totalStoryPoints, List<Row> rows) {
+        this.groupBy = groupBy;
+        this.totalTasks = totalTasks;
+        this.totalStoryPoints = totalStoryPoints;
+        this.rows = rows;
+    }
+
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @return Tasks matching the filters
+     */
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public double getTotalStoryPoints() {
+        return totalStoryPoints;
+    }
+
+    /**
+     * @return The combinations that have tasks, in order of the grouped dimensions
+     */
+    public List<Row> getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,484 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeListener;
+import com.agileteam.sprinttracker.events.EntitySnapshots;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory columnar fact table with one row per task, for ad hoc breakdowns by any subset of
+ * status, assignee, priority and sprint.
+ *
+ * Each dimension is a column of small integer codes: status and priority use their ordinals, and
+ * members, sprints and stories are numbered by dictionaries as they are first seen. The measure is
+ * the task's share of its story's points, in thousandths. A query folds the grouped columns into
+ * one group key per row and then counts and sums by key, each a tight loop over primitive arrays,
+ * into a dense array when the combinations are few enough and a map otherwise.
+ *
+ * The table follows the workspace through change events: a story's rows are rewritten when it or
+ * one of its tasks changes, rows are dropped with their task, story or sprint, and the table is
+ * rebuilt after a bulk import. Dictionary codes are never reused, so deleted members and sprints
+ * keep theirs until the next rebuild.
+ */
+public class PivotTable implements ChangeListener {
+    /**
+     * What a pivot can group and filter by.
+     */
+    public enum Dimension {
+        STATUS,
+        ASSIGNEE,
+        PRIORITY,
+        SPRINT
+    }
+
+    /**
+     * The assignee filter value for tasks without an assignee.
+     */
+    public static final String UNASSIGNED = "unassigned";
+
+    private static final Task.Status[] STATUSES = Task.Status.values();
+    private static final UserStory.Priority[] PRIORITIES = UserStory.Priority.values();
+    // Code 0 of the assignee and priority columns stands for none
+    private static final int NONE = 0;
+    private static final int MAX_DENSE_GROUPS = 1 << 20;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final SprintManager sprintManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Dictionary members = new Dictionary();
+    private final Dictionary sprints = new Dictionary();
+    private final Dictionary stories = new Dictionary();
+
+    // The columns, by row; rows are kept packed, a removed row being replaced by the last one
+    private int rowCount;
+    private String[] taskIds = new String[INITIAL_CAPACITY];
+    private int[] statusCodes = new int[INITIAL_CAPACITY];
+    private int[] assigneeCodes = new int[INITIAL_CAPACITY];
+    private int[] priorityCodes = new int[INITIAL_CAPACITY];
+    private int[] sprintCodes = new int[INITIAL_CAPACITY];
+    private int[] storyCodes = new int[INITIAL_CAPACITY];
+    private int[] milliPoints = new int[INITIAL_CAPACITY];
+    private final Map<String, Integer> rowsByTask = new HashMap<>();
+
+    /**
+     * Numbers strings in the order they are first seen.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * @return The value's code, or -1 if it has none
+         */
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+
+    public PivotTable(SprintManager sprintManager) {
+        this.sprintManager = sprintManager;
+        rebuild();
+    }
+
+    /**
+     * Reloads every row from the workspace.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            members.clear();
+            sprints.clear();
+            stories.clear();
+            // Code 0 is for unassigned tasks
+            members.encode(null);
+            rowsByTask.clear();
+            rowCount = 0;
+            for (Sprint sprint : sprintManager.getAllSprints()) {
+                for (UserStory story : sprint.getUserStories()) {
+                    putStory(sprint, story);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case MEMBER_CREATED:
+            case MEMBER_UPDATED:
+            case SPRINT_UPDATED:
+                // Names are looked up when a pivot is read
+                return;
+            case WORKSPACE_IMPORTED:
+                rebuild();
+                return;
+            default:
+                break;
+        }
+
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case SPRINT_CREATED: {
+                    Sprint sprint = sprintManager.getSprintById(event.getSprintId()).orElse(null);
+                    if (sprint != null) {
+                        for (UserStory story : sprint.getUserStories()) {
+                            putStory(sprint, story);
+                        }
+                    }
+                    break;
+                }
+                case SPRINT_DELETED:
+                    removeRowsWhere(sprintCodes, sprints.find(event.getSprintId()));
+                    break;
+                case STORY_DELETED:
+                    removeRowsWhere(storyCodes, stories.find(event.getStoryId()));
+                    break;
+                case MEMBER_DELETED:
+                    // The member's tasks were unassigned without events of their own
+                    replaceCodes(assigneeCodes, members.find(event.getMemberId()), NONE);
+                    break;
+                case TASK_DELETED: {
+                    Integer row = rowsByTask.get(event.getTaskId());
+                    if (row != null) {
+                        removeRow(row);
+                    }
+                    // The remaining tasks' shares of the story's points grew
+                    refreshStory(event.getSprintId(), event.getStoryId());
+                    break;
+                }
+                default:
+                    // Story and task edits, status changes and assignments; rewriting the story
+                    // also catches the change to its other tasks' shares when a task is added
+                    refreshStory(event.getSprintId(), event.getStoryId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param groupBy The dimensions to break the tasks down by, in order; empty for the totals only
+     * @param filters Only tasks with these values: a status or priority name (NONE for stories
+     *                without one), a member ID or {@link #UNASSIGNED}, a sprint ID
+     * @throws IllegalArgumentException If a status or priority filter is not a known name
+     */
+    public PivotResult query(List<Dimension> groupBy, Map<Dimension, String> filters) {
+        Map<String, String> memberNames = new HashMap<>();
+        for (TeamMember member : new ArrayList<>(sprintManager.getAllTeamMembers())) {
+            memberNames.put(member.getId(), member.getName());
+        }
+        Map<String, String> sprintNames = new HashMap<>();
+        for (Sprint sprint : new ArrayList<>(sprintManager.getAllSprints())) {
+            sprintNames.put(sprint.getId(), sprint.getName());
+        }
+
+        lock.readLock().lock();
+        try {
+            int rows = rowCount;
+            int[] keys = new int[rows];
+            int[] cardinalities = new int[groupBy.size()];
+            long combinations = 1;
+            for (int d = 0; d < groupBy.size(); d++) {
+                cardinalities[d] = cardinality(groupBy.get(d));
+                combinations *= cardinalities[d];
+            }
+            boolean dense = combinations <= MAX_DENSE_GROUPS;
+            long[] wideKeys = dense ? null : new long[rows];
+
+            // Fold each grouped column into the keys, one column at a time
+            for (int d = 0; d < groupBy.size(); d++) {
+                int[] column = column(groupBy.get(d));
+                int cardinality = cardinalities[d];
+                if (dense) {
+                    for (int i = 0; i < rows; i++) {
+                        keys[i] = keys[i] * cardinality + column[i];
+                    }
+                } else {
+                    for (int i = 0; i < rows; i++) {
+                        wideKeys[i] = wideKeys[i] * cardinality + column[i];
+                    }
+                }
+            }
+
+            // Rows that don't pass a filter get a negative mark in keys
+            for (Map.Entry<Dimension, String> filter : filters.entrySet()) {
+                int code = filterCode(filter.getKey(), filter.getValue());
+                int[] column = column(filter.getKey());
+                for (int i = 0; i < rows; i++) {
+                    keys[i] = column[i] == code ? keys[i] : -1;
+                }
+            }
+
+            int totalTasks = 0;
+            long totalMilliPoints = 0;
+            List<PivotResult.Row> resultRows = new ArrayList<>();
+            if (dense) {
+                int[] taskCounts = new int[(int) combinations];
+                long[] pointSums = new long[(int) combinations];
+                for (int i = 0; i < rows; i++) {
+                    int key = keys[i];
+                    if (key >= 0) {
+                        taskCounts[key]++;
+                        pointSums[key] += milliPoints[i];
+                    }
+                }
+                for (int key = 0; key < taskCounts.length; key++) {
+                    if (taskCounts[key] > 0) {
+                        totalTasks += taskCounts[key];
+                        totalMilliPoints += pointSums[key];
+                        resultRows.add(row(groupBy, cardinalities, key, taskCounts[key], pointSums[key],
+                                memberNames, sprintNames));
+                    }
+                }
+            } else {
+                // Too many combinations for an array; sorted so rows come out in the same order
+                Map<Long, long[]> sums = new TreeMap<>();
+                for (int i = 0; i < rows; i++) {
+                    if (keys[i] >= 0) {
+                        long[] sum = sums.computeIfAbsent(wideKeys[i], key -> new long[2]);
+                        sum[0]++;
+                        sum[1] += milliPoints[i];
+                    }
+                }
+                for (Map.Entry<Long, long[]> entry : sums.entrySet()) {
+                    long[] sum = entry.getValue();
+                    totalTasks += (int) sum[0];
+                    totalMilliPoints += sum[1];
+                    resultRows.add(row(groupBy, cardinalities, entry.getKey(), (int) sum[0], sum[1],
+                            memberNames, sprintNames));
+                }
+            }
+
+            List<String> groupNames = new ArrayList<>(groupBy.size());
+            for (Dimension dimension : groupBy) {
+                groupNames.add(dimension.name().toLowerCase());
+            }
+            return new PivotResult(groupNames, totalTasks, points(totalMilliPoints), resultRows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a group key back into its codes, last dimension first, and names them.
+     */
+    private PivotResult.Row row(List<Dimension> groupBy, int[] cardinalities, long key, int tasks, long pointSum,
+                                Map<String, String> memberNames, Map<String, String> sprintNames) {
+        String status = null;
+        String statusName = null;
+        String assigneeId = null;
+        String assigneeName = null;
+        String priority = null;
+        String priorityName = null;
+        String sprintId = null;
+        String sprintName = null;
+        for (int d = groupBy.size() - 1; d >= 0; d--) {
+            int code = (int) (key % cardinalities[d]);
+            key /= cardinalities[d];
+            switch (groupBy.get(d)) {
+                case STATUS:
+                    status = EntitySnapshots.statusName(STATUSES[code]);
+                    statusName = STATUSES[code].getDisplayName();
+                    break;
+                case ASSIGNEE:
+                    assigneeId = members.decode(code);
+                    assigneeName = assigneeId != null ? memberNames.get(assigneeId) : "Unassigned";
+                    break;
+                case PRIORITY:
+                    priority = code != NONE ? PRIORITIES[code - 1].name() : "NONE";
+                    priorityName = code != NONE ? PRIORITIES[code - 1].getDisplayName() : "None";
+                    break;
+                default:
+                    sprintId = sprints.decode(code);
+                    sprintName = sprintNames.get(sprintId);
+            }
+        }
+        return new PivotResult.Row(status, statusName, assigneeId, assigneeName, priority, priorityName,
+                sprintId, sprintName, tasks, points(pointSum));
+    }
+
+    private int cardinality(Dimension dimension) {
+        switch (dimension) {
+            case STATUS:
+                return STATUSES.length;
+            case ASSIGNEE:
+                return members.size();
+            case PRIORITY:
+                return PRIORITIES.length + 1;
+            default:
+                return Math.max(1, sprints.size());
+        }
+    }
+
+    private int[] column(Dimension dimension) {
+        switch (dimension) {
+            case STATUS:
+                return statusCodes;
+            case ASSIGNEE:
+                return assigneeCodes;
+            case PRIORITY:
+                return priorityCodes;
+            default:
+                return sprintCodes;
+        }
+    }
+
+    /**
+     * @return The code rows must have to pass the filter, or -1 if no row can
+     */
+    private int filterCode(Dimension dimension, String value) {
+        switch (dimension) {
+            case STATUS:
+                // The API calls TO_DO "TODO"; the enum name is still accepted
+                return "TODO".equals(value) ? Task.Status.TO_DO.ordinal() : Task.Status.valueOf(value).ordinal();
+            case ASSIGNEE:
+                return UNASSIGNED.equals(value) ? NONE : members.find(value);
+            case PRIORITY:
+                return "NONE".equals(value) ? NONE : UserStory.Priority.valueOf(value).ordinal() + 1;
+            default:
+                return sprints.find(value);
+        }
+    }
+
+    private void refreshStory(String sprintId, String storyId) {
+        Sprint sprint = sprintId != null ? sprintManager.getSprintById(sprintId).orElse(null) : null;
+        if (sprint == null || storyId == null) {
+            return;
+        }
+        for (UserStory story : sprint.getUserStories()) {
+            if (story.getId().equals(storyId)) {
+                putStory(sprint, story);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds or rewrites the rows of the story's tasks.
+     */
+    private void putStory(Sprint sprint, UserStory story) {
+        List<Task> tasks = story.getTasks();
+        if (tasks.isEmpty()) {
+            return;
+        }
+        int taskMilliPoints = story.getStoryPoints() * 1000 / tasks.size();
+        int priority = story.getPriority() != null ? story.getPriority().ordinal() + 1 : NONE;
+        int sprintCode = sprints.encode(sprint.getId());
+        int storyCode = stories.encode(story.getId());
+        for (Task task : tasks) {
+            Integer row = rowsByTask.get(task.getId());
+            if (row == null) {
+                row = addRow(task.getId());
+            }
+            statusCodes[row] = task.getStatus() != null ? task.getStatus().ordinal() : 0;
+            TeamMember assignee = task.getAssignedTeamMember();
+            assigneeCodes[row] = assignee != null ? members.encode(assignee.getId()) : NONE;
+            priorityCodes[row] = priority;
+            sprintCodes[row] = sprintCode;
+            storyCodes[row] = storyCode;
+            milliPoints[row] = taskMilliPoints;
+        }
+    }
+
+    private int addRow(String taskId) {
+        if (rowCount == taskIds.length) {
+            int capacity = taskIds.length * 2;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+            assigneeCodes = Arrays.copyOf(assigneeCodes, capacity);
+            priorityCodes = Arrays.copyOf(priorityCodes, capacity);
+            sprintCodes = Arrays.copyOf(sprintCodes, capacity);
+            storyCodes = Arrays.copyOf(storyCodes, capacity);
+            milliPoints = Arrays.copyOf(milliPoints, capacity);
+        }
+        int row = rowCount++;
+        taskIds[row] = taskId;
+        rowsByTask.put(taskId, row);
+        return row;
+    }
+
+    /**
+     * Moves the last row into the removed one's place.
+     */
+    private void removeRow(int row) {
+        int last = --rowCount;
+        rowsByTask.remove(taskIds[row]);
+        if (row != last) {
+            taskIds[row] = taskIds[last];
+            statusCodes[row] = statusCodes[last];
+            assigneeCodes[row] = assigneeCodes[last];
+            priorityCodes[row] = priorityCodes[last];
+            sprintCodes[row] = sprintCodes[last];
+            storyCodes[row] = storyCodes[last];
+            milliPoints[row] = milliPoints[last];
+            rowsByTask.put(taskIds[row], row);
+        }
+        taskIds[last] = null;
+    }
+
+    private void removeRowsWhere(int[] column, int code) {
+        if (code < 0) {
+            return;
+        }
+        // From the end, so the row moved into a removed one's place has already been looked at
+        for (int row = rowCount - 1; row >= 0; row--) {
+            if (column[row] == code) {
+                removeRow(row);
+            }
+        }
+    }
+
+    private void replaceCodes(int[] column, int code, int replacement) {
+        if (code < 0) {
+            return;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            column[row] = column[row] == code ? replacement : column[row];
+        }
+    }
+
+    private static double points(long milliPoints) {
+        return Math.round(milliPoints / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeListener;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totals across many sprints, for portfolio and quarterly reviews.
+ *
+ * Each sprint's figures are kept as an immutable partial and recomputed only when that sprint
+ * changes: when its version moves, or when a change event names it, since editing a story or
+ * task does not change the version of its sprint. A report merges the partials of the sprints in
+ * its range, so it costs a few additions per sprint however many tasks they hold. Reports do not
+ * lock; a partial that goes stale while one is being merged is simply recomputed next time.
+ */
+public class RollupEngine implements ChangeListener {
+    /**
+     * What a report can be grouped by.
+     */
+    public enum Period {
+        SPRINT,
+        MONTH,
+        QUARTER
+    }
+
+    private static final String UNSCHEDULED = "unscheduled";
+
+    private final SprintManager sprintManager;
+    private final Map<String, SprintRollup> partials = new ConcurrentHashMap<>();
+    // Stamps increase with every change; a partial is current if it was stamped after the sprint's last change
+    private final AtomicLong changeStamp = new AtomicLong();
+    private final Map<String, Long> lastChanges = new ConcurrentHashMap<>();
+    private volatile long lastImport;
+
+    /**
+     * Sums of partials; what a merge of a range of sprints builds up.
+     */
+    private static final class Totals {
+        int sprintCount;
+        final int[] stories = new int[SprintRollup.NO_PRIORITY + 1];
+        final int[] completedStories = new int[SprintRollup.NO_PRIORITY + 1];
+        final int[] points = new int[SprintRollup.NO_PRIORITY + 1];
+        final int[] completedPoints = new int[SprintRollup.NO_PRIORITY + 1];
+        int totalTasks;
+        int completedTasks;
+
+        void add(SprintRollup partial) {
+            sprintCount++;
+            for (int priority = 0; priority <= SprintRollup.NO_PRIORITY; priority++) {
+                stories[priority] += partial.stories[priority];
+                completedStories[priority] += partial.completedStories[priority];
+                points[priority] += partial.points[priority];
+                completedPoints[priority] += partial.completedPoints[priority];
+            }
+            totalTasks += partial.totalTasks;
+            completedTasks += partial.completedTasks;
+        }
+
+        RollupReport.Figures toFigures() {
+            int totalStories = 0;
+            int totalCompletedStories = 0;
+            int committed = 0;
+            int completed = 0;
+            for (int priority = 0; priority <= SprintRollup.NO_PRIORITY; priority++) {
+                totalStories += stories[priority];
+                totalCompletedStories += completedStories[priority];
+                committed += points[priority];
+                completed += completedPoints[priority];
+            }
+
+            List<RollupReport.PriorityMix> mix = new ArrayList<>();
+            for (int priority = SprintRollup.PRIORITIES.length - 1; priority >= 0; priority--) {
+                if (stories[priority] > 0) {
+                    UserStory.Priority value = SprintRollup.PRIORITIES[priority];
+                    mix.add(new RollupReport.PriorityMix(value.name(), value.getDisplayName(), stories[priority],
+                            completedStories[priority], points[priority], completedPoints[priority],
+                            share(points[priority], committed)));
+                }
+            }
+            int none = SprintRollup.NO_PRIORITY;
+            if (stories[none] > 0) {
+                mix.add(new RollupReport.PriorityMix("NONE", "None", stories[none], completedStories[none],
+                        points[none], completedPoints[none], share(points[none], committed)));
+            }
+
+            return new RollupReport.Figures(sprintCount, committed, completed, share(completed, committed),
+                    totalStories, totalCompletedStories, totalTasks, completedTasks, mix);
+        }
+
+        private static double share(int part, int whole) {
+            return whole > 0 ? Math.round(part * 1000.0 / whole) / 1000.0 : 0;
+        }
+    }
+
+    public RollupEngine(SprintManager sprintManager) {
+        this.sprintManager = sprintManager;
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case MEMBER_CREATED:
+            case MEMBER_UPDATED:
+            case MEMBER_DELETED:
+                break;
+            case WORKSPACE_IMPORTED:
+                lastImport = changeStamp.incrementAndGet();
+                partials.clear();
+                lastChanges.clear();
+                break;
+            case SPRINT_DELETED:
+                partials.remove(event.getSprintId());
+                lastChanges.remove(event.getSprintId());
+                break;
+            default:
+                if (event.getSprintId() != null) {
+                    lastChanges.put(event.getSprintId(), changeStamp.incrementAndGet());
+                }
+        }
+    }
+
+    /**
+     * @param from Only sprints starting on or after this date, or null for no lower bound
+     * @param to Only sprints starting on or before this date, or null for no upper bound
+     * @param groupBy What to break the totals down by, or null for the totals only
+     * @return The merged figures of the sprints in the range; sprints without a start date are only
+     *         included when there are no bounds
+     */
+    public RollupReport getReport(LocalDate from, LocalDate to, Period groupBy) {
+        List<SprintRollup> inRange = new ArrayList<>();
+        for (Sprint sprint : new ArrayList<>(sprintManager.getAllSprints())) {
+            LocalDate start = sprint.getStartDate();
+            boolean included = start != null
+                    ? (from == null || !start.isBefore(from)) && (to == null || !start.isAfter(to))
+                    : from == null && to == null;
+            if (included) {
+                inRange.add(partialOf(sprint));
+            }
+        }
+        inRange.sort(Comparator.comparing((SprintRollup partial) -> partial.startDate,
+                Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(partial -> partial.sprintId));
+
+        Totals totals = new Totals();
+        Map<String, Totals> groups = new LinkedHashMap<>();
+        Map<String, String> groupNames = new LinkedHashMap<>();
+        for (SprintRollup partial : inRange) {
+            totals.add(partial);
+            if (groupBy != null) {
+                String id = groupId(groupBy, partial);
+                groups.computeIfAbsent(id, key -> new Totals()).add(partial);
+                groupNames.putIfAbsent(id, groupBy == Period.SPRINT ? partial.sprintName : id);
+            }
+        }
+
+        List<RollupReport.Group> groupRows = new ArrayList<>(groups.size());
+        for (Map.Entry<String, Totals> entry : groups.entrySet()) {
+            groupRows.add(new RollupReport.Group(entry.getKey(), groupNames.get(entry.getKey()),
+                    entry.getValue().toFigures()));
+        }
+        return new RollupReport(from != null ? from.toString() : null, to != null ? to.toString() : null,
+                groupBy != null ? groupBy.name().toLowerCase() : null, totals.toFigures(), groupRows);
+    }
+
+    /**
+     * @return The sprint's cached partial, recomputed first if the sprint changed since
+     */
+    private SprintRollup partialOf(Sprint sprint) {
+        long lastChange = Math.max(lastImport, lastChanges.getOrDefault(sprint.getId(), 0L));
+        SprintRollup partial = partials.get(sprint.getId());
+        if (partial == null || !partial.isCurrent(sprint, lastChange)) {
+            // Stamped before reading the sprint, so a change made meanwhile marks it stale again
+            partial = SprintRollup.of(sprint, changeStamp.get());
+            partials.put(sprint.getId(), partial);
+        }
+        return partial;
+    }
+
+    private static String groupId(Period groupBy, SprintRollup partial) {
+        if (groupBy == Period.SPRINT) {
+            return partial.sprintId;
+        }
+        if (partial.startDate == null) {
+            return UNSCHEDULED;
+        }
+        if (groupBy == Period.MONTH) {
+            return String.format("%d-%02d", partial.startDate.getYear(), partial.startDate.getMonthValue());
+        }
+        return partial.startDate.getYear() + "-Q" + ((partial.startDate.getMonthValue() - 1) / 3 + 1);
+    }
+}
@@ -0,0 +1,214 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Story points committed and done, completion rates and the priority mix across a range of
+ * sprints, in total and per sprint, month or quarter.
+ */
+public class RollupReport {
+    /**
+     * The stories and points of one priority.
+     */
+    public static class PriorityMix {
+        private final String priority;
+        private final String name;
+        private final int stories;
+        private final int completedStories;
+        private final int committedPoints;
+        private final int completedPoints;
+        private final double pointShare;
+
+        PriorityMix(String priority, String name, int stories, int completedStories, int committedPoints,
+                    int completedPoints, double pointShare) {
+            this.priority = priority;
+            this.name = name;
+            this.stories = stories;
+            this.completedStories = completedStories;
+            this.committedPoints = committedPoints;
+            this.completedPoints = completedPoints;
+            this.pointShare = pointShare;
+        }
+
+        /**
+         * @return The priority, or NONE for stories without one
+         */
+        public String getPriority() {
+            return priority;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStories() {
+            return stories;
+        }
+
+        public int getCompletedStories() {
+            return completedStories;
+        }
+
+        public int getCommittedPoints() {
+            return committedPoints;
+        }
+
+        public int getCompletedPoints() {
+            return completedPoints;
+        }
+
+        /**
+         * @return This priority's share of all committed points, between 0 and 1
+         */
+        public double getPointShare() {
+            return pointShare;
+        }
+    }
+
+    /**
+     * The figures for a set of sprints.
+     */
+    public static class Figures {
+        private final int sprintCount;
+        private final int committedPoints;
+        private final int completedPoints;
+        private final double completionRate;
+        private final int totalStories;
+        private final int completedStories;
+        private final int totalTasks;
+        private final int completedTasks;
+        private final List<PriorityMix> priorities;
+
+        Figures(int sprintCount, int committedPoints, int completedPoints, double completionRate, int totalStories,
+                int completedStories, int totalTasks, int completedTasks, List<PriorityMix> priorities) {
+            this.sprintCount = sprintCount;
+            this.committedPoints = committedPoints;
+            this.completedPoints = completedPoints;
+            this.completionRate = completionRate;
+            this.totalStories = totalStories;
+            this.completedStories = completedStories;
+            this.totalTasks = totalTasks;
+            this.completedTasks = completedTasks;
+            this.priorities = priorities;
+        }
+
+        public int getSprintCount() {
+            return sprintCount;
+        }
+
+        public int getCommittedPoints() {
+            return committedPoints;
+        }
+
+        public int getCompletedPoints() {
+            return completedPoints;
+        }
+
+        /**
+         * @return Completed points over committed points, between 0 and 1; 0 if nothing was committed
+         */
+        public double getCompletionRate() {
+            return completionRate;
+        }
+
+        public int getTotalStories() {
+            return totalStories;
+        }
+
+        public int getCompletedStories() {
+            return completedStories;
+        }
+
+        public int getTotalTasks() {
+            return totalTasks;
+        }
+
+        public int getCompletedTasks() {
+            return completedTasks;
+        }
+
+        /**
+         * @return The priorities that have stories, highest first, then stories without a priority
+         */
+        public List<PriorityMix> getPriorities() {
+            return priorities;
+        }
+    }
+
+    /**
+     * The figures for one sprint, month or quarter.
+     */
+    public static class Group {
+        private final String id;
+        private final String name;
+        private final Figures figures;
+
+        Group(String id, String name, Figures figures) {
+            this.id = id;
+            this.name = name;
+            this.figures = figures;
+        }
+
+        /**
+         * @return The sprint ID, the month as YYYY-MM, the quarter as YYYY-Qn, or "unscheduled" for
+         *         sprints without a start date
+         */
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Figures getFigures() {
+            return figures;
+        }
+    }
+
+    private final String from;
+    private final String to;
+    private final String groupBy;
+    private final Figures totals;
+    private final List<Group> groups;
+
+    RollupReport(String from, String to, String groupBy, Figures totals, List<Group> groups) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.totals = totals;
+        this.groups = groups;
+    }
+
+    /**
+     * @return The earliest start date of the sprints covered, or null for no lower bound
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * @return The latest start date of the sprints covered, or null for no upper bound
+     */
+    public String getTo() {
+        return to;
+    }
+
+    /**
+     * @return sprint, month, quarter, or null if not grouped
+     */
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public Figures getTotals() {
+        return totals;
+    }
+
+    /**
+     * @return The groups in order of their sprints' start dates; empty if not grouped
+     */
+    public List<Group> getGroups() {
+        return groups;
+    }
+}
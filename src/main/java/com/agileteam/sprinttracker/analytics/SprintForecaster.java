@@ -0,0 +1,148 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Forecasts when a sprint's remaining tasks will be done by simulating the team many times over,
+ * with each member's daily throughput sampled from their recent ended sprints.
+ *
+ * Trials run in parallel on a fork-join pool and only a count of trials per finishing day is
+ * kept, so memory does not grow with the number of trials.
+ */
+public class SprintForecaster {
+    /**
+     * Days simulated before a trial is counted as unfinished.
+     */
+    public static final int HORIZON_DAYS = 365;
+
+    private static final int[] PERCENTILES = {50, 70, 85, 95};
+
+    private final VelocityEngine velocityEngine;
+    private final ForkJoinPool pool;
+
+    public SprintForecaster(VelocityEngine velocityEngine) {
+        this(velocityEngine, ForkJoinPool.commonPool());
+    }
+
+    public SprintForecaster(VelocityEngine velocityEngine, ForkJoinPool pool) {
+        this.velocityEngine = velocityEngine;
+        this.pool = pool;
+    }
+
+    /**
+     * @param trials How many times to simulate the rest of the sprint
+     * @param historySprints How many of the last ended sprints to sample throughput from
+     * @throws IllegalStateException If nobody completed a task in those sprints
+     */
+    public Forecast forecast(Sprint sprint, int trials, int historySprints) {
+        return forecast(sprint, trials, historySprints, LocalDate.now(), new SplittableRandom());
+    }
+
+    public Forecast forecast(Sprint sprint, int trials, int historySprints, LocalDate today,
+                             SplittableRandom random) {
+        Map<String, double[]> memberRates = velocityEngine.getMemberTaskRates(historySprints, today);
+
+        // Members without any completed tasks on record work at the rate of a typical team member
+        List<Double> pooledRates = new ArrayList<>();
+        int sampledSprints = 0;
+        for (double[] rates : memberRates.values()) {
+            sampledSprints = rates.length;
+            if (hasThroughput(rates)) {
+                for (double rate : rates) {
+                    pooledRates.add(rate);
+                }
+            }
+        }
+        if (pooledRates.isEmpty()) {
+            throw new IllegalStateException("No tasks were completed by the team in the last "
+                    + historySprints + " ended sprints");
+        }
+        double[] pooledExpRates = new double[pooledRates.size()];
+        for (int i = 0; i < pooledExpRates.length; i++) {
+            pooledExpRates[i] = Math.exp(-pooledRates.get(i));
+        }
+
+        Map<String, Integer> memberIndexes = new HashMap<>();
+        List<double[]> expRates = new ArrayList<>();
+        for (Map.Entry<String, double[]> entry : memberRates.entrySet()) {
+            memberIndexes.put(entry.getKey(), expRates.size());
+            expRates.add(hasThroughput(entry.getValue()) ? expOfNegated(entry.getValue()) : pooledExpRates);
+        }
+        int[] memberRemaining = new int[expRates.size()];
+        int unassigned = 0;
+        int remainingTasks = 0;
+        for (UserStory story : sprint.getUserStories()) {
+            for (Task task : story.getTasks()) {
+                if (task.getStatus() == Task.Status.DONE) {
+                    continue;
+                }
+                remainingTasks++;
+                TeamMember assignee = task.getAssignedTeamMember();
+                Integer member = assignee != null ? memberIndexes.get(assignee.getId()) : null;
+                if (member != null) {
+                    memberRemaining[member]++;
+                } else {
+                    unassigned++;
+                }
+            }
+        }
+
+        int[] finished = pool.invoke(new ForecastSimulation(expRates.toArray(new double[0][]), memberRemaining,
+                unassigned, HORIZON_DAYS, trials, random));
+
+        LocalDate fromDate = sprint.getStartDate() != null && sprint.getStartDate().isAfter(today)
+                ? sprint.getStartDate() : today;
+        long onTimeDays = sprint.getEndDate() != null ? ChronoUnit.DAYS.between(fromDate, sprint.getEndDate()) + 1 : 0;
+        int onTime = 0;
+        for (int day = 0; day < Math.min(onTimeDays, HORIZON_DAYS); day++) {
+            onTime += finished[day];
+        }
+
+        List<Forecast.Percentile> percentiles = new ArrayList<>(PERCENTILES.length);
+        int day = 0;
+        long cumulative = finished[0];
+        for (int percentile : PERCENTILES) {
+            long needed = (long) Math.ceil(trials * percentile / 100.0);
+            while (cumulative < needed && day < HORIZON_DAYS) {
+                day++;
+                cumulative += finished[day];
+            }
+            // Past the last simulated day the trials are unfinished, so there's no date to give
+            percentiles.add(new Forecast.Percentile(percentile,
+                    day < HORIZON_DAYS ? fromDate.plusDays(day).toString() : null));
+        }
+
+        return new Forecast(sprint.getId(), fromDate.toString(),
+                sprint.getEndDate() != null ? sprint.getEndDate().toString() : null, remainingTasks, trials,
+                sampledSprints, Math.round(onTime * 1000.0 / trials) / 1000.0, finished[HORIZON_DAYS], percentiles);
+    }
+
+    private static boolean hasThroughput(double[] rates) {
+        for (double rate : rates) {
+            if (rate > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[] expOfNegated(double[] rates) {
+        double[] expRates = new double[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            expRates[i] = Math.exp(-rates[i]);
+        }
+        return expRates;
+    }
+}
@@ -0,0 +1,84 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.time.LocalDate;
+
+/**
+ * One sprint's share of a rollup: its stories, points and tasks, committed and done, by priority.
+ * Immutable, so readers can merge cached partials without locking while others are recomputed.
+ *
+ * Stories without a priority are counted under an extra slot after the last priority.
+ */
+final class SprintRollup {
+    static final UserStory.Priority[] PRIORITIES = UserStory.Priority.values();
+    static final int NO_PRIORITY = PRIORITIES.length;
+
+    final String sprintId;
+    final String sprintName;
+    final LocalDate startDate;
+    final LocalDate endDate;
+    // What the partial was computed from: the sprint's own version and the engine's change stamp
+    final long sprintVersion;
+    final long stamp;
+    final int[] stories;
+    final int[] completedStories;
+    final int[] points;
+    final int[] completedPoints;
+    final int totalTasks;
+    final int completedTasks;
+
+    private SprintRollup(Sprint sprint, long sprintVersion, long stamp, int[] stories, int[] completedStories,
+                         int[] points, int[] completedPoints, int totalTasks, int completedTasks) {
+        this.sprintId = sprint.getId();
+        this.sprintName = sprint.getName();
+        this.startDate = sprint.getStartDate();
+        this.endDate = sprint.getEndDate();
+        this.sprintVersion = sprintVersion;
+        this.stamp = stamp;
+        this.stories = stories;
+        this.completedStories = completedStories;
+        this.points = points;
+        this.completedPoints = completedPoints;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+    }
+
+    static SprintRollup of(Sprint sprint, long stamp) {
+        // Read before the contents, so a concurrent edit leaves the partial looking out of date
+        long sprintVersion = sprint.getVersion();
+        int[] stories = new int[NO_PRIORITY + 1];
+        int[] completedStories = new int[NO_PRIORITY + 1];
+        int[] points = new int[NO_PRIORITY + 1];
+        int[] completedPoints = new int[NO_PRIORITY + 1];
+        int totalTasks = 0;
+        int completedTasks = 0;
+
+        for (UserStory story : sprint.getUserStories()) {
+            int priority = story.getPriority() != null ? story.getPriority().ordinal() : NO_PRIORITY;
+            stories[priority]++;
+            points[priority] += story.getStoryPoints();
+            if (story.isComplete()) {
+                completedStories[priority]++;
+                completedPoints[priority] += story.getStoryPoints();
+            }
+            for (Task task : story.getTasks()) {
+                totalTasks++;
+                if (task.getStatus() == Task.Status.DONE) {
+                    completedTasks++;
+                }
+            }
+        }
+        return new SprintRollup(sprint, sprintVersion, stamp, stories, completedStories, points, completedPoints,
+                totalTasks, completedTasks);
+    }
+
+    /**
+     * @param lastChange The engine's stamp for the last change event naming this sprint
+     */
+    boolean isCurrent(Sprint sprint, long lastChange) {
+        return sprintVersion == sprint.getVersion() && stamp >= lastChange;
+    }
+}
@@ -0,0 +1,88 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What one sprint delivered, overall and per team member. Immutable, so it can be cached until
+ * the sprint changes.
+ *
+ * A story's points count once all of its tasks are done. Each member is credited with a share of
+ * a completed story's points in proportion to the story's tasks they did, so the members' points
+ * plus those of unassigned tasks add up to the sprint's.
+ */
+final class SprintVelocity {
+    final String sprintId;
+    final String sprintName;
+    final LocalDate startDate;
+    final LocalDate endDate;
+    final int committedPoints;
+    final int completedPoints;
+    final int totalTasks;
+    final int completedTasks;
+    final Map<String, Double> memberPoints;
+    final Map<String, Integer> memberTasks;
+
+    private SprintVelocity(Sprint sprint, int committedPoints, int completedPoints, int totalTasks,
+                           int completedTasks, Map<String, Double> memberPoints, Map<String, Integer> memberTasks) {
+        this.sprintId = sprint.getId();
+        this.sprintName = sprint.getName();
+        this.startDate = sprint.getStartDate();
+        this.endDate = sprint.getEndDate();
+        this.committedPoints = committedPoints;
+        this.completedPoints = completedPoints;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+        this.memberPoints = Collections.unmodifiableMap(memberPoints);
+        this.memberTasks = Collections.unmodifiableMap(memberTasks);
+    }
+
+    static SprintVelocity of(Sprint sprint) {
+        int committedPoints = 0;
+        int completedPoints = 0;
+        int totalTasks = 0;
+        int completedTasks = 0;
+        Map<String, Double> memberPoints = new HashMap<>();
+        Map<String, Integer> memberTasks = new HashMap<>();
+
+        for (UserStory story : sprint.getUserStories()) {
+            committedPoints += story.getStoryPoints();
+            int storyTasks = story.getTasks().size();
+            totalTasks += storyTasks;
+            boolean complete = story.isComplete();
+            if (complete) {
+                completedPoints += story.getStoryPoints();
+            }
+            for (Task task : story.getTasks()) {
+                if (task.getStatus() != Task.Status.DONE) {
+                    continue;
+                }
+                completedTasks++;
+                TeamMember assignee = task.getAssignedTeamMember();
+                if (assignee != null) {
+                    memberTasks.merge(assignee.getId(), 1, Integer::sum);
+                    if (complete) {
+                        memberPoints.merge(assignee.getId(), story.getStoryPoints() / (double) storyTasks, Double::sum);
+                    }
+                }
+            }
+        }
+        return new SprintVelocity(sprint, committedPoints, completedPoints, totalTasks, completedTasks,
+                memberPoints, memberTasks);
+    }
+
+    double pointsOf(String memberId) {
+        return memberPoints.getOrDefault(memberId, 0.0);
+    }
+
+    int tasksOf(String memberId) {
+        return memberTasks.getOrDefault(memberId, 0);
+    }
+}
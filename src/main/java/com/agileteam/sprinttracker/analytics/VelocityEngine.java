@@ -0,0 +1,159 @@
+package com.agileteam.sprinttracker.analytics;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeListener;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.TeamMember;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Team and member velocity across the sprint history.
+ *
+ * Each sprint's figures are computed once and cached until a change event names that sprint, so
+ * a report only walks the sprints that changed since the last one. Renaming a member needs no
+ * recomputation; deleting one or importing a workspace drops the whole cache.
+ */
+public class VelocityEngine implements ChangeListener {
+    private final SprintManager sprintManager;
+    private final Map<String, SprintVelocity> cache = new HashMap<>();
+
+    public VelocityEngine(SprintManager sprintManager) {
+        this.sprintManager = sprintManager;
+    }
+
+    @Override
+    public synchronized void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case MEMBER_CREATED:
+            case MEMBER_UPDATED:
+                break;
+            case MEMBER_DELETED:
+            case WORKSPACE_IMPORTED:
+                cache.clear();
+                break;
+            default:
+                if (event.getSprintId() != null) {
+                    cache.remove(event.getSprintId());
+                }
+        }
+    }
+
+    /**
+     * @param window How many sprints the rolling and summary statistics cover
+     * @return Velocity for every sprint that has started by today
+     */
+    public VelocityReport getReport(int window) {
+        return getReport(window, LocalDate.now());
+    }
+
+    public synchronized VelocityReport getReport(int window, LocalDate today) {
+        List<SprintVelocity> sprints = getStartedSprints(today);
+        int count = sprints.size();
+        double[] points = new double[count];
+        double[] tasks = new double[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = sprints.get(i).completedPoints;
+            tasks[i] = sprints.get(i).completedTasks;
+        }
+
+        List<VelocityReport.SprintRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int from = Math.max(0, i + 1 - window);
+            rows.add(new VelocityReport.SprintRow(sprints.get(i), isEnded(sprints.get(i), today),
+                    VelocityReport.Statistics.of(points, from, i + 1),
+                    VelocityReport.Statistics.of(tasks, from, i + 1)));
+        }
+
+        // Summaries only look at sprints that are over, since a running sprint's figures are partial
+        List<SprintVelocity> recent = new ArrayList<>(window);
+        for (int i = count - 1; i >= 0 && recent.size() < window; i--) {
+            if (isEnded(sprints.get(i), today)) {
+                recent.add(sprints.get(i));
+            }
+        }
+        int size = recent.size();
+        double[] recentPoints = new double[size];
+        double[] recentTasks = new double[size];
+        for (int i = 0; i < size; i++) {
+            recentPoints[i] = recent.get(i).completedPoints;
+            recentTasks[i] = recent.get(i).completedTasks;
+        }
+
+        List<VelocityReport.MemberRow> members = new ArrayList<>();
+        for (TeamMember member : sprintManager.getAllTeamMembers()) {
+            List<VelocityReport.MemberSprint> memberSprints = new ArrayList<>(count);
+            for (SprintVelocity velocity : sprints) {
+                memberSprints.add(new VelocityReport.MemberSprint(velocity.sprintId,
+                        VelocityReport.Statistics.round(velocity.pointsOf(member.getId())),
+                        velocity.tasksOf(member.getId())));
+            }
+            double[] memberPoints = new double[size];
+            double[] memberTasks = new double[size];
+            for (int i = 0; i < size; i++) {
+                memberPoints[i] = recent.get(i).pointsOf(member.getId());
+                memberTasks[i] = recent.get(i).tasksOf(member.getId());
+            }
+            members.add(new VelocityReport.MemberRow(member.getId(), member.getName(), memberSprints,
+                    VelocityReport.Statistics.of(memberPoints, 0, size),
+                    VelocityReport.Statistics.of(memberTasks, 0, size)));
+        }
+
+        return new VelocityReport(window, size, VelocityReport.Statistics.of(recentPoints, 0, size),
+                VelocityReport.Statistics.of(recentTasks, 0, size), rows, members);
+    }
+
+    /**
+     * @return Tasks completed per calendar day by each current team member in each of the last
+     *         {@code sprintCount} ended sprints, oldest first; empty arrays if no sprint has ended
+     */
+    synchronized Map<String, double[]> getMemberTaskRates(int sprintCount, LocalDate today) {
+        List<SprintVelocity> recent = new ArrayList<>(sprintCount);
+        List<SprintVelocity> sprints = getStartedSprints(today);
+        for (int i = sprints.size() - 1; i >= 0 && recent.size() < sprintCount; i--) {
+            if (isEnded(sprints.get(i), today)) {
+                recent.add(0, sprints.get(i));
+            }
+        }
+
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        for (TeamMember member : sprintManager.getAllTeamMembers()) {
+            double[] memberRates = new double[recent.size()];
+            for (int i = 0; i < memberRates.length; i++) {
+                SprintVelocity velocity = recent.get(i);
+                long days = ChronoUnit.DAYS.between(velocity.startDate, velocity.endDate) + 1;
+                memberRates[i] = velocity.tasksOf(member.getId()) / (double) Math.max(1, days);
+            }
+            rates.put(member.getId(), memberRates);
+        }
+        return rates;
+    }
+
+    /**
+     * @return The sprints that have started by today, oldest first, from the cache where possible
+     */
+    private List<SprintVelocity> getStartedSprints(LocalDate today) {
+        List<SprintVelocity> sprints = new ArrayList<>();
+        for (Sprint sprint : sprintManager.getAllSprints()) {
+            if (sprint.getStartDate() == null || sprint.getStartDate().isAfter(today)) {
+                continue;
+            }
+            sprints.add(cache.computeIfAbsent(sprint.getId(), id -> SprintVelocity.of(sprint)));
+        }
+        sprints.sort(Comparator.comparing((SprintVelocity velocity) -> velocity.startDate)
+                .thenComparing(velocity -> velocity.sprintId));
+        return sprints;
+    }
+
+    private static boolean isEnded(SprintVelocity velocity, LocalDate today) {
+        return velocity.endDate != null && velocity.endDate.isBefore(today);
+    }
+}
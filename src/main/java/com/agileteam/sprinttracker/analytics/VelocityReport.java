@@ -0,0 +1,272 @@
+package com.agileteam.sprinttracker.analytics;
+
+import java.util.List;
+
+/**
+ * Velocity and throughput per sprint and per team member, with averages and variances over a
+ * trailing window of sprints.
+ */
+public class VelocityReport {
+    /**
+     * One sprint's figures, with statistics over it and the sprints just before it.
+     */
+    public static class SprintRow {
+        private final String sprintId;
+        private final String name;
+        private final String startDate;
+        private final String endDate;
+        private final boolean ended;
+        private final int committedPoints;
+        private final int completedPoints;
+        private final int totalTasks;
+        private final int completedTasks;
+        private final double rollingAveragePoints;
+        private final double rollingPointsVariance;
+        private final double rollingAverageTasks;
+        private final double rollingTasksVariance;
+
+        SprintRow(SprintVelocity velocity, boolean ended, Statistics points, Statistics tasks) {
+            this.sprintId = velocity.sprintId;
+            this.name = velocity.sprintName;
+            this.startDate = velocity.startDate.toString();
+            this.endDate = velocity.endDate != null ? velocity.endDate.toString() : null;
+            this.ended = ended;
+            this.committedPoints = velocity.committedPoints;
+            this.completedPoints = velocity.completedPoints;
+            this.totalTasks = velocity.totalTasks;
+            this.completedTasks = velocity.completedTasks;
+            this.rollingAveragePoints = points.mean;
+            this.rollingPointsVariance = points.variance;
+            this.rollingAverageTasks = tasks.mean;
+            this.rollingTasksVariance = tasks.variance;
+        }
+
+        public String getSprintId() {
+            return sprintId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getStartDate() {
+            return startDate;
+        }
+
+        public String getEndDate() {
+            return endDate;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        public int getCommittedPoints() {
+            return committedPoints;
+        }
+
+        public int getCompletedPoints() {
+            return completedPoints;
+        }
+
+        public int getTotalTasks() {
+            return totalTasks;
+        }
+
+        public int getCompletedTasks() {
+            return completedTasks;
+        }
+
+        public double getRollingAveragePoints() {
+            return rollingAveragePoints;
+        }
+
+        public double getRollingPointsVariance() {
+            return rollingPointsVariance;
+        }
+
+        public double getRollingAverageTasks() {
+            return rollingAverageTasks;
+        }
+
+        public double getRollingTasksVariance() {
+            return rollingTasksVariance;
+        }
+    }
+
+    /**
+     * What one member completed in one sprint.
+     */
+    public static class MemberSprint {
+        private final String sprintId;
+        private final double completedPoints;
+        private final int completedTasks;
+
+        MemberSprint(String sprintId, double completedPoints, int completedTasks) {
+            this.sprintId = sprintId;
+            this.completedPoints = completedPoints;
+            this.completedTasks = completedTasks;
+        }
+
+        public String getSprintId() {
+            return sprintId;
+        }
+
+        public double getCompletedPoints() {
+            return completedPoints;
+        }
+
+        public int getCompletedTasks() {
+            return completedTasks;
+        }
+    }
+
+    /**
+     * One member's figures per sprint, with statistics over the last ended sprints.
+     */
+    public static class MemberRow {
+        private final String memberId;
+        private final String name;
+        private final List<MemberSprint> sprints;
+        private final double averagePoints;
+        private final double pointsVariance;
+        private final double averageTasks;
+        private final double tasksVariance;
+
+        MemberRow(String memberId, String name, List<MemberSprint> sprints, Statistics points, Statistics tasks) {
+            this.memberId = memberId;
+            this.name = name;
+            this.sprints = sprints;
+            this.averagePoints = points.mean;
+            this.pointsVariance = points.variance;
+            this.averageTasks = tasks.mean;
+            this.tasksVariance = tasks.variance;
+        }
+
+        public String getMemberId() {
+            return memberId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<MemberSprint> getSprints() {
+            return sprints;
+        }
+
+        public double getAveragePoints() {
+            return averagePoints;
+        }
+
+        public double getPointsVariance() {
+            return pointsVariance;
+        }
+
+        public double getAverageTasks() {
+            return averageTasks;
+        }
+
+        public double getTasksVariance() {
+            return tasksVariance;
+        }
+    }
+
+    /**
+     * Mean and sample variance of a series, rounded for display.
+     */
+    static final class Statistics {
+        static final Statistics NONE = new Statistics(0, 0);
+
+        final double mean;
+        final double variance;
+
+        private Statistics(double mean, double variance) {
+            this.mean = mean;
+            this.variance = variance;
+        }
+
+        static Statistics of(double[] values, int from, int to) {
+            int n = to - from;
+            if (n <= 0) {
+                return NONE;
+            }
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += values[i];
+            }
+            double mean = sum / n;
+            double squares = 0;
+            for (int i = from; i < to; i++) {
+                squares += (values[i] - mean) * (values[i] - mean);
+            }
+            return new Statistics(round(mean), n > 1 ? round(squares / (n - 1)) : 0);
+        }
+
+        static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    private final int window;
+    private final int sprintsInWindow;
+    private final double averagePoints;
+    private final double pointsVariance;
+    private final double averageTasks;
+    private final double tasksVariance;
+    private final List<SprintRow> sprints;
+    private final List<MemberRow> members;
+
+    VelocityReport(int window, int sprintsInWindow, Statistics points, Statistics tasks, List<SprintRow> sprints,
+                   List<MemberRow> members) {
+        this.window = window;
+        this.sprintsInWindow = sprintsInWindow;
+        this.averagePoints = points.mean;
+        this.pointsVariance = points.variance;
+        this.averageTasks = tasks.mean;
+        this.tasksVariance = tasks.variance;
+        this.sprints = sprints;
+        this.members = members;
+    }
+
+    /**
+     * @return How many sprints the averages are taken over at most
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * @return How many ended sprints the team and member averages were actually taken over
+     */
+    public int getSprintsInWindow() {
+        return sprintsInWindow;
+    }
+
+    public double getAveragePoints() {
+        return averagePoints;
+    }
+
+    public double getPointsVariance() {
+        return pointsVariance;
+    }
+
+    public double getAverageTasks() {
+        return averageTasks;
+    }
+
+    public double getTasksVariance() {
+        return tasksVariance;
+    }
+
+    /**
+     * @return Every sprint that has started, oldest first
+     */
+    public List<SprintRow> getSprints() {
+        return sprints;
+    }
+
+    public List<MemberRow> getMembers() {
+        return members;
+    }
+}
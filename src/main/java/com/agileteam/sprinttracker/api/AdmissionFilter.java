@@ -0,0 +1,181 @@
+package com.agileteam.sprinttracker.api;
+
+import com.agileteam.sprinttracker.admission.RateLimiter;
+import com.agileteam.sprinttracker.logging.Log;
+import com.agileteam.sprinttracker.logging.Logger;
+import com.agileteam.sprinttracker.metrics.Counter;
+import com.agileteam.sprinttracker.metrics.MetricFamily;
+import com.agileteam.sprinttracker.metrics.MetricsRegistry;
+import com.google.gson.JsonObject;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sheds load in front of the API dispatcher so one noisy client can't starve everyone else.
+ *
+ * Two checks run before a request reaches a handler. A per-client token bucket answers 429 once
+ * a client goes over its rate. A cap on concurrent requests answers 503 once the server is busy:
+ * a request waits briefly for a slot, then gives up instead of queueing. Expensive routes have
+ * their own, smaller rate and slots, so a script hammering the GitHub import can't use up the
+ * capacity that interactive users need. Both answers carry Retry-After.
+ *
+ * Clients are identified by their X-API-Key header if it is one of the configured keys, and by
+ * their address otherwise, so that sending a made-up key with each request doesn't buy a fresh
+ * bucket.
+ * Event streams are exempt, since they hold their connection open and have their own cap.
+ *
+ * The limits are read from system properties when the server is created:
+ * sprinttracker.ratelimit.rate and .burst, sprinttracker.ratelimit.expensiveRate and
+ * .expensiveBurst, sprinttracker.ratelimit.apiKeys (comma separated), sprinttracker.admission.maxConcurrent and .maxConcurrentExpensive, and
+ * sprinttracker.admission.queueTimeoutMillis.
+ */
+class AdmissionFilter implements Filter {
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final Logger LOG = Log.getLogger(AdmissionFilter.class);
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+    private static final String UNMATCHED_ROUTE = "unmatched";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final MetricFamily<Counter> REJECTED = MetricsRegistry.getDefault()
+            .counterFamily("sprinttracker_http_rejected_total", "API requests shed by admission control",
+                    "route", "reason");
+
+    private final RateLimiter rateLimiter;
+    private final RateLimiter expensiveRateLimiter;
+    private final Semaphore slots;
+    private final Semaphore expensiveSlots;
+    private final int maxConcurrent;
+    private final int maxConcurrentExpensive;
+    private final long queueTimeoutMillis;
+    private final Set<String> apiKeys;
+
+    AdmissionFilter() {
+        this.rateLimiter = new RateLimiter(doubleProperty("sprinttracker.ratelimit.rate", 50),
+                Integer.getInteger("sprinttracker.ratelimit.burst", 100), MAX_TRACKED_CLIENTS);
+        this.expensiveRateLimiter = new RateLimiter(doubleProperty("sprinttracker.ratelimit.expensiveRate", 1),
+                Integer.getInteger("sprinttracker.ratelimit.expensiveBurst", 5), MAX_TRACKED_CLIENTS);
+        this.maxConcurrent = Integer.getInteger("sprinttracker.admission.maxConcurrent", 64);
+        this.maxConcurrentExpensive = Integer.getInteger("sprinttracker.admission.maxConcurrentExpensive", 4);
+        this.slots = new Semaphore(maxConcurrent);
+        this.expensiveSlots = new Semaphore(maxConcurrentExpensive);
+        this.queueTimeoutMillis = Long.getLong("sprinttracker.admission.queueTimeoutMillis", 50);
+        this.apiKeys = listProperty("sprinttracker.ratelimit.apiKeys");
+
+        MetricsRegistry.getDefault().gauge("sprinttracker_http_inflight_requests", "API requests being handled",
+                () -> (maxConcurrent - slots.availablePermits())
+                        + (maxConcurrentExpensive - expensiveSlots.availablePermits()));
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse resp = (HttpServletResponse) response;
+
+        ApiRoute route = req.getPathInfo() == null ? null : ApiRoute.match(req.getPathInfo());
+        if (route == ApiRoute.EVENTS || "OPTIONS".equals(req.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean expensive = route != null && route.isExpensive(req.getMethod());
+        String routeLabel = route == null ? UNMATCHED_ROUTE : route.getTemplate();
+
+        long waitNanos = (expensive ? expensiveRateLimiter : rateLimiter).tryAcquire(clientKey(req));
+        if (waitNanos > 0) {
+            reject(resp, SC_TOO_MANY_REQUESTS, routeLabel, "rate_limited",
+                    Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND),
+                    "Too many requests; slow down and retry later");
+            return;
+        }
+
+        Semaphore permits = expensive ? expensiveSlots : slots;
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            reject(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE, routeLabel, "overloaded", 1,
+                    "Server is busy; retry later");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private String clientKey(HttpServletRequest req) {
+        String apiKey = req.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "addr:" + req.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse resp, int status, String route, String reason,
+                               long retryAfterSeconds, String message) throws IOException {
+        REJECTED.labels(route, reason).increment();
+        LOG.debug("Request rejected", "route", route, "reason", reason);
+
+        resp.setStatus(status);
+        resp.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        resp.setContentType("application/json");
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        resp.getWriter().write(error.toString());
+    }
+
+    private static Set<String> listProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            LOG.warn("Ignoring invalid number in system property", "property", name, "value", value);
+            return defaultValue;
+        }
+    }
+}
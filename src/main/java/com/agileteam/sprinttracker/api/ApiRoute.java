@@ -0,0 +1,75 @@
+package com.agileteam.sprinttracker.api;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The routes served by the API dispatcher, matched against the path after /api.
+ *
+ * Each route's pattern is compiled once. The template names the route without its IDs, so it can
+ * label metrics and profiling events without creating one series per entity. Expensive routes do
+ * work proportional to the workspace or call out to GitHub, and get smaller admission budgets; a
+ * route is only expensive for the methods that do that work, so creating a sprint is not held to
+ * the budget of listing them all.
+ * Routes are tried in order, so a fixed path comes before an ID pattern it would also match.
+ */
+enum ApiRoute {
+    SPRINTS("^/sprints/?$", "/sprints", "GET"),
+    SPRINT("^/sprints/[^/]+/?$", "/sprints/{id}"),
+    BURNDOWN("^/sprints/[^/]+/burndown/?$", "/sprints/{id}/burndown"),
+    FORECAST("^/sprints/[^/]+/forecast/?$", "/sprints/{id}/forecast", "GET"),
+    SUGGEST_ASSIGNMENTS("^/sprints/[^/]+/suggest-assignments/?$", "/sprints/{id}/suggest-assignments"),
+    STORIES("^/sprints/[^/]+/stories/?$", "/sprints/{id}/stories"),
+    STORY("^/sprints/[^/]+/stories/[^/]+/?$", "/sprints/{id}/stories/{id}"),
+    TASKS("^/sprints/[^/]+/stories/[^/]+/tasks/?$", "/sprints/{id}/stories/{id}/tasks"),
+    TASK("^/sprints/[^/]+/stories/[^/]+/tasks/[^/]+/?$", "/sprints/{id}/stories/{id}/tasks/{id}"),
+    TEAM_MEMBERS("^/team-members/?$", "/team-members"),
+    TEAM_WORKLOAD("^/team-members/workload/?$", "/team-members/workload"),
+    TEAM_MEMBER("^/team-members/[^/]+/?$", "/team-members/{id}"),
+    GITHUB_ISSUES("^/github/issues/?$", "/github/issues", "GET", "POST"),
+    IMPORT("^/import/?$", "/import", "POST"),
+    EXPORT("^/export/?$", "/export", "GET"),
+    EVENTS("^/events/?$", "/events"),
+    CHANGES("^/changes/?$", "/changes"),
+    SEARCH("^/search/?$", "/search"),
+    VELOCITY("^/analytics/velocity/?$", "/analytics/velocity"),
+    CYCLE_TIME("^/analytics/cycle-time/?$", "/analytics/cycle-time"),
+    CUMULATIVE_FLOW("^/analytics/cfd/?$", "/analytics/cfd"),
+    ROLLUP("^/analytics/rollup/?$", "/analytics/rollup"),
+    PIVOT("^/analytics/pivot/?$", "/analytics/pivot"),
+    METRICS("^/metrics/?$", "/metrics"),
+    JFR("^/admin/jfr/?$", "/admin/jfr");
+
+    private static final ApiRoute[] ROUTES = values();
+
+    private final Pattern pattern;
+    private final String template;
+    private final List<String> expensiveMethods;
+
+    ApiRoute(String regex, String template, String... expensiveMethods) {
+        this.pattern = Pattern.compile(regex);
+        this.template = template;
+        this.expensiveMethods = Arrays.asList(expensiveMethods);
+    }
+
+    String getTemplate() {
+        return template;
+    }
+
+    boolean isExpensive(String method) {
+        return expensiveMethods.contains(method);
+    }
+
+    /**
+     * @return The route the path belongs to, or null if no route matches
+     */
+    static ApiRoute match(String pathInfo) {
+        for (ApiRoute route : ROUTES) {
+            if (route.pattern.matcher(pathInfo).matches()) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
@@ -1,11 +1,40 @@
 package com.agileteam.sprinttracker.api;
 
+import com.agileteam.sprinttracker.analytics.AssignmentPlanner;
+import com.agileteam.sprinttracker.analytics.BurndownTracker;
+import com.agileteam.sprinttracker.analytics.CycleTimeTracker;
+import com.agileteam.sprinttracker.analytics.PivotTable;
+import com.agileteam.sprinttracker.analytics.RollupEngine;
+import com.agileteam.sprinttracker.analytics.SprintForecaster;
+import com.agileteam.sprinttracker.analytics.VelocityEngine;
+import com.agileteam.sprinttracker.bulk.BulkImporter;
+import com.agileteam.sprinttracker.bulk.ImportResult;
+import com.agileteam.sprinttracker.bulk.WorkspaceExporter;
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeLog;
+import com.agileteam.sprinttracker.events.EventSubscription;
 import com.agileteam.sprinttracker.github.GitHubIntegration;
+import com.agileteam.sprinttracker.logging.Log;
+import com.agileteam.sprinttracker.logging.LogContext;
+import com.agileteam.sprinttracker.logging.Logger;
 import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.manager.VersionConflictException;
+import com.agileteam.sprinttracker.metrics.Counter;
+import com.agileteam.sprinttracker.metrics.LatencyHistogram;
+import com.agileteam.sprinttracker.metrics.MetricFamily;
+import com.agileteam.sprinttracker.metrics.MetricsRegistry;
 import com.agileteam.sprinttracker.model.Sprint;
 import com.agileteam.sprinttracker.model.Task;
 import com.agileteam.sprinttracker.model.TeamMember;
 import com.agileteam.sprinttracker.model.UserStory;
+import com.agileteam.sprinttracker.model.Versioned;
+import com.agileteam.sprinttracker.patch.SprintPatch;
+import com.agileteam.sprinttracker.patch.TaskPatch;
+import com.agileteam.sprinttracker.patch.UserStoryPatch;
+import com.agileteam.sprinttracker.profiling.ApiRequestEvent;
+import com.agileteam.sprinttracker.profiling.RecordingController;
+import com.agileteam.sprinttracker.search.SearchHit;
+import com.agileteam.sprinttracker.search.SearchIndex;
 import com.agileteam.sprinttracker.storage.DataStorage;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -17,7 +46,10 @@ import com.google.gson.JsonSerializer;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonParseException;
+import org.eclipse.jetty.server.Response;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.servlet.ServletHandler;
@@ -29,14 +61,26 @@ import javax.servlet.Filter;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import com.google.gson.ExclusionStrategy;
 import com.google.gson.FieldAttributes;
@@ -44,12 +88,62 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonParser;
 
 public class ApiServer {
+    private static final Logger LOG = Log.getLogger(ApiServer.class);
+
+    // Server-Sent Events are written asynchronously and hold no request thread, but each still holds a
+    // connection and a buffer, so the number of streams is capped
+    private static final int MAX_EVENT_STREAMS = 100;
+    private static final int EVENT_BUFFER_SIZE = 256;
+    private static final long EVENT_HEARTBEAT_SECONDS = 15;
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    private static final int DEFAULT_VELOCITY_WINDOW = 3;
+    private static final int MAX_VELOCITY_WINDOW = 52;
+
+    private static final int DEFAULT_FORECAST_TRIALS = 10_000;
+    private static final int MAX_FORECAST_TRIALS = 1_000_000;
+    private static final int DEFAULT_FORECAST_HISTORY = 6;
+
+    private static final int DEFAULT_SUGGESTION_HISTORY = 6;
+
+    private static final int DEFAULT_CUMULATIVE_FLOW_DAYS = 90;
+    private static final int MAX_CUMULATIVE_FLOW_DAYS = 3660;
+
+    // How long stop() waits for in-flight requests before cutting them off
+    private static final long DRAIN_TIMEOUT_MILLIS = Long.getLong("sprinttracker.shutdown.drainMillis", 10_000);
+
+
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private static final MetricFamily<LatencyHistogram> REQUEST_DURATION = MetricsRegistry.getDefault()
+            .histogramFamily("sprinttracker_http_request_duration_seconds", "API request latency by route and method",
+                    "route", "method");
+    private static final MetricFamily<Counter> REQUESTS = MetricsRegistry.getDefault()
+            .counterFamily("sprinttracker_http_requests_total", "API requests by route, method and status",
+                    "route", "method", "status");
+
     private final SprintManager sprintManager;
     private final DataStorage dataStorage;
     private final Gson gson;
     private final int port;
     private Server server;
     private GitHubIntegration gitHubIntegration;
+    private final AtomicInteger activeEventStreams = new AtomicInteger();
+    private final Set<EventSubscription> eventSubscriptions = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+    private ScheduledExecutorService eventStreamExecutor;
+    private final RecordingController recordingController;
+    private final AdmissionFilter admissionFilter;
+    private final SearchIndex searchIndex;
+    private final BurndownTracker burndownTracker;
+    private final VelocityEngine velocityEngine;
+    private final SprintForecaster sprintForecaster;
+    private final CycleTimeTracker cycleTimeTracker;
+    private final AssignmentPlanner assignmentPlanner;
+    private final RollupEngine rollupEngine;
+    private final PivotTable pivotTable;
 
     public ApiServer(SprintManager sprintManager, DataStorage dataStorage) {
         this(sprintManager, dataStorage, 8080);
@@ -86,6 +180,49 @@ public class ApiServer {
             .create();
             
         this.gitHubIntegration = new GitHubIntegration("", "", "");
+        this.recordingController = new RecordingController(dataStorage.getDataDirectory());
+        this.admissionFilter = new AdmissionFilter();
+        this.searchIndex = new SearchIndex(sprintManager);
+        sprintManager.addChangeListener(searchIndex);
+        this.burndownTracker = new BurndownTracker(sprintManager);
+        this.velocityEngine = new VelocityEngine(sprintManager);
+        sprintManager.addChangeListener(velocityEngine);
+        this.sprintForecaster = new SprintForecaster(velocityEngine);
+        this.cycleTimeTracker = new CycleTimeTracker(sprintManager);
+        this.assignmentPlanner = new AssignmentPlanner(sprintManager, velocityEngine);
+        this.rollupEngine = new RollupEngine(sprintManager);
+        sprintManager.addChangeListener(rollupEngine);
+        this.pivotTable = new PivotTable(sprintManager);
+        sprintManager.addChangeListener(pivotTable);
+        registerWorkspaceGauges();
+    }
+
+    /**
+     * Exposes the size of the workspace as gauges. They are computed when scraped, and the
+     * model's lists are plain lists, so a scrape during a change may be off by one or skipped.
+     */
+    private void registerWorkspaceGauges() {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.gauge("sprinttracker_sprints", "Number of sprints", () -> sprintManager.getAllSprints().size());
+        metrics.gauge("sprinttracker_user_stories", "Number of user stories", () -> {
+            long stories = 0;
+            for (Sprint sprint : sprintManager.getAllSprints()) {
+                stories += sprint.getUserStories().size();
+            }
+            return stories;
+        });
+        metrics.gauge("sprinttracker_tasks", "Number of tasks", () -> {
+            long tasks = 0;
+            for (Sprint sprint : sprintManager.getAllSprints()) {
+                for (UserStory story : sprint.getUserStories()) {
+                    tasks += story.getTasks().size();
+                }
+            }
+            return tasks;
+        });
+        metrics.gauge("sprinttracker_team_members", "Number of team members",
+                () -> sprintManager.getAllTeamMembers().size());
+        metrics.gauge("sprinttracker_event_streams", "Open Server-Sent Events connections", activeEventStreams::get);
     }
     
     // Custom LocalDate serializer
@@ -117,8 +254,7 @@ public class ApiServer {
                 }
                 return LocalDate.parse(dateStr);
             } catch (Exception e) {
-                System.err.println("Error parsing date: " + json);
-                e.printStackTrace();
+                LOG.error("Error parsing date", "value", json, e);
                 throw new JsonParseException("Error parsing date: " + json, e);
             }
         }
@@ -129,27 +265,95 @@ public class ApiServer {
         
         ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
         context.setContextPath("/");
-        server.setHandler(context);
         
         // Add CORS filter
         CrossOriginFilter corsFilter = new CrossOriginFilter();
         FilterHolder corsFilterHolder = new FilterHolder(corsFilter);
+        corsFilterHolder.setAsyncSupported(true);
         context.addFilter(corsFilterHolder, "/*", EnumSet.of(DispatcherType.REQUEST));
         
-        // Simple API configuration - use a single dispatcher servlet
-        context.addServlet(new ServletHolder(new ApiDispatcherServlet()), "/api/*");
+        // Shed excess API load before it reaches the dispatcher
+        FilterHolder admissionFilterHolder = new FilterHolder(admissionFilter);
+        admissionFilterHolder.setAsyncSupported(true);
+        context.addFilter(admissionFilterHolder, "/api/*", EnumSet.of(DispatcherType.REQUEST));
+        
+        // Simple API configuration - use a single dispatcher servlet; async for the event streams
+        ServletHolder dispatcherHolder = new ServletHolder(new ApiDispatcherServlet());
+        dispatcherHolder.setAsyncSupported(true);
+        context.addServlet(dispatcherHolder, "/api/*");
         
         // Serve static files
         context.addServlet(new ServletHolder(new StaticFileServlet()), "/*");
         
+        // Counting requests lets stop() wait for the ones in flight
+        StatisticsHandler statistics = new StatisticsHandler();
+        statistics.setHandler(context);
+        server.setHandler(statistics);
+        server.setStopTimeout(DRAIN_TIMEOUT_MILLIS);
+        
+        // Writes event streams and schedules their heartbeats; each write is short and never blocks
+        eventStreamExecutor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "event-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
         server.start();
-        System.out.println("API Server started on port " + port);
+        LOG.info("API Server started", "port", port);
     }
     
+    /**
+     * Stops the server without losing writes. New connections are refused, event streams are
+     * closed, and in-flight requests get up to the drain timeout to finish. The workspace is then
+     * saved one last time and the GitHub client and any flight recording are closed.
+     */
     public void stop() throws Exception {
-        if (server != null) {
+        if (server == null || stopping) {
+            return;
+        }
+        stopping = true;
+        long startNanos = System.nanoTime();
+        LOG.info("Stopping API server", "inFlightRequests", inFlightRequests(),
+                "eventStreams", activeEventStreams.get(), "drainTimeoutMs", DRAIN_TIMEOUT_MILLIS);
+
+        // Event streams never finish on their own, so end them rather than wait out the drain timeout
+        for (EventSubscription subscription : eventSubscriptions) {
+            subscription.close();
+        }
+        try {
             server.stop();
+        } catch (Exception e) {
+            // Jetty reports requests cut off at the drain timeout this way; save what we have regardless
+            LOG.warn("Server did not stop cleanly", "error", e.toString(), "inFlightRequests", inFlightRequests());
+        }
+        eventStreamExecutor.shutdownNow();
+        long drainedNanos = System.nanoTime();
+
+        try {
+            dataStorage.saveData(sprintManager);
+        } finally {
+            long savedNanos = System.nanoTime();
+            gitHubIntegration.close();
+            recordingController.close();
+            LOG.info("API server stopped", "drainMs", (drainedNanos - startNanos) / 1_000_000,
+                    "flushMs", (savedNanos - drainedNanos) / 1_000_000,
+                    "totalMs", (System.nanoTime() - startNanos) / 1_000_000);
+        }
+    }
+
+    private long inFlightRequests() {
+        StatisticsHandler statistics = server.getChildHandlerByClass(StatisticsHandler.class);
+        return statistics == null ? 0 : statistics.getRequestsActive();
+    }
+
+    /**
+     * @return The port the server listens on; once started, the actual port if 0 was requested
+     */
+    public int getPort() {
+        if (server != null && server.isStarted()) {
+            return ((ServerConnector) server.getConnectors()[0]).getLocalPort();
         }
+        return port;
     }
     
     // Helper method to parse request body
@@ -163,36 +367,9 @@ public class ApiServer {
         try {
             resp.setContentType("application/json");
             resp.setCharacterEncoding("UTF-8");
-            
-            // Create a custom GSON instance with more aggressive exclusion for this specific response
-            // This helps prevent circular references in complex nested objects
-            Gson responseGson = new GsonBuilder()
-                .setPrettyPrinting()
-                .registerTypeAdapter(LocalDate.class, new LocalDateSerializer())
-                .setExclusionStrategies(new ExclusionStrategy() {
-                    @Override
-                    public boolean shouldSkipField(FieldAttributes f) {
-                        // Exclude fields that commonly cause circular references
-                        return f.getName().equals("parentSprint") || 
-                               f.getName().equals("parentStory") ||
-                               f.getName().equals("assignedTasks") ||
-                               (f.getDeclaringClass() == Sprint.class && f.getName().equals("userStories")) ||
-                               (f.getDeclaringClass() == UserStory.class && f.getName().equals("tasks"));
-                    }
-
-                    @Override
-                    public boolean shouldSkipClass(Class<?> clazz) {
-                        return false;
-                    }
-                })
-                .disableHtmlEscaping()
-                .create();
-                
-            String json = responseGson.toJson(data);
-            resp.getWriter().write(json);
+            resp.getWriter().write(toResponseJson(data));
         } catch (StackOverflowError e) {
-            System.err.println("StackOverflowError when serializing to JSON: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("StackOverflowError when serializing to JSON", e);
             
             // Try to create a simplified response
             try {
@@ -209,8 +386,7 @@ public class ApiServer {
                 resp.getWriter().write(error.toString());
             }
         } catch (Exception e) {
-            System.err.println("Error writing JSON response: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error writing JSON response", e);
             
             // Send a simplified error response
             resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -219,6 +395,37 @@ public class ApiServer {
             resp.getWriter().write(error.toString());
         }
     }
+
+    /**
+     * Serializes an entity or list for a response, leaving out the back references that would
+     * make the object graph circular.
+     */
+    String toResponseJson(Object data) {
+        // Create a custom GSON instance with more aggressive exclusion for this specific response
+        // This helps prevent circular references in complex nested objects
+        Gson responseGson = new GsonBuilder()
+            .setPrettyPrinting()
+            .registerTypeAdapter(LocalDate.class, new LocalDateSerializer())
+            .setExclusionStrategies(new ExclusionStrategy() {
+                @Override
+                public boolean shouldSkipField(FieldAttributes f) {
+                    // Exclude fields that commonly cause circular references
+                    return f.getName().equals("parentSprint") || 
+                           f.getName().equals("parentStory") ||
+                           f.getName().equals("assignedTasks") ||
+                           (f.getDeclaringClass() == Sprint.class && f.getName().equals("userStories")) ||
+                           (f.getDeclaringClass() == UserStory.class && f.getName().equals("tasks"));
+                }
+
+                @Override
+                public boolean shouldSkipClass(Class<?> clazz) {
+                    return false;
+                }
+            })
+            .disableHtmlEscaping()
+            .create();
+        return responseGson.toJson(data);
+    }
     
     /**
      * Creates a simplified JsonObject from a complex object to avoid circular references
@@ -291,22 +498,69 @@ public class ApiServer {
     private class ApiDispatcherServlet extends HttpServlet {
         @Override
         protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String requestId = LogContext.beginRequest(req.getHeader(LogContext.REQUEST_ID_HEADER));
+            resp.setHeader(LogContext.REQUEST_ID_HEADER, requestId);
+            ApiRequestEvent event = new ApiRequestEvent();
+            event.begin();
+            long startNanos = System.nanoTime();
+            String route = UNMATCHED_ROUTE;
+            try {
+                route = dispatch(req, resp);
+            } finally {
+                long durationNanos = System.nanoTime() - startNanos;
+                REQUEST_DURATION.labels(route, req.getMethod()).recordNanos(durationNanos);
+                REQUESTS.labels(route, req.getMethod(), Integer.toString(resp.getStatus())).increment();
+                LOG.info("API request", "method", req.getMethod(), "path", req.getPathInfo(),
+                        "status", resp.getStatus(), "durationMs", durationNanos / 1_000_000);
+                commitRequestEvent(event, requestId, route, req, resp);
+                LogContext.endRequest();
+            }
+        }
+
+        private void commitRequestEvent(ApiRequestEvent event, String requestId, String route,
+                                        HttpServletRequest req, HttpServletResponse resp) {
+            event.end();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            event.requestId = requestId;
+            event.method = req.getMethod();
+            event.route = route;
+            event.path = req.getPathInfo();
+            event.status = resp.getStatus();
+            // Jetty counts what was written to the response, whatever the handler used to write it
+            if (resp instanceof Response) {
+                event.responseBytes = ((Response) resp).getHttpOutput().getWritten();
+            }
+            event.commit();
+        }
+
+        /**
+         * Routes a request to its handler.
+         *
+         * @return The matched route template, used to label metrics without one series per ID
+         */
+        private String dispatch(HttpServletRequest req, HttpServletResponse resp) throws IOException {
             String method = req.getMethod();
             String pathInfo = req.getPathInfo();
-            
-            System.out.println("\n[API REQUEST] " + method + " " + pathInfo);
+            String route = UNMATCHED_ROUTE;
             
             if (pathInfo == null) {
-                System.err.println("Path info is null");
+                LOG.warn("Path info is null");
                 resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return;
+                return route;
+            }
+            
+            ApiRoute matched = ApiRoute.match(pathInfo);
+            if (matched != null) {
+                route = matched.getTemplate();
             }
             
             try {
                 // Handle different API paths
-                if (pathInfo.matches("^/sprints/?$")) {
+                if (matched == ApiRoute.SPRINTS) {
                     // Sprints endpoints
-                    System.out.println("Handling /sprints endpoint");
+                    LOG.debug("Handling /sprints endpoint");
                     if (method.equals("GET")) {
                         handleGetAllSprints(req, resp);
                     } else if (method.equals("POST")) {
@@ -314,53 +568,86 @@ public class ApiServer {
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/sprints/[^/]+/?$")) {
+                } else if (matched == ApiRoute.SPRINT) {
                     // Single sprint endpoint
                     String sprintId = pathInfo.substring("/sprints/".length()).replace("/", "");
-                    System.out.println("Handling /sprints/{id} endpoint, sprintId: " + sprintId);
+                    LOG.debug("Handling /sprints/{id} endpoint", "sprintId", sprintId);
                     
                     if (method.equals("GET")) {
                         handleGetSprintById(sprintId, req, resp);
                     } else if (method.equals("PUT")) {
                         handleUpdateSprint(sprintId, req, resp);
+                    } else if (method.equals("PATCH")) {
+                        handlePatchSprint(sprintId, req, resp);
                     } else if (method.equals("DELETE")) {
                         handleDeleteSprint(sprintId, req, resp);
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/sprints/[^/]+/stories/?$")) {
+                } else if (matched == ApiRoute.BURNDOWN) {
+                    // Daily burndown and burnup for a sprint
+                    String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/burndown"));
+                    LOG.debug("Handling /sprints/{id}/burndown endpoint", "sprintId", sprintId);
+
+                    if (method.equals("GET")) {
+                        handleGetBurndown(sprintId, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.FORECAST) {
+                    // Monte Carlo completion forecast for a sprint
+                    String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/forecast"));
+                    LOG.debug("Handling /sprints/{id}/forecast endpoint", "sprintId", sprintId);
+
+                    if (method.equals("GET")) {
+                        handleGetForecast(sprintId, req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.SUGGEST_ASSIGNMENTS) {
+                    // Proposed assignees for a sprint's unassigned tasks
+                    String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/suggest-assignments"));
+                    LOG.debug("Handling /sprints/{id}/suggest-assignments endpoint", "sprintId", sprintId);
+
+                    if (method.equals("GET")) {
+                        handleGetAssignmentSuggestions(sprintId, req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.STORIES) {
                     // User stories for a sprint
                     String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/stories"));
-                    System.out.println("Handling /sprints/{id}/stories endpoint, sprintId: " + sprintId);
+                    LOG.debug("Handling /sprints/{id}/stories endpoint", "sprintId", sprintId);
                     
                     if (method.equals("GET")) {
                         handleGetUserStories(sprintId, req, resp);
                     } else if (method.equals("POST")) {
-                        System.out.println("Creating a user story for sprint: " + sprintId);
                         handleCreateUserStory(sprintId, req, resp);
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/sprints/[^/]+/stories/[^/]+/?$")) {
+                } else if (matched == ApiRoute.STORY) {
                     // Single user story endpoint
                     String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/stories"));
                     String storyId = pathInfo.substring(pathInfo.indexOf("/stories/") + "/stories/".length()).replace("/", "");
-                    System.out.println("Handling /sprints/{id}/stories/{id} endpoint, sprintId: " + sprintId + ", storyId: " + storyId);
+                    LOG.debug("Handling /sprints/{id}/stories/{id} endpoint", "sprintId", sprintId, "storyId", storyId);
                     
                     if (method.equals("GET")) {
                         handleGetUserStoryById(sprintId, storyId, req, resp);
                     } else if (method.equals("PUT")) {
                         handleUpdateUserStory(sprintId, storyId, req, resp);
+                    } else if (method.equals("PATCH")) {
+                        handlePatchUserStory(sprintId, storyId, req, resp);
                     } else if (method.equals("DELETE")) {
                         handleDeleteUserStory(sprintId, storyId, req, resp);
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/sprints/[^/]+/stories/[^/]+/tasks/?$")) {
+                } else if (matched == ApiRoute.TASKS) {
                     // Tasks for a user story
                     String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/stories"));
                     String storyId = pathInfo.substring(pathInfo.indexOf("/stories/") + "/stories/".length(), pathInfo.indexOf("/tasks"));
-                    System.out.println("Handling /sprints/{id}/stories/{id}/tasks endpoint, sprintId: " + sprintId + ", storyId: " + storyId);
+                    LOG.debug("Handling /sprints/{id}/stories/{id}/tasks endpoint", "sprintId", sprintId, "storyId", storyId);
                     
                     if (method.equals("GET")) {
                         handleGetTasks(sprintId, storyId, req, resp);
@@ -369,25 +656,28 @@ public class ApiServer {
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/sprints/[^/]+/stories/[^/]+/tasks/[^/]+/?$")) {
+                } else if (matched == ApiRoute.TASK) {
                     // Single task endpoint
                     String sprintId = pathInfo.substring("/sprints/".length(), pathInfo.indexOf("/stories"));
                     String storyId = pathInfo.substring(pathInfo.indexOf("/stories/") + "/stories/".length(), pathInfo.indexOf("/tasks"));
                     String taskId = pathInfo.substring(pathInfo.indexOf("/tasks/") + "/tasks/".length()).replace("/", "");
-                    System.out.println("Handling /sprints/{id}/stories/{id}/tasks/{id} endpoint, sprintId: " + sprintId + ", storyId: " + storyId + ", taskId: " + taskId);
+                    LOG.debug("Handling /sprints/{id}/stories/{id}/tasks/{id} endpoint", "sprintId", sprintId, "storyId", storyId,
+                            "taskId", taskId);
                     
                     if (method.equals("GET")) {
                         handleGetTaskById(sprintId, storyId, taskId, req, resp);
                     } else if (method.equals("PUT")) {
                         handleUpdateTask(sprintId, storyId, taskId, req, resp);
+                    } else if (method.equals("PATCH")) {
+                        handlePatchTask(sprintId, storyId, taskId, req, resp);
                     } else if (method.equals("DELETE")) {
                         handleDeleteTask(sprintId, storyId, taskId, req, resp);
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/team-members/?$")) {
+                } else if (matched == ApiRoute.TEAM_MEMBERS) {
                     // Team members endpoints
-                    System.out.println("Handling /team-members endpoint");
+                    LOG.debug("Handling /team-members endpoint");
                     
                     if (method.equals("GET")) {
                         handleGetAllTeamMembers(req, resp);
@@ -396,10 +686,17 @@ public class ApiServer {
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/team-members/[^/]+/?$")) {
+                } else if (matched == ApiRoute.TEAM_WORKLOAD) {
+                    // Every team member's task counts and open points
+                    if (method.equals("GET")) {
+                        handleGetTeamWorkload(resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.TEAM_MEMBER) {
                     // Single team member endpoint
                     String teamMemberId = pathInfo.substring("/team-members/".length()).replace("/", "");
-                    System.out.println("Handling /team-members/{id} endpoint, teamMemberId: " + teamMemberId);
+                    LOG.debug("Handling /team-members/{id} endpoint", "teamMemberId", teamMemberId);
                     
                     if (method.equals("GET")) {
                         handleGetTeamMemberById(teamMemberId, req, resp);
@@ -410,9 +707,9 @@ public class ApiServer {
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
-                } else if (pathInfo.matches("^/github/issues/?$")) {
+                } else if (matched == ApiRoute.GITHUB_ISSUES) {
                     // GitHub issues endpoints
-                    System.out.println("Handling /github/issues endpoint");
+                    LOG.debug("Handling /github/issues endpoint");
                     
                     if (method.equals("GET")) {
                         handleGetGitHubIssues(req, resp);
@@ -421,20 +718,118 @@ public class ApiServer {
                     } else {
                         resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
                     }
+                } else if (matched == ApiRoute.IMPORT) {
+                    // Bulk NDJSON import endpoint
+                    LOG.debug("Handling /import endpoint");
+
+                    if (method.equals("POST")) {
+                        handleBulkImport(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.EXPORT) {
+                    // Streaming workspace export endpoint
+                    LOG.debug("Handling /export endpoint");
+
+                    if (method.equals("GET")) {
+                        handleExport(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.EVENTS) {
+                    // Server-Sent Events change feed
+                    LOG.debug("Handling /events endpoint");
+
+                    if (method.equals("GET")) {
+                        handleEventStream(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.CHANGES) {
+                    // Delta sync since a client's last seen change
+                    LOG.debug("Handling /changes endpoint");
+
+                    if (method.equals("GET")) {
+                        handleGetChanges(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.SEARCH) {
+                    // Full-text search over story and task titles and descriptions
+                    if (method.equals("GET")) {
+                        handleSearch(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.VELOCITY) {
+                    // Velocity and throughput per sprint and team member
+                    if (method.equals("GET")) {
+                        handleGetVelocity(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.CYCLE_TIME) {
+                    // Cycle and lead time percentiles
+                    if (method.equals("GET")) {
+                        handleGetCycleTime(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.CUMULATIVE_FLOW) {
+                    // Daily task counts per status for a cumulative flow diagram
+                    if (method.equals("GET")) {
+                        handleGetCumulativeFlow(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.ROLLUP) {
+                    // Totals across a range of sprints
+                    if (method.equals("GET")) {
+                        handleGetRollup(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.PIVOT) {
+                    // Task counts and points by any combination of status, assignee, priority and sprint
+                    if (method.equals("GET")) {
+                        handleGetPivot(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.METRICS) {
+                    // Prometheus scrape endpoint
+
+                    if (method.equals("GET")) {
+                        handleGetMetrics(resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
+                } else if (matched == ApiRoute.JFR) {
+                    // Flight Recorder control
+
+                    if (method.equals("GET")) {
+                        writeRecordingStatus(resp);
+                    } else if (method.equals("POST")) {
+                        handleRecordingAction(req, resp);
+                    } else {
+                        resp.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                    }
                 } else {
                     // Unknown endpoint
-                    System.err.println("Unknown API endpoint: " + pathInfo);
+                    LOG.debug("Unknown API endpoint", "path", pathInfo);
                     resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     resp.setContentType("application/json");
                     resp.getWriter().write("{\"error\": \"Unknown API endpoint: " + pathInfo + "\"}");
                 }
+            } catch (VersionConflictException e) {
+                writePreconditionFailed(resp, e);
             } catch (Exception e) {
-                System.err.println("Exception in service method: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Exception in service method", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 resp.setContentType("application/json");
                 resp.getWriter().write("{\"error\": \"Internal server error: " + e.getMessage() + "\"}");
             }
+            return route;
         }
         
         private void handleGetAllSprints(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -449,6 +844,7 @@ public class ApiServer {
                 for (Sprint sprint : sprints) {
                     JsonObject sprintObj = new JsonObject();
                     sprintObj.addProperty("id", sprint.getId());
+                    sprintObj.addProperty("version", sprint.getVersion());
                     sprintObj.addProperty("name", sprint.getName());
                     sprintObj.addProperty("startDate", sprint.getStartDate().toString());
                     sprintObj.addProperty("endDate", sprint.getEndDate().toString());
@@ -462,6 +858,7 @@ public class ApiServer {
                     for (UserStory story : sprint.getUserStories()) {
                         JsonObject storyObj = new JsonObject();
                         storyObj.addProperty("id", story.getId());
+                        storyObj.addProperty("version", story.getVersion());
                         storyObj.addProperty("title", story.getTitle());
                         storyObj.addProperty("description", story.getDescription());
                         storyObj.addProperty("priority", story.getPriority().name());
@@ -473,6 +870,7 @@ public class ApiServer {
                         for (Task task : story.getTasks()) {
                             JsonObject taskObj = new JsonObject();
                             taskObj.addProperty("id", task.getId());
+                            taskObj.addProperty("version", task.getVersion());
                             taskObj.addProperty("title", task.getTitle());
                             taskObj.addProperty("description", task.getDescription());
                             
@@ -491,10 +889,10 @@ public class ApiServer {
                                 // Try to fix the task status in the database
                                 try {
                                     task.setStatus(Task.Status.TO_DO);
-                                    System.out.println("Fixed null status for task: " + task.getId());
+                                    LOG.warn("Fixed null status for task", "taskId", task.getId());
                                     fixedNullStatus = true;
                                 } catch (Exception e) {
-                                    System.err.println("Failed to fix null status for task: " + task.getId());
+                                    LOG.error("Failed to fix null status for task", "taskId", task.getId(), e);
                                 }
                             }
                             
@@ -520,9 +918,9 @@ public class ApiServer {
                 if (fixedNullStatus) {
                     try {
                         dataStorage.saveData(sprintManager);
-                        System.out.println("Saved data after fixing null task statuses");
+                        LOG.info("Saved data after fixing null task statuses");
                     } catch (Exception e) {
-                        System.err.println("Error saving data after fixing null task statuses: " + e.getMessage());
+                        LOG.error("Error saving data after fixing null task statuses", e);
                     }
                 }
                 
@@ -530,8 +928,7 @@ public class ApiServer {
                 resp.setCharacterEncoding("UTF-8");
                 resp.getWriter().write(sprintsArray.toString());
             } catch (Exception e) {
-                System.err.println("Error getting all sprints: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error getting all sprints", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error getting all sprints: " + e.getMessage());
@@ -541,7 +938,7 @@ public class ApiServer {
         
         private void handleCreateSprint(HttpServletRequest req, HttpServletResponse resp) throws IOException {
             Sprint sprint = parseRequestBody(req, Sprint.class);
-            sprintManager.addSprint(sprint);
+            sprintManager.createSprint(sprint);
             dataStorage.saveData(sprintManager);
             resp.setStatus(HttpServletResponse.SC_CREATED);
             writeJsonResponse(resp, sprint);
@@ -559,10 +956,13 @@ public class ApiServer {
                 }
                 
                 Sprint sprint = sprintOpt.get();
+                // Read before the contents: a change being made meanwhile leaves the ETag behind, never ahead
+                long version = sprint.getVersion();
                 
                 // Create a simplified representation without circular references
                 JsonObject sprintObj = new JsonObject();
                 sprintObj.addProperty("id", sprint.getId());
+                sprintObj.addProperty("version", version);
                 sprintObj.addProperty("name", sprint.getName());
                 sprintObj.addProperty("startDate", sprint.getStartDate().toString());
                 sprintObj.addProperty("endDate", sprint.getEndDate().toString());
@@ -576,6 +976,7 @@ public class ApiServer {
                 for (UserStory story : sprint.getUserStories()) {
                     JsonObject storyObj = new JsonObject();
                     storyObj.addProperty("id", story.getId());
+                    storyObj.addProperty("version", story.getVersion());
                     storyObj.addProperty("title", story.getTitle());
                     storyObj.addProperty("description", story.getDescription());
                     storyObj.addProperty("priority", story.getPriority().name());
@@ -587,6 +988,7 @@ public class ApiServer {
                     for (Task task : story.getTasks()) {
                         JsonObject taskObj = new JsonObject();
                         taskObj.addProperty("id", task.getId());
+                        taskObj.addProperty("version", task.getVersion());
                         taskObj.addProperty("title", task.getTitle());
                         taskObj.addProperty("description", task.getDescription());
                         
@@ -605,11 +1007,11 @@ public class ApiServer {
                             // Try to fix the task status in the database
                             try {
                                 task.setStatus(Task.Status.TO_DO);
-                                System.out.println("Fixed null status for task: " + task.getId());
+                                LOG.warn("Fixed null status for task", "taskId", task.getId());
                                 // Save the updated data
                                 dataStorage.saveData(sprintManager);
                             } catch (Exception e) {
-                                System.err.println("Failed to fix null status for task: " + task.getId());
+                                LOG.error("Failed to fix null status for task", "taskId", task.getId(), e);
                             }
                         }
                         
@@ -630,10 +1032,10 @@ public class ApiServer {
                 
                 resp.setContentType("application/json");
                 resp.setCharacterEncoding("UTF-8");
+                setETag(resp, version);
                 resp.getWriter().write(sprintObj.toString());
             } catch (Exception e) {
-                System.err.println("Error getting sprint by ID: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error getting sprint by ID", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error getting sprint by ID: " + e.getMessage());
@@ -642,8 +1044,13 @@ public class ApiServer {
         }
         
         private void handleUpdateSprint(String sprintId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             Sprint updatedSprint = parseRequestBody(req, Sprint.class);
-            boolean success = updateSprint(sprintId, updatedSprint);
+            boolean success = updateSprint(sprintId, updatedSprint, expectedVersion);
             
             if (!success) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
@@ -651,17 +1058,53 @@ public class ApiServer {
             }
             
             dataStorage.saveData(sprintManager);
-            writeJsonResponse(resp, updatedSprint);
+            Sprint sprint = sprintManager.getSprintById(sprintId).orElse(updatedSprint);
+            writeVersionedResponse(resp, sprint);
+        }
+        
+        /**
+         * Handle PATCH request to update only the supplied fields of a sprint (RFC 7386 merge patch).
+         */
+        private void handlePatchSprint(String sprintId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (!isMergePatchRequest(req, resp)) {
+                return;
+            }
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+
+            Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+            if (!sprintOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+
+            Sprint sprint = sprintOpt.get();
+            try {
+                sprintManager.patchSprint(sprint, SprintPatch.read(req.getReader()), expectedVersion);
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, e.getMessage());
+                return;
+            }
+
+            dataStorage.saveData(sprintManager);
+            writeVersionedResponse(resp, sprint);
         }
         
         private void handleDeleteSprint(String sprintId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
             if (!sprintOpt.isPresent()) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
             
-            boolean success = sprintManager.removeSprint(sprintOpt.get());
+            boolean success = sprintManager.deleteSprint(sprintOpt.get(), expectedVersion);
             if (!success) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
@@ -676,9 +1119,29 @@ public class ApiServer {
             writeJsonResponse(resp, teamMembers);
         }
         
+        /**
+         * Handle GET request for the team's workload: each member's to do, in progress and done
+         * task counts and open story points, read from counters the model keeps up to date.
+         */
+        private void handleGetTeamWorkload(HttpServletResponse resp) throws IOException {
+            JsonArray workload = new JsonArray();
+            for (TeamMember member : sprintManager.getAllTeamMembers()) {
+                JsonObject load = new JsonObject();
+                load.addProperty("memberId", member.getId());
+                load.addProperty("name", member.getName());
+                load.addProperty("role", member.getRole());
+                load.addProperty("toDoTasks", member.getTaskCount(Task.Status.TO_DO));
+                load.addProperty("inProgressTasks", member.getTaskCount(Task.Status.IN_PROGRESS));
+                load.addProperty("doneTasks", member.getTaskCount(Task.Status.DONE));
+                load.addProperty("openStoryPoints", Math.round(member.getOpenStoryPoints() * 10) / 10.0);
+                workload.add(load);
+            }
+            writeJsonResponse(resp, workload);
+        }
+
         private void handleCreateTeamMember(HttpServletRequest req, HttpServletResponse resp) throws IOException {
             TeamMember teamMember = parseRequestBody(req, TeamMember.class);
-            sprintManager.addTeamMember(teamMember);
+            sprintManager.createTeamMember(teamMember);
             
             dataStorage.saveData(sprintManager);
             resp.setStatus(HttpServletResponse.SC_CREATED);
@@ -695,10 +1158,15 @@ public class ApiServer {
                 return;
             }
             
-            writeJsonResponse(resp, teamMemberOpt.get());
+            writeVersionedResponse(resp, teamMemberOpt.get());
         }
         
         private void handleUpdateTeamMember(String teamMemberId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             TeamMember updatedTeamMember = parseRequestBody(req, TeamMember.class);
             Optional<TeamMember> existingMemberOpt = sprintManager.getTeamMemberById(teamMemberId);
             
@@ -709,23 +1177,25 @@ public class ApiServer {
             
             // Update the existing team member with data from the updated one
             TeamMember existingMember = existingMemberOpt.get();
-            existingMember.setName(updatedTeamMember.getName());
-            existingMember.setEmail(updatedTeamMember.getEmail());
-            existingMember.setRole(updatedTeamMember.getRole());
-            existingMember.setGithubUsername(updatedTeamMember.getGithubUsername());
+            sprintManager.updateTeamMember(existingMember, updatedTeamMember, expectedVersion);
             
             dataStorage.saveData(sprintManager);
-            writeJsonResponse(resp, existingMember);
+            writeVersionedResponse(resp, existingMember);
         }
         
         private void handleDeleteTeamMember(String teamMemberId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             Optional<TeamMember> teamMemberOpt = sprintManager.getTeamMemberById(teamMemberId);
             if (!teamMemberOpt.isPresent()) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
             
-            boolean success = sprintManager.removeTeamMember(teamMemberOpt.get());
+            boolean success = sprintManager.deleteTeamMember(teamMemberOpt.get(), expectedVersion);
             if (!success) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
@@ -753,6 +1223,7 @@ public class ApiServer {
                 for (UserStory story : userStories) {
                     JsonObject storyObj = new JsonObject();
                     storyObj.addProperty("id", story.getId());
+                    storyObj.addProperty("version", story.getVersion());
                     storyObj.addProperty("title", story.getTitle());
                     storyObj.addProperty("description", story.getDescription());
                     storyObj.addProperty("priority", story.getPriority().name());
@@ -764,6 +1235,7 @@ public class ApiServer {
                     for (Task task : story.getTasks()) {
                         JsonObject taskObj = new JsonObject();
                         taskObj.addProperty("id", task.getId());
+                        taskObj.addProperty("version", task.getVersion());
                         taskObj.addProperty("title", task.getTitle());
                         taskObj.addProperty("description", task.getDescription());
                         
@@ -782,9 +1254,9 @@ public class ApiServer {
                             // Try to fix the task status in the database
                             try {
                                 task.setStatus(Task.Status.TO_DO);
-                                System.out.println("Fixed null status for task: " + task.getId());
+                                LOG.warn("Fixed null status for task", "taskId", task.getId());
                             } catch (Exception e) {
-                                System.err.println("Failed to fix null status for task: " + task.getId());
+                                LOG.error("Failed to fix null status for task", "taskId", task.getId(), e);
                             }
                         }
                         
@@ -806,8 +1278,7 @@ public class ApiServer {
                 resp.setCharacterEncoding("UTF-8");
                 resp.getWriter().write(storiesArray.toString());
             } catch (Exception e) {
-                System.err.println("Error getting user stories: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error getting user stories", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error getting user stories: " + e.getMessage());
@@ -817,36 +1288,35 @@ public class ApiServer {
         
         private void handleCreateUserStory(String sprintId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
             try {
-                // Log the request for debugging
-                System.out.println("Creating user story for sprint: " + sprintId);
                 String body = req.getReader().lines().collect(Collectors.joining());
-                System.out.println("Request body: " + body);
+                if (LOG.shouldDump()) {
+                    LOG.debug("Create user story request body", "sprintId", sprintId, "body", body);
+                }
                 
                 // Parse body manually to handle potential issues
                 UserStory userStory = gson.fromJson(body, UserStory.class);
                 
                 if (userStory == null) {
-                    System.out.println("Failed to parse user story from request");
+                    LOG.debug("Failed to parse user story from request");
                     resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                     return;
                 }
                 
                 Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
                 if (!sprintOpt.isPresent()) {
-                    System.out.println("Sprint not found: " + sprintId);
+                    LOG.debug("Sprint not found", "sprintId", sprintId);
                     resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     return;
                 }
                 
                 Sprint sprint = sprintOpt.get();
-                sprint.addUserStory(userStory);
+                sprintManager.createUserStory(sprint, userStory);
                 dataStorage.saveData(sprintManager);
                 resp.setStatus(HttpServletResponse.SC_CREATED);
                 writeJsonResponse(resp, userStory);
-                System.out.println("User story created successfully: " + userStory.getId());
+                LOG.debug("User story created", "storyId", userStory.getId());
             } catch (Exception e) {
-                System.err.println("Error creating user story: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error creating user story", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error creating user story: " + e.getMessage());
@@ -876,10 +1346,13 @@ public class ApiServer {
                 }
                 
                 UserStory story = userStoryOpt.get();
+                // Read before the contents, as for a sprint
+                long version = story.getVersion();
                 
                 // Create a simplified JSON object
                 JsonObject storyObj = new JsonObject();
                 storyObj.addProperty("id", story.getId());
+                storyObj.addProperty("version", version);
                 storyObj.addProperty("title", story.getTitle());
                 storyObj.addProperty("description", story.getDescription());
                 storyObj.addProperty("priority", story.getPriority().name());
@@ -891,6 +1364,7 @@ public class ApiServer {
                 for (Task task : story.getTasks()) {
                     JsonObject taskObj = new JsonObject();
                     taskObj.addProperty("id", task.getId());
+                    taskObj.addProperty("version", task.getVersion());
                     taskObj.addProperty("title", task.getTitle());
                     taskObj.addProperty("description", task.getDescription());
                     
@@ -909,11 +1383,11 @@ public class ApiServer {
                         // Try to fix the task status in the database
                         try {
                             task.setStatus(Task.Status.TO_DO);
-                            System.out.println("Fixed null status for task: " + task.getId());
+                            LOG.warn("Fixed null status for task", "taskId", task.getId());
                             // Save the updated data
                             dataStorage.saveData(sprintManager);
                         } catch (Exception e) {
-                            System.err.println("Failed to fix null status for task: " + task.getId());
+                            LOG.error("Failed to fix null status for task", "taskId", task.getId(), e);
                         }
                     }
                     
@@ -930,10 +1404,10 @@ public class ApiServer {
                 
                 resp.setContentType("application/json");
                 resp.setCharacterEncoding("UTF-8");
+                setETag(resp, version);
                 resp.getWriter().write(storyObj.toString());
             } catch (Exception e) {
-                System.err.println("Error getting user story by ID: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error getting user story by ID", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error getting user story by ID: " + e.getMessage());
@@ -942,6 +1416,11 @@ public class ApiServer {
         }
         
         private void handleUpdateUserStory(String sprintId, String storyId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             UserStory updatedUserStory = parseRequestBody(req, UserStory.class);
             Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
             if (!sprintOpt.isPresent()) {
@@ -957,12 +1436,53 @@ public class ApiServer {
             }
             
             UserStory existingUserStory = userStoryOpt.get();
-            existingUserStory.updateFrom(updatedUserStory);
+            sprintManager.updateUserStory(existingUserStory, updatedUserStory, expectedVersion);
+            dataStorage.saveData(sprintManager);
+            writeVersionedResponse(resp, existingUserStory);
+        }
+        
+        /**
+         * Handle PATCH request to update only the supplied fields of a user story (RFC 7386 merge patch).
+         */
+        private void handlePatchUserStory(String sprintId, String storyId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (!isMergePatchRequest(req, resp)) {
+                return;
+            }
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+
+            Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+            if (!sprintOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+
+            Optional<UserStory> userStoryOpt = sprintOpt.get().getUserStoryById(storyId);
+            if (!userStoryOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+
+            UserStory story = userStoryOpt.get();
+            try {
+                sprintManager.patchUserStory(story, UserStoryPatch.read(req.getReader()), expectedVersion);
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, e.getMessage());
+                return;
+            }
+
             dataStorage.saveData(sprintManager);
-            writeJsonResponse(resp, existingUserStory);
+            writeVersionedResponse(resp, story);
         }
         
         private void handleDeleteUserStory(String sprintId, String storyId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
             if (!sprintOpt.isPresent()) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
@@ -976,7 +1496,7 @@ public class ApiServer {
                 return;
             }
             
-            boolean success = sprint.removeUserStory(userStoryOpt.get());
+            boolean success = sprintManager.deleteUserStory(sprint, userStoryOpt.get(), expectedVersion);
             if (!success) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
@@ -1005,16 +1525,17 @@ public class ApiServer {
         
         private void handleCreateTask(String sprintId, String storyId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
             try {
-                System.out.println("Creating task for sprint: " + sprintId + ", story: " + storyId);
                 String body = req.getReader().lines().collect(Collectors.joining());
-                System.out.println("Request body: " + body);
+                if (LOG.shouldDump()) {
+                    LOG.debug("Create task request body", "sprintId", sprintId, "storyId", storyId, "body", body);
+                }
                 
                 // Parse the task manually with proper error handling
                 JsonObject taskJson;
                 try {
                     taskJson = JsonParser.parseString(body).getAsJsonObject();
                 } catch (Exception e) {
-                    System.err.println("Failed to parse request JSON: " + e.getMessage());
+                    LOG.debug("Failed to parse request JSON", "reason", e.getMessage());
                     resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                     JsonObject error = new JsonObject();
                     error.addProperty("error", "Invalid JSON in request: " + e.getMessage());
@@ -1036,7 +1557,7 @@ public class ApiServer {
                         idField.setAccessible(true);
                         idField.set(task, id);
                     } catch (Exception e) {
-                        System.err.println("Failed to set task ID: " + e.getMessage());
+                        LOG.warn("Failed to set task ID", "reason", e.getMessage());
                         // Continue with auto-generated ID
                     }
                 }
@@ -1044,7 +1565,6 @@ public class ApiServer {
                 if (taskJson.has("status") && !taskJson.get("status").isJsonNull()) {
                     String status = taskJson.get("status").getAsString();
                     task.setStatus(status);
-                    System.out.println("Task status set to: " + task.getStatus().name());
 
                     // For the response, make sure we use the format the frontend expects
                     String responseStatus = task.getStatus().name();
@@ -1059,7 +1579,6 @@ public class ApiServer {
                 } else {
                     // Default to TO_DO if status is missing
                     task.setStatus(Task.Status.TO_DO);
-                    System.out.println("Setting default status TO_DO for task: " + task.getId());
                     taskJson.addProperty("status", "TODO");
                 }
                 
@@ -1075,7 +1594,7 @@ public class ApiServer {
                 // Find the sprint and story
                 Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
                 if (!sprintOpt.isPresent()) {
-                    System.out.println("Sprint not found: " + sprintId);
+                    LOG.debug("Sprint not found", "sprintId", sprintId);
                     resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     JsonObject error = new JsonObject();
                     error.addProperty("error", "Sprint not found with ID: " + sprintId);
@@ -1085,7 +1604,7 @@ public class ApiServer {
                 
                 Optional<UserStory> userStoryOpt = sprintOpt.get().getUserStoryById(storyId);
                 if (!userStoryOpt.isPresent()) {
-                    System.out.println("User story not found: " + storyId);
+                    LOG.debug("User story not found", "storyId", storyId);
                     resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     JsonObject error = new JsonObject();
                     error.addProperty("error", "User story not found with ID: " + storyId);
@@ -1095,10 +1614,7 @@ public class ApiServer {
                 
                 // Add task to story
                 UserStory userStory = userStoryOpt.get();
-                userStory.addTask(task);
-                System.out.println("Added task to story. Status: " + task.getStatus().name() + 
-                                   ", Display name: " + task.getStatus().getDisplayName() + 
-                                   ", Tasks count: " + userStory.getTasks().size());
+                sprintManager.createTask(userStory, task);
                 
                 // Save data
                 dataStorage.saveData(sprintManager);
@@ -1106,6 +1622,7 @@ public class ApiServer {
                 // Create response
                 JsonObject responseJson = new JsonObject();
                 responseJson.addProperty("id", task.getId());
+                responseJson.addProperty("version", task.getVersion());
                 responseJson.addProperty("title", task.getTitle());
                 responseJson.addProperty("description", task.getDescription());
                 
@@ -1135,10 +1652,9 @@ public class ApiServer {
                 resp.setCharacterEncoding("UTF-8");
                 resp.getWriter().write(responseJson.toString());
                 
-                System.out.println("Task created successfully: " + task.getId());
+                LOG.debug("Task created", "taskId", task.getId(), "status", task.getStatus());
             } catch (Exception e) {
-                System.err.println("Error creating task: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error creating task", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error creating task: " + e.getMessage());
@@ -1165,13 +1681,20 @@ public class ApiServer {
                 return;
             }
             
-            writeJsonResponse(resp, taskOpt.get());
+            writeVersionedResponse(resp, taskOpt.get());
         }
         
         private void handleUpdateTask(String sprintId, String storyId, String taskId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
             try {
                 String body = req.getReader().lines().collect(Collectors.joining());
-                System.out.println("Update task request body: " + body);
+                if (LOG.shouldDump()) {
+                    LOG.debug("Update task request body", "taskId", taskId, "body", body);
+                }
                 
                 // Parse the request as a JsonObject first to access fields directly
                 JsonObject taskJson = JsonParser.parseString(body).getAsJsonObject();
@@ -1201,45 +1724,44 @@ public class ApiServer {
                 // Check if updatedTask has null status and fix if needed
                 if (updatedTask.getStatus() == null) {
                     // Keep existing status if the updated one is null
-                    System.out.println("Updated task has null status, keeping existing status: " + 
-                        (existingTask.getStatus() != null ? existingTask.getStatus().name() : "null"));
-                    
                     // If existing task also has null status, set a default
                     if (existingTask.getStatus() == null) {
                         existingTask.setStatus(Task.Status.TO_DO);
-                        System.out.println("Set default TO_DO status for task with null status");
+                        LOG.warn("Fixed null status for task", "taskId", taskId);
                     }
-                } else {
-                    System.out.println("Updating task status to: " + updatedTask.getStatus().name());
                 }
                 
-                // Process assigned team member if present in JSON
+                // The assignee and the other properties change together, under one version check
+                TeamMember assignee = null;
+                boolean reassign = false;
                 if (taskJson.has("assignedTeamMemberId") && !taskJson.get("assignedTeamMemberId").isJsonNull()) {
                     String teamMemberId = taskJson.get("assignedTeamMemberId").getAsString();
                     if (!teamMemberId.isEmpty()) {
-                        System.out.println("Assigning team member: " + teamMemberId + " to task: " + taskId);
                         Optional<TeamMember> teamMemberOpt = sprintManager.getTeamMemberById(teamMemberId);
                         if (teamMemberOpt.isPresent()) {
-                            existingTask.setAssignedTeamMember(teamMemberOpt.get());
-                            System.out.println("Team member assigned successfully");
+                            assignee = teamMemberOpt.get();
+                            reassign = true;
                         } else {
-                            System.err.println("Team member not found with ID: " + teamMemberId);
+                            LOG.debug("Team member not found", "teamMemberId", teamMemberId);
                         }
                     } else {
                         // Empty string means unassign
-                        existingTask.setAssignedTeamMember(null);
-                        System.out.println("Unassigned team member from task");
+                        reassign = true;
                     }
                 }
                 
-                // Update other task properties
-                existingTask.updateFrom(updatedTask);
+                if (reassign) {
+                    sprintManager.updateAndAssignTask(existingTask, updatedTask, assignee, expectedVersion);
+                } else {
+                    sprintManager.updateTask(existingTask, updatedTask, expectedVersion);
+                }
                 
                 dataStorage.saveData(sprintManager);
-                writeJsonResponse(resp, existingTask);
+                writeVersionedResponse(resp, existingTask);
+            } catch (VersionConflictException e) {
+                writePreconditionFailed(resp, e);
             } catch (Exception e) {
-                System.err.println("Error updating task: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error updating task", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error updating task: " + e.getMessage());
@@ -1247,34 +1769,180 @@ public class ApiServer {
             }
         }
         
-        private void handleDeleteTask(String sprintId, String storyId, String taskId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        /**
+         * Handle PATCH request to update only the supplied fields of a task (RFC 7386 merge patch),
+         * e.g. {"status": "DONE"} to move it on the board.
+         */
+        private void handlePatchTask(String sprintId, String storyId, String taskId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (!isMergePatchRequest(req, resp)) {
+                return;
+            }
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+
             Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
             if (!sprintOpt.isPresent()) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
-            
+
             Optional<UserStory> userStoryOpt = sprintOpt.get().getUserStoryById(storyId);
             if (!userStoryOpt.isPresent()) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
-            
-            UserStory userStory = userStoryOpt.get();
-            Optional<Task> taskOpt = userStory.getTaskById(taskId);
+
+            Optional<Task> taskOpt = userStoryOpt.get().getTaskById(taskId);
             if (!taskOpt.isPresent()) {
                 resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
-            
-            boolean success = userStory.removeTask(taskOpt.get());
-            if (!success) {
-                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+
+            Task task = taskOpt.get();
+            try {
+                sprintManager.patchTask(task, TaskPatch.read(req.getReader()), expectedVersion);
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, e.getMessage());
                 return;
             }
-            
+
             dataStorage.saveData(sprintManager);
-            resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            writeVersionedResponse(resp, task);
+        }
+
+        /**
+         * Checks that a PATCH body is a merge patch, answering 415 if it is not.
+         * Plain application/json is accepted too, since a merge patch is just a JSON object.
+         */
+        private boolean isMergePatchRequest(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String contentType = req.getContentType();
+            if (contentType == null || contentType.startsWith("application/merge-patch+json")
+                    || contentType.startsWith("application/json")) {
+                return true;
+            }
+
+            resp.setStatus(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+            JsonObject error = new JsonObject();
+            error.addProperty("error", "PATCH requests must use application/merge-patch+json");
+            resp.getWriter().write(error.toString());
+            return false;
+        }
+
+        /**
+         * Reads the version the client last saw, for optimistic concurrency control. It comes from an
+         * If-Match header holding an ETag from an earlier response ("3" or W/"3"), or from an
+         * expectedVersion query parameter. Answers 400 if it is malformed.
+         *
+         * @return The expected version, SprintManager.ANY_VERSION if there is no precondition,
+         *         or null if a 400 response was sent
+         */
+        private Long readExpectedVersion(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String value = req.getHeader("If-Match");
+            if (value == null) {
+                value = req.getParameter("expectedVersion");
+            }
+            if (value == null || value.trim().equals("*")) {
+                return SprintManager.ANY_VERSION;
+            }
+
+            String version = value.trim();
+            if (version.startsWith("W/")) {
+                version = version.substring(2);
+            }
+            if (version.length() >= 2 && version.startsWith("\"") && version.endsWith("\"")) {
+                version = version.substring(1, version.length() - 1);
+            }
+            try {
+                long expected = Long.parseLong(version);
+                if (expected >= 0) {
+                    return expected;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the error response
+            }
+            writeBadRequest(resp, "Invalid entity version: " + value);
+            return null;
+        }
+
+        private void setETag(HttpServletResponse resp, long version) {
+            resp.setHeader("ETag", "\"" + version + "\"");
+        }
+
+        /**
+         * Writes an entity with its ETag. Both are read under the entity's lock, which SprintManager
+         * holds while it changes the entity and moves its version on, so the ETag always matches the body.
+         * The response is written after the lock is released, so a slow client never holds up writers.
+         */
+        private void writeVersionedResponse(HttpServletResponse resp, Versioned entity) throws IOException {
+            long version;
+            String json;
+            synchronized (entity) {
+                version = entity.getVersion();
+                json = toResponseJson(entity);
+            }
+            setETag(resp, version);
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+            resp.getWriter().write(json);
+        }
+
+        /**
+         * Answers 412 when an update was based on a version that someone else has since changed.
+         * The current version is returned so the client can reload and retry.
+         */
+        private void writePreconditionFailed(HttpServletResponse resp, VersionConflictException e) throws IOException {
+            resp.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
+            resp.setContentType("application/json");
+            resp.setHeader("ETag", "\"" + e.getCurrentVersion() + "\"");
+            JsonObject error = new JsonObject();
+            error.addProperty("error", e.getMessage());
+            error.addProperty("currentVersion", e.getCurrentVersion());
+            resp.getWriter().write(error.toString());
+        }
+
+        private void writeBadRequest(HttpServletResponse resp, String message) throws IOException {
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            resp.setContentType("application/json");
+            JsonObject error = new JsonObject();
+            error.addProperty("error", message);
+            resp.getWriter().write(error.toString());
+        }
+        
+        private void handleDeleteTask(String sprintId, String storyId, String taskId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            Long expectedVersion = readExpectedVersion(req, resp);
+            if (expectedVersion == null) {
+                return;
+            }
+            
+            Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+            if (!sprintOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            
+            Optional<UserStory> userStoryOpt = sprintOpt.get().getUserStoryById(storyId);
+            if (!userStoryOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            
+            UserStory userStory = userStoryOpt.get();
+            Optional<Task> taskOpt = userStory.getTaskById(taskId);
+            if (!taskOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            
+            boolean success = sprintManager.deleteTask(userStory, taskOpt.get(), expectedVersion);
+            if (!success) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            
+            dataStorage.saveData(sprintManager);
+            resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
         }
 
         /**
@@ -1328,8 +1996,7 @@ public class ApiServer {
                 resp.setContentType("application/json");
                 resp.getWriter().write(issuesArray.toString());
             } catch (Exception e) {
-                System.err.println("Error fetching GitHub issues: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error fetching GitHub issues", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error fetching GitHub issues: " + e.getMessage());
@@ -1380,7 +2047,7 @@ public class ApiServer {
                 task.setGithubIssueUrl("https://github.com/" + owner + "/" + repo + "/issues/1");
                 
                 // Add the task to the story
-                story.addTask(task);
+                sprintManager.createTask(story, task);
                 
                 // Save data
                 dataStorage.saveData(sprintManager);
@@ -1393,52 +2060,640 @@ public class ApiServer {
                 response.addProperty("message", "GitHub issue imported successfully");
                 resp.getWriter().write(response.toString());
             } catch (Exception e) {
-                System.err.println("Error importing GitHub issues: " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error importing GitHub issues", e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 JsonObject error = new JsonObject();
                 error.addProperty("error", "Error importing GitHub issues: " + e.getMessage());
                 resp.getWriter().write(error.toString());
             }
         }
+
+        /**
+         * Handle POST request to bulk import NDJSON records.
+         * The body is streamed line by line and the data is saved once at the end.
+         */
+        private void handleBulkImport(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            BulkImporter importer = new BulkImporter(sprintManager, dataStorage);
+
+            String batchSize = req.getParameter("batchSize");
+            if (batchSize != null) {
+                try {
+                    importer.setBatchSize(Integer.parseInt(batchSize));
+                } catch (IllegalArgumentException e) {
+                    resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    JsonObject error = new JsonObject();
+                    error.addProperty("error", "Invalid batchSize: " + batchSize);
+                    resp.getWriter().write(error.toString());
+                    return;
+                }
+            }
+            importer.setProgressListener((records, rate) ->
+                    LOG.info("Bulk import progress", "records", records, "recordsPerSecond", Math.round(rate)));
+
+            ImportResult result = importer.importFrom(req.getReader());
+            LOG.info("Bulk import finished", "result", result);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("recordsProcessed", result.getRecordsProcessed());
+            response.addProperty("membersImported", result.getMembersImported());
+            response.addProperty("sprintsImported", result.getSprintsImported());
+            response.addProperty("storiesImported", result.getStoriesImported());
+            response.addProperty("tasksImported", result.getTasksImported());
+            response.addProperty("errorCount", result.getErrorCount());
+            response.addProperty("elapsedMillis", result.getElapsedMillis());
+            response.addProperty("recordsPerSecond", Math.round(result.getRecordsPerSecond()));
+
+            JsonArray errorsArray = new JsonArray();
+            for (ImportResult.ImportError importError : result.getErrors()) {
+                JsonObject errorObj = new JsonObject();
+                errorObj.addProperty("line", importError.getLineNumber());
+                errorObj.addProperty("message", importError.getMessage());
+                errorsArray.add(errorObj);
+            }
+            response.add("errors", errorsArray);
+
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+            resp.getWriter().write(response.toString());
+        }
+
+        /**
+         * Handle GET request to export the whole workspace as NDJSON or CSV.
+         * Records are streamed as they are written, so the response uses chunked transfer encoding.
+         */
+        private void handleExport(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String formatParam = req.getParameter("format");
+            WorkspaceExporter.Format format;
+            try {
+                format = formatParam == null ? WorkspaceExporter.Format.NDJSON
+                        : WorkspaceExporter.Format.fromString(formatParam);
+            } catch (IllegalArgumentException e) {
+                resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", e.getMessage());
+                resp.getWriter().write(error.toString());
+                return;
+            }
+
+            resp.setContentType(format.getContentType());
+            resp.setCharacterEncoding("UTF-8");
+            resp.setHeader("Content-Disposition",
+                    "attachment; filename=\"workspace." + format.getFileExtension() + "\"");
+
+            long records = new WorkspaceExporter(sprintManager).export(resp.getWriter(), format);
+            LOG.info("Workspace exported", "records", records, "format", format);
+        }
+
+        /**
+         * Handle GET request for the server's metrics in the Prometheus text format.
+         */
+        private void handleGetMetrics(HttpServletResponse resp) throws IOException {
+            resp.setContentType("text/plain; version=0.0.4");
+            resp.setCharacterEncoding("UTF-8");
+            MetricsRegistry.getDefault().writePrometheus(resp.getWriter());
+        }
+
+        /**
+         * Handle POST request to start or stop a Flight Recorder recording.
+         * ?action=start takes optional settings (default or profile) and durationSeconds parameters;
+         * ?action=stop writes the recording to the data directory.
+         */
+        private void handleRecordingAction(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String action = req.getParameter("action");
+            try {
+                if ("start".equals(action)) {
+                    String settings = req.getParameter("settings");
+                    String durationParam = req.getParameter("durationSeconds");
+                    Duration duration = null;
+                    if (durationParam != null) {
+                        long seconds = Long.parseLong(durationParam);
+                        if (seconds <= 0) {
+                            throw new IllegalArgumentException("durationSeconds must be positive");
+                        }
+                        duration = Duration.ofSeconds(seconds);
+                    }
+                    File file = recordingController.start(settings != null ? settings : "profile", duration);
+                    LOG.info("Flight recording started", "file", file.getPath());
+                } else if ("stop".equals(action)) {
+                    File file = recordingController.stop();
+                    LOG.info("Flight recording written", "file", file.getPath());
+                } else {
+                    writeBadRequest(resp, "action must be start or stop");
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                resp.setStatus(HttpServletResponse.SC_CONFLICT);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", e.getMessage());
+                resp.setContentType("application/json");
+                resp.getWriter().write(error.toString());
+                return;
+            } catch (IllegalArgumentException e) {
+                // Also covers a durationSeconds that is not a number
+                writeBadRequest(resp, e.getMessage());
+                return;
+            }
+            writeRecordingStatus(resp);
+        }
+
+        private void writeRecordingStatus(HttpServletResponse resp) throws IOException {
+            JsonObject status = new JsonObject();
+            status.addProperty("recording", recordingController.isRecording());
+            File file = recordingController.getDestination();
+            if (file != null) {
+                status.addProperty("file", file.getPath());
+                status.addProperty("settings", recordingController.getSettings());
+            }
+            if (recordingController.getStartTime() != null) {
+                status.addProperty("startTime", recordingController.getStartTime().toString());
+            }
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+            resp.getWriter().write(status.toString());
+        }
+
+        /**
+         * Handle GET request for the changes since a sequence number, so a reconnecting client only
+         * downloads what changed. Only the latest change per entity is returned. If the requested
+         * changes are no longer held, the response has "resyncRequired": true and the client must
+         * reload everything.
+         */
+        private void handleGetChanges(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            long since;
+            try {
+                since = Long.parseLong(req.getParameter("since"));
+            } catch (NumberFormatException e) {
+                writeBadRequest(resp, "Query parameter 'since' must be a change sequence number");
+                return;
+            }
+
+            ChangeLog.Delta delta = sprintManager.getChangesSince(since);
+
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+            PrintWriter writer = resp.getWriter();
+            writer.write("{\"since\":");
+            writer.write(Long.toString(delta.getSince()));
+            writer.write(",\"sequence\":");
+            writer.write(Long.toString(delta.getLatestSequence()));
+            writer.write(",\"resyncRequired\":");
+            writer.write(Boolean.toString(delta.isResyncRequired()));
+            writer.write(",\"changes\":[");
+            // Events keep their serialized form, so they are copied out without being re-encoded
+            boolean first = true;
+            for (ChangeEvent event : delta.getEvents()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(event.toJson());
+                first = false;
+            }
+            writer.write("]}");
+        }
+
+        /**
+         * Handle GET request for a search. Takes q (required), optional type (story or task), and
+         * offset and limit for paging; hits come best first.
+         */
+        private void handleSearch(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String query = req.getParameter("q");
+            if (query == null || query.trim().isEmpty()) {
+                writeBadRequest(resp, "Query parameter 'q' is required");
+                return;
+            }
+
+            SearchHit.Type type = null;
+            String typeParam = req.getParameter("type");
+            if (typeParam != null && !typeParam.isEmpty()) {
+                try {
+                    type = SearchHit.Type.valueOf(typeParam.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    writeBadRequest(resp, "Query parameter 'type' must be story or task");
+                    return;
+                }
+            }
+
+            int offset;
+            int limit;
+            try {
+                offset = req.getParameter("offset") == null ? 0 : Integer.parseInt(req.getParameter("offset"));
+                limit = req.getParameter("limit") == null ? DEFAULT_SEARCH_LIMIT
+                        : Integer.parseInt(req.getParameter("limit"));
+            } catch (NumberFormatException e) {
+                writeBadRequest(resp, "Query parameters 'offset' and 'limit' must be integers");
+                return;
+            }
+            if (offset < 0 || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+                writeBadRequest(resp, "'offset' cannot be negative and 'limit' must be between 1 and "
+                        + MAX_SEARCH_LIMIT);
+                return;
+            }
+
+            writeJsonResponse(resp, searchIndex.search(query, type, offset, limit));
+        }
+
+        /**
+         * Handle GET request for a sprint's burndown: remaining and completed points and tasks for
+         * each day from the sprint's start through today or its end date.
+         */
+        private void handleGetBurndown(String sprintId, HttpServletResponse resp) throws IOException {
+            Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+            if (!sprintOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", "Sprint not found with ID: " + sprintId);
+                resp.getWriter().write(error.toString());
+                return;
+            }
+
+            Sprint sprint = sprintOpt.get();
+            if (sprint.getStartDate() == null || sprint.getEndDate() == null) {
+                writeBadRequest(resp, "Sprint has no start and end dates");
+                return;
+            }
+            writeJsonResponse(resp, burndownTracker.getBurndown(sprint));
+        }
+
+        /**
+         * Handle GET request for cumulative flow: task counts per status for each day of the
+         * 'sprint', or of the workspace from 'from' through 'to' (by default the last 90 days).
+         */
+        private void handleGetCumulativeFlow(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String sprintId = req.getParameter("sprint");
+            if (sprintId != null && !sprintId.isEmpty()) {
+                Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+                if (!sprintOpt.isPresent()) {
+                    resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    JsonObject error = new JsonObject();
+                    error.addProperty("error", "Sprint not found with ID: " + sprintId);
+                    resp.getWriter().write(error.toString());
+                    return;
+                }
+                Sprint sprint = sprintOpt.get();
+                if (sprint.getStartDate() == null || sprint.getEndDate() == null) {
+                    writeBadRequest(resp, "Sprint has no start and end dates");
+                    return;
+                }
+                writeJsonResponse(resp, burndownTracker.getCumulativeFlow(sprint));
+                return;
+            }
+
+            LocalDate from;
+            LocalDate to;
+            try {
+                to = req.getParameter("to") == null ? LocalDate.now() : LocalDate.parse(req.getParameter("to"));
+                from = req.getParameter("from") == null ? to.minusDays(DEFAULT_CUMULATIVE_FLOW_DAYS - 1)
+                        : LocalDate.parse(req.getParameter("from"));
+            } catch (DateTimeParseException e) {
+                writeBadRequest(resp, "Query parameters 'from' and 'to' must be dates in the form YYYY-MM-DD");
+                return;
+            }
+            long days = ChronoUnit.DAYS.between(from, to) + 1;
+            if (days < 1 || days > MAX_CUMULATIVE_FLOW_DAYS) {
+                writeBadRequest(resp, "'from' must not be after 'to' and the range can be at most "
+                        + MAX_CUMULATIVE_FLOW_DAYS + " days");
+                return;
+            }
+
+            writeJsonResponse(resp, burndownTracker.getCumulativeFlow(from, to));
+        }
+
+        /**
+         * Handle GET request for cycle and lead time percentiles, optionally filtered by 'sprint',
+         * 'member' and 'priority' and grouped by one of them with 'groupBy'.
+         */
+        private void handleGetCycleTime(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            UserStory.Priority priority = null;
+            CycleTimeTracker.Dimension groupBy = null;
+            try {
+                String priorityParam = req.getParameter("priority");
+                if (priorityParam != null && !priorityParam.isEmpty()) {
+                    priority = UserStory.Priority.valueOf(priorityParam.toUpperCase());
+                }
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, "Query parameter 'priority' must be low, medium, high or critical");
+                return;
+            }
+            try {
+                String groupByParam = req.getParameter("groupBy");
+                if (groupByParam != null && !groupByParam.isEmpty()) {
+                    groupBy = CycleTimeTracker.Dimension.valueOf(groupByParam.toUpperCase());
+                }
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, "Query parameter 'groupBy' must be sprint, member or priority");
+                return;
+            }
+
+            writeJsonResponse(resp, cycleTimeTracker.getReport(req.getParameter("sprint"), req.getParameter("member"),
+                    priority, groupBy));
+        }
+
+        /**
+         * Handle GET request for totals across the sprints starting between 'from' and 'to', optionally
+         * grouped by sprint, month or quarter with 'groupBy'.
+         */
+        private void handleGetRollup(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            LocalDate from;
+            LocalDate to;
+            try {
+                from = req.getParameter("from") == null ? null : LocalDate.parse(req.getParameter("from"));
+                to = req.getParameter("to") == null ? null : LocalDate.parse(req.getParameter("to"));
+            } catch (DateTimeParseException e) {
+                writeBadRequest(resp, "Query parameters 'from' and 'to' must be dates in the form YYYY-MM-DD");
+                return;
+            }
+            if (from != null && to != null && from.isAfter(to)) {
+                writeBadRequest(resp, "'from' must not be after 'to'");
+                return;
+            }
+            RollupEngine.Period groupBy = null;
+            try {
+                String groupByParam = req.getParameter("groupBy");
+                if (groupByParam != null && !groupByParam.isEmpty()) {
+                    groupBy = RollupEngine.Period.valueOf(groupByParam.toUpperCase());
+                }
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, "Query parameter 'groupBy' must be sprint, month or quarter");
+                return;
+            }
+
+            writeJsonResponse(resp, rollupEngine.getReport(from, to, groupBy));
+        }
+
+        /**
+         * Handle GET request for a pivot of tasks: grouped by the comma-separated dimensions in
+         * 'groupBy' and filtered by any of 'status', 'assignee', 'priority' and 'sprint'.
+         */
+        private void handleGetPivot(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            List<PivotTable.Dimension> groupBy = new ArrayList<>();
+            String groupByParam = req.getParameter("groupBy");
+            if (groupByParam != null && !groupByParam.isEmpty()) {
+                for (String name : groupByParam.split(",")) {
+                    PivotTable.Dimension dimension = null;
+                    try {
+                        dimension = PivotTable.Dimension.valueOf(name.trim().toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        // Reported below
+                    }
+                    if (dimension == null || groupBy.contains(dimension)) {
+                        writeBadRequest(resp, "Query parameter 'groupBy' must list distinct dimensions from "
+                                + "status, assignee, priority and sprint, separated by commas");
+                        return;
+                    }
+                    groupBy.add(dimension);
+                }
+            }
+
+            Map<PivotTable.Dimension, String> filters = new EnumMap<>(PivotTable.Dimension.class);
+            for (PivotTable.Dimension dimension : PivotTable.Dimension.values()) {
+                String value = req.getParameter(dimension.name().toLowerCase());
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+                boolean byName = dimension == PivotTable.Dimension.STATUS || dimension == PivotTable.Dimension.PRIORITY;
+                filters.put(dimension, byName ? value.toUpperCase().replace('-', '_') : value);
+            }
+
+            try {
+                writeJsonResponse(resp, pivotTable.query(groupBy, filters));
+            } catch (IllegalArgumentException e) {
+                writeBadRequest(resp, "Query parameter 'status' must be todo, in_progress or done, and 'priority' "
+                        + "low, medium, high, critical or none");
+            }
+        }
+
+        /**
+         * Handle GET request for a sprint's completion forecast: percentiles of the date its
+         * remaining tasks are done, from 'trials' simulations over the last 'history' ended sprints.
+         */
+        private void handleGetForecast(String sprintId, HttpServletRequest req, HttpServletResponse resp)
+                throws IOException {
+            Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+            if (!sprintOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", "Sprint not found with ID: " + sprintId);
+                resp.getWriter().write(error.toString());
+                return;
+            }
+
+            int trials;
+            int history;
+            try {
+                trials = req.getParameter("trials") == null ? DEFAULT_FORECAST_TRIALS
+                        : Integer.parseInt(req.getParameter("trials"));
+                history = req.getParameter("history") == null ? DEFAULT_FORECAST_HISTORY
+                        : Integer.parseInt(req.getParameter("history"));
+            } catch (NumberFormatException e) {
+                writeBadRequest(resp, "Query parameters 'trials' and 'history' must be integers");
+                return;
+            }
+            if (trials < 1 || trials > MAX_FORECAST_TRIALS || history < 1 || history > MAX_VELOCITY_WINDOW) {
+                writeBadRequest(resp, "'trials' must be between 1 and " + MAX_FORECAST_TRIALS
+                        + " and 'history' between 1 and " + MAX_VELOCITY_WINDOW);
+                return;
+            }
+
+            try {
+                writeJsonResponse(resp, sprintForecaster.forecast(sprintOpt.get(), trials, history));
+            } catch (IllegalStateException e) {
+                resp.setStatus(HttpServletResponse.SC_CONFLICT);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", e.getMessage());
+                resp.getWriter().write(error.toString());
+            }
+        }
+
+        /**
+         * Handle GET request for assignment suggestions: a balanced assignee for each of the sprint's
+         * unassigned open tasks. Nothing is assigned until the client applies the suggestions.
+         */
+        private void handleGetAssignmentSuggestions(String sprintId, HttpServletRequest req,
+                                                    HttpServletResponse resp) throws IOException {
+            Optional<Sprint> sprintOpt = sprintManager.getSprintById(sprintId);
+            if (!sprintOpt.isPresent()) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", "Sprint not found with ID: " + sprintId);
+                resp.getWriter().write(error.toString());
+                return;
+            }
+
+            int history;
+            try {
+                history = req.getParameter("history") == null ? DEFAULT_SUGGESTION_HISTORY
+                        : Integer.parseInt(req.getParameter("history"));
+            } catch (NumberFormatException e) {
+                writeBadRequest(resp, "Query parameter 'history' must be an integer");
+                return;
+            }
+            if (history < 1 || history > MAX_VELOCITY_WINDOW) {
+                writeBadRequest(resp, "'history' must be between 1 and " + MAX_VELOCITY_WINDOW);
+                return;
+            }
+            String refine = req.getParameter("refine");
+            if (refine != null && !refine.equals("true") && !refine.equals("false")) {
+                writeBadRequest(resp, "Query parameter 'refine' must be true or false");
+                return;
+            }
+
+            try {
+                writeJsonResponse(resp, assignmentPlanner.suggest(sprintOpt.get(), history, !"false".equals(refine)));
+            } catch (IllegalStateException e) {
+                resp.setStatus(HttpServletResponse.SC_CONFLICT);
+                JsonObject error = new JsonObject();
+                error.addProperty("error", e.getMessage());
+                resp.getWriter().write(error.toString());
+            }
+        }
+
+        /**
+         * Handle GET request for velocity: completed points and tasks per sprint and per team member,
+         * averaged over the last 'window' sprints.
+         */
+        private void handleGetVelocity(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            int window;
+            try {
+                window = req.getParameter("window") == null ? DEFAULT_VELOCITY_WINDOW
+                        : Integer.parseInt(req.getParameter("window"));
+            } catch (NumberFormatException e) {
+                writeBadRequest(resp, "Query parameter 'window' must be an integer");
+                return;
+            }
+            if (window < 1 || window > MAX_VELOCITY_WINDOW) {
+                writeBadRequest(resp, "'window' must be between 1 and " + MAX_VELOCITY_WINDOW);
+                return;
+            }
+
+            writeJsonResponse(resp, velocityEngine.getReport(window));
+        }
+
+        /**
+         * Handle GET request for the Server-Sent Events change feed.
+         * The request goes async and an {@link EventStream} writes events from a bounded
+         * per-connection buffer without holding a request thread. A client that falls behind and
+         * overflows its buffer is sent a "resync" event and disconnected, so it can never slow down
+         * the writers.
+         */
+        private void handleEventStream(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (stopping) {
+                resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                resp.setHeader("Retry-After", "5");
+                JsonObject error = new JsonObject();
+                error.addProperty("error", "Server is shutting down");
+                resp.getWriter().write(error.toString());
+                return;
+            }
+            if (activeEventStreams.incrementAndGet() > MAX_EVENT_STREAMS) {
+                activeEventStreams.decrementAndGet();
+                resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                resp.setHeader("Retry-After", "30");
+                JsonObject error = new JsonObject();
+                error.addProperty("error", "Too many event stream connections");
+                resp.getWriter().write(error.toString());
+                return;
+            }
+
+            EventSubscription subscription = new EventSubscription(EVENT_BUFFER_SIZE);
+            eventSubscriptions.add(subscription);
+            sprintManager.addChangeListener(subscription);
+            Runnable onFinished = () -> {
+                sprintManager.removeChangeListener(subscription);
+                eventSubscriptions.remove(subscription);
+                activeEventStreams.decrementAndGet();
+            };
+            try {
+                resp.setContentType("text/event-stream");
+                resp.setCharacterEncoding("UTF-8");
+                resp.setHeader("Cache-Control", "no-cache");
+                resp.setHeader("X-Accel-Buffering", "no");
+
+                StringBuilder preamble = new StringBuilder("retry: 3000\n\n");
+
+                // A reconnecting EventSource sends the last id it saw; replay what it missed.
+                // The subscription is registered first, so events published meanwhile are skipped by the stream.
+                long lastSent = replayMissedEvents(req.getHeader("Last-Event-ID"), preamble);
+
+                EventStream stream = new EventStream(req.startAsync(), subscription, eventStreamExecutor, onFinished);
+                stream.start(preamble.toString(), lastSent, EVENT_HEARTBEAT_SECONDS);
+            } catch (IOException | RuntimeException e) {
+                onFinished.run();
+                throw e;
+            }
+        }
+
+        /**
+         * Appends the events after the given Last-Event-ID, or a resync event if they are no longer held.
+         *
+         * @return The sequence number of the last event appended, or 0 if nothing was replayed
+         */
+        private long replayMissedEvents(String lastEventId, StringBuilder out) {
+            if (lastEventId == null) {
+                return 0;
+            }
+
+            long since;
+            try {
+                since = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+
+            ChangeLog.Delta delta = sprintManager.getChangeHistorySince(since);
+            if (delta.isResyncRequired()) {
+                out.append("event: resync\ndata: {}\n\n");
+                return delta.getLatestSequence();
+            }
+
+            long lastSent = 0;
+            for (ChangeEvent event : delta.getEvents()) {
+                out.append(EventStream.format(event));
+                lastSent = event.getSequence();
+            }
+            return lastSent;
+        }
     }
     
     private class StaticFileServlet extends HttpServlet {
         @Override
         protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String requestId = LogContext.beginRequest(req.getHeader(LogContext.REQUEST_ID_HEADER));
+            resp.setHeader(LogContext.REQUEST_ID_HEADER, requestId);
+            try {
+                serveFile(req, resp);
+            } finally {
+                LogContext.endRequest();
+            }
+        }
+
+        private void serveFile(HttpServletRequest req, HttpServletResponse resp) throws IOException {
             // Serve static files from resources/static directory
             String path = req.getPathInfo();
-            System.out.println("Requested path: " + path);
             
             if (path == null || path.equals("/")) {
                 path = "/index.html";
-                System.out.println("Root path, serving index.html");
             }
             
             try {
                 // Serve the file from resources/static
                 String contentType = getContentType(path);
                 resp.setContentType(contentType);
-                System.out.println("Content type: " + contentType);
                 
                 if (path.startsWith("/")) path = path.substring(1);
                 
                 String resourcePath = "static/" + path;
-                System.out.println("Looking for resource: " + resourcePath);
                 
                 java.net.URL resource = getClass().getClassLoader().getResource(resourcePath);
                 if (resource == null) {
-                    System.err.println("Resource not found: " + resourcePath);
-                    
                     // For client-side routing, serve index.html for paths that don't exist
                     if (!path.contains(".")) {
-                        System.out.println("Possible client-side route, serving index.html");
+                        LOG.debug("Serving index.html for client-side route", "path", path);
                         resource = getClass().getClassLoader().getResource("static/index.html");
                         resp.setContentType("text/html");
                     }
                     
                     if (resource == null) {
-                        System.err.println("Could not find fallback resource");
+                        LOG.debug("Static resource not found", "path", resourcePath);
                         resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
                         resp.getWriter().write("Error 404: Resource not found - " + path);
                         return;
@@ -1447,15 +2702,12 @@ public class ApiServer {
                 
                 try {
                     org.eclipse.jetty.util.IO.copy(resource.openStream(), resp.getOutputStream());
-                    System.out.println("Successfully served: " + path);
                 } catch (Exception e) {
-                    System.err.println("Error copying resource stream for: " + path);
-                    e.printStackTrace();
+                    LOG.error("Error copying resource stream", "path", path, e);
                     throw e;
                 }
             } catch (Exception e) {
-                System.err.println("Error serving static file: " + path + " - " + e.getMessage());
-                e.printStackTrace();
+                LOG.error("Error serving static file", "path", path, e);
                 resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 resp.setContentType("text/html");
                 resp.getWriter().write("<html><body><h1>Error 500: Internal Server Error</h1><p>Error serving static file: " 
@@ -1478,17 +2730,13 @@ public class ApiServer {
     // Helper methods
     
     // Method to update a sprint
-    private boolean updateSprint(String sprintId, Sprint updatedSprint) {
+    private boolean updateSprint(String sprintId, Sprint updatedSprint, long expectedVersion) {
         Optional<Sprint> existingSprintOpt = sprintManager.getSprintById(sprintId);
         if (!existingSprintOpt.isPresent()) {
             return false;
         }
         
-        Sprint existingSprint = existingSprintOpt.get();
-        existingSprint.setName(updatedSprint.getName());
-        existingSprint.setStartDate(updatedSprint.getStartDate());
-        existingSprint.setEndDate(updatedSprint.getEndDate());
-        existingSprint.setGoal(updatedSprint.getGoal());
+        sprintManager.updateSprint(existingSprintOpt.get(), updatedSprint, expectedVersion);
         
         return true;
     }
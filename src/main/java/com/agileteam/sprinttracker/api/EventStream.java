@@ -0,0 +1,234 @@
+package com.agileteam.sprinttracker.api;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.EventSubscription;
+import com.agileteam.sprinttracker.logging.Log;
+import com.agileteam.sprinttracker.logging.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One Server-Sent Events connection, written asynchronously so that it holds no request thread
+ * while it is open.
+ *
+ * The request is put in async mode and the stream written with non-blocking output. Whenever the
+ * subscription has something new, or a heartbeat is due, a drain is scheduled on a small shared
+ * executor. A drain writes what is buffered for as long as the connection can take it without
+ * blocking, then returns; the container calls back once a client that couldn't keep up is ready
+ * again. A client that falls behind far enough to overflow its buffer is sent a "resync" event
+ * and disconnected, as before.
+ */
+class EventStream implements WriteListener, AsyncListener {
+    private static final Logger LOG = Log.getLogger(EventStream.class);
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESYNC = "event: resync\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final AsyncContext async;
+    private final ServletOutputStream out;
+    private final EventSubscription subscription;
+    private final ScheduledExecutorService executor;
+    private final Runnable onFinished;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile ScheduledFuture<?> heartbeat;
+    private volatile boolean heartbeatDue;
+
+    // Guarded by this; only touched by drain()
+    private long lastSent;
+    private byte[] pending;
+    private boolean unflushed;
+    private boolean ending;
+
+    /**
+     * @param onFinished Run once when the stream ends, however it ends
+     */
+    EventStream(AsyncContext async, EventSubscription subscription, ScheduledExecutorService executor,
+                Runnable onFinished) throws IOException {
+        this.async = async;
+        this.out = async.getResponse().getOutputStream();
+        this.subscription = subscription;
+        this.executor = executor;
+        this.onFinished = onFinished;
+    }
+
+    /**
+     * Starts writing: first {@code preamble}, then the subscription's events after {@code lastSent}.
+     */
+    void start(String preamble, long lastSent, long heartbeatSeconds) {
+        synchronized (this) {
+            this.pending = preamble.getBytes(StandardCharsets.UTF_8);
+            this.lastSent = lastSent;
+        }
+        async.setTimeout(0);
+        async.addListener(this);
+        // Switches the stream to non-blocking before anything can be written to it; the container
+        // calls onWritePossible once it can take the preamble
+        out.setWriteListener(this);
+        subscription.onAvailable(this::scheduleDrain);
+        heartbeat = executor.scheduleWithFixedDelay(() -> {
+            heartbeatDue = true;
+            scheduleDrain();
+        }, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        if (finished.get()) {
+            // Ended before the heartbeat was set up
+            heartbeat.cancel(false);
+        }
+    }
+
+    /**
+     * Formats an event the way EventSource expects it.
+     */
+    static String format(ChangeEvent event) {
+        return "id: " + event.getSequence()
+                + "\nevent: " + event.getType().getEventName()
+                + "\ndata: " + event.toJson()
+                + "\n\n";
+    }
+
+    @Override
+    public void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        // The client went away
+        finish();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        finish();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        finish();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        finish();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void scheduleDrain() {
+        if (finished.get() || !drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainScheduled.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            // The server has stopped
+            drainScheduled.set(false);
+            finish();
+        }
+    }
+
+    /**
+     * Writes whatever is waiting until the connection would block or there is nothing left.
+     */
+    private synchronized void drain() {
+        if (finished.get()) {
+            return;
+        }
+        try {
+            while (out.isReady()) {
+                if (pending != null) {
+                    out.write(pending);
+                    pending = null;
+                    unflushed = true;
+                    continue;
+                }
+                pending = nextChunk();
+                if (pending == null) {
+                    if (unflushed) {
+                        unflushed = false;
+                        out.flush();
+                        continue;
+                    }
+                    if (ending) {
+                        finish();
+                    }
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            finish();
+        }
+    }
+
+    /**
+     * @return The next bytes to write, or null if there is nothing to write now
+     */
+    private byte[] nextChunk() {
+        if (ending) {
+            return null;
+        }
+        if (subscription.isClosed()) {
+            // The server is stopping; the client reconnects to wherever it comes back
+            ending = true;
+            return null;
+        }
+        if (subscription.isOverflowed()) {
+            LOG.warn("Event stream consumer fell behind, disconnecting");
+            ending = true;
+            return RESYNC;
+        }
+
+        // Write everything already buffered in one go
+        StringBuilder events = null;
+        for (ChangeEvent event = subscription.poll(); event != null; event = subscription.poll()) {
+            if (event.getSequence() > lastSent) {
+                if (events == null) {
+                    events = new StringBuilder();
+                }
+                events.append(format(event));
+                lastSent = event.getSequence();
+            }
+        }
+        if (events != null) {
+            heartbeatDue = false;
+            return events.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        if (heartbeatDue) {
+            // Comment line keeps proxies and the idle timeout from closing the connection
+            heartbeatDue = false;
+            return HEARTBEAT;
+        }
+        return null;
+    }
+
+    private void finish() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+        onFinished.run();
+        try {
+            async.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+}
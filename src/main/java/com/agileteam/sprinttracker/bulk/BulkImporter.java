@@ -0,0 +1,491 @@
+package com.agileteam.sprinttracker.bulk;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.agileteam.sprinttracker.profiling.BulkMutationEvent;
+import com.agileteam.sprinttracker.storage.DataStorage;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports team members, sprints, user stories and tasks from newline-delimited JSON.
+ *
+ * Each non-blank line is one record with a "type" field of "member", "sprint", "story" or "task".
+ * Stories reference their sprint with "sprintId", tasks reference their story with "storyId" and
+ * may reference a team member with "assignedTeamMemberId" (or "assignedTeamMember" by name).
+ * Parents may already exist in the workspace or appear earlier in the same input.
+ *
+ * Records are validated as they are read, attached to the model in batches and the data is
+ * saved once at the end of the import.
+ */
+public class BulkImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_PROGRESS_INTERVAL = 10000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // The model has no ID setters, so IDs are assigned the same way DataStorage does it
+    private static final Field SPRINT_ID = idField(Sprint.class);
+    private static final Field STORY_ID = idField(UserStory.class);
+    private static final Field TASK_ID = idField(Task.class);
+    private static final Field MEMBER_ID = idField(TeamMember.class);
+
+    /**
+     * Receives progress notifications while an import is running.
+     */
+    public interface ProgressListener {
+        void onProgress(long recordsProcessed, double recordsPerSecond);
+    }
+
+    private final SprintManager sprintManager;
+    private final DataStorage dataStorage;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private ProgressListener progressListener;
+
+    // ID indexes over the existing workspace plus everything staged by this import
+    private final Map<String, Sprint> sprintIndex = new HashMap<>();
+    private final Map<String, UserStory> storyIndex = new HashMap<>();
+    private final Set<String> taskIds = new HashSet<>();
+    private final Map<String, TeamMember> memberIndex = new HashMap<>();
+    private final Map<String, TeamMember> memberNameIndex = new HashMap<>();
+
+    // Records validated but not yet attached to the model
+    private final List<TeamMember> pendingMembers = new ArrayList<>();
+    private final List<Sprint> pendingSprints = new ArrayList<>();
+    private final List<PendingStory> pendingStories = new ArrayList<>();
+    private final List<PendingTask> pendingTasks = new ArrayList<>();
+
+    public BulkImporter(SprintManager sprintManager, DataStorage dataStorage) {
+        this.sprintManager = sprintManager;
+        this.dataStorage = dataStorage;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void setProgressInterval(int progressInterval) {
+        if (progressInterval <= 0) {
+            throw new IllegalArgumentException("Progress interval must be positive");
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Reads NDJSON records from the given reader, adds them to the sprint manager and saves the data.
+     * Invalid records are skipped and reported in the result.
+     *
+     * @param input The NDJSON input
+     * @return A summary of the import
+     * @throws IOException If the input could not be read or the data could not be saved
+     */
+    public ImportResult importFrom(Reader input) throws IOException {
+        ImportResult result = new ImportResult();
+        long startNanos = System.nanoTime();
+
+        buildIndexes();
+
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            try {
+                stageRecord(JsonParser.parseString(line).getAsJsonObject(), result);
+            } catch (ImportException e) {
+                result.addError(lineNumber, e.getMessage(), MAX_REPORTED_ERRORS);
+            } catch (RuntimeException e) {
+                // Malformed JSON or a field of the wrong type
+                result.addError(lineNumber, "Invalid record: " + e.getMessage(), MAX_REPORTED_ERRORS);
+            }
+            result.recordProcessed();
+
+            if (pendingCount() >= batchSize) {
+                flushBatch();
+            }
+            if (progressListener != null && result.getRecordsProcessed() % progressInterval == 0) {
+                progressListener.onProgress(result.getRecordsProcessed(), recordsPerSecond(result, startNanos));
+            }
+        }
+
+        flushBatch();
+        if (result.getImportedCount() > 0) {
+            // Tasks were attached without refreshing their stories' workload shares
+            sprintManager.rebuildWorkload();
+            dataStorage.saveData(sprintManager);
+            publishImported(result);
+        }
+
+        result.setElapsedNanos(System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private void buildIndexes() {
+        sprintIndex.clear();
+        storyIndex.clear();
+        taskIds.clear();
+        memberIndex.clear();
+        memberNameIndex.clear();
+
+        for (TeamMember member : sprintManager.getAllTeamMembers()) {
+            memberIndex.put(member.getId(), member);
+            memberNameIndex.put(member.getName(), member);
+        }
+        for (Sprint sprint : sprintManager.getAllSprints()) {
+            sprintIndex.put(sprint.getId(), sprint);
+            for (UserStory story : sprint.getUserStories()) {
+                storyIndex.put(story.getId(), story);
+                for (Task task : story.getTasks()) {
+                    taskIds.add(task.getId());
+                }
+            }
+        }
+    }
+
+    private void stageRecord(JsonObject record, ImportResult result) throws ImportException {
+        String type = requireString(record, "type");
+        switch (type) {
+            case "member":
+                pendingMembers.add(parseMember(record));
+                result.memberImported();
+                break;
+            case "sprint":
+                pendingSprints.add(parseSprint(record));
+                result.sprintImported();
+                break;
+            case "story":
+                pendingStories.add(parseStory(record));
+                result.storyImported();
+                break;
+            case "task":
+                pendingTasks.add(parseTask(record));
+                result.taskImported();
+                break;
+            default:
+                throw new ImportException("Unknown record type: " + type);
+        }
+    }
+
+    private TeamMember parseMember(JsonObject record) throws ImportException {
+        String name = requireString(record, "name");
+        TeamMember member = new TeamMember(name, optionalString(record, "email"),
+                optionalString(record, "githubUsername"));
+        String role = optionalString(record, "role");
+        if (role != null) {
+            member.setRole(role);
+        }
+
+        String id = claimId(record, memberIndex.keySet(), "Team member");
+        if (id != null) {
+            assignId(MEMBER_ID, member, id);
+        }
+
+        memberIndex.put(member.getId(), member);
+        memberNameIndex.put(member.getName(), member);
+        return member;
+    }
+
+    private Sprint parseSprint(JsonObject record) throws ImportException {
+        String name = requireString(record, "name");
+        LocalDate startDate = requireDate(record, "startDate");
+        LocalDate endDate = requireDate(record, "endDate");
+        if (endDate.isBefore(startDate)) {
+            throw new ImportException("Sprint end date " + endDate + " is before start date " + startDate);
+        }
+
+        Sprint sprint = new Sprint(name, startDate, endDate, optionalString(record, "goal", ""));
+        if (record.has("active") && !record.get("active").isJsonNull()) {
+            sprint.setActive(record.get("active").getAsBoolean());
+        }
+
+        String id = claimId(record, sprintIndex.keySet(), "Sprint");
+        if (id != null) {
+            assignId(SPRINT_ID, sprint, id);
+        }
+
+        sprintIndex.put(sprint.getId(), sprint);
+        return sprint;
+    }
+
+    private PendingStory parseStory(JsonObject record) throws ImportException {
+        String sprintId = requireString(record, "sprintId");
+        Sprint sprint = sprintIndex.get(sprintId);
+        if (sprint == null) {
+            throw new ImportException("Sprint not found with ID: " + sprintId);
+        }
+
+        String title = requireString(record, "title");
+        UserStory.Priority priority = UserStory.Priority.MEDIUM;
+        String priorityStr = optionalString(record, "priority");
+        if (priorityStr != null) {
+            try {
+                priority = UserStory.Priority.valueOf(priorityStr.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ImportException("Invalid priority: " + priorityStr);
+            }
+        }
+        int storyPoints = 3;
+        if (record.has("storyPoints") && !record.get("storyPoints").isJsonNull()) {
+            storyPoints = record.get("storyPoints").getAsInt();
+            if (storyPoints < 0) {
+                throw new ImportException("Story points cannot be negative: " + storyPoints);
+            }
+        }
+
+        UserStory story = new UserStory(title, optionalString(record, "description", ""), priority, storyPoints);
+        String id = claimId(record, storyIndex.keySet(), "User story");
+        if (id != null) {
+            assignId(STORY_ID, story, id);
+        }
+
+        storyIndex.put(story.getId(), story);
+        return new PendingStory(sprint, story);
+    }
+
+    private PendingTask parseTask(JsonObject record) throws ImportException {
+        String storyId = requireString(record, "storyId");
+        UserStory story = storyIndex.get(storyId);
+        if (story == null) {
+            throw new ImportException("User story not found with ID: " + storyId);
+        }
+
+        Task task = new Task(requireString(record, "title"), optionalString(record, "description", ""));
+        String status = optionalString(record, "status");
+        if (status != null) {
+            task.setStatus(parseStatus(status));
+        }
+        String githubIssueUrl = optionalString(record, "githubIssueUrl");
+        if (githubIssueUrl != null) {
+            task.setGithubIssueUrl(githubIssueUrl);
+        }
+
+        TeamMember assignee = null;
+        String memberId = optionalString(record, "assignedTeamMemberId");
+        String memberName = optionalString(record, "assignedTeamMember");
+        if (memberId != null && !memberId.isEmpty()) {
+            assignee = memberIndex.get(memberId);
+            if (assignee == null) {
+                throw new ImportException("Team member not found with ID: " + memberId);
+            }
+        } else if (memberName != null && !memberName.isEmpty()) {
+            assignee = memberNameIndex.get(memberName);
+            if (assignee == null) {
+                throw new ImportException("Team member not found with name: " + memberName);
+            }
+        }
+
+        String id = claimId(record, taskIds, "Task");
+        if (id != null) {
+            assignId(TASK_ID, task, id);
+        }
+
+        taskIds.add(task.getId());
+        return new PendingTask(story, task, assignee);
+    }
+
+    /**
+     * Attaches all staged records to the model, parents first.
+     */
+    private void flushBatch() {
+        if (pendingCount() == 0) {
+            return;
+        }
+        BulkMutationEvent event = new BulkMutationEvent();
+        event.begin();
+        sprintManager.runSilentChange(() -> {
+            for (TeamMember member : pendingMembers) {
+                sprintManager.addTeamMember(member);
+            }
+            for (Sprint sprint : pendingSprints) {
+                sprintManager.addSprint(sprint);
+            }
+            // Records can go into existing sprints and stories, which other requests change too
+            for (PendingStory pending : pendingStories) {
+                synchronized (pending.sprint) {
+                    pending.sprint.addUserStory(pending.story);
+                }
+            }
+            for (PendingTask pending : pendingTasks) {
+                synchronized (pending.story) {
+                    pending.story.addTask(pending.task);
+                    if (pending.assignee != null) {
+                        pending.task.setAssignedTeamMember(pending.assignee);
+                    }
+                }
+            }
+        });
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "import";
+            event.teamMembers = pendingMembers.size();
+            event.sprints = pendingSprints.size();
+            event.userStories = pendingStories.size();
+            event.tasks = pendingTasks.size();
+            event.commit();
+        }
+
+        pendingMembers.clear();
+        pendingSprints.clear();
+        pendingStories.clear();
+        pendingTasks.clear();
+    }
+
+    /**
+     * Records are attached without per-record change events; listeners get one summary event instead.
+     */
+    private void publishImported(ImportResult result) {
+        JsonObject data = new JsonObject();
+        data.addProperty("membersImported", result.getMembersImported());
+        data.addProperty("sprintsImported", result.getSprintsImported());
+        data.addProperty("storiesImported", result.getStoriesImported());
+        data.addProperty("tasksImported", result.getTasksImported());
+        sprintManager.publishChange(ChangeEvent.Type.WORKSPACE_IMPORTED, null, null, null, null, data);
+    }
+
+    private int pendingCount() {
+        return pendingMembers.size() + pendingSprints.size() + pendingStories.size() + pendingTasks.size();
+    }
+
+    private static double recordsPerSecond(ImportResult result, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed == 0 ? 0 : result.getRecordsProcessed() * 1_000_000_000.0 / elapsed;
+    }
+
+    /**
+     * Parses a task status strictly, accepting the same spellings as Task.setStatus(String).
+     */
+    private static Task.Status parseStatus(String status) throws ImportException {
+        String normalized = status.toUpperCase().replace(" ", "_");
+        switch (normalized) {
+            case "TO_DO":
+            case "TODO":
+                return Task.Status.TO_DO;
+            case "IN_PROGRESS":
+            case "INPROGRESS":
+                return Task.Status.IN_PROGRESS;
+            case "DONE":
+                return Task.Status.DONE;
+            default:
+                throw new ImportException("Invalid task status: " + status);
+        }
+    }
+
+    /**
+     * Returns the record's "id" if it has one, failing if it is already taken.
+     */
+    private static String claimId(JsonObject record, Set<String> existingIds, String entityName) throws ImportException {
+        String id = optionalString(record, "id");
+        if (id == null || id.isEmpty()) {
+            return null;
+        }
+        if (existingIds.contains(id)) {
+            throw new ImportException(entityName + " already exists with ID: " + id);
+        }
+        return id;
+    }
+
+    private static String requireString(JsonObject record, String field) throws ImportException {
+        String value = optionalString(record, field);
+        if (value == null || value.trim().isEmpty()) {
+            throw new ImportException("Missing required field: " + field);
+        }
+        return value;
+    }
+
+    private static String optionalString(JsonObject record, String field) {
+        return optionalString(record, field, null);
+    }
+
+    private static String optionalString(JsonObject record, String field, String defaultValue) {
+        JsonElement element = record.get(field);
+        return element == null || element.isJsonNull() ? defaultValue : element.getAsString();
+    }
+
+    private static LocalDate requireDate(JsonObject record, String field) throws ImportException {
+        String value = requireString(record, field);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ImportException("Invalid date for " + field + ": " + value);
+        }
+    }
+
+    private static Field idField(Class<?> clazz) {
+        try {
+            Field field = clazz.getDeclaredField("id");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("No id field on " + clazz.getName(), e);
+        }
+    }
+
+    private static void assignId(Field idField, Object target, String id) {
+        try {
+            idField.set(target, id);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to set ID on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static class PendingStory {
+        final Sprint sprint;
+        final UserStory story;
+
+        PendingStory(Sprint sprint, UserStory story) {
+            this.sprint = sprint;
+            this.story = story;
+        }
+    }
+
+    private static class PendingTask {
+        final UserStory story;
+        final Task task;
+        final TeamMember assignee;
+
+        PendingTask(UserStory story, Task task, TeamMember assignee) {
+            this.story = story;
+            this.task = task;
+            this.assignee = assignee;
+        }
+    }
+
+    /**
+     * Signals a record that failed validation.
+     */
+    private static class ImportException extends Exception {
+        ImportException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.agileteam.sprinttracker.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a bulk import: record counts per type, rejected records and throughput.
+ */
+public class ImportResult {
+    /**
+     * A record that was rejected during the import.
+     */
+    public static class ImportError {
+        private final long lineNumber;
+        private final String message;
+
+        public ImportError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + message;
+        }
+    }
+
+    private long recordsProcessed;
+    private int membersImported;
+    private int sprintsImported;
+    private int storiesImported;
+    private int tasksImported;
+    private long errorCount;
+    private final List<ImportError> errors = new ArrayList<>();
+    private long elapsedNanos;
+
+    void recordProcessed() {
+        recordsProcessed++;
+    }
+
+    void memberImported() {
+        membersImported++;
+    }
+
+    void sprintImported() {
+        sprintsImported++;
+    }
+
+    void storyImported() {
+        storiesImported++;
+    }
+
+    void taskImported() {
+        tasksImported++;
+    }
+
+    /**
+     * Counts a rejected record, keeping the details of the first {@code maxReported} only.
+     */
+    void addError(long lineNumber, String message, int maxReported) {
+        errorCount++;
+        if (errors.size() < maxReported) {
+            errors.add(new ImportError(lineNumber, message));
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public int getMembersImported() {
+        return membersImported;
+    }
+
+    public int getSprintsImported() {
+        return sprintsImported;
+    }
+
+    public int getStoriesImported() {
+        return storiesImported;
+    }
+
+    public int getTasksImported() {
+        return tasksImported;
+    }
+
+    public long getImportedCount() {
+        return (long) membersImported + sprintsImported + storiesImported + tasksImported;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return The first rejected records, in input order
+     */
+    public List<ImportError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : recordsProcessed * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records processed in %d ms (%.0f records/s): %d members, %d sprints, "
+                        + "%d stories, %d tasks imported, %d rejected",
+                recordsProcessed, getElapsedMillis(), getRecordsPerSecond(), membersImported,
+                sprintsImported, storiesImported, tasksImported, errorCount);
+    }
+}
@@ -0,0 +1,287 @@
+package com.agileteam.sprinttracker.bulk;
+
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the whole workspace as NDJSON or CSV, one record at a time.
+ *
+ * Records are written straight to the output as the model is walked, so memory use does not
+ * grow with the size of the workspace. Each list is copied before its records are written, since
+ * a slow client keeps the export running while entities are created and deleted. The NDJSON
+ * records use the same format as {@link BulkImporter}, so an export can be imported again.
+ */
+public class WorkspaceExporter {
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        Format(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        /**
+         * Parses a format name case-insensitively.
+         *
+         * @param name The format name, e.g. "ndjson" or "csv"
+         * @return The matching format
+         * @throws IllegalArgumentException If the format is not supported
+         */
+        public static Format fromString(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + name);
+        }
+    }
+
+    private static final String[] CSV_COLUMNS = {
+            "type", "id", "parentId", "name", "description", "status", "priority", "storyPoints",
+            "startDate", "endDate", "goal", "active", "assignedTeamMemberId", "email", "githubUsername",
+            "role", "githubIssueUrl"
+    };
+
+    private final SprintManager sprintManager;
+
+    public WorkspaceExporter(SprintManager sprintManager) {
+        this.sprintManager = sprintManager;
+    }
+
+    /**
+     * Writes the workspace in the given format. The writer is flushed but not closed.
+     *
+     * @return The number of records written
+     */
+    public long export(Writer out, Format format) throws IOException {
+        long records = format == Format.CSV ? exportCsv(out) : exportNdjson(out);
+        out.flush();
+        return records;
+    }
+
+    /**
+     * Writes team members, then each sprint followed by its stories and their tasks,
+     * so parents always come before their children.
+     */
+    private long exportNdjson(Writer out) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        // Lenient mode allows one top-level object per line
+        json.setLenient(true);
+        json.setSerializeNulls(false);
+        long records = 0;
+
+        for (TeamMember member : new ArrayList<>(sprintManager.getAllTeamMembers())) {
+            json.beginObject();
+            json.name("type").value("member");
+            json.name("id").value(member.getId());
+            json.name("name").value(member.getName());
+            json.name("email").value(member.getEmail());
+            json.name("githubUsername").value(member.getGithubUsername());
+            json.name("role").value(member.getRole());
+            json.endObject();
+            out.write('\n');
+            records++;
+        }
+
+        for (Sprint sprint : new ArrayList<>(sprintManager.getAllSprints())) {
+            json.beginObject();
+            json.name("type").value("sprint");
+            json.name("id").value(sprint.getId());
+            json.name("name").value(sprint.getName());
+            json.name("startDate").value(dateString(sprint.getStartDate()));
+            json.name("endDate").value(dateString(sprint.getEndDate()));
+            json.name("goal").value(sprint.getGoal());
+            json.name("active").value(sprint.isActive());
+            json.endObject();
+            out.write('\n');
+            records++;
+
+            for (UserStory story : storiesOf(sprint)) {
+                json.beginObject();
+                json.name("type").value("story");
+                json.name("id").value(story.getId());
+                json.name("sprintId").value(sprint.getId());
+                json.name("title").value(story.getTitle());
+                json.name("description").value(story.getDescription());
+                json.name("priority").value(story.getPriority() != null ? story.getPriority().name() : null);
+                json.name("storyPoints").value(story.getStoryPoints());
+                json.endObject();
+                out.write('\n');
+                records++;
+
+                for (Task task : tasksOf(story)) {
+                    json.beginObject();
+                    json.name("type").value("task");
+                    json.name("id").value(task.getId());
+                    json.name("storyId").value(story.getId());
+                    json.name("title").value(task.getTitle());
+                    json.name("description").value(task.getDescription());
+                    json.name("status").value(task.getStatus() != null ? task.getStatus().name() : null);
+                    json.name("assignedTeamMemberId").value(
+                            task.getAssignedTeamMember() != null ? task.getAssignedTeamMember().getId() : null);
+                    json.name("githubIssueUrl").value(task.getGithubIssueUrl());
+                    json.endObject();
+                    out.write('\n');
+                    records++;
+                }
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * Writes a single CSV table with one row per record and the union of all columns.
+     */
+    private long exportCsv(Writer out) throws IOException {
+        String[] row = new String[CSV_COLUMNS.length];
+        writeCsvRow(out, CSV_COLUMNS);
+        long records = 0;
+
+        for (TeamMember member : new ArrayList<>(sprintManager.getAllTeamMembers())) {
+            clear(row);
+            row[0] = "member";
+            row[1] = member.getId();
+            row[3] = member.getName();
+            row[13] = member.getEmail();
+            row[14] = member.getGithubUsername();
+            row[15] = member.getRole();
+            writeCsvRow(out, row);
+            records++;
+        }
+
+        for (Sprint sprint : new ArrayList<>(sprintManager.getAllSprints())) {
+            clear(row);
+            row[0] = "sprint";
+            row[1] = sprint.getId();
+            row[3] = sprint.getName();
+            row[8] = dateString(sprint.getStartDate());
+            row[9] = dateString(sprint.getEndDate());
+            row[10] = sprint.getGoal();
+            row[11] = String.valueOf(sprint.isActive());
+            writeCsvRow(out, row);
+            records++;
+
+            for (UserStory story : storiesOf(sprint)) {
+                clear(row);
+                row[0] = "story";
+                row[1] = story.getId();
+                row[2] = sprint.getId();
+                row[3] = story.getTitle();
+                row[4] = story.getDescription();
+                row[6] = story.getPriority() != null ? story.getPriority().name() : null;
+                row[7] = String.valueOf(story.getStoryPoints());
+                writeCsvRow(out, row);
+                records++;
+
+                for (Task task : tasksOf(story)) {
+                    clear(row);
+                    row[0] = "task";
+                    row[1] = task.getId();
+                    row[2] = story.getId();
+                    row[3] = task.getTitle();
+                    row[4] = task.getDescription();
+                    row[5] = task.getStatus() != null ? task.getStatus().name() : null;
+                    row[12] = task.getAssignedTeamMember() != null ? task.getAssignedTeamMember().getId() : null;
+                    row[16] = task.getGithubIssueUrl();
+                    writeCsvRow(out, row);
+                    records++;
+                }
+            }
+        }
+
+        return records;
+    }
+
+    // Copied under the lock that guards each list, so the copy never sees it half changed
+    private static List<UserStory> storiesOf(Sprint sprint) {
+        synchronized (sprint) {
+            return new ArrayList<>(sprint.getUserStories());
+        }
+    }
+
+    private static List<Task> tasksOf(UserStory story) {
+        synchronized (story) {
+            return new ArrayList<>(story.getTasks());
+        }
+    }
+
+    private static void clear(String[] row) {
+        for (int i = 0; i < row.length; i++) {
+            row[i] = null;
+        }
+    }
+
+    private static void writeCsvRow(Writer out, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCsvValue(out, values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Writes a value, quoting it per RFC 4180 if it contains a delimiter, quote or line break.
+     */
+    private static void writeCsvValue(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static String dateString(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+}
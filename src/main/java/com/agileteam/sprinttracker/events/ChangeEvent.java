@@ -0,0 +1,146 @@
+package com.agileteam.sprinttracker.events;
+
+import com.google.gson.JsonObject;
+
+/**
+ * A fine-grained change to the workspace, published by the SprintManager after a mutation.
+ * Events are immutable; the JSON form is built once and shared by every subscriber.
+ */
+public class ChangeEvent {
+    public enum Type {
+        SPRINT_CREATED("sprint.created"),
+        SPRINT_UPDATED("sprint.updated"),
+        SPRINT_DELETED("sprint.deleted"),
+        STORY_CREATED("story.created"),
+        STORY_UPDATED("story.updated"),
+        STORY_DELETED("story.deleted"),
+        TASK_CREATED("task.created"),
+        TASK_UPDATED("task.updated"),
+        TASK_STATUS_CHANGED("task.status_changed"),
+        TASK_ASSIGNED("task.assigned"),
+        TASK_DELETED("task.deleted"),
+        MEMBER_CREATED("member.created"),
+        MEMBER_UPDATED("member.updated"),
+        MEMBER_DELETED("member.deleted"),
+        WORKSPACE_IMPORTED("workspace.imported");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+
+        @Override
+        public String toString() {
+            return eventName;
+        }
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final long timestamp;
+    private final String sprintId;
+    private final String storyId;
+    private final String taskId;
+    private final String memberId;
+    private final JsonObject data;
+    private final String json;
+
+    /**
+     * @param sequence Global, monotonically increasing change number
+     * @param type The kind of change
+     * @param sprintId The affected sprint, or null
+     * @param storyId The affected user story, or null
+     * @param taskId The affected task, or null
+     * @param memberId The affected team member, or null
+     * @param data Event specific details such as an entity snapshot, or null
+     */
+    public ChangeEvent(long sequence, Type type, String sprintId, String storyId, String taskId,
+                       String memberId, JsonObject data) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = System.currentTimeMillis();
+        this.sprintId = sprintId;
+        this.storyId = storyId;
+        this.taskId = taskId;
+        this.memberId = memberId;
+        this.data = data;
+        this.json = buildJson().toString();
+    }
+
+    private JsonObject buildJson() {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("type", type.getEventName());
+        obj.addProperty("sequence", sequence);
+        obj.addProperty("timestamp", timestamp);
+        if (sprintId != null) {
+            obj.addProperty("sprintId", sprintId);
+        }
+        if (storyId != null) {
+            obj.addProperty("storyId", storyId);
+        }
+        if (taskId != null) {
+            obj.addProperty("taskId", taskId);
+        }
+        if (memberId != null) {
+            obj.addProperty("memberId", memberId);
+        }
+        if (data != null) {
+            for (String key : data.keySet()) {
+                obj.add(key, data.get(key));
+            }
+        }
+        return obj;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    public String getStoryId() {
+        return storyId;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * @return Event specific details such as an entity snapshot, or null; shared, so treat it as read-only
+     */
+    public JsonObject getData() {
+        return data;
+    }
+
+    /**
+     * @return The event as a single-line JSON object
+     */
+    public String toJson() {
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type.getEventName();
+    }
+}
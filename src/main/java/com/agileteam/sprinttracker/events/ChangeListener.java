@@ -0,0 +1,9 @@
+package com.agileteam.sprinttracker.events;
+
+/**
+ * Receives change events from the SprintManager.
+ * Listeners are called on the thread that made the change, so they must not block.
+ */
+public interface ChangeListener {
+    void onChange(ChangeEvent event);
+}
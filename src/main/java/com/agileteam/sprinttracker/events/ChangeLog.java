@@ -0,0 +1,186 @@
+package com.agileteam.sprinttracker.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded ring buffer of the most recent change events, used to bring reconnecting clients
+ * up to date without sending them the whole workspace.
+ *
+ * Events must be appended in sequence order with no gaps. Once the buffer is full the oldest
+ * event is overwritten; a client asking for changes from before that point has to resync.
+ */
+public class ChangeLog {
+    /**
+     * The changes after a given sequence number, or a marker that the client must reload everything.
+     */
+    public static class Delta {
+        private final long since;
+        private final long latestSequence;
+        private final boolean resyncRequired;
+        private final List<ChangeEvent> events;
+
+        private Delta(long since, long latestSequence, boolean resyncRequired, List<ChangeEvent> events) {
+            this.since = since;
+            this.latestSequence = latestSequence;
+            this.resyncRequired = resyncRequired;
+            this.events = events;
+        }
+
+        public long getSince() {
+            return since;
+        }
+
+        /**
+         * @return The sequence number the client is up to date with after applying this delta
+         */
+        public long getLatestSequence() {
+            return latestSequence;
+        }
+
+        /**
+         * @return true if the requested changes are no longer available and the client must reload
+         */
+        public boolean isResyncRequired() {
+            return resyncRequired;
+        }
+
+        /**
+         * @return The changes in the order they should be applied; empty if a resync is required
+         */
+        public List<ChangeEvent> getEvents() {
+            return events;
+        }
+    }
+
+    private final ChangeEvent[] entries;
+    private long latestSequence;
+
+    public ChangeLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.entries = new ChangeEvent[capacity];
+    }
+
+    /**
+     * Records an event. Its sequence number must follow the previous event's.
+     */
+    public synchronized void append(ChangeEvent event) {
+        if (event.getSequence() != latestSequence + 1) {
+            throw new IllegalArgumentException("Expected sequence " + (latestSequence + 1) + " but got "
+                    + event.getSequence());
+        }
+        entries[slot(event.getSequence())] = event;
+        latestSequence = event.getSequence();
+    }
+
+    public synchronized long getLatestSequence() {
+        return latestSequence;
+    }
+
+    /**
+     * @return The sequence number of the oldest event still held, or 0 if the log is empty
+     */
+    public synchronized long getOldestSequence() {
+        if (latestSequence == 0) {
+            return 0;
+        }
+        return Math.max(1, latestSequence - entries.length + 1);
+    }
+
+    /**
+     * Returns every event after the given sequence number, in order.
+     *
+     * A resync is required if those events have been overwritten, if the sequence number is ahead
+     * of this log (the server was restarted), or if a bulk import happened in between.
+     */
+    public synchronized Delta since(long sequence) {
+        if (!isAvailable(sequence)) {
+            return new Delta(sequence, latestSequence, true, Collections.emptyList());
+        }
+
+        List<ChangeEvent> events = new ArrayList<>((int) (latestSequence - sequence));
+        for (long s = sequence + 1; s <= latestSequence; s++) {
+            ChangeEvent event = entries[slot(s)];
+            if (event.getType() == ChangeEvent.Type.WORKSPACE_IMPORTED) {
+                return new Delta(sequence, latestSequence, true, Collections.emptyList());
+            }
+            events.add(event);
+        }
+        return new Delta(sequence, latestSequence, false, events);
+    }
+
+    /**
+     * Like {@link #since(long)}, but keeps only the latest event for each entity, so the result
+     * grows with the number of entities changed rather than the number of changes.
+     *
+     * Every event except a deletion carries a full snapshot of its entity, so the latest one is
+     * enough to bring the client up to date. Entities are returned in the order they were first
+     * changed, which keeps a new sprint or story ahead of the children added to it. A deletion
+     * moves to where it happened instead, so it comes after any changes to the entity's children.
+     */
+    public Delta compactedSince(long sequence) {
+        Delta delta = since(sequence);
+        if (delta.isResyncRequired() || delta.getEvents().size() < 2) {
+            return delta;
+        }
+
+        // LinkedHashMap keeps the position of the first insert when a key is replaced
+        Map<String, ChangeEvent> latestByEntity = new LinkedHashMap<>();
+        for (ChangeEvent event : delta.getEvents()) {
+            String key = entityKey(event);
+            if (isDeletion(event)) {
+                latestByEntity.remove(key);
+            }
+            latestByEntity.put(key, event);
+        }
+        return new Delta(sequence, delta.getLatestSequence(), false, new ArrayList<>(latestByEntity.values()));
+    }
+
+    private boolean isAvailable(long sequence) {
+        if (sequence < 0 || sequence > latestSequence) {
+            return false;
+        }
+        // The client needs every event from sequence + 1 onwards, and the oldest held is latest - capacity + 1
+        return sequence >= latestSequence - entries.length;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % entries.length);
+    }
+
+    private static boolean isDeletion(ChangeEvent event) {
+        switch (event.getType()) {
+            case SPRINT_DELETED:
+            case STORY_DELETED:
+            case TASK_DELETED:
+            case MEMBER_DELETED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String entityKey(ChangeEvent event) {
+        switch (event.getType()) {
+            case SPRINT_CREATED:
+            case SPRINT_UPDATED:
+            case SPRINT_DELETED:
+                return "sprint:" + event.getSprintId();
+            case STORY_CREATED:
+            case STORY_UPDATED:
+            case STORY_DELETED:
+                return "story:" + event.getStoryId();
+            case MEMBER_CREATED:
+            case MEMBER_UPDATED:
+            case MEMBER_DELETED:
+                return "member:" + event.getMemberId();
+            default:
+                return "task:" + event.getTaskId();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.agileteam.sprinttracker.events;
+
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.google.gson.JsonObject;
+
+/**
+ * Builds JSON snapshots of model objects for change events.
+ * The field names and status values match the REST API responses used by the web UI.
+ */
+public final class EntitySnapshots {
+    private EntitySnapshots() {
+    }
+
+    /**
+     * Snapshot of a sprint's own fields, without its user stories.
+     */
+    public static JsonObject sprint(Sprint sprint) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("id", sprint.getId());
+        obj.addProperty("version", sprint.getVersion());
+        obj.addProperty("name", sprint.getName());
+        obj.addProperty("startDate", sprint.getStartDate() != null ? sprint.getStartDate().toString() : null);
+        obj.addProperty("endDate", sprint.getEndDate() != null ? sprint.getEndDate().toString() : null);
+        obj.addProperty("goal", sprint.getGoal());
+        obj.addProperty("active", sprint.isActive());
+        return obj;
+    }
+
+    /**
+     * Snapshot of a user story's own fields, without its tasks.
+     */
+    public static JsonObject story(UserStory story) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("id", story.getId());
+        obj.addProperty("version", story.getVersion());
+        obj.addProperty("title", story.getTitle());
+        obj.addProperty("description", story.getDescription());
+        obj.addProperty("priority", story.getPriority() != null ? story.getPriority().name() : null);
+        obj.addProperty("storyPoints", story.getStoryPoints());
+        return obj;
+    }
+
+    public static JsonObject task(Task task) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("id", task.getId());
+        obj.addProperty("version", task.getVersion());
+        obj.addProperty("title", task.getTitle());
+        obj.addProperty("description", task.getDescription());
+        obj.addProperty("status", statusName(task.getStatus()));
+        obj.addProperty("githubIssueUrl", task.getGithubIssueUrl());
+
+        TeamMember assignee = task.getAssignedTeamMember();
+        if (assignee != null) {
+            JsonObject memberObj = new JsonObject();
+            memberObj.addProperty("id", assignee.getId());
+            memberObj.addProperty("name", assignee.getName());
+            obj.add("assignedTeamMember", memberObj);
+            obj.addProperty("assignedTeamMemberId", assignee.getId());
+        } else {
+            obj.add("assignedTeamMember", null);
+            obj.add("assignedTeamMemberId", null);
+        }
+        return obj;
+    }
+
+    public static JsonObject member(TeamMember member) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("id", member.getId());
+        obj.addProperty("version", member.getVersion());
+        obj.addProperty("name", member.getName());
+        obj.addProperty("email", member.getEmail());
+        obj.addProperty("githubUsername", member.getGithubUsername());
+        obj.addProperty("role", member.getRole());
+        return obj;
+    }
+
+    /**
+     * Converts a status to the name the frontend uses ("TODO" rather than "TO_DO").
+     */
+    public static String statusName(Task.Status status) {
+        if (status == null) {
+            return null;
+        }
+        return status == Task.Status.TO_DO ? "TODO" : status.name();
+    }
+}
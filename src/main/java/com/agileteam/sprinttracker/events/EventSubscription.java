@@ -0,0 +1,108 @@
+package com.agileteam.sprinttracker.events;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers change events for one consumer, such as a Server-Sent Events connection.
+ *
+ * The buffer is bounded so that a slow consumer can never hold up the thread publishing the
+ * change. If the buffer fills up the subscription is marked as overflowed and stops accepting
+ * events; the consumer is expected to disconnect and resynchronize.
+ *
+ * Closing the subscription wakes a consumer waiting in {@link #poll(long, TimeUnit)}, so it can
+ * stop without waiting out its timeout. A consumer that doesn't wait, such as an asynchronous
+ * writer, can instead be told through {@link #onAvailable(Runnable)}.
+ */
+public class EventSubscription implements ChangeListener {
+    // Put in the buffer to wake the consumer when the subscription is closed; never handed out
+    private static final ChangeEvent CLOSED_MARKER = new ChangeEvent(0, ChangeEvent.Type.WORKSPACE_IMPORTED,
+            null, null, null, null, null);
+
+    private final BlockingQueue<ChangeEvent> buffer;
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+    private volatile Runnable wakeUp;
+
+    public EventSubscription(int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (overflowed || closed) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            overflowed = true;
+            buffer.clear();
+        }
+        wake();
+    }
+
+    /**
+     * Sets what to run whenever there is something new for the consumer: an event, an overflow or
+     * the subscription closing. It runs on the thread publishing the change, so it must only hand
+     * the work off.
+     */
+    public void onAvailable(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    /**
+     * Waits for the next event.
+     *
+     * @return The next event, or null if none arrived before the timeout
+     */
+    public ChangeEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return unlessClosed(buffer.poll(timeout, unit));
+    }
+
+    /**
+     * @return The next buffered event, or null if the buffer is empty
+     */
+    public ChangeEvent poll() {
+        return unlessClosed(buffer.poll());
+    }
+
+    /**
+     * Stops accepting events and wakes the consumer. Events still buffered are discarded.
+     */
+    public void close() {
+        closed = true;
+        buffer.clear();
+        buffer.offer(CLOSED_MARKER);
+        wake();
+    }
+
+    /**
+     * @return true if the subscription was closed and the consumer should stop
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void wake() {
+        Runnable wakeUp = this.wakeUp;
+        if (wakeUp != null) {
+            wakeUp.run();
+        }
+    }
+
+    private ChangeEvent unlessClosed(ChangeEvent event) {
+        if (event == CLOSED_MARKER) {
+            // Leave the marker for any later poll
+            buffer.offer(CLOSED_MARKER);
+            return null;
+        }
+        return event;
+    }
+
+    /**
+     * @return true if events were dropped because the consumer fell behind
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+}
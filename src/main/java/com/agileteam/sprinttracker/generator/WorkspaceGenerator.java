@@ -0,0 +1,332 @@
+package com.agileteam.sprinttracker.generator;
+
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds synthetic workspaces for load tests, benchmarks and demos.
+ *
+ * Generation is deterministic: the same settings and seed always produce the same workspace,
+ * including entity IDs, so a dataset can be described by its settings instead of being shipped.
+ * Statuses and priorities are drawn from configurable weights, and a share of tasks is left
+ * unassigned. Each task also gets a status history within its sprint (created, started, done as
+ * far as its final status goes), so burndown and flow reports have something to show; history
+ * times that would be in the future are pulled back to the time of generation.
+ */
+public class WorkspaceGenerator {
+    private static final String[] STORY_VERBS = {"Add", "Improve", "Fix", "Redesign", "Support", "Speed up", "Remove"};
+    private static final String[] STORY_SUBJECTS = {"login", "search", "checkout", "notifications", "reporting",
+        "user profile", "file upload", "dashboard", "billing", "onboarding", "settings", "audit log"};
+    private static final String[] TASK_KINDS = {"Implement", "Write tests for", "Review", "Document", "Refactor",
+        "Design", "Deploy"};
+    private static final String[] FIRST_NAMES = {"Ayesha", "Bilal", "Chen", "Dana", "Emeka", "Farah", "Goran",
+        "Hana", "Ivan", "Jonas", "Keiko", "Luis", "Maya", "Nikhil", "Olga", "Priya", "Quinn", "Rafael", "Sara",
+        "Tomas"};
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long HOUR_MILLIS = 60L * 60 * 1000;
+    private static final int LATE_ADDED_PERCENT = 15;
+
+    private static final Field SPRINT_ID = idField(Sprint.class);
+    private static final Field STORY_ID = idField(UserStory.class);
+    private static final Field TASK_ID = idField(Task.class);
+    private static final Field MEMBER_ID = idField(TeamMember.class);
+
+    private long seed = 42;
+    private int sprintCount = 10;
+    private int storiesPerSprint = 10;
+    private int tasksPerStory = 10;
+    private int teamMemberCount = 8;
+    private int unassignedPercent = 20;
+    private int maxStoryPoints = 13;
+    private LocalDate firstSprintStart = LocalDate.of(2024, 1, 1);
+    private int sprintLengthDays = 14;
+    private final Map<Task.Status, Integer> statusWeights = new EnumMap<>(Task.Status.class);
+    private final Map<UserStory.Priority, Integer> priorityWeights = new EnumMap<>(UserStory.Priority.class);
+
+    public WorkspaceGenerator() {
+        statusWeights.put(Task.Status.TO_DO, 3);
+        statusWeights.put(Task.Status.IN_PROGRESS, 2);
+        statusWeights.put(Task.Status.DONE, 5);
+        priorityWeights.put(UserStory.Priority.LOW, 2);
+        priorityWeights.put(UserStory.Priority.MEDIUM, 4);
+        priorityWeights.put(UserStory.Priority.HIGH, 3);
+        priorityWeights.put(UserStory.Priority.CRITICAL, 1);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setSprintCount(int sprintCount) {
+        this.sprintCount = requireNonNegative("sprintCount", sprintCount);
+    }
+
+    public void setStoriesPerSprint(int storiesPerSprint) {
+        this.storiesPerSprint = requireNonNegative("storiesPerSprint", storiesPerSprint);
+    }
+
+    public void setTasksPerStory(int tasksPerStory) {
+        this.tasksPerStory = requireNonNegative("tasksPerStory", tasksPerStory);
+    }
+
+    public void setTeamMemberCount(int teamMemberCount) {
+        this.teamMemberCount = requireNonNegative("teamMemberCount", teamMemberCount);
+    }
+
+    /**
+     * @param unassignedPercent The share of tasks, from 0 to 100, left without an assignee
+     */
+    public void setUnassignedPercent(int unassignedPercent) {
+        if (unassignedPercent < 0 || unassignedPercent > 100) {
+            throw new IllegalArgumentException("unassignedPercent must be between 0 and 100");
+        }
+        this.unassignedPercent = unassignedPercent;
+    }
+
+    public void setMaxStoryPoints(int maxStoryPoints) {
+        if (maxStoryPoints < 1) {
+            throw new IllegalArgumentException("maxStoryPoints must be at least 1");
+        }
+        this.maxStoryPoints = maxStoryPoints;
+    }
+
+    /**
+     * Sets when the first sprint starts; the others follow back to back.
+     */
+    public void setFirstSprintStart(LocalDate firstSprintStart) {
+        this.firstSprintStart = firstSprintStart;
+    }
+
+    public void setSprintLengthDays(int sprintLengthDays) {
+        if (sprintLengthDays < 1) {
+            throw new IllegalArgumentException("sprintLengthDays must be at least 1");
+        }
+        this.sprintLengthDays = sprintLengthDays;
+    }
+
+    /**
+     * Sets how likely a task is to get a status, relative to the other statuses. A weight of 0
+     * means no task gets that status.
+     */
+    public void setStatusWeight(Task.Status status, int weight) {
+        statusWeights.put(status, requireNonNegative("weight", weight));
+    }
+
+    /**
+     * Sets how likely a story is to get a priority, relative to the other priorities.
+     */
+    public void setPriorityWeight(UserStory.Priority priority, int weight) {
+        priorityWeights.put(priority, requireNonNegative("weight", weight));
+    }
+
+    /**
+     * @return The number of tasks the current settings generate
+     */
+    public long getTaskCount() {
+        return (long) sprintCount * storiesPerSprint * tasksPerStory;
+    }
+
+    /**
+     * Builds a new workspace from the current settings. No change events are published.
+     */
+    public SprintManager generate() {
+        Task.Status[] statuses = Task.Status.values();
+        UserStory.Priority[] priorities = UserStory.Priority.values();
+        int[] statusCumulative = cumulativeWeights(statuses, statusWeights, "status");
+        int[] priorityCumulative = cumulativeWeights(priorities, priorityWeights, "priority");
+
+        Random random = new Random(seed);
+        SprintManager manager = new SprintManager();
+
+        List<TeamMember> team = new ArrayList<>(teamMemberCount);
+        for (int m = 0; m < teamMemberCount; m++) {
+            String firstName = FIRST_NAMES[m % FIRST_NAMES.length];
+            String handle = firstName.toLowerCase() + (m / FIRST_NAMES.length == 0 ? "" : Integer.toString(m));
+            TeamMember member = new TeamMember(firstName + " " + (char) ('A' + m % 26) + ".",
+                    handle + "@example.com", handle);
+            assignId(MEMBER_ID, member, nextId(random));
+            manager.addTeamMember(member);
+            team.add(member);
+        }
+
+        for (int s = 0; s < sprintCount; s++) {
+            LocalDate start = firstSprintStart.plusDays((long) s * sprintLengthDays);
+            Sprint sprint = new Sprint("Sprint " + (s + 1), start, start.plusDays(sprintLengthDays - 1L),
+                    "Sprint " + (s + 1) + " goal");
+            assignId(SPRINT_ID, sprint, nextId(random));
+            manager.addSprint(sprint);
+
+            for (int u = 0; u < storiesPerSprint; u++) {
+                String subject = pick(random, STORY_SUBJECTS);
+                UserStory story = new UserStory(pick(random, STORY_VERBS) + " " + subject,
+                        "As a user I want " + subject + " to work better");
+                assignId(STORY_ID, story, nextId(random));
+                story.setPriority(priorities[sample(random, priorityCumulative)]);
+                story.setStoryPoints(1 + random.nextInt(maxStoryPoints));
+                sprint.addUserStory(story);
+
+                for (int t = 0; t < tasksPerStory; t++) {
+                    Task task = new Task(pick(random, TASK_KINDS) + " " + subject + " (" + (t + 1) + ")", "");
+                    assignId(TASK_ID, task, nextId(random));
+                    task.setStatus(statuses[sample(random, statusCumulative)]);
+                    story.addTask(task);
+                    if (!team.isEmpty() && random.nextInt(100) >= unassignedPercent) {
+                        task.setAssignedTeamMember(team.get(random.nextInt(team.size())));
+                    }
+                }
+            }
+        }
+
+        if (!manager.getAllSprints().isEmpty()) {
+            List<Sprint> sprints = manager.getAllSprints();
+            manager.setCurrentSprint(sprints.get(sprints.size() - 1));
+        }
+        manager.rebuildWorkload();
+        recordHistory(manager);
+        return manager;
+    }
+
+    /**
+     * A status a task reached at some time, for building its history.
+     */
+    private static final class HistoryStep {
+        final long time;
+        final Task task;
+        final Task.Status status;
+
+        HistoryStep(long time, Task task, Task.Status status) {
+            this.time = time;
+            this.task = task;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Gives every task a history that ends in its generated status. Uses its own random sequence
+     * so the workspace itself is the same as without history.
+     */
+    private void recordHistory(SprintManager manager) {
+        Random random = new Random(~seed);
+        ZoneId zone = ZoneId.systemDefault();
+        List<HistoryStep> steps = new ArrayList<>();
+
+        for (Sprint sprint : manager.getAllSprints()) {
+            long sprintStart = sprint.getStartDate().atStartOfDay(zone).toInstant().toEpochMilli();
+            int days = Math.max(1, sprintLengthDays);
+            for (UserStory story : sprint.getUserStories()) {
+                for (Task task : story.getTasks()) {
+                    // Most tasks exist when the sprint starts; some are added during its first half
+                    int createdDay = random.nextInt(100) < LATE_ADDED_PERCENT ? random.nextInt(Math.max(1, days / 2)) : 0;
+                    steps.add(new HistoryStep(timeOfDay(random, sprintStart, createdDay, 9), task, Task.Status.TO_DO));
+                    if (task.getStatus() == Task.Status.TO_DO) {
+                        continue;
+                    }
+                    int startedDay = createdDay + random.nextInt(days - createdDay);
+                    steps.add(new HistoryStep(timeOfDay(random, sprintStart, startedDay, 11), task,
+                            Task.Status.IN_PROGRESS));
+                    if (task.getStatus() == Task.Status.DONE) {
+                        int doneDay = startedDay + random.nextInt(days - startedDay);
+                        steps.add(new HistoryStep(timeOfDay(random, sprintStart, doneDay, 14), task,
+                                Task.Status.DONE));
+                    }
+                }
+            }
+        }
+
+        // The history is kept in time order; a stable sort keeps each task's own steps in order
+        steps.sort(Comparator.comparingLong(step -> step.time));
+        long now = System.currentTimeMillis();
+        TransitionHistory history = manager.getTransitionHistory();
+        for (HistoryStep step : steps) {
+            step.task.setStatus(step.status);
+            history.recordCurrentState(step.task, Math.min(step.time, now));
+        }
+    }
+
+    /**
+     * @return A time within the two hours after {@code hour} on the given day of a sprint
+     */
+    private static long timeOfDay(Random random, long sprintStart, int day, int hour) {
+        return sprintStart + day * DAY_MILLIS + hour * HOUR_MILLIS + (long) random.nextInt((int) (2 * HOUR_MILLIS));
+    }
+
+    private static <E extends Enum<E>> int[] cumulativeWeights(E[] values, Map<E, Integer> weights, String name) {
+        int[] cumulative = new int[values.length];
+        int total = 0;
+        for (int i = 0; i < values.length; i++) {
+            total += weights.getOrDefault(values[i], 0);
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalStateException("At least one " + name + " weight must be positive");
+        }
+        return cumulative;
+    }
+
+    /**
+     * @return The index whose slice of the cumulative weights a uniform draw falls in
+     */
+    private static int sample(Random random, int[] cumulative) {
+        int draw = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (draw < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * A version 4 UUID drawn from the seeded generator instead of the system's secure random.
+     */
+    private static String nextId(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(most, least).toString();
+    }
+
+    private static int requireNonNegative(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " cannot be negative");
+        }
+        return value;
+    }
+
+    private static Field idField(Class<?> clazz) {
+        try {
+            Field field = clazz.getDeclaredField("id");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("No id field on " + clazz.getName(), e);
+        }
+    }
+
+    private static void assignId(Field idField, Object target, String id) {
+        try {
+            idField.set(target, id);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot set id on " + target.getClass().getName(), e);
+        }
+    }
+}
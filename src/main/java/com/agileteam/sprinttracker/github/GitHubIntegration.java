@@ -1,6 +1,11 @@
 package com.agileteam.sprinttracker.github;
 
+import com.agileteam.sprinttracker.metrics.Counter;
+import com.agileteam.sprinttracker.metrics.LatencyHistogram;
+import com.agileteam.sprinttracker.metrics.MetricFamily;
+import com.agileteam.sprinttracker.metrics.MetricsRegistry;
 import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.profiling.GitHubRequestEvent;
 import com.agileteam.sprinttracker.model.TeamMember;
 import com.agileteam.sprinttracker.model.UserStory;
 import com.google.gson.JsonArray;
@@ -31,11 +36,23 @@ import java.util.stream.Collectors;
  * Handles connection to the GitHub Issues API.
  */
 public class GitHubIntegration {
+    /**
+     * System property that points the integration at another GitHub API, such as a local stub.
+     */
+    public static final String API_BASE_URL_PROPERTY = "sprinttracker.github.apiBaseUrl";
     private static final String GITHUB_API_BASE_URL = "https://api.github.com";
     
+    private static final MetricFamily<LatencyHistogram> REQUEST_DURATION = MetricsRegistry.getDefault()
+            .histogramFamily("sprinttracker_github_request_duration_seconds", "GitHub API call latency, including parsing",
+                    "operation");
+    private static final MetricFamily<Counter> REQUESTS = MetricsRegistry.getDefault()
+            .counterFamily("sprinttracker_github_requests_total", "GitHub API calls by HTTP status, or \"error\" if none",
+                    "operation", "outcome");
+    
     private final String personalAccessToken;
     private final String repositoryOwner;
     private final String repositoryName;
+    private final String apiBaseUrl;
     
     private CloseableHttpClient httpClient;
     
@@ -57,6 +74,7 @@ public class GitHubIntegration {
         this.personalAccessToken = personalAccessToken;
         this.repositoryOwner = repositoryOwner;
         this.repositoryName = repositoryName;
+        this.apiBaseUrl = System.getProperty(API_BASE_URL_PROPERTY, GITHUB_API_BASE_URL);
         this.httpClient = HttpClients.createDefault();
     }
     
@@ -152,7 +170,7 @@ public class GitHubIntegration {
      */
     public List<Issue> fetchIssues(String state, String labels) throws IOException {
         String issuesUrl = String.format("%s/repos/%s/%s/issues?state=%s", 
-                GITHUB_API_BASE_URL, repositoryOwner, repositoryName, state);
+                apiBaseUrl, repositoryOwner, repositoryName, state);
         
         if (labels != null && !labels.isEmpty()) {
             issuesUrl += "&labels=" + labels;
@@ -164,7 +182,13 @@ public class GitHubIntegration {
         
         List<Issue> issues = new ArrayList<>();
         
+        GitHubRequestEvent event = new GitHubRequestEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        String outcome = "error";
         try (CloseableHttpResponse response = httpClient.execute(request)) {
+            event.status = response.getStatusLine().getStatusCode();
+            outcome = Integer.toString(event.status);
             HttpEntity entity = response.getEntity();
             if (entity != null) {
                 String result = EntityUtils.toString(entity);
@@ -176,6 +200,17 @@ public class GitHubIntegration {
                     issues.add(issue);
                 }
             }
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+            REQUEST_DURATION.labels("fetch_issues").recordNanos(durationNanos);
+            REQUESTS.labels("fetch_issues", outcome).increment();
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = "fetch_issues";
+                event.repository = repositoryOwner + "/" + repositoryName;
+                event.issues = issues.size();
+                event.commit();
+            }
         }
         
         return issues;
@@ -297,6 +332,9 @@ public class GitHubIntegration {
                 userStories.get(0).addTask(task);
             }
         }
+        if (!userStories.isEmpty()) {
+            userStories.get(0).refreshWorkload();
+        }
         
         return userStories;
     }
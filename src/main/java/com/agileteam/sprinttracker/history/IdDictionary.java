@@ -0,0 +1,44 @@
+package com.agileteam.sprinttracker.history;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbers entity IDs in the order they are first seen, so the history columns can refer to
+ * them by int. Entries are never removed; deleted entities keep their number.
+ */
+final class IdDictionary {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+
+    /**
+     * @return The ID's number, or TransitionHistory.NONE if it hasn't been seen
+     */
+    int indexOf(String id) {
+        Integer index = id != null ? indexes.get(id) : null;
+        return index != null ? index : TransitionHistory.NONE;
+    }
+
+    /**
+     * @return The ID's number, numbering it first if it is new
+     */
+    int add(String id) {
+        Integer index = indexes.get(id);
+        if (index != null) {
+            return index;
+        }
+        ids.add(id);
+        indexes.put(id, ids.size() - 1);
+        return ids.size() - 1;
+    }
+
+    String get(int index) {
+        return ids.get(index);
+    }
+
+    int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.agileteam.sprinttracker.history;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An append-only table of (task, from, to, epochMillis) rows stored as one primitive array per
+ * column. Columns grow in fixed-size chunks, so appending never copies the rows already stored.
+ * Rows are kept in time order, which lets a time range be found by binary search.
+ */
+final class TransitionColumns {
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private int[][] tasks = new int[0][];
+    private int[][] from = new int[0][];
+    private int[][] to = new int[0][];
+    private long[][] times = new long[0][];
+    private int size;
+
+    void append(int task, int fromValue, int toValue, long epochMillis) {
+        int chunk = size >>> CHUNK_SHIFT;
+        if (chunk == tasks.length) {
+            int chunks = Math.max(4, tasks.length * 2);
+            tasks = Arrays.copyOf(tasks, chunks);
+            from = Arrays.copyOf(from, chunks);
+            to = Arrays.copyOf(to, chunks);
+            times = Arrays.copyOf(times, chunks);
+        }
+        if (tasks[chunk] == null) {
+            tasks[chunk] = new int[CHUNK_SIZE];
+            from[chunk] = new int[CHUNK_SIZE];
+            to[chunk] = new int[CHUNK_SIZE];
+            times[chunk] = new long[CHUNK_SIZE];
+        }
+        int offset = size & CHUNK_MASK;
+        // The wall clock can step backwards; clamping keeps the rows sorted for binary search
+        long time = size > 0 ? Math.max(epochMillis, timeAt(size - 1)) : epochMillis;
+        tasks[chunk][offset] = task;
+        from[chunk][offset] = fromValue;
+        to[chunk][offset] = toValue;
+        times[chunk][offset] = time;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long timeAt(int row) {
+        return times[row >>> CHUNK_SHIFT][row & CHUNK_MASK];
+    }
+
+    /**
+     * @return The first row at or after the given time, or size() if there is none
+     */
+    int lowerBound(long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(mid) < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Visits rows {@code [startRow, endRow)} in order, a chunk at a time.
+     */
+    void forEach(int startRow, int endRow, TransitionVisitor visitor) {
+        int row = startRow;
+        while (row < endRow) {
+            int chunk = row >>> CHUNK_SHIFT;
+            int offset = row & CHUNK_MASK;
+            int end = Math.min(CHUNK_SIZE, offset + (endRow - row));
+            int[] chunkTasks = tasks[chunk];
+            int[] chunkFrom = from[chunk];
+            int[] chunkTo = to[chunk];
+            long[] chunkTimes = times[chunk];
+            for (int i = offset; i < end; i++) {
+                visitor.visit(chunkTasks[i], chunkFrom[i], chunkTo[i], chunkTimes[i]);
+            }
+            row += end - offset;
+        }
+    }
+
+    /**
+     * Writes the row count and then rows {@code [startRow, size())} column by column.
+     */
+    void write(DataOutput out, int startRow) throws IOException {
+        out.writeInt(size - startRow);
+        for (int row = startRow; row < size; row++) {
+            out.writeInt(tasks[row >>> CHUNK_SHIFT][row & CHUNK_MASK]);
+        }
+        for (int row = startRow; row < size; row++) {
+            out.writeInt(from[row >>> CHUNK_SHIFT][row & CHUNK_MASK]);
+        }
+        for (int row = startRow; row < size; row++) {
+            out.writeInt(to[row >>> CHUNK_SHIFT][row & CHUNK_MASK]);
+        }
+        for (int row = startRow; row < size; row++) {
+            out.writeLong(times[row >>> CHUNK_SHIFT][row & CHUNK_MASK]);
+        }
+    }
+
+    /**
+     * Reads rows written by {@link #write} and appends them.
+     *
+     * @return The index of the first row read
+     */
+    int read(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid transition count: " + count);
+        }
+        int[] readTasks = new int[count];
+        int[] readFrom = new int[count];
+        int[] readTo = new int[count];
+        for (int i = 0; i < count; i++) {
+            readTasks[i] = in.readInt();
+        }
+        for (int i = 0; i < count; i++) {
+            readFrom[i] = in.readInt();
+        }
+        for (int i = 0; i < count; i++) {
+            readTo[i] = in.readInt();
+        }
+        int firstRow = size;
+        for (int i = 0; i < count; i++) {
+            append(readTasks[i], readFrom[i], readTo[i], in.readLong());
+        }
+        return firstRow;
+    }
+}
@@ -0,0 +1,647 @@
+package com.agileteam.sprinttracker.history;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeListener;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.TeamMember;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * An append-only record of every task status and assignment change, for burndown, cycle time and
+ * throughput reports.
+ *
+ * Each kind of transition is a time-ordered table of (task, from, to, epochMillis) rows held in
+ * primitive columns. Sprints, stories, tasks and members are numbered in the order they are first
+ * seen, and rows refer to them by number. Status values are {@link Task.Status} ordinals and
+ * assignment values are member numbers; {@link #NONE} stands for "didn't exist" (a task's status
+ * before it was created and after it was deleted) or "unassigned".
+ *
+ * The history follows the workspace through change events. Tasks that appear without one, after a
+ * bulk import or in data saved before the history existed, get a baseline row when
+ * {@link #recordBaseline(long)} is called.
+ */
+public class TransitionHistory implements ChangeListener {
+    public static final int NONE = -1;
+
+    private static final Task.Status[] STATUSES = Task.Status.values();
+
+    /**
+     * How much of the history existed at some point, so a later save only writes what was added since.
+     */
+    public static final class Mark {
+        public static final Mark EMPTY = new Mark(0, 0, 0, 0, 0, 0);
+
+        final int sprints;
+        final int stories;
+        final int tasks;
+        final int members;
+        final int statusTransitions;
+        final int assignmentTransitions;
+
+        Mark(int sprints, int stories, int tasks, int members, int statusTransitions, int assignmentTransitions) {
+            this.sprints = sprints;
+            this.stories = stories;
+            this.tasks = tasks;
+            this.members = members;
+            this.statusTransitions = statusTransitions;
+            this.assignmentTransitions = assignmentTransitions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Mark mark = (Mark) o;
+            return sprints == mark.sprints && stories == mark.stories && tasks == mark.tasks
+                    && members == mark.members && statusTransitions == mark.statusTransitions
+                    && assignmentTransitions == mark.assignmentTransitions;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * tasks + statusTransitions) + assignmentTransitions;
+        }
+    }
+
+    private final Supplier<List<Sprint>> workspace;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IdDictionary sprintIds = new IdDictionary();
+    private final IdDictionary storyIds = new IdDictionary();
+    private final IdDictionary taskIds = new IdDictionary();
+    private final IdDictionary memberIds = new IdDictionary();
+    private int[] storySprints = new int[16];
+    private int[] taskStories = new int[16];
+    private int[] taskStatuses = new int[16];
+    private int[] taskMembers = new int[16];
+
+    private final TransitionColumns statusTransitions = new TransitionColumns();
+    private final TransitionColumns assignmentTransitions = new TransitionColumns();
+
+    /**
+     * @param workspace Supplies the sprints to take baselines from
+     */
+    public TransitionHistory(Supplier<List<Sprint>> workspace) {
+        this.workspace = workspace;
+    }
+
+    /**
+     * Decodes a status value from a status transition.
+     *
+     * @return The status, or null for {@link #NONE}
+     */
+    public static Task.Status status(int value) {
+        return value == NONE ? null : STATUSES[value];
+    }
+
+    /**
+     * Visits the status transitions in {@code [fromMillis, toMillis)} in the order they happened.
+     * The history is locked against changes while the visitor runs, so it must not modify the workspace.
+     */
+    public void forEachStatusTransition(long fromMillis, long toMillis, TransitionVisitor visitor) {
+        forEach(statusTransitions, fromMillis, toMillis, visitor);
+    }
+
+    /**
+     * Visits the assignment transitions in {@code [fromMillis, toMillis)} in the order they happened.
+     * The history is locked against changes while the visitor runs, so it must not modify the workspace.
+     */
+    public void forEachAssignmentTransition(long fromMillis, long toMillis, TransitionVisitor visitor) {
+        forEach(assignmentTransitions, fromMillis, toMillis, visitor);
+    }
+
+    /**
+     * Visits the status transitions recorded from row {@code firstRow} on, so a caller can keep up
+     * with the history by passing back what the previous call returned.
+     * The history is locked against changes while the visitor runs, so it must not modify the workspace.
+     *
+     * @return The number of status transitions, i.e. the row to continue from next time
+     */
+    public int forEachStatusTransitionFrom(int firstRow, TransitionVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            statusTransitions.forEach(firstRow, statusTransitions.size(), visitor);
+            return statusTransitions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits the assignment transitions recorded from row {@code firstRow} on, like
+     * {@link #forEachStatusTransitionFrom(int, TransitionVisitor)}.
+     *
+     * @return The number of assignment transitions, i.e. the row to continue from next time
+     */
+    public int forEachAssignmentTransitionFrom(int firstRow, TransitionVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            assignmentTransitions.forEach(firstRow, assignmentTransitions.size(), visitor);
+            return assignmentTransitions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code reads} with the history locked against changes, so that several reads, such as of
+     * the status and the assignment transitions, see the history as of the same moment.
+     */
+    public void readConsistently(Runnable reads) {
+        lock.readLock().lock();
+        try {
+            reads.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void forEach(TransitionColumns columns, long fromMillis, long toMillis, TransitionVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int start = columns.lowerBound(fromMillis);
+            int end = toMillis == Long.MAX_VALUE ? columns.size() : columns.lowerBound(toMillis);
+            columns.forEach(start, end, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getStatusTransitionCount() {
+        lock.readLock().lock();
+        try {
+            return statusTransitions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getAssignmentTransitionCount() {
+        lock.readLock().lock();
+        try {
+            return assignmentTransitions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of tasks ever seen, including deleted ones
+     */
+    public int getTaskCount() {
+        lock.readLock().lock();
+        try {
+            return taskIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The task's number, or {@link #NONE} if it has no history
+     */
+    public int getTaskIndex(String taskId) {
+        lock.readLock().lock();
+        try {
+            return taskIds.indexOf(taskId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getTaskId(int task) {
+        lock.readLock().lock();
+        try {
+            return taskIds.get(task);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of the story the task belongs to
+     */
+    public int getStoryIndexOfTask(int task) {
+        lock.readLock().lock();
+        try {
+            return taskStories[task];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The story's number, or {@link #NONE} if none of its tasks have history
+     */
+    public int getStoryIndex(String storyId) {
+        lock.readLock().lock();
+        try {
+            return storyIds.indexOf(storyId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getStoryId(int story) {
+        lock.readLock().lock();
+        try {
+            return storyIds.get(story);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of the sprint the task belongs to
+     */
+    public int getSprintIndexOfTask(int task) {
+        lock.readLock().lock();
+        try {
+            return storySprints[taskStories[task]];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The sprint's number, or {@link #NONE} if none of its tasks have history
+     */
+    public int getSprintIndex(String sprintId) {
+        lock.readLock().lock();
+        try {
+            return sprintIds.indexOf(sprintId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getSprintId(int sprint) {
+        lock.readLock().lock();
+        try {
+            return sprintIds.get(sprint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The member's number, or {@link #NONE} if they have never been assigned a task
+     */
+    public int getMemberIndex(String memberId) {
+        lock.readLock().lock();
+        try {
+            return memberIds.indexOf(memberId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getMemberId(int member) {
+        lock.readLock().lock();
+        try {
+            return memberIds.get(member);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The task's latest recorded status, or {@link #NONE} if it has been deleted
+     */
+    public int getCurrentStatus(int task) {
+        lock.readLock().lock();
+        try {
+            return taskStatuses[task];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case TASK_CREATED:
+            case TASK_STATUS_CHANGED:
+            case TASK_ASSIGNED:
+            case TASK_DELETED:
+            case STORY_DELETED:
+            case SPRINT_DELETED:
+            case MEMBER_DELETED:
+                break;
+            case WORKSPACE_IMPORTED:
+                recordBaseline(event.getTimestamp());
+                return;
+            default:
+                // Details, sprints and new members don't change any task's status or assignee
+                return;
+        }
+
+        long time = event.getTimestamp();
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case TASK_DELETED: {
+                    int task = taskIds.indexOf(event.getTaskId());
+                    if (task != NONE) {
+                        remove(task, time);
+                    }
+                    break;
+                }
+                case STORY_DELETED: {
+                    int story = storyIds.indexOf(event.getStoryId());
+                    for (int task = 0; story != NONE && task < taskIds.size(); task++) {
+                        if (taskStories[task] == story) {
+                            remove(task, time);
+                        }
+                    }
+                    break;
+                }
+                case SPRINT_DELETED: {
+                    int sprint = sprintIds.indexOf(event.getSprintId());
+                    for (int task = 0; sprint != NONE && task < taskIds.size(); task++) {
+                        if (storySprints[taskStories[task]] == sprint) {
+                            remove(task, time);
+                        }
+                    }
+                    break;
+                }
+                case MEMBER_DELETED: {
+                    // Deleting a member unassigns their tasks without an event per task
+                    int member = memberIds.indexOf(event.getMemberId());
+                    for (int task = 0; member != NONE && task < taskIds.size(); task++) {
+                        if (taskMembers[task] == member) {
+                            recordAssignment(task, NONE, time);
+                        }
+                    }
+                    break;
+                }
+                default: {
+                    JsonObject snapshot = taskSnapshot(event);
+                    if (snapshot == null || event.getStoryId() == null || event.getSprintId() == null) {
+                        break;
+                    }
+                    int task = register(event.getSprintId(), event.getStoryId(), event.getTaskId());
+                    recordStatus(task, parseStatus(text(snapshot, "status")), time);
+                    String memberId = text(snapshot, "assignedTeamMemberId");
+                    recordAssignment(task, memberId != null ? memberIds.add(memberId) : NONE, time);
+                    break;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the current status and assignee of every task that has no history yet, as if it had
+     * been created at the given time.
+     */
+    public void recordBaseline(long epochMillis) {
+        lock.writeLock().lock();
+        try {
+            for (Sprint sprint : workspace.get()) {
+                for (UserStory story : sprint.getUserStories()) {
+                    for (Task task : story.getTasks()) {
+                        if (taskIds.indexOf(task.getId()) == NONE) {
+                            recordState(sprint, story, task, epochMillis);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a task's current status and assignee as of the given time, for building history for
+     * changes that were made without change events. Times earlier than the latest recorded
+     * transition are moved up to it.
+     *
+     * @param task A task in a story in a sprint
+     */
+    public void recordCurrentState(Task task, long epochMillis) {
+        UserStory story = task.getParentStory();
+        if (story == null || story.getParentSprint() == null) {
+            throw new IllegalArgumentException("Task is not in a sprint: " + task.getId());
+        }
+        lock.writeLock().lock();
+        try {
+            recordState(story.getParentSprint(), story, task, epochMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recordState(Sprint sprint, UserStory story, Task task, long epochMillis) {
+        int index = register(sprint.getId(), story.getId(), task.getId());
+        recordStatus(index, task.getStatus().ordinal(), epochMillis);
+        TeamMember assignee = task.getAssignedTeamMember();
+        recordAssignment(index, assignee != null ? memberIds.add(assignee.getId()) : NONE, epochMillis);
+    }
+
+    private int register(String sprintId, String storyId, String taskId) {
+        int sprint = sprintIds.add(sprintId);
+        int story = storyIds.indexOf(storyId);
+        if (story == NONE) {
+            story = storyIds.add(storyId);
+            storySprints = ensureCapacity(storySprints, story + 1);
+            storySprints[story] = sprint;
+        }
+        int task = taskIds.indexOf(taskId);
+        if (task == NONE) {
+            task = taskIds.add(taskId);
+            taskStories = ensureCapacity(taskStories, task + 1);
+            taskStatuses = ensureCapacity(taskStatuses, task + 1);
+            taskMembers = ensureCapacity(taskMembers, task + 1);
+            taskStories[task] = story;
+            taskStatuses[task] = NONE;
+            taskMembers[task] = NONE;
+        }
+        return task;
+    }
+
+    private void remove(int task, long time) {
+        recordStatus(task, NONE, time);
+        recordAssignment(task, NONE, time);
+    }
+
+    private void recordStatus(int task, int status, long time) {
+        if (taskStatuses[task] != status) {
+            statusTransitions.append(task, taskStatuses[task], status, time);
+            taskStatuses[task] = status;
+        }
+    }
+
+    private void recordAssignment(int task, int member, long time) {
+        if (taskMembers[task] != member) {
+            assignmentTransitions.append(task, taskMembers[task], member, time);
+            taskMembers[task] = member;
+        }
+    }
+
+    /**
+     * @return How much history there is now
+     */
+    public Mark mark() {
+        lock.readLock().lock();
+        try {
+            return currentMark();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Mark currentMark() {
+        return new Mark(sprintIds.size(), storyIds.size(), taskIds.size(), memberIds.size(),
+                statusTransitions.size(), assignmentTransitions.size());
+    }
+
+    /**
+     * Writes everything recorded after {@code since} as one segment. Reading the segments of a
+     * history back in order with {@link #readSegment} restores it.
+     *
+     * @param since What was written before, or {@link Mark#EMPTY} to write the whole history
+     * @return What has been written once this segment is stored
+     */
+    public Mark writeSegment(DataOutput out, Mark since) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(sprintIds.size() - since.sprints);
+            for (int i = since.sprints; i < sprintIds.size(); i++) {
+                out.writeUTF(sprintIds.get(i));
+            }
+            out.writeInt(storyIds.size() - since.stories);
+            for (int i = since.stories; i < storyIds.size(); i++) {
+                out.writeUTF(storyIds.get(i));
+                out.writeInt(storySprints[i]);
+            }
+            out.writeInt(taskIds.size() - since.tasks);
+            for (int i = since.tasks; i < taskIds.size(); i++) {
+                out.writeUTF(taskIds.get(i));
+                out.writeInt(taskStories[i]);
+            }
+            out.writeInt(memberIds.size() - since.members);
+            for (int i = since.members; i < memberIds.size(); i++) {
+                out.writeUTF(memberIds.get(i));
+            }
+            statusTransitions.write(out, since.statusTransitions);
+            assignmentTransitions.write(out, since.assignmentTransitions);
+            return currentMark();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a segment written by {@link #writeSegment}. Segments must be read in the order they
+     * were written, starting from an empty history.
+     *
+     * @throws IOException If the segment is cut short or refers to entities it doesn't know
+     */
+    public void readSegment(DataInput in) throws IOException {
+        lock.writeLock().lock();
+        try {
+            int sprintCount = in.readInt();
+            for (int i = 0; i < sprintCount; i++) {
+                sprintIds.add(in.readUTF());
+            }
+            int storyCount = in.readInt();
+            for (int i = 0; i < storyCount; i++) {
+                int story = storyIds.add(in.readUTF());
+                storySprints = ensureCapacity(storySprints, story + 1);
+                storySprints[story] = checkIndex(in.readInt(), sprintIds.size(), "sprint");
+            }
+            int taskCount = in.readInt();
+            for (int i = 0; i < taskCount; i++) {
+                int task = taskIds.add(in.readUTF());
+                taskStories = ensureCapacity(taskStories, task + 1);
+                taskStatuses = ensureCapacity(taskStatuses, task + 1);
+                taskMembers = ensureCapacity(taskMembers, task + 1);
+                taskStories[task] = checkIndex(in.readInt(), storyIds.size(), "story");
+                taskStatuses[task] = NONE;
+                taskMembers[task] = NONE;
+            }
+            int memberCount = in.readInt();
+            for (int i = 0; i < memberCount; i++) {
+                memberIds.add(in.readUTF());
+            }
+
+            int firstStatus = statusTransitions.read(in);
+            IOException[] invalid = new IOException[1];
+            statusTransitions.forEach(firstStatus, statusTransitions.size(), (task, from, to, time) -> {
+                if (task < 0 || task >= taskIds.size() || to < NONE || to >= STATUSES.length) {
+                    invalid[0] = new IOException("Invalid status transition for task " + task);
+                } else {
+                    taskStatuses[task] = to;
+                }
+            });
+            int firstAssignment = assignmentTransitions.read(in);
+            assignmentTransitions.forEach(firstAssignment, assignmentTransitions.size(), (task, from, to, time) -> {
+                if (task < 0 || task >= taskIds.size() || to < NONE || to >= memberIds.size()) {
+                    invalid[0] = new IOException("Invalid assignment transition for task " + task);
+                } else {
+                    taskMembers[task] = to;
+                }
+            });
+            if (invalid[0] != null) {
+                throw invalid[0];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int checkIndex(int index, int size, String entityName) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IOException("Invalid " + entityName + " number: " + index);
+        }
+        return index;
+    }
+
+    private static int[] ensureCapacity(int[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    /**
+     * Parses a status as it appears in event snapshots ("TODO", "IN_PROGRESS", "DONE").
+     */
+    private static int parseStatus(String name) {
+        if (name == null) {
+            return Task.Status.TO_DO.ordinal();
+        }
+        if (name.equals("TODO")) {
+            return Task.Status.TO_DO.ordinal();
+        }
+        try {
+            return Task.Status.valueOf(name).ordinal();
+        } catch (IllegalArgumentException e) {
+            return Task.Status.TO_DO.ordinal();
+        }
+    }
+
+    private static JsonObject taskSnapshot(ChangeEvent event) {
+        JsonObject data = event.getData();
+        if (event.getTaskId() == null || data == null || !data.has("task") || !data.get("task").isJsonObject()) {
+            return null;
+        }
+        return data.getAsJsonObject("task");
+    }
+
+    private static String text(JsonObject snapshot, String field) {
+        JsonElement value = snapshot.get(field);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.agileteam.sprinttracker.history;
+
+/**
+ * Receives recorded transitions one row at a time, without boxing.
+ */
+@FunctionalInterface
+public interface TransitionVisitor {
+    /**
+     * @param task The task's index in the history
+     * @param from The value before the transition, or {@link TransitionHistory#NONE}
+     * @param to The value after the transition, or {@link TransitionHistory#NONE}
+     * @param epochMillis When the transition happened
+     */
+    void visit(int task, int from, int to, long epochMillis);
+}
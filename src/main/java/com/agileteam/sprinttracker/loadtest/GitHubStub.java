@@ -0,0 +1,62 @@
+package com.agileteam.sprinttracker.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A local stand-in for the GitHub API that answers every issues request with the same few
+ * issues, so a load test never sends traffic to GitHub or spends its rate limit.
+ */
+class GitHubStub {
+    private static final byte[] ISSUES = ("["
+            + issue(1, "Fix login page", "bug")
+            + "," + issue(2, "Add user profile page", "enhancement")
+            + "," + issue(3, "Update database schema", "backend")
+            + "]").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    /**
+     * Starts the stub on a free port of the loopback address.
+     */
+    GitHubStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/repos/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @return The base URL to use in place of https://api.github.com
+     */
+    String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (OutputStream body = exchange.getResponseBody()) {
+            if (exchange.getRequestURI().getPath().endsWith("/issues")) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, ISSUES.length);
+                body.write(ISSUES);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+
+    private static String issue(int number, String title, String label) {
+        return "{\"number\":" + number + ",\"title\":\"" + title + "\",\"body\":\"Canned issue for load testing\","
+                + "\"state\":\"open\",\"html_url\":\"https://github.com/loadtest/board/issues/" + number + "\","
+                + "\"assignee\":null,\"labels\":[{\"name\":\"" + label + "\"}]}";
+    }
+}
@@ -0,0 +1,55 @@
+package com.agileteam.sprinttracker.loadtest;
+
+/**
+ * The board interactions a load test replays, with the share of traffic each gets by default.
+ *
+ * The defaults follow what the web client does: most requests are reads of the sprint list and
+ * the open sprint, and most writes are tasks moving across the board.
+ */
+public enum LoadOperation {
+    LIST_SPRINTS("list", "GET /sprints", 35),
+    OPEN_SPRINT("open", "GET /sprints/{id}", 35),
+    MOVE_TASK("move", "PATCH /sprints/{id}/stories/{id}/tasks/{id}", 20),
+    CREATE_STORY("create", "POST /sprints/{id}/stories", 7),
+    IMPORT_GITHUB_ISSUE("import", "POST /github/issues", 3);
+
+    private final String key;
+    private final String route;
+    private final int defaultWeight;
+
+    LoadOperation(String key, String route, int defaultWeight) {
+        this.key = key;
+        this.route = route;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * @return The short name used to configure the mix, e.g. "move"
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The method and route template the operation requests
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * @throws IllegalArgumentException If no operation has the key
+     */
+    public static LoadOperation fromKey(String key) {
+        for (LoadOperation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,118 @@
+package com.agileteam.sprinttracker.loadtest;
+
+import com.agileteam.sprinttracker.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of a load test: throughput, latency quantiles and errors for each operation.
+ *
+ * Latencies are measured from when a request was due to be sent, not from when it was sent, so
+ * a server that falls behind the target rate shows it in the tail instead of hiding it.
+ */
+public class LoadReport {
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99, 0.999};
+
+    /**
+     * The results for one operation.
+     */
+    public static class OperationStats {
+        private final LatencyHistogram.Snapshot latency;
+        private final long errors;
+
+        OperationStats(LatencyHistogram.Snapshot latency, long errors) {
+            this.latency = latency;
+            this.errors = errors;
+        }
+
+        /**
+         * @return The number of requests completed, including failed ones
+         */
+        public long getRequests() {
+            return latency.getCount();
+        }
+
+        /**
+         * @return The number of requests that failed to connect or got a 4xx or 5xx response
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getLatencyNanos(double quantile) {
+            return latency.getValueAtQuantile(quantile);
+        }
+
+        public long getMaxLatencyNanos() {
+            return latency.getMaxNanos();
+        }
+    }
+
+    private final Map<LoadOperation, OperationStats> operations;
+    private final long elapsedNanos;
+    private final double targetRate;
+    private final int clients;
+
+    LoadReport(Map<LoadOperation, OperationStats> operations, long elapsedNanos, double targetRate, int clients) {
+        this.operations = Collections.unmodifiableMap(new EnumMap<>(operations));
+        this.elapsedNanos = elapsedNanos;
+        this.targetRate = targetRate;
+        this.clients = clients;
+    }
+
+    public Map<LoadOperation, OperationStats> getOperations() {
+        return operations;
+    }
+
+    public long getTotalRequests() {
+        return operations.values().stream().mapToLong(OperationStats::getRequests).sum();
+    }
+
+    public long getTotalErrors() {
+        return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    /**
+     * @return Completed requests per second over the measured period
+     */
+    public double getThroughput() {
+        return throughput(getTotalRequests());
+    }
+
+    private double throughput(long requests) {
+        return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Formats the report as a table, one row per operation, with latencies in milliseconds.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%d clients, target %s, measured %.1f s: %d requests (%.1f/s), %d errors%n",
+                clients, targetRate > 0 ? String.format("%.0f req/s", targetRate) : "unthrottled",
+                elapsedNanos / 1e9, getTotalRequests(), getThroughput(), getTotalErrors()));
+        out.append(String.format("%-46s %9s %9s %7s %9s %9s %9s %9s %9s%n", "route", "requests", "req/s",
+                "errors", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<LoadOperation, OperationStats> entry : operations.entrySet()) {
+            OperationStats stats = entry.getValue();
+            if (stats.getRequests() == 0) {
+                continue;
+            }
+            out.append(String.format("%-46s %9d %9.1f %7d", entry.getKey().getRoute(), stats.getRequests(),
+                    throughput(stats.getRequests()), stats.getErrors()));
+            for (double quantile : QUANTILES) {
+                out.append(String.format(" %9.2f", toMillis(stats.getLatencyNanos(quantile))));
+            }
+            out.append(String.format(" %9.2f%n", toMillis(stats.getMaxLatencyNanos())));
+        }
+        return out.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,364 @@
+package com.agileteam.sprinttracker.loadtest;
+
+import com.agileteam.sprinttracker.api.ApiServer;
+import com.agileteam.sprinttracker.generator.WorkspaceGenerator;
+import com.agileteam.sprinttracker.github.GitHubIntegration;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.metrics.LatencyHistogram;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.agileteam.sprinttracker.storage.DataStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Replays board traffic against an in-process ApiServer to find where it stops keeping up.
+ *
+ * The server runs on an ephemeral port over a generated workspace kept in a temporary data
+ * directory, so the live data is never touched. Each client thread sends one request at a time
+ * on a fixed schedule that together adds up to the target rate. When the server is slower than
+ * the schedule, requests start late and the delay counts towards their latency. GitHub calls go
+ * to a local stub, so a run never reaches the real GitHub API.
+ */
+public class LoadTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Task.Status[] STATUSES = Task.Status.values();
+    private static final String API_KEYS_PROPERTY = "sprinttracker.ratelimit.apiKeys";
+
+    private final WorkspaceGenerator generator;
+    private final Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+    private int clients = 16;
+    private double targetRate = 200;
+    private int durationSeconds = 30;
+    private int warmupSeconds = 5;
+
+    /**
+     * @param generator Builds the workspace the server starts with
+     */
+    public LoadTest(WorkspaceGenerator generator) {
+        this.generator = generator;
+        for (LoadOperation operation : LoadOperation.values()) {
+            weights.put(operation, operation.getDefaultWeight());
+        }
+    }
+
+    /**
+     * @param clients The number of concurrent clients, each with one request in flight at most
+     */
+    public void setClients(int clients) {
+        if (clients < 1) {
+            throw new IllegalArgumentException("clients must be at least 1");
+        }
+        this.clients = clients;
+    }
+
+    /**
+     * @param targetRate Requests per second across all clients, or 0 to send as fast as responses come back
+     */
+    public void setTargetRate(double targetRate) {
+        if (targetRate < 0) {
+            throw new IllegalArgumentException("targetRate cannot be negative");
+        }
+        this.targetRate = targetRate;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        if (durationSeconds < 1) {
+            throw new IllegalArgumentException("durationSeconds must be at least 1");
+        }
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * @param warmupSeconds How long to send traffic before measuring, so the JIT has compiled the hot paths
+     */
+    public void setWarmupSeconds(int warmupSeconds) {
+        if (warmupSeconds < 0) {
+            throw new IllegalArgumentException("warmupSeconds cannot be negative");
+        }
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    /**
+     * Sets the share of requests an operation gets, relative to the others. A weight of 0 leaves
+     * the operation out.
+     */
+    public void setWeight(LoadOperation operation, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight cannot be negative");
+        }
+        weights.put(operation, weight);
+    }
+
+    /**
+     * Generates the workspace, starts the server, runs the traffic for the warmup and the
+     * measured period, and shuts everything down again.
+     */
+    public LoadReport run() throws Exception {
+        LoadOperation[] operations = LoadOperation.values();
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += weights.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        if (totalWeight == 0) {
+            throw new IllegalStateException("At least one operation weight must be positive");
+        }
+
+        SprintManager sprintManager = generator.generate();
+        Targets targets = new Targets(sprintManager);
+        Path dataDirectory = Files.createTempDirectory("sprinttracker-loadtest");
+        DataStorage dataStorage = new DataStorage(dataDirectory.toFile());
+        dataStorage.saveData(sprintManager);
+
+        // The server only gives known keys their own rate limit, and reads them when it is created
+        if (System.getProperty(API_KEYS_PROPERTY) == null) {
+            System.setProperty(API_KEYS_PROPERTY, IntStream.range(0, clients)
+                    .mapToObj(LoadTest::apiKey)
+                    .collect(Collectors.joining(",")));
+        }
+        // The server's GitHub client reads its base URL when it is created too
+        GitHubStub gitHub = new GitHubStub();
+        boolean stubbedGitHub = System.getProperty(GitHubIntegration.API_BASE_URL_PROPERTY) == null;
+        if (stubbedGitHub) {
+            System.setProperty(GitHubIntegration.API_BASE_URL_PROPERTY, gitHub.getBaseUrl());
+        }
+        ApiServer server = new ApiServer(sprintManager, dataStorage, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            server.start();
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Run run = new Run(http, "http://localhost:" + server.getPort() + "/api", targets, operations,
+                    cumulativeWeights);
+
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                pool.execute(() -> run.drive(client));
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(warmupSeconds + durationSeconds + REQUEST_TIMEOUT.getSeconds() + 5,
+                    TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+            return run.report();
+        } finally {
+            pool.shutdownNow();
+            server.stop();
+            gitHub.stop();
+            if (stubbedGitHub) {
+                System.clearProperty(GitHubIntegration.API_BASE_URL_PROPERTY);
+            }
+            deleteRecursively(dataDirectory);
+        }
+    }
+
+    /**
+     * The state of one run, shared by the client threads.
+     */
+    private class Run {
+        private final HttpClient http;
+        private final String baseUrl;
+        private final Targets targets;
+        private final LoadOperation[] operations;
+        private final int[] cumulativeWeights;
+        private final Map<LoadOperation, LatencyHistogram> latencies = new EnumMap<>(LoadOperation.class);
+        private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+        private final LongAccumulator lastCompletionNanos = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private final long intervalNanos;
+        private final long startNanos;
+        private final long measureFromNanos;
+        private final long endNanos;
+
+        Run(HttpClient http, String baseUrl, Targets targets, LoadOperation[] operations, int[] cumulativeWeights) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.targets = targets;
+            this.operations = operations;
+            this.cumulativeWeights = cumulativeWeights;
+            for (LoadOperation operation : operations) {
+                latencies.put(operation, new LatencyHistogram());
+                errors.put(operation, new LongAdder());
+            }
+            this.intervalNanos = targetRate > 0 ? (long) (clients * 1e9 / targetRate) : 0;
+            this.startNanos = System.nanoTime();
+            this.measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            this.endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+        }
+
+        /**
+         * Sends requests for one client until the run ends. Clients are staggered across the
+         * interval so their requests don't arrive in bursts.
+         */
+        void drive(int client) {
+            long due = startNanos + intervalNanos * client / clients;
+            while (!Thread.currentThread().isInterrupted()) {
+                long now = System.nanoTime();
+                long scheduled = intervalNanos > 0 ? due : now;
+                if (scheduled >= endNanos) {
+                    return;
+                }
+                if (scheduled > now) {
+                    LockSupport.parkNanos(scheduled - now);
+                    continue;
+                }
+
+                LoadOperation operation = pick();
+                boolean succeeded = send(client, operation);
+                if (scheduled >= measureFromNanos) {
+                    long completed = System.nanoTime();
+                    latencies.get(operation).recordNanos(completed - scheduled);
+                    lastCompletionNanos.accumulate(completed);
+                    if (!succeeded) {
+                        errors.get(operation).increment();
+                    }
+                }
+                due += intervalNanos;
+            }
+        }
+
+        private LoadOperation pick() {
+            int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (draw < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+        /**
+         * @return true if the server answered with a 2xx or 3xx status
+         */
+        private boolean send(int client, LoadOperation operation) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // Each client has its own key, so it gets its own rate limit like a real user would
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("X-API-Key", apiKey(client));
+            switch (operation) {
+                case LIST_SPRINTS:
+                    request.uri(URI.create(baseUrl + "/sprints")).GET();
+                    break;
+                case OPEN_SPRINT:
+                    request.uri(URI.create(baseUrl + "/sprints/" + targets.pickSprint(random).getId())).GET();
+                    break;
+                case MOVE_TASK:
+                    Task task = targets.pickTask(random);
+                    UserStory parent = task.getParentStory();
+                    request.uri(URI.create(baseUrl + "/sprints/" + parent.getParentSprint().getId() + "/stories/"
+                                    + parent.getId() + "/tasks/" + task.getId()))
+                            .header("Content-Type", "application/merge-patch+json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                    "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}"));
+                    break;
+                case CREATE_STORY:
+                    request.uri(URI.create(baseUrl + "/sprints/" + targets.pickSprint(random).getId() + "/stories"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"id\":\"" + UUID.randomUUID()
+                                    + "\",\"title\":\"Load test story\",\"description\":\"Created by the load test\","
+                                    + "\"priority\":\"MEDIUM\",\"storyPoints\":3,\"tasks\":[]}"));
+                    break;
+                default:
+                    UserStory story = targets.pickStory(random);
+                    request.uri(URI.create(baseUrl + "/github/issues?owner=loadtest&repo=board&sprintId="
+                                    + story.getParentSprint().getId() + "&userStoryId=" + story.getId()))
+                            .POST(HttpRequest.BodyPublishers.noBody());
+                    break;
+            }
+
+            try {
+                return http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        LoadReport report() {
+            Map<LoadOperation, LoadReport.OperationStats> stats = new EnumMap<>(LoadOperation.class);
+            for (LoadOperation operation : operations) {
+                stats.put(operation, new LoadReport.OperationStats(latencies.get(operation).snapshot(),
+                        errors.get(operation).sum()));
+            }
+            // A server that fell behind is still answering requests due before the end
+            long elapsedNanos = Math.max(endNanos, lastCompletionNanos.get()) - measureFromNanos;
+            return new LoadReport(stats, elapsedNanos, targetRate, clients);
+        }
+    }
+
+    /**
+     * The entities of the generated workspace that requests are aimed at, captured before the
+     * run so picking one doesn't walk the model while the server is changing it.
+     */
+    private static class Targets {
+        private final List<Sprint> sprints = new ArrayList<>();
+        private final List<UserStory> stories = new ArrayList<>();
+        private final List<Task> tasks = new ArrayList<>();
+
+        Targets(SprintManager sprintManager) {
+            for (Sprint sprint : sprintManager.getAllSprints()) {
+                sprints.add(sprint);
+                for (UserStory story : sprint.getUserStories()) {
+                    stories.add(story);
+                    tasks.addAll(story.getTasks());
+                }
+            }
+            if (tasks.isEmpty()) {
+                throw new IllegalStateException("The generated workspace has no tasks to load-test with");
+            }
+        }
+
+        Sprint pickSprint(ThreadLocalRandom random) {
+            return sprints.get(random.nextInt(sprints.size()));
+        }
+
+        UserStory pickStory(ThreadLocalRandom random) {
+            return stories.get(random.nextInt(stories.size()));
+        }
+
+        Task pickTask(ThreadLocalRandom random) {
+            return tasks.get(random.nextInt(tasks.size()));
+        }
+    }
+
+    private static String apiKey(int client) {
+        return "loadtest-" + client;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.agileteam.sprinttracker.logging;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes log records as JSON lines from a single background thread.
+ *
+ * Records are handed over through a bounded ring buffer. Logging never blocks the caller: if the
+ * buffer is full the record is dropped and counted, and the count is reported once the writer
+ * catches up. Formatting and I/O happen only on the writer thread, which flushes once per batch.
+ */
+public class AsyncAppender {
+    private static final int MAX_BATCH = 256;
+
+    private final BlockingQueue<LogRecord> buffer;
+    private final Writer out;
+    private final Thread writerThread;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param capacity The number of records that can be waiting to be written
+     * @param out Where formatted lines are written
+     */
+    public AsyncAppender(int capacity, Writer out) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.out = out;
+        this.writerThread = new Thread(this::run, "log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a record without blocking.
+     *
+     * @return false if the record was dropped because the buffer is full or the appender is closed
+     */
+    boolean append(LogRecord record) {
+        if (closed || !buffer.offer(record)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of records dropped so far and not yet reported
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops accepting records, writes everything already queued and flushes the output.
+     *
+     * @param timeoutMillis How long to wait for the writer thread to finish
+     */
+    public void close(long timeoutMillis) {
+        closed = true;
+        writerThread.interrupt();
+        try {
+            writerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                LogRecord first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException e) {
+                if (!closed) {
+                    continue;
+                }
+            }
+
+            if (closed) {
+                buffer.drainTo(batch);
+            }
+            writeBatch(batch);
+            batch.clear();
+
+            if (closed && buffer.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<LogRecord> batch) {
+        long droppedSinceLastReport = dropped.sumThenReset();
+        if (batch.isEmpty() && droppedSinceLastReport == 0) {
+            return;
+        }
+
+        try {
+            for (LogRecord record : batch) {
+                out.write(format(record));
+                out.write('\n');
+            }
+            if (droppedSinceLastReport > 0) {
+                out.write(format(new LogRecord(LogLevel.WARN, AsyncAppender.class.getSimpleName(),
+                        "Log buffer full, records dropped", new Object[] {"dropped", droppedSinceLastReport}, null)));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Nowhere left to report this; count the batch as dropped and keep going
+            dropped.add(batch.size());
+        }
+    }
+
+    static String format(LogRecord record) throws IOException {
+        StringWriter line = new StringWriter(128);
+        JsonWriter json = new JsonWriter(line);
+        json.setHtmlSafe(false);
+        json.setLenient(true);
+        json.beginObject();
+        json.name("ts").value(Instant.ofEpochMilli(record.timestamp).toString());
+        json.name("level").value(record.level.name());
+        json.name("logger").value(record.logger);
+        json.name("thread").value(record.thread);
+        if (record.requestId != null) {
+            json.name("requestId").value(record.requestId);
+        }
+        json.name("msg").value(record.message);
+
+        Object[] fields = record.fields;
+        if (fields != null) {
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                json.name(String.valueOf(fields[i]));
+                writeValue(json, fields[i + 1]);
+            }
+        }
+
+        if (record.error != null) {
+            json.name("error").value(String.valueOf(record.error));
+            StringWriter stack = new StringWriter();
+            record.error.printStackTrace(new PrintWriter(stack));
+            json.name("stack").value(stack.toString());
+        }
+        json.endObject();
+        json.flush();
+        return line.toString();
+    }
+
+    private static void writeValue(JsonWriter json, Object value) throws IOException {
+        if (value == null) {
+            json.nullValue();
+        } else if (value instanceof Number) {
+            json.value((Number) value);
+        } else if (value instanceof Boolean) {
+            json.value((Boolean) value);
+        } else {
+            json.value(String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.agileteam.sprinttracker.logging;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point for logging: hands out loggers and holds the shared level, sampler and appender.
+ *
+ * Configured from system properties when first used:
+ * <ul>
+ *   <li>{@code sprinttracker.log.level} - DEBUG, INFO, WARN, ERROR or OFF (default INFO)</li>
+ *   <li>{@code sprinttracker.log.sampleRate} - log one in this many request body dumps at DEBUG (default 100)</li>
+ *   <li>{@code sprinttracker.log.bufferSize} - records that can wait to be written (default 8192)</li>
+ * </ul>
+ */
+public final class Log {
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    private static volatile LogLevel level = LogLevel.parse(System.getProperty("sprinttracker.log.level", "INFO"));
+    private static volatile LogSampler dumpSampler =
+            new LogSampler(Integer.getInteger("sprinttracker.log.sampleRate", 100));
+
+    private static final AsyncAppender APPENDER = new AsyncAppender(
+            Integer.getInteger("sprinttracker.log.bufferSize", 8192),
+            new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+
+    // Shutdown hooks run in no particular order, so an application that logs from its own hook closes the log itself
+    private static volatile boolean shutdownByApplication;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!shutdownByApplication) {
+                APPENDER.close(CLOSE_TIMEOUT_MILLIS);
+            }
+        }, "log-shutdown"));
+    }
+
+    private Log() {
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * @return The sampler for verbose request and response dumps
+     */
+    public static LogSampler getDumpSampler() {
+        return dumpSampler;
+    }
+
+    public static void setDumpSampleRate(int oneIn) {
+        dumpSampler = new LogSampler(oneIn);
+    }
+
+    static AsyncAppender getAppender() {
+        return APPENDER;
+    }
+
+    /**
+     * Leaves closing the log on exit to the caller, which must call {@link #shutdown()} at the end
+     * of its own shutdown hook. Without this, records logged from that hook may be dropped.
+     */
+    public static void takeOverShutdown() {
+        shutdownByApplication = true;
+    }
+
+    /**
+     * Writes any queued records and stops the writer thread. Later records are dropped.
+     */
+    public static void shutdown() {
+        APPENDER.close(CLOSE_TIMEOUT_MILLIS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.agileteam.sprinttracker.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the correlation ID of the request being handled on the current thread, so that every
+ * record logged while serving it can be tied back to that request.
+ */
+public final class LogContext {
+    /** Request header used to pass a correlation ID in and to echo it back. */
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+    private static final ThreadLocal<String> REQUEST_ID = new ThreadLocal<>();
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    // Random per-process prefix so IDs from different server runs do not collide
+    private static final String PREFIX =
+            Long.toString(ThreadLocalRandom.current().nextLong(36L * 36 * 36 * 36, 36L * 36 * 36 * 36 * 36), 36);
+
+    private LogContext() {
+    }
+
+    /**
+     * Starts a request on the current thread.
+     *
+     * @param incomingId A correlation ID supplied by the client, or null to generate one
+     * @return The correlation ID in use
+     */
+    public static String beginRequest(String incomingId) {
+        String id = isUsable(incomingId) ? incomingId : PREFIX + "-" + Long.toString(COUNTER.incrementAndGet(), 36);
+        REQUEST_ID.set(id);
+        return id;
+    }
+
+    /**
+     * Clears the correlation ID once the request is finished, since server threads are pooled.
+     */
+    public static void endRequest() {
+        REQUEST_ID.remove();
+    }
+
+    /**
+     * @return The current request's correlation ID, or null outside a request
+     */
+    public static String getRequestId() {
+        return REQUEST_ID.get();
+    }
+
+    private static boolean isUsable(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        // Keep client-supplied IDs to characters that cannot break a log line or a header
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.agileteam.sprinttracker.logging;
+
+/**
+ * Severity of a log record, from most to least verbose.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parses a level name, ignoring case.
+     *
+     * @throws IllegalArgumentException If the name is not a level
+     */
+    public static LogLevel parse(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
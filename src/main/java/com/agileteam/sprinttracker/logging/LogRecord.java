@@ -0,0 +1,29 @@
+package com.agileteam.sprinttracker.logging;
+
+/**
+ * A single log call, captured on the calling thread and formatted later by the appender.
+ *
+ * Only references are stored here; string concatenation and JSON encoding happen on the
+ * appender's writer thread so the request thread does as little work as possible.
+ */
+final class LogRecord {
+    final long timestamp;
+    final LogLevel level;
+    final String logger;
+    final String thread;
+    final String requestId;
+    final String message;
+    final Object[] fields;
+    final Throwable error;
+
+    LogRecord(LogLevel level, String logger, String message, Object[] fields, Throwable error) {
+        this.timestamp = System.currentTimeMillis();
+        this.level = level;
+        this.logger = logger;
+        this.thread = Thread.currentThread().getName();
+        this.requestId = LogContext.getRequestId();
+        this.message = message;
+        this.fields = fields;
+        this.error = error;
+    }
+}
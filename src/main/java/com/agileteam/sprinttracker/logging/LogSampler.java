@@ -0,0 +1,29 @@
+package com.agileteam.sprinttracker.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets through roughly one in every N calls, for records that are useful now and then but too
+ * large or frequent to write every time, such as request body dumps.
+ */
+public final class LogSampler {
+    private final int oneIn;
+
+    /**
+     * @param oneIn Sample one call in this many; 1 samples every call, 0 or less samples none
+     */
+    public LogSampler(int oneIn) {
+        this.oneIn = oneIn;
+    }
+
+    /**
+     * @return true if this call is sampled
+     */
+    public boolean sample() {
+        if (oneIn <= 1) {
+            return oneIn == 1;
+        }
+        // A thread-local random avoids a shared counter that every request thread would contend on
+        return ThreadLocalRandom.current().nextInt(oneIn) == 0;
+    }
+}
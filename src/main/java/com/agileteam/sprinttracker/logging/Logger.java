@@ -0,0 +1,132 @@
+package com.agileteam.sprinttracker.logging;
+
+/**
+ * A named source of structured log records.
+ *
+ * Each call takes a fixed message and a few key/value fields rather than a pre-built
+ * string, so a disabled call costs a level check and nothing else: no concatenation, no varargs
+ * array and no record. Callers that need to compute an expensive value should still guard it with
+ * {@link #isDebugEnabled()}.
+ */
+public final class Logger {
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(Log.getLevel()) >= 0 && level != LogLevel.OFF;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    /**
+     * Decides whether to log a verbose dump, such as a request body, for this call. Dumps are
+     * logged at DEBUG and only for a sample of calls, since they are large and frequent.
+     */
+    public boolean shouldDump() {
+        return isEnabled(LogLevel.DEBUG) && Log.getDumpSampler().sample();
+    }
+
+    public void debug(String message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message, null, null);
+        }
+    }
+
+    public void debug(String message, String k1, Object v1) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message, new Object[] {k1, v1}, null);
+        }
+    }
+
+    public void debug(String message, String k1, Object v1, String k2, Object v2) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message, new Object[] {k1, v1, k2, v2}, null);
+        }
+    }
+
+    public void debug(String message, String k1, Object v1, String k2, Object v2, String k3, Object v3) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message, new Object[] {k1, v1, k2, v2, k3, v3}, null);
+        }
+    }
+
+    public void info(String message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, null, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, new Object[] {k1, v1}, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, new Object[] {k1, v1, k2, v2}, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2, String k3, Object v3) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, new Object[] {k1, v1, k2, v2, k3, v3}, null);
+        }
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2, String k3, Object v3,
+            String k4, Object v4) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, new Object[] {k1, v1, k2, v2, k3, v3, k4, v4}, null);
+        }
+    }
+
+    public void warn(String message) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message, null, null);
+        }
+    }
+
+    public void warn(String message, String k1, Object v1) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message, new Object[] {k1, v1}, null);
+        }
+    }
+
+    public void warn(String message, String k1, Object v1, String k2, Object v2) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message, new Object[] {k1, v1, k2, v2}, null);
+        }
+    }
+
+    public void error(String message, Throwable error) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, message, null, error);
+        }
+    }
+
+    public void error(String message, String k1, Object v1, Throwable error) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, message, new Object[] {k1, v1}, error);
+        }
+    }
+
+    public void error(String message, String k1, Object v1, String k2, Object v2, Throwable error) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, message, new Object[] {k1, v1, k2, v2}, error);
+        }
+    }
+
+    private void log(LogLevel level, String message, Object[] fields, Throwable error) {
+        Log.getAppender().append(new LogRecord(level, name, message, fields, error));
+    }
+}
@@ -1,27 +1,60 @@
 package com.agileteam.sprinttracker.manager;
 
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeLog;
+import com.agileteam.sprinttracker.events.ChangeListener;
+import com.agileteam.sprinttracker.events.EntitySnapshots;
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.logging.Log;
+import com.agileteam.sprinttracker.logging.Logger;
 import com.agileteam.sprinttracker.model.Sprint;
 import com.agileteam.sprinttracker.model.Task;
 import com.agileteam.sprinttracker.model.TeamMember;
 import com.agileteam.sprinttracker.model.UserStory;
+import com.agileteam.sprinttracker.model.Versioned;
+import com.agileteam.sprinttracker.patch.SprintPatch;
+import com.agileteam.sprinttracker.patch.TaskPatch;
+import com.agileteam.sprinttracker.patch.UserStoryPatch;
+import com.google.gson.JsonObject;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
  * Manages the creation, deletion, and management of multiple sprints.
  */
 public class SprintManager {
+    /**
+     * Passed as the expected version to change an entity whatever its current version is.
+     */
+    public static final long ANY_VERSION = -1;
+
+    private static final Logger LOG = Log.getLogger(SprintManager.class);
+
+    private static final int CHANGE_LOG_CAPACITY = 10000;
+
     private List<Sprint> sprints;
     private List<TeamMember> teamMembers;
     private Sprint currentSprint;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final ChangeLog changeLog = new ChangeLog(CHANGE_LOG_CAPACITY);
+    private long changeSequence;
+    private final TransitionHistory transitionHistory;
+    // Changes that move tasks in or out of members' workloads share this; rebuilding the workload takes it alone
+    private final ReadWriteLock workspaceLock = new ReentrantReadWriteLock();
 
     public SprintManager() {
         this.sprints = new ArrayList<>();
         this.teamMembers = new ArrayList<>();
+        this.transitionHistory = new TransitionHistory(this::getAllSprints);
+        changeListeners.add(transitionHistory);
     }
 
     // Sprint management
@@ -39,6 +72,12 @@ public class SprintManager {
 
     public boolean removeSprint(Sprint sprint) {
         boolean removed = sprints.remove(sprint);
+        if (removed) {
+            // Tasks that are gone no longer count towards anyone's workload
+            for (UserStory story : sprint.getUserStories()) {
+                unassignTasks(story);
+            }
+        }
         if (removed && currentSprint == sprint) {
             // If we removed the current sprint, try to set another active sprint as current
             currentSprint = sprints.stream()
@@ -49,6 +88,12 @@ public class SprintManager {
         return removed;
     }
 
+    private static void unassignTasks(UserStory story) {
+        for (Task task : story.getTasks()) {
+            task.setAssignedTeamMember(null);
+        }
+    }
+
     public Optional<Sprint> getSprintById(String id) {
         return sprints.stream()
                 .filter(sprint -> sprint.getId().equals(id))
@@ -111,6 +156,522 @@ public class SprintManager {
                 .findFirst();
     }
 
+    // Change tracking
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * @return The sequence number of the most recent change, or 0 if nothing has changed since startup
+     */
+    public long getLatestChangeSequence() {
+        return changeLog.getLatestSequence();
+    }
+
+    /**
+     * Returns the changes after the given sequence number, keeping only the latest change per entity.
+     * Only the most recent changes are kept; older requests are answered with a resync marker.
+     */
+    public ChangeLog.Delta getChangesSince(long sequence) {
+        return changeLog.compactedSince(sequence);
+    }
+
+    /**
+     * Returns every change after the given sequence number, e.g. to replay a reconnecting event stream.
+     */
+    public ChangeLog.Delta getChangeHistorySince(long sequence) {
+        return changeLog.since(sequence);
+    }
+
+    /**
+     * @return The record of task status and assignment changes, saved and loaded with the workspace
+     */
+    public TransitionHistory getTransitionHistory() {
+        return transitionHistory;
+    }
+
+    /**
+     * Publishes a change to all registered listeners.
+     * Sequence numbers are assigned and delivered in order, so listeners see changes in the order they happened.
+     *
+     * @param type The kind of change
+     * @param sprintId The affected sprint, or null
+     * @param storyId The affected user story, or null
+     * @param taskId The affected task, or null
+     * @param memberId The affected team member, or null
+     * @param data Event specific details, or null
+     * @return The published event
+     */
+    public synchronized ChangeEvent publishChange(ChangeEvent.Type type, String sprintId, String storyId,
+                                                  String taskId, String memberId, JsonObject data) {
+        ChangeEvent event = new ChangeEvent(++changeSequence, type, sprintId, storyId, taskId, memberId, data);
+        changeLog.append(event);
+        for (ChangeListener listener : changeListeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                LOG.error("Change listener failed", "event", event, e);
+            }
+        }
+        return event;
+    }
+
+    // Mutations that publish change events.
+    // The add/remove methods above stay silent so that loading and bulk imports don't flood listeners.
+    // Changes to an existing entity take the version the caller last saw, or ANY_VERSION, and throw
+    // VersionConflictException if someone else has changed the entity since. The check, the change and
+    // the move to the next version happen under the entity's lock, and the version only moves once the
+    // change has succeeded, so a reader holding the same lock never sees a new version with old contents.
+    // A sprint's lock also guards its list of stories and a story's its list of tasks. Where more than one
+    // is needed, a sprint's lock is taken before its stories' and a story's before its tasks'.
+
+    public void createSprint(Sprint sprint) {
+        workspaceLock.readLock().lock();
+        try {
+            addSprint(sprint);
+            for (UserStory story : sprint.getUserStories()) {
+                story.refreshWorkload();
+            }
+            publishChange(ChangeEvent.Type.SPRINT_CREATED, sprint.getId(), null, null, null,
+                    sprintData(sprint));
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the name, dates and goal of {@code updated} into {@code sprint}.
+     */
+    public void updateSprint(Sprint sprint, Sprint updated, long expectedVersion) {
+        synchronized (sprint) {
+            checkVersion(sprint, expectedVersion);
+            sprint.setName(updated.getName());
+            sprint.setStartDate(updated.getStartDate());
+            sprint.setEndDate(updated.getEndDate());
+            sprint.setGoal(updated.getGoal());
+            sprint.incrementVersion();
+            publishChange(ChangeEvent.Type.SPRINT_UPDATED, sprint.getId(), null, null, null,
+                    sprintData(sprint));
+        }
+    }
+
+    /**
+     * Applies a merge patch to a sprint. Nothing is published if the patch is empty.
+     *
+     * @throws IllegalArgumentException If the patch would leave the sprint invalid; the sprint is unchanged
+     */
+    public void patchSprint(Sprint sprint, SprintPatch patch, long expectedVersion) {
+        synchronized (sprint) {
+            if (patch.isEmpty()) {
+                checkVersion(sprint, expectedVersion);
+                return;
+            }
+            patch.validate(sprint);
+            checkVersion(sprint, expectedVersion);
+            patch.applyTo(sprint);
+            sprint.incrementVersion();
+            publishChange(ChangeEvent.Type.SPRINT_UPDATED, sprint.getId(), null, null, null,
+                    sprintData(sprint));
+        }
+    }
+
+    public boolean deleteSprint(Sprint sprint, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (sprint) {
+                checkVersion(sprint, expectedVersion);
+                boolean removed = removeSprint(sprint);
+                if (removed) {
+                    sprint.incrementVersion();
+                    publishChange(ChangeEvent.Type.SPRINT_DELETED, sprint.getId(), null, null, null, null);
+                }
+                return removed;
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    public void createUserStory(Sprint sprint, UserStory story) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (sprint) {
+                sprint.addUserStory(story);
+            }
+            synchronized (story) {
+                story.refreshWorkload();
+                publishChange(ChangeEvent.Type.STORY_CREATED, sprint.getId(), story.getId(), null, null,
+                        storyData(story));
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    public void updateUserStory(UserStory story, UserStory updated, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (story) {
+                checkVersion(story, expectedVersion);
+                story.updateFrom(updated);
+                story.incrementVersion();
+                publishChange(ChangeEvent.Type.STORY_UPDATED, sprintIdOf(story), story.getId(), null, null,
+                        storyData(story));
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a merge patch to a user story. Nothing is published if the patch is empty.
+     */
+    public void patchUserStory(UserStory story, UserStoryPatch patch, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (story) {
+                checkVersion(story, expectedVersion);
+                if (patch.isEmpty()) {
+                    return;
+                }
+                patch.applyTo(story);
+                story.incrementVersion();
+                publishChange(ChangeEvent.Type.STORY_UPDATED, sprintIdOf(story), story.getId(), null, null,
+                        storyData(story));
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    public boolean deleteUserStory(Sprint sprint, UserStory story, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (sprint) {
+                synchronized (story) {
+                    checkVersion(story, expectedVersion);
+                    boolean removed = sprint.removeUserStory(story);
+                    if (removed) {
+                        unassignTasks(story);
+                        story.incrementVersion();
+                        publishChange(ChangeEvent.Type.STORY_DELETED, sprint.getId(), story.getId(), null, null,
+                                null);
+                    }
+                    return removed;
+                }
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    public void createTask(UserStory story, Task task) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (story) {
+                story.addTask(task);
+                story.refreshWorkload();
+                publishChange(ChangeEvent.Type.TASK_CREATED, sprintIdOf(story), story.getId(), task.getId(), null,
+                        taskData(task));
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Updates a task from another task, publishing separate events for status and assignment changes.
+     * Null fields in {@code updated} are ignored, as in Task.updateFrom.
+     */
+    public void updateTask(Task task, Task updated, long expectedVersion) {
+        updateTask(task, updated, false, null, expectedVersion);
+    }
+
+    /**
+     * Updates a task from another task and assigns it to {@code assignee}, or unassigns it if that is
+     * null, as one change: the version is checked once and goes up once.
+     */
+    public void updateAndAssignTask(Task task, Task updated, TeamMember assignee, long expectedVersion) {
+        updateTask(task, updated, true, assignee, expectedVersion);
+    }
+
+    private void updateTask(Task task, Task updated, boolean reassign, TeamMember assignee, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (task) {
+                checkVersion(task, expectedVersion);
+                Task.Status oldStatus = task.getStatus();
+                TeamMember oldAssignee = task.getAssignedTeamMember();
+                boolean detailsChanged = (updated.getTitle() != null && !updated.getTitle().equals(task.getTitle()))
+                        || (updated.getDescription() != null && !updated.getDescription().equals(task.getDescription()))
+                        || (updated.getGithubIssueUrl() != null && !updated.getGithubIssueUrl().equals(task.getGithubIssueUrl()));
+
+                if (reassign && !Objects.equals(oldAssignee, assignee)) {
+                    task.setAssignedTeamMember(assignee);
+                }
+                task.updateFrom(updated);
+                task.incrementVersion();
+
+                if (detailsChanged) {
+                    publishTaskChange(ChangeEvent.Type.TASK_UPDATED, task, taskData(task));
+                }
+                if (task.getStatus() != oldStatus) {
+                    publishStatusChange(task, oldStatus);
+                }
+                if (!Objects.equals(task.getAssignedTeamMember(), oldAssignee)) {
+                    publishAssignment(task, oldAssignee);
+                }
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a merge patch to a task, publishing separate events for details, status and assignment
+     * changes as in {@link #updateTask(Task, Task, long)}.
+     *
+     * @throws IllegalArgumentException If the new assignee does not exist; the task is unchanged
+     */
+    public void patchTask(Task task, TaskPatch patch, long expectedVersion) {
+        TeamMember newAssignee = null;
+        if (patch.hasAssignee() && patch.getAssignedTeamMemberId() != null) {
+            newAssignee = getTeamMemberById(patch.getAssignedTeamMemberId())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Team member not found with ID: " + patch.getAssignedTeamMemberId()));
+        }
+
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (task) {
+                checkVersion(task, expectedVersion);
+                if (patch.isEmpty()) {
+                    return;
+                }
+
+                Task.Status oldStatus = task.getStatus();
+                TeamMember oldAssignee = task.getAssignedTeamMember();
+                patch.applyTo(task);
+                if (patch.hasAssignee()) {
+                    task.setAssignedTeamMember(newAssignee);
+                }
+                task.incrementVersion();
+
+                if (patch.hasDetails()) {
+                    publishTaskChange(ChangeEvent.Type.TASK_UPDATED, task, taskData(task));
+                }
+                if (task.getStatus() != oldStatus) {
+                    publishStatusChange(task, oldStatus);
+                }
+                if (!Objects.equals(task.getAssignedTeamMember(), oldAssignee)) {
+                    publishAssignment(task, oldAssignee);
+                }
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    public void setTaskStatus(Task task, Task.Status status, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (task) {
+                checkVersion(task, expectedVersion);
+                Task.Status oldStatus = task.getStatus();
+                if (oldStatus == status) {
+                    return;
+                }
+                task.setStatus(status);
+                task.incrementVersion();
+                publishStatusChange(task, oldStatus);
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Assigns a task to a team member, or unassigns it if {@code member} is null.
+     */
+    public void assignTask(Task task, TeamMember member, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (task) {
+                checkVersion(task, expectedVersion);
+                TeamMember oldAssignee = task.getAssignedTeamMember();
+                if (Objects.equals(oldAssignee, member)) {
+                    return;
+                }
+                task.setAssignedTeamMember(member);
+                task.incrementVersion();
+                publishAssignment(task, oldAssignee);
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if the task is no longer in the story; its version is then left as it was
+     */
+    public boolean deleteTask(UserStory story, Task task, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (story) {
+                boolean removed;
+                synchronized (task) {
+                    checkVersion(task, expectedVersion);
+                    removed = story.removeTask(task);
+                    if (removed) {
+                        task.setAssignedTeamMember(null);
+                        task.incrementVersion();
+                        publishChange(ChangeEvent.Type.TASK_DELETED, sprintIdOf(story), story.getId(),
+                                task.getId(), null, null);
+                    }
+                }
+                if (removed) {
+                    // Outside the task's lock, since this takes the locks of the story's other tasks
+                    story.refreshWorkload();
+                }
+                return removed;
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    public void createTeamMember(TeamMember member) {
+        addTeamMember(member);
+        publishChange(ChangeEvent.Type.MEMBER_CREATED, null, null, null, member.getId(),
+                memberData(member));
+    }
+
+    public void updateTeamMember(TeamMember member, TeamMember updated, long expectedVersion) {
+        synchronized (member) {
+            checkVersion(member, expectedVersion);
+            member.updateFrom(updated);
+            member.incrementVersion();
+            publishChange(ChangeEvent.Type.MEMBER_UPDATED, null, null, null, member.getId(),
+                    memberData(member));
+        }
+    }
+
+    public boolean deleteTeamMember(TeamMember member, long expectedVersion) {
+        workspaceLock.readLock().lock();
+        try {
+            synchronized (member) {
+                checkVersion(member, expectedVersion);
+                boolean removed = removeTeamMember(member);
+                if (removed) {
+                    member.incrementVersion();
+                    publishChange(ChangeEvent.Type.MEMBER_DELETED, null, null, null, member.getId(), null);
+                }
+                return removed;
+            }
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a change made through the silent add/remove methods while the workspace is live, such
+     * as a batch of a bulk import, so that it can't interleave with {@link #rebuildWorkload()}.
+     */
+    public void runSilentChange(Runnable change) {
+        workspaceLock.readLock().lock();
+        try {
+            change.run();
+        } finally {
+            workspaceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recomputes every member's workload counters from the tasks' actual assignments, statuses and
+     * story estimates. Called once after loading or importing, which attach tasks one by one
+     * without refreshing their stories. Waits for changes in progress and holds off new ones.
+     */
+    public void rebuildWorkload() {
+        workspaceLock.writeLock().lock();
+        try {
+            for (TeamMember member : teamMembers) {
+                member.resetWorkload();
+            }
+            for (Sprint sprint : sprints) {
+                for (UserStory story : sprint.getUserStories()) {
+                    for (Task task : story.getTasks()) {
+                        task.rebuildWorkload();
+                    }
+                }
+            }
+        } finally {
+            workspaceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that the entity is still at the version the caller last saw. Callers hold the entity's
+     * lock from this check until they have made their change and moved the version on.
+     *
+     * @throws VersionConflictException If the entity has changed since {@code expectedVersion}
+     */
+    private static void checkVersion(Versioned entity, long expectedVersion) {
+        if (expectedVersion != ANY_VERSION && entity.getVersion() != expectedVersion) {
+            throw new VersionConflictException(entity, expectedVersion);
+        }
+    }
+
+    private void publishStatusChange(Task task, Task.Status oldStatus) {
+        JsonObject data = taskData(task);
+        data.addProperty("fromStatus", EntitySnapshots.statusName(oldStatus));
+        data.addProperty("toStatus", EntitySnapshots.statusName(task.getStatus()));
+        publishTaskChange(ChangeEvent.Type.TASK_STATUS_CHANGED, task, data);
+    }
+
+    private void publishAssignment(Task task, TeamMember oldAssignee) {
+        JsonObject data = taskData(task);
+        data.addProperty("fromMemberId", oldAssignee != null ? oldAssignee.getId() : null);
+        publishTaskChange(ChangeEvent.Type.TASK_ASSIGNED, task, data);
+    }
+
+    private void publishTaskChange(ChangeEvent.Type type, Task task, JsonObject data) {
+        UserStory story = task.getParentStory();
+        publishChange(type, story != null ? sprintIdOf(story) : null, story != null ? story.getId() : null,
+                task.getId(), null, data);
+    }
+
+    private static String sprintIdOf(UserStory story) {
+        return story.getParentSprint() != null ? story.getParentSprint().getId() : null;
+    }
+
+    private static JsonObject sprintData(Sprint sprint) {
+        JsonObject data = new JsonObject();
+        data.add("sprint", EntitySnapshots.sprint(sprint));
+        return data;
+    }
+
+    private static JsonObject storyData(UserStory story) {
+        JsonObject data = new JsonObject();
+        data.add("story", EntitySnapshots.story(story));
+        return data;
+    }
+
+    private static JsonObject taskData(Task task) {
+        JsonObject data = new JsonObject();
+        data.add("task", EntitySnapshots.task(task));
+        return data;
+    }
+
+    private static JsonObject memberData(TeamMember member) {
+        JsonObject data = new JsonObject();
+        data.add("member", EntitySnapshots.member(member));
+        return data;
+    }
+
     // Statistical methods
     public List<Sprint> getActiveSprintsSorted() {
         return sprints.stream()
@@ -133,8 +694,6 @@ public class SprintManager {
     }
 
     public int getCompletedTasksCountForTeamMember(TeamMember teamMember) {
-        return (int) teamMember.getAssignedTasks().stream()
-                .filter(task -> task.getStatus() == Task.Status.DONE)
-                .count();
+        return teamMember.getTaskCount(Task.Status.DONE);
     }
 } 
\ No newline at end of file
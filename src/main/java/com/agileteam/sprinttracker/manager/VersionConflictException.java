@@ -0,0 +1,27 @@
+package com.agileteam.sprinttracker.manager;
+
+import com.agileteam.sprinttracker.model.Versioned;
+
+/**
+ * Thrown when a change is made against a version of an entity that is no longer current,
+ * because someone else changed it first.
+ */
+public class VersionConflictException extends RuntimeException {
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public VersionConflictException(Versioned entity, long expectedVersion) {
+        super(entity.getClass().getSimpleName() + " " + entity.getId() + " was modified: expected version "
+                + expectedVersion + " but it is now at version " + entity.getVersion());
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = entity.getVersion();
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
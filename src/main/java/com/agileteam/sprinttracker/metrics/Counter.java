@@ -0,0 +1,26 @@
+package com.agileteam.sprinttracker.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count. Increments are striped across cells so concurrent request
+ * threads do not contend on one memory location.
+ */
+public final class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters cannot decrease");
+        }
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
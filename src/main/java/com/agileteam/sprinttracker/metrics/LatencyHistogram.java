@@ -0,0 +1,144 @@
+package com.agileteam.sprinttracker.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, lock-free histogram of durations with log-linear buckets, in the style of
+ * HdrHistogram.
+ *
+ * Each power of two is split into {@value #SUB_BUCKET_COUNT} equal buckets, so any recorded value
+ * is known to within about 3% regardless of its magnitude, from nanoseconds up to about half an
+ * hour. Recording is one array increment and two adder updates; no allocation, no locking.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_TRACKABLE_NANOS = (1L << 41) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Records one duration. Negative values count as zero; values beyond the trackable range are
+     * counted in the last bucket.
+     */
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sumNanos.add(value);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        recordNanos(unit.toNanos(duration));
+    }
+
+    /**
+     * Copies the current counts. Recording may continue while this runs, so the snapshot's total
+     * can lag the count by a few in-flight values.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        return new Snapshot(counts, total, count.sum(), sumNanos.sum());
+    }
+
+    /**
+     * A point-in-time copy of the histogram that quantiles can be read from.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long bucketTotal;
+        private final long count;
+        private final long sumNanos;
+
+        private Snapshot(long[] counts, long bucketTotal, long count, long sumNanos) {
+            this.counts = counts;
+            this.bucketTotal = bucketTotal;
+            this.count = count;
+            this.sumNanos = sumNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumNanos() {
+            return sumNanos;
+        }
+
+        /**
+         * @param quantile Between 0 and 1
+         * @return The estimated value at the quantile in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (bucketTotal == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * bucketTotal));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketMidpoint(i);
+                }
+            }
+            return bucketMidpoint(counts.length - 1);
+        }
+
+        /**
+         * @return How many recorded values were at most {@code nanos}, to bucket precision
+         */
+        public long getCountAtOrBelow(long nanos) {
+            long seen = 0;
+            for (int i = 0; i < counts.length && bucketMidpoint(i) <= nanos; i++) {
+                seen += counts[i];
+            }
+            return seen;
+        }
+
+        /**
+         * @return The highest recorded value, to bucket precision, or 0 if nothing was recorded
+         */
+        public long getMaxNanos() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return bucketMidpoint(i);
+                }
+            }
+            return 0;
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS + 1 bits: the shift picks the power of two, the rest the sub-bucket
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return subBucket << shift;
+    }
+
+    private static long bucketMidpoint(int index) {
+        long lower = bucketLowerBound(index);
+        long width = bucketLowerBound(index + 1) - lower;
+        return lower + width / 2;
+    }
+}
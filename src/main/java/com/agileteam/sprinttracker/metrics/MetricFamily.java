@@ -0,0 +1,95 @@
+package com.agileteam.sprinttracker.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A named metric split by label values, e.g. request latency per route and method. Each distinct
+ * combination of label values gets its own child metric, created on first use.
+ *
+ * @param <M> The type of the child metrics
+ */
+public final class MetricFamily<M> {
+    enum Type {
+        COUNTER("counter"),
+        HISTOGRAM("histogram"),
+        GAUGE("gauge");
+
+        private final String prometheusName;
+
+        Type(String prometheusName) {
+            this.prometheusName = prometheusName;
+        }
+
+        String getPrometheusName() {
+            return prometheusName;
+        }
+    }
+
+    static final class Child<M> {
+        final String[] labelValues;
+        final M metric;
+
+        Child(String[] labelValues, M metric) {
+            this.labelValues = labelValues;
+            this.metric = metric;
+        }
+    }
+
+    private final String name;
+    private final String help;
+    private final Type type;
+    private final String[] labelNames;
+    private final Supplier<M> factory;
+    private final ConcurrentMap<String, Child<M>> children = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, Type type, String[] labelNames, Supplier<M> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames.clone();
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the child for the given label values, creating it the first time.
+     *
+     * @param labelValues One value per label name, in the order the names were registered
+     * @throws IllegalArgumentException If the number of values does not match the label names
+     */
+    public M labels(String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " expects " + labelNames.length
+                    + " label values but got " + labelValues.length);
+        }
+        String key = labelValues.length == 1 ? labelValues[0] : String.join("\u0000", labelValues);
+        // get() first: after warm-up every lookup is a lock-free read with no lambda allocation
+        Child<M> child = children.get(key);
+        if (child == null) {
+            child = children.computeIfAbsent(key, k -> new Child<>(labelValues.clone(), factory.get()));
+        }
+        return child.metric;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String getHelp() {
+        return help;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String[] getLabelNames() {
+        return labelNames;
+    }
+
+    Map<String, Child<M>> getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,198 @@
+package com.agileteam.sprinttracker.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holds the application's metrics and renders them in the Prometheus text exposition format.
+ *
+ * Metrics are registered by name. Asking for a name again returns the existing metric, so classes
+ * can look up their metrics in static initializers without coordinating. Latency histograms are
+ * exposed as Prometheus histograms with a fixed set of cumulative buckets, in seconds, so that
+ * rate() and histogram_quantile() give the latency over any recent window rather than since startup.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    // Upper bounds of the exposed buckets, in seconds; +Inf is added after them
+    private static final double[] BUCKET_BOUNDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final ConcurrentMap<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
+
+    /**
+     * @return The registry that the server's built-in metrics are recorded in
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name, String help) {
+        return counterFamily(name, help).labels();
+    }
+
+    public MetricFamily<Counter> counterFamily(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.COUNTER, labelNames, Counter::new);
+    }
+
+    public LatencyHistogram histogram(String name, String help) {
+        return histogramFamily(name, help).labels();
+    }
+
+    public MetricFamily<LatencyHistogram> histogramFamily(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.HISTOGRAM, labelNames, LatencyHistogram::new);
+    }
+
+    /**
+     * Registers a gauge whose value is read when the metrics are scraped. Registering the same
+     * name again replaces the previous supplier.
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        MetricFamily<DoubleSupplier> family = new MetricFamily<>(name, help, MetricFamily.Type.GAUGE,
+                new String[0], () -> value);
+        family.labels();
+        families.compute(name, (key, existing) -> {
+            if (existing != null && existing.getType() != MetricFamily.Type.GAUGE) {
+                throw new IllegalArgumentException("Metric " + name + " is already registered as a "
+                        + existing.getType().getPrometheusName());
+            }
+            return family;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M> MetricFamily<M> register(String name, String help, MetricFamily.Type type,
+                                         String[] labelNames, Supplier<M> factory) {
+        MetricFamily<?> family = families.computeIfAbsent(name,
+                key -> new MetricFamily<>(name, help, type, labelNames, factory));
+        if (family.getType() != type || family.getLabelNames().length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a "
+                    + family.getType().getPrometheusName() + " with " + family.getLabelNames().length + " labels");
+        }
+        return (MetricFamily<M>) family;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format (version 0.0.4), sorted by name.
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        Map<String, MetricFamily<?>> sorted = new TreeMap<>(families);
+        StringBuilder line = new StringBuilder(128);
+        for (MetricFamily<?> family : sorted.values()) {
+            out.write("# HELP " + family.getName() + " " + escapeHelp(family.getHelp()) + "\n");
+            out.write("# TYPE " + family.getName() + " " + family.getType().getPrometheusName() + "\n");
+
+            List<MetricFamily.Child<?>> children = new ArrayList<>(new TreeMap<>(family.getChildren()).values());
+            for (MetricFamily.Child<?> child : children) {
+                switch (family.getType()) {
+                    case COUNTER:
+                        writeSample(out, line, family.getName(), family.getLabelNames(), child.labelValues, null,
+                                Long.toString(((Counter) child.metric).get()));
+                        break;
+                    case HISTOGRAM:
+                        writeHistogram(out, line, family, child.labelValues,
+                                ((LatencyHistogram) child.metric).snapshot());
+                        break;
+                    default:
+                        writeGauge(out, line, family, child.labelValues, (DoubleSupplier) child.metric);
+                        break;
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the cumulative bucket counts, read off the finer histogram buckets to within their
+     * precision, then the sum and count.
+     */
+    private static void writeHistogram(Writer out, StringBuilder line, MetricFamily<?> family, String[] labelValues,
+                                       LatencyHistogram.Snapshot snapshot) throws IOException {
+        String bucketName = family.getName() + "_bucket";
+        for (double bound : BUCKET_BOUNDS) {
+            writeSample(out, line, bucketName, family.getLabelNames(), labelValues, Double.toString(bound),
+                    Long.toString(snapshot.getCountAtOrBelow((long) (bound * NANOS_PER_SECOND))));
+        }
+        // +Inf and the count come from the same buckets, so they always agree
+        long total = snapshot.getCountAtOrBelow(Long.MAX_VALUE);
+        writeSample(out, line, bucketName, family.getLabelNames(), labelValues, "+Inf", Long.toString(total));
+        writeSample(out, line, family.getName() + "_sum", family.getLabelNames(), labelValues, null,
+                formatDouble(snapshot.getSumNanos() / NANOS_PER_SECOND));
+        writeSample(out, line, family.getName() + "_count", family.getLabelNames(), labelValues, null,
+                Long.toString(total));
+    }
+
+    private static void writeGauge(Writer out, StringBuilder line, MetricFamily<?> family, String[] labelValues,
+                                   DoubleSupplier value) throws IOException {
+        double current;
+        try {
+            current = value.getAsDouble();
+        } catch (RuntimeException e) {
+            // A gauge that cannot be read right now is left out of this scrape rather than failing it
+            return;
+        }
+        writeSample(out, line, family.getName(), family.getLabelNames(), labelValues, null, formatDouble(current));
+    }
+
+    private static void writeSample(Writer out, StringBuilder line, String name, String[] labelNames,
+                                    String[] labelValues, String upperBound, String value) throws IOException {
+        line.setLength(0);
+        line.append(name);
+        if (labelNames.length > 0 || upperBound != null) {
+            line.append('{');
+            for (int i = 0; i < labelNames.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(labelNames[i]).append("=\"");
+                appendLabelValue(line, labelValues[i]);
+                line.append('"');
+            }
+            if (upperBound != null) {
+                if (labelNames.length > 0) {
+                    line.append(',');
+                }
+                line.append("le=\"").append(upperBound).append('"');
+            }
+            line.append('}');
+        }
+        line.append(' ').append(value).append('\n');
+        out.append(line);
+    }
+
+    private static void appendLabelValue(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+}
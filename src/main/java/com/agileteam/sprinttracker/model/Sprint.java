@@ -12,7 +12,7 @@ import java.util.stream.Collectors;
 /**
  * Represents an Agile sprint.
  */
-public class Sprint {
+public class Sprint implements Versioned {
     private String id;
     private String name;
     private LocalDate startDate;
@@ -20,6 +20,7 @@ public class Sprint {
     private String goal;
     private List<UserStory> userStories;
     private boolean active;
+    private volatile long version;
 
     public Sprint(String name, LocalDate startDate, LocalDate endDate, String goal) {
         this.id = UUID.randomUUID().toString();
@@ -250,6 +251,23 @@ public class Sprint {
         return LocalDate.now().isAfter(endDate);
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Restores a saved version. Only for loading; changes must go through incrementVersion.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long incrementVersion() {
+        return ++version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -6,7 +6,7 @@ import java.util.UUID;
 /**
  * Represents a task within a user story.
  */
-public class Task {
+public class Task implements Versioned {
     public enum Status {
         TO_DO("To Do"),
         IN_PROGRESS("In Progress"),
@@ -35,6 +35,12 @@ public class Task {
     private TeamMember assignedTeamMember;
     private UserStory parentStory;
     private String githubIssueUrl;
+    private volatile long version;
+
+    // What this task last added to a member's workload counters, so that exactly that is taken back out
+    private transient TeamMember workloadMember;
+    private transient Status workloadStatus;
+    private transient long workloadMilliPoints;
 
     public Task(String title, String description) {
         this.id = UUID.randomUUID().toString();
@@ -67,8 +73,10 @@ public class Task {
         return status;
     }
 
-    public void setStatus(Status status) {
+    public synchronized void setStatus(Status status) {
+        leaveWorkload();
         this.status = status;
+        joinWorkload();
     }
 
     /**
@@ -79,7 +87,7 @@ public class Task {
      */
     public void setStatus(String statusStr) {
         if (statusStr == null || statusStr.isEmpty()) {
-            this.status = Status.TO_DO;
+            setStatus(Status.TO_DO);
             return;
         }
         
@@ -88,18 +96,18 @@ public class Task {
         
         try {
             // Try to match exact enum name
-            this.status = Status.valueOf(normalized);
+            setStatus(Status.valueOf(normalized));
         } catch (IllegalArgumentException e) {
             // Handle common variations
             if (normalized.equals("TODO")) {
-                this.status = Status.TO_DO;
+                setStatus(Status.TO_DO);
             } else if (normalized.equals("INPROGRESS") || normalized.equals("IN_PROGRESS")) {
-                this.status = Status.IN_PROGRESS;
+                setStatus(Status.IN_PROGRESS);
             } else if (normalized.equals("DONE")) {
-                this.status = Status.DONE;
+                setStatus(Status.DONE);
             } else {
                 // Default to TO_DO if no match
-                this.status = Status.TO_DO;
+                setStatus(Status.TO_DO);
             }
         }
     }
@@ -108,16 +116,25 @@ public class Task {
         return assignedTeamMember;
     }
 
-    public void setAssignedTeamMember(TeamMember assignedTeamMember) {
-        // If already assigned to someone else, remove from their list
-        if (this.assignedTeamMember != null && !this.assignedTeamMember.equals(assignedTeamMember)) {
-            this.assignedTeamMember.removeTask(this);
+    public synchronized void setAssignedTeamMember(TeamMember assignedTeamMember) {
+        TeamMember previous = this.assignedTeamMember;
+        if (Objects.equals(previous, assignedTeamMember)) {
+            // Already on this member's list
+            return;
         }
         
+        // Update the field first so removeTask doesn't call back into this method
+        leaveWorkload();
         this.assignedTeamMember = assignedTeamMember;
+        joinWorkload();
+        
+        // If already assigned to someone else, remove from their list
+        if (previous != null) {
+            previous.removeTask(this);
+        }
         
-        // Add to new team member's list if not null
-        if (assignedTeamMember != null && !assignedTeamMember.getAssignedTasks().contains(this)) {
+        // Add to new team member's list; it can't be there yet, so no linear contains() scan
+        if (assignedTeamMember != null) {
             assignedTeamMember.getAssignedTasks().add(this);
         }
     }
@@ -126,8 +143,49 @@ public class Task {
         return parentStory;
     }
 
-    public void setParentStory(UserStory parentStory) {
+    public synchronized void setParentStory(UserStory parentStory) {
+        leaveWorkload();
         this.parentStory = parentStory;
+        joinWorkload();
+    }
+
+    /**
+     * Recomputes this task's share of its story's points after the story's estimate or number of
+     * tasks changed.
+     */
+    synchronized void refreshWorkload() {
+        leaveWorkload();
+        joinWorkload();
+    }
+
+    /**
+     * Adds this task to its assignee's workload counters again after they were reset, forgetting
+     * what it added before. Only for rebuilding the counters while nothing else changes tasks.
+     */
+    public synchronized void rebuildWorkload() {
+        workloadMember = null;
+        joinWorkload();
+    }
+
+    // Callers hold this task's lock, so taking the task out and putting it back is one step
+    private void leaveWorkload() {
+        if (workloadMember != null) {
+            workloadMember.adjustWorkload(workloadStatus, -1, -workloadMilliPoints);
+            workloadMember = null;
+        }
+    }
+
+    private void joinWorkload() {
+        // Only tasks in a story count; a task still being built isn't anyone's workload yet
+        if (assignedTeamMember == null || parentStory == null) {
+            return;
+        }
+        int storyTasks = parentStory.getTasks().size();
+        workloadMember = assignedTeamMember;
+        workloadStatus = status;
+        workloadMilliPoints = status != Status.DONE && storyTasks > 0
+                ? parentStory.getStoryPoints() * 1000L / storyTasks : 0;
+        workloadMember.adjustWorkload(workloadStatus, 1, workloadMilliPoints);
     }
 
     public String getGithubIssueUrl() {
@@ -166,7 +224,7 @@ public class Task {
             this.description = other.description;
         }
         if (other.status != null) {
-            this.status = other.status;
+            setStatus(other.status);
         }
         if (other.githubIssueUrl != null) {
             this.githubIssueUrl = other.githubIssueUrl;
@@ -187,6 +245,23 @@ public class Task {
         return status == Status.DONE;
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Restores a saved version. Only for loading; changes must go through incrementVersion.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long incrementVersion() {
+        return ++version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -5,17 +5,35 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Represents a team member in an Agile team.
  */
-public class TeamMember {
+public class TeamMember implements Versioned {
     private String id;
     private String name;
     private String email;
     private String githubUsername;
     private List<Task> assignedTasks;
     private String role;
+    private volatile long version;
+
+    // Workload counters, kept up to date by Task as assignments, statuses and estimates change
+    private transient volatile int toDoTasks;
+    private transient volatile int inProgressTasks;
+    private transient volatile int doneTasks;
+    private transient volatile long openMilliPoints;
+
+    private static final AtomicIntegerFieldUpdater<TeamMember> TO_DO_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TeamMember.class, "toDoTasks");
+    private static final AtomicIntegerFieldUpdater<TeamMember> IN_PROGRESS_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TeamMember.class, "inProgressTasks");
+    private static final AtomicIntegerFieldUpdater<TeamMember> DONE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TeamMember.class, "doneTasks");
+    private static final AtomicLongFieldUpdater<TeamMember> OPEN_POINTS_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(TeamMember.class, "openMilliPoints");
 
     public TeamMember(String name, String email, String githubUsername) {
         this.id = UUID.randomUUID().toString();
@@ -79,7 +97,7 @@ public class TeamMember {
     }
 
     public void assignTask(Task task) {
-        assignedTasks.add(task);
+        // Task.setAssignedTeamMember keeps this list in sync
         task.setAssignedTeamMember(this);
     }
 
@@ -90,6 +108,58 @@ public class TeamMember {
         }
     }
 
+    /**
+     * @return How many of this member's assigned tasks have the status, without scanning them
+     */
+    public int getTaskCount(Task.Status status) {
+        switch (status) {
+            case TO_DO:
+                return toDoTasks;
+            case IN_PROGRESS:
+                return inProgressTasks;
+            default:
+                return doneTasks;
+        }
+    }
+
+    /**
+     * @return This member's share of the story points of their open tasks: each task that isn't
+     *         done carries its story's points divided by the story's number of tasks
+     */
+    public double getOpenStoryPoints() {
+        return openMilliPoints / 1000.0;
+    }
+
+    /**
+     * Adds a task to, or with negative arguments takes it back out of, the workload counters.
+     * Only Task calls this, with the same figures going out as it put in.
+     */
+    void adjustWorkload(Task.Status status, int tasks, long milliPoints) {
+        if (status != null) {
+            switch (status) {
+                case TO_DO:
+                    TO_DO_UPDATER.addAndGet(this, tasks);
+                    break;
+                case IN_PROGRESS:
+                    IN_PROGRESS_UPDATER.addAndGet(this, tasks);
+                    break;
+                default:
+                    DONE_UPDATER.addAndGet(this, tasks);
+            }
+        }
+        OPEN_POINTS_UPDATER.addAndGet(this, milliPoints);
+    }
+
+    /**
+     * Clears the workload counters before they are rebuilt from the tasks' actual assignments.
+     */
+    public void resetWorkload() {
+        toDoTasks = 0;
+        inProgressTasks = 0;
+        doneTasks = 0;
+        openMilliPoints = 0;
+    }
+
     /**
      * Find a task by its ID from the list of assigned tasks.
      * 
@@ -145,6 +215,23 @@ public class TeamMember {
         this.role = other.role;
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Restores a saved version. Only for loading; changes must go through incrementVersion.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long incrementVersion() {
+        return ++version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
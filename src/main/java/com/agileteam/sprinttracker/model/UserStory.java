@@ -9,7 +9,7 @@ import java.util.UUID;
 /**
  * Represents an Agile user story.
  */
-public class UserStory {
+public class UserStory implements Versioned {
     public enum Priority {
         LOW("Low"),
         MEDIUM("Medium"),
@@ -39,6 +39,15 @@ public class UserStory {
     private int storyPoints;
     private List<Task> tasks;
     private Sprint parentSprint;
+    private volatile long version;
+
+    /**
+     * Used by Gson when a story is read from a request, so it starts with an empty task list
+     * instead of null; the tasks field is excluded from request bodies.
+     */
+    private UserStory() {
+        this("", "");
+    }
 
     /**
      * Creates a user story with title and description, setting default values for priority and story points.
@@ -128,17 +137,26 @@ public class UserStory {
 
     public void setStoryPoints(int storyPoints) {
         this.storyPoints = storyPoints;
+        refreshWorkload();
     }
 
     public List<Task> getTasks() {
         return tasks;
     }
 
+    /**
+     * Adds a task. Only the new task's workload share is computed; call {@link #refreshWorkload()}
+     * once done adding tasks to bring the other tasks' shares up to date.
+     */
     public void addTask(Task task) {
         tasks.add(task);
         task.setParentStory(this);
     }
 
+    /**
+     * Removes a task. As with {@link #addTask(Task)}, the remaining tasks' shares are only updated
+     * by {@link #refreshWorkload()}.
+     */
     public boolean removeTask(Task task) {
         boolean removed = tasks.remove(task);
         if (removed && task.getParentStory() == this) {
@@ -147,6 +165,16 @@ public class UserStory {
         return removed;
     }
 
+    /**
+     * Each task carries a share of the story's points in its assignee's workload, so the shares
+     * change whenever the estimate or the number of tasks does.
+     */
+    public void refreshWorkload() {
+        for (Task task : tasks) {
+            task.refreshWorkload();
+        }
+    }
+
     public Sprint getParentSprint() {
         return parentSprint;
     }
@@ -242,7 +270,7 @@ public class UserStory {
         this.title = other.title;
         this.description = other.description;
         this.priority = other.priority;
-        this.storyPoints = other.storyPoints;
+        setStoryPoints(other.storyPoints);
     }
     
     /**
@@ -259,6 +287,23 @@ public class UserStory {
                 .allMatch(task -> task.getStatus() == Task.Status.DONE);
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Restores a saved version. Only for loading; changes must go through incrementVersion.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long incrementVersion() {
+        return ++version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
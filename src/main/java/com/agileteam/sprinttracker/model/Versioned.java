@@ -0,0 +1,22 @@
+package com.agileteam.sprinttracker.model;
+
+/**
+ * An entity that carries a version number for optimistic concurrency control.
+ *
+ * The version goes up by one with every change made through the SprintManager, once the change
+ * has been made and while the SprintManager still holds the entity's lock. A client that
+ * sends back the version it last saw can only change the entity if nobody else has changed it
+ * in the meantime.
+ */
+public interface Versioned {
+    String getId();
+
+    long getVersion();
+
+    /**
+     * Moves to the next version. The caller holds the entity's lock.
+     *
+     * @return The new version
+     */
+    long incrementVersion();
+}
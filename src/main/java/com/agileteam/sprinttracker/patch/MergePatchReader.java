@@ -0,0 +1,96 @@
+package com.agileteam.sprinttracker.patch;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams the members of a JSON merge patch (RFC 7386) without building a tree or an entity.
+ *
+ * Only top-level members are read. Each one is handed to a {@link FieldHandler}, which reads the
+ * value if it knows the field; unknown fields are skipped. A null value means "remove this field".
+ */
+public final class MergePatchReader {
+    /**
+     * Receives the members of a patch one at a time.
+     */
+    public interface FieldHandler {
+        /**
+         * @param name The member name
+         * @param in The reader, positioned at the member's value
+         * @return true if the value was consumed, false to skip it
+         */
+        boolean onField(String name, JsonReader in) throws IOException;
+    }
+
+    private MergePatchReader() {
+    }
+
+    /**
+     * Reads a patch document, calling the handler for each top-level member.
+     *
+     * @throws IllegalArgumentException If the document is not a JSON object or a value is invalid
+     */
+    public static void read(Reader reader, FieldHandler handler) {
+        try {
+            JsonReader in = new JsonReader(reader);
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new IllegalArgumentException("Merge patch must be a JSON object");
+            }
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (!handler.onField(name, in)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a string value, returning null if the value is null.
+     */
+    public static String nextNullableString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Reads a string value for a field that cannot be removed.
+     *
+     * @throws IllegalArgumentException If the value is null or blank
+     */
+    public static String nextRequiredString(String name, JsonReader in) throws IOException {
+        String value = nextNullableString(in);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Field '" + name + "' cannot be empty");
+        }
+        return value;
+    }
+
+    /**
+     * Reads an integer value for a field that cannot be removed.
+     *
+     * @throws IllegalArgumentException If the value is null or not an integer
+     */
+    public static int nextRequiredInt(String name, JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            throw new IllegalArgumentException("Field '" + name + "' cannot be null");
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an integer");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.agileteam.sprinttracker.patch;
+
+import com.agileteam.sprinttracker.model.Sprint;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The fields supplied in a merge patch for a sprint. Fields that were not supplied are left unchanged.
+ */
+public class SprintPatch {
+    private boolean hasName;
+    private String name;
+    private boolean hasStartDate;
+    private LocalDate startDate;
+    private boolean hasEndDate;
+    private LocalDate endDate;
+    private boolean hasGoal;
+    private String goal;
+
+    /**
+     * Parses a merge patch. The name and dates cannot be removed; the goal can.
+     *
+     * @throws IllegalArgumentException If the patch is malformed or a value is invalid
+     */
+    public static SprintPatch read(Reader reader) {
+        SprintPatch patch = new SprintPatch();
+        MergePatchReader.read(reader, patch::onField);
+        return patch;
+    }
+
+    private boolean onField(String field, JsonReader in) throws IOException {
+        switch (field) {
+            case "name":
+                hasName = true;
+                name = MergePatchReader.nextRequiredString(field, in);
+                return true;
+            case "startDate":
+                hasStartDate = true;
+                startDate = parseDate(field, MergePatchReader.nextRequiredString(field, in));
+                return true;
+            case "endDate":
+                hasEndDate = true;
+                endDate = parseDate(field, MergePatchReader.nextRequiredString(field, in));
+                return true;
+            case "goal":
+                hasGoal = true;
+                goal = MergePatchReader.nextNullableString(in);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static LocalDate parseDate(String field, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Field '" + field + "' must be an ISO date (yyyy-MM-dd)");
+        }
+    }
+
+    public boolean isEmpty() {
+        return !hasName && !hasStartDate && !hasEndDate && !hasGoal;
+    }
+
+    /**
+     * Checks that applying this patch would leave the sprint valid.
+     *
+     * @throws IllegalArgumentException If the end date would be before the start date
+     */
+    public void validate(Sprint sprint) {
+        LocalDate newStart = hasStartDate ? startDate : sprint.getStartDate();
+        LocalDate newEnd = hasEndDate ? endDate : sprint.getEndDate();
+        if (newStart != null && newEnd != null && newEnd.isBefore(newStart)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+    }
+
+    /**
+     * Applies the supplied fields. Nothing is changed if the resulting dates would be out of order.
+     *
+     * @throws IllegalArgumentException If the end date would be before the start date
+     */
+    public void applyTo(Sprint sprint) {
+        validate(sprint);
+
+        if (hasName) {
+            sprint.setName(name);
+        }
+        if (hasStartDate) {
+            sprint.setStartDate(startDate);
+        }
+        if (hasEndDate) {
+            sprint.setEndDate(endDate);
+        }
+        if (hasGoal) {
+            sprint.setGoal(goal);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.agileteam.sprinttracker.patch;
+
+import com.agileteam.sprinttracker.model.Task;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The fields supplied in a merge patch for a task. Fields that were not supplied are left unchanged.
+ *
+ * The assignee is given as {@code assignedTeamMemberId}; null or an empty string unassigns the task.
+ * It is resolved by the SprintManager, so {@link #applyTo(Task)} does not change the assignment.
+ */
+public class TaskPatch {
+    private boolean hasTitle;
+    private String title;
+    private boolean hasDescription;
+    private String description;
+    private boolean hasStatus;
+    private Task.Status status;
+    private boolean hasGithubIssueUrl;
+    private String githubIssueUrl;
+    private boolean hasAssignee;
+    private String assignedTeamMemberId;
+
+    /**
+     * Parses a merge patch. The title and status cannot be removed; the other fields can.
+     *
+     * @throws IllegalArgumentException If the patch is malformed or a value is invalid
+     */
+    public static TaskPatch read(Reader reader) {
+        TaskPatch patch = new TaskPatch();
+        MergePatchReader.read(reader, patch::onField);
+        return patch;
+    }
+
+    private boolean onField(String field, JsonReader in) throws IOException {
+        switch (field) {
+            case "title":
+                hasTitle = true;
+                title = MergePatchReader.nextRequiredString(field, in);
+                return true;
+            case "description":
+                hasDescription = true;
+                description = MergePatchReader.nextNullableString(in);
+                return true;
+            case "status":
+                hasStatus = true;
+                status = parseStatus(MergePatchReader.nextRequiredString(field, in));
+                return true;
+            case "githubIssueUrl":
+                hasGithubIssueUrl = true;
+                githubIssueUrl = MergePatchReader.nextNullableString(in);
+                return true;
+            case "assignedTeamMemberId":
+                hasAssignee = true;
+                String memberId = MergePatchReader.nextNullableString(in);
+                assignedTeamMemberId = memberId == null || memberId.isEmpty() ? null : memberId;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Accepts the enum names and the frontend's "TODO".
+     */
+    private static Task.Status parseStatus(String value) {
+        String normalized = value.toUpperCase().replace(" ", "_");
+        switch (normalized) {
+            case "TO_DO":
+            case "TODO":
+                return Task.Status.TO_DO;
+            case "IN_PROGRESS":
+            case "INPROGRESS":
+                return Task.Status.IN_PROGRESS;
+            case "DONE":
+                return Task.Status.DONE;
+            default:
+                throw new IllegalArgumentException("Unknown task status: " + value);
+        }
+    }
+
+    public boolean isEmpty() {
+        return !hasTitle && !hasDescription && !hasStatus && !hasGithubIssueUrl && !hasAssignee;
+    }
+
+    public boolean hasDetails() {
+        return hasTitle || hasDescription || hasGithubIssueUrl;
+    }
+
+    public boolean hasStatus() {
+        return hasStatus;
+    }
+
+    public Task.Status getStatus() {
+        return status;
+    }
+
+    public boolean hasAssignee() {
+        return hasAssignee;
+    }
+
+    /**
+     * @return The ID of the new assignee, or null to unassign
+     */
+    public String getAssignedTeamMemberId() {
+        return assignedTeamMemberId;
+    }
+
+    /**
+     * Applies the title, description, GitHub issue URL and status. The assignee is not applied.
+     */
+    public void applyTo(Task task) {
+        if (hasTitle) {
+            task.setTitle(title);
+        }
+        if (hasDescription) {
+            task.setDescription(description);
+        }
+        if (hasGithubIssueUrl) {
+            task.setGithubIssueUrl(githubIssueUrl);
+        }
+        if (hasStatus) {
+            task.setStatus(status);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.agileteam.sprinttracker.patch;
+
+import com.agileteam.sprinttracker.model.UserStory;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The fields supplied in a merge patch for a user story. Fields that were not supplied are left unchanged.
+ */
+public class UserStoryPatch {
+    private boolean hasTitle;
+    private String title;
+    private boolean hasDescription;
+    private String description;
+    private boolean hasPriority;
+    private UserStory.Priority priority;
+    private boolean hasStoryPoints;
+    private int storyPoints;
+
+    /**
+     * Parses a merge patch. The title, priority and story points cannot be removed; the description can.
+     *
+     * @throws IllegalArgumentException If the patch is malformed or a value is invalid
+     */
+    public static UserStoryPatch read(Reader reader) {
+        UserStoryPatch patch = new UserStoryPatch();
+        MergePatchReader.read(reader, patch::onField);
+        return patch;
+    }
+
+    private boolean onField(String field, JsonReader in) throws IOException {
+        switch (field) {
+            case "title":
+                hasTitle = true;
+                title = MergePatchReader.nextRequiredString(field, in);
+                return true;
+            case "description":
+                hasDescription = true;
+                description = MergePatchReader.nextNullableString(in);
+                return true;
+            case "priority":
+                hasPriority = true;
+                priority = parsePriority(MergePatchReader.nextRequiredString(field, in));
+                return true;
+            case "storyPoints":
+                hasStoryPoints = true;
+                storyPoints = MergePatchReader.nextRequiredInt(field, in);
+                if (storyPoints < 0) {
+                    throw new IllegalArgumentException("Story points cannot be negative");
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static UserStory.Priority parsePriority(String value) {
+        try {
+            return UserStory.Priority.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown priority: " + value);
+        }
+    }
+
+    public boolean isEmpty() {
+        return !hasTitle && !hasDescription && !hasPriority && !hasStoryPoints;
+    }
+
+    public void applyTo(UserStory story) {
+        if (hasTitle) {
+            story.setTitle(title);
+        }
+        if (hasDescription) {
+            story.setDescription(description);
+        }
+        if (hasPriority) {
+            story.setPriority(priority);
+        }
+        if (hasStoryPoints) {
+            story.setStoryPoints(storyPoints);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.agileteam.sprinttracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the handling of one API request, so profiler samples taken on a request
+ * thread can be attributed to the route being served.
+ */
+@Name("com.agileteam.sprinttracker.ApiRequest")
+@Label("API Request")
+@Category({"Sprint Tracker", "API"})
+@Description("Handling of one API request by the dispatcher servlet")
+@StackTrace(false)
+public class ApiRequestEvent extends Event {
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    @Description("The matched route template, e.g. /sprints/{id}")
+    public String route;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+}
@@ -0,0 +1,31 @@
+package com.agileteam.sprinttracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning one batch of entities being attached to the model, e.g. during an import.
+ */
+@Name("com.agileteam.sprinttracker.BulkMutation")
+@Label("Bulk Model Mutation")
+@Category({"Sprint Tracker", "Model"})
+@Description("A batch of entities added to the model at once")
+public class BulkMutationEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Sprints")
+    public int sprints;
+
+    @Label("User Stories")
+    public int userStories;
+
+    @Label("Tasks")
+    public int tasks;
+
+    @Label("Team Members")
+    public int teamMembers;
+}
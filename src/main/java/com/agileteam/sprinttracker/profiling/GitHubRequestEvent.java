@@ -0,0 +1,30 @@
+package com.agileteam.sprinttracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning a call to the GitHub API, including reading and parsing the response.
+ */
+@Name("com.agileteam.sprinttracker.GitHubRequest")
+@Label("GitHub Request")
+@Category({"Sprint Tracker", "GitHub"})
+@Description("A call to the GitHub Issues API")
+public class GitHubRequestEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Repository")
+    @Description("owner/name")
+    public String repository;
+
+    @Label("HTTP Status")
+    @Description("The response status, or 0 if no response was received")
+    public int status;
+
+    @Label("Issues")
+    public int issues;
+}
@@ -0,0 +1,126 @@
+package com.agileteam.sprinttracker.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops a single on-demand Flight Recorder recording, written to a file in the data
+ * directory when it stops.
+ */
+public class RecordingController {
+    private static final String RECORDING_NAME = "sprint-tracker";
+    private static final long MAX_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final File directory;
+    private Recording recording;
+    private File destination;
+    private String settings;
+
+    /**
+     * @param directory Where recordings are written
+     */
+    public RecordingController(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param settingsName The JDK settings to record with: "default" (low overhead) or "profile"
+     * @param duration How long to record before stopping automatically, or null to record until stopped
+     * @return The file the recording will be written to
+     * @throws IllegalStateException If a recording is already running
+     * @throws IllegalArgumentException If the settings name is unknown
+     */
+    public synchronized File start(String settingsName, Duration duration) throws IOException {
+        if (isRecording()) {
+            throw new IllegalStateException("A recording is already running: " + destination.getPath());
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settingsName);
+        }
+
+        File file = new File(directory, "recording-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxSize(MAX_SIZE_BYTES);
+        newRecording.setDestination(file.toPath());
+        if (duration != null) {
+            newRecording.setDuration(duration);
+        }
+        newRecording.start();
+
+        if (recording != null) {
+            recording.close();
+        }
+        recording = newRecording;
+        destination = file;
+        settings = settingsName;
+        return file;
+    }
+
+    /**
+     * Stops the running recording and writes it to its file.
+     *
+     * @return The file the recording was written to
+     * @throws IllegalStateException If no recording is running
+     */
+    public synchronized File stop() {
+        if (!isRecording()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        recording.close();
+        recording = null;
+        return destination;
+    }
+
+    /**
+     * @return true if a recording is running; one started with a duration stops by itself
+     */
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * @return The file of the running or most recent recording, or null if none was started
+     */
+    public synchronized File getDestination() {
+        return destination;
+    }
+
+    public synchronized String getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return When the running recording started, or null if none is running
+     */
+    public synchronized Instant getStartTime() {
+        return isRecording() ? recording.getStartTime() : null;
+    }
+
+    /**
+     * Stops a running recording, keeping what was recorded so far.
+     */
+    public synchronized void close() {
+        if (isRecording()) {
+            stop();
+        }
+    }
+}
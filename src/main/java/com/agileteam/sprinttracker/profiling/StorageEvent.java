@@ -0,0 +1,37 @@
+package com.agileteam.sprinttracker.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning a save or load of the workspace data files.
+ */
+@Name("com.agileteam.sprinttracker.Storage")
+@Label("Workspace Storage")
+@Category({"Sprint Tracker", "Storage"})
+@Description("Saving or loading the workspace data files")
+public class StorageEvent extends Event {
+    @Label("Operation")
+    @Description("save or load")
+    public String operation;
+
+    @Label("Sprints")
+    public int sprints;
+
+    @Label("User Stories")
+    public int userStories;
+
+    @Label("Tasks")
+    public int tasks;
+
+    @Label("Team Members")
+    public int teamMembers;
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+}
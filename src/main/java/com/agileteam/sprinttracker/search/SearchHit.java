@@ -0,0 +1,56 @@
+package com.agileteam.sprinttracker.search;
+
+/**
+ * A story or task that matched a search, with enough context to open it.
+ */
+public class SearchHit {
+    /**
+     * The kinds of entity that are indexed.
+     */
+    public enum Type {
+        STORY, TASK
+    }
+
+    private final Type type;
+    private final String id;
+    private final String sprintId;
+    private final String storyId;
+    private final String title;
+    private final double score;
+
+    SearchHit(Type type, String id, String sprintId, String storyId, String title, double score) {
+        this.type = type;
+        this.id = id;
+        this.sprintId = sprintId;
+        this.storyId = storyId;
+        this.title = title;
+        this.score = score;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    /**
+     * @return The story the task belongs to, or the story's own ID for a story hit
+     */
+    public String getStoryId() {
+        return storyId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,498 @@
+package com.agileteam.sprinttracker.search;
+
+import com.agileteam.sprinttracker.events.ChangeEvent;
+import com.agileteam.sprinttracker.events.ChangeListener;
+import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.model.Sprint;
+import com.agileteam.sprinttracker.model.Task;
+import com.agileteam.sprinttracker.model.UserStory;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted index over the titles and descriptions of user stories and tasks.
+ *
+ * Every query term is treated as a prefix, so results appear while the user is still typing; a
+ * term that matches a word exactly scores higher than one that only starts it. All query terms
+ * must match. Hits are ranked by a TF-IDF style score in which title words count more than
+ * description words.
+ *
+ * The index follows the workspace through change events: stories and tasks are reindexed when
+ * created or edited and removed when deleted, and the whole index is rebuilt after a bulk import.
+ * Each entity is a numbered document. Editing one retires its old number and indexes it under a
+ * new one, so postings stay sorted and are only appended to; retired numbers are skipped when
+ * searching and cleared out once they outnumber the live ones.
+ */
+public class SearchIndex implements ChangeListener {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MIN_DOCUMENTS_BEFORE_COMPACTION = 1024;
+
+    /**
+     * An indexed story or task.
+     */
+    private static final class Document {
+        final SearchHit.Type type;
+        final String id;
+        final String sprintId;
+        final String storyId;
+        final String title;
+
+        Document(SearchHit.Type type, String id, String sprintId, String storyId, String title) {
+            this.type = type;
+            this.id = id;
+            this.sprintId = sprintId;
+            this.storyId = storyId;
+            this.title = title;
+        }
+    }
+
+    /**
+     * The documents containing one term, in increasing document order, with the term's weight in each.
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(int document, int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * A query's candidates, the documents matching its rarest term, with their scores so far and how
+     * many query terms they have matched. Documents are found through an open-addressing table sized
+     * to the rarest term's postings, so a query allocates in proportion to its candidates, not to
+     * the index.
+     */
+    private static final class Candidates {
+        final int[] documents;
+        final double[] scores;
+        final int[] matchedTerms;
+        int size;
+        // Candidate number + 1 by hashed document number, 0 for a free slot
+        private final int[] slots;
+
+        Candidates(int maxCandidates) {
+            documents = new int[maxCandidates];
+            scores = new double[maxCandidates];
+            matchedTerms = new int[maxCandidates];
+            slots = new int[Integer.highestOneBit(Math.max(8, maxCandidates) * 2 - 1) * 2];
+        }
+
+        /**
+         * @return The candidate number of the document, or -1 if it isn't a candidate
+         */
+        int find(int document) {
+            int mask = slots.length - 1;
+            for (int slot = hash(document) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                if (documents[slots[slot] - 1] == document) {
+                    return slots[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Adds a document that isn't a candidate yet.
+         *
+         * @return Its candidate number
+         */
+        int add(int document) {
+            int mask = slots.length - 1;
+            int slot = hash(document) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            documents[size] = document;
+            slots[slot] = ++size;
+            return size - 1;
+        }
+
+        private static int hash(int document) {
+            return document * 0x9E3779B9;
+        }
+    }
+
+    private final SprintManager sprintManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<String, Integer> documentsByKey = new HashMap<>();
+    private final Map<String, Set<String>> taskIdsByStory = new HashMap<>();
+    private final Map<String, Set<String>> storyIdsBySprint = new HashMap<>();
+    private int liveDocuments;
+
+    /**
+     * Indexes the current workspace. Register the index as a change listener to keep it current.
+     */
+    public SearchIndex(SprintManager sprintManager) {
+        this.sprintManager = sprintManager;
+        rebuild();
+    }
+
+    /**
+     * Runs a search.
+     *
+     * @param query Free text; every word must match the start of a word in a title or description
+     * @param type Only return this kind of hit, or null for both
+     * @param offset How many of the best hits to skip
+     * @param limit The most hits to return
+     */
+    public SearchResults search(String query, SearchHit.Type type, int offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new SearchResults(query, 0, offset, limit, Collections.emptyList());
+        }
+
+        lock.readLock().lock();
+        try {
+            // Expand each query term to the indexed terms it is a prefix of, rarest first, so the
+            // first pass picks the fewest candidates and later passes only narrow them down
+            List<NavigableMap<String, Postings>> expansions = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                NavigableMap<String, Postings> expansion = terms.subMap(term, true, term + Character.MAX_VALUE, false);
+                if (expansion.isEmpty()) {
+                    return new SearchResults(query, 0, offset, limit, Collections.emptyList());
+                }
+                expansions.add(expansion);
+            }
+            int[] order = orderByPostingCount(expansions);
+
+            // Every candidate is in the rarest term's postings, so those bound how many there can be
+            int maxCandidates = 0;
+            for (Postings postings : expansions.get(order[0]).values()) {
+                maxCandidates += postings.size;
+            }
+            Candidates candidates = new Candidates(maxCandidates);
+
+            for (int pass = 0; pass < order.length; pass++) {
+                String queryTerm = queryTerms.get(order[pass]);
+                for (Map.Entry<String, Postings> entry : expansions.get(order[pass]).entrySet()) {
+                    Postings postings = entry.getValue();
+                    double termScore = Math.log(1.0 + (double) liveDocuments / postings.size)
+                            * (entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_FACTOR);
+                    for (int i = 0; i < postings.size; i++) {
+                        int document = postings.documents[i];
+                        int candidate = candidates.find(document);
+                        if (candidate < 0) {
+                            // Only the first pass picks candidates; later ones narrow them down
+                            if (pass > 0 || documents.get(document) == null) {
+                                continue;
+                            }
+                            candidate = candidates.add(document);
+                        }
+                        int matched = candidates.matchedTerms[candidate];
+                        if (matched == pass + 1) {
+                            // Another word starting with the same query term, e.g. "logs" after "login"
+                            candidates.scores[candidate] += postings.weights[i] * termScore;
+                        } else if (matched == pass) {
+                            candidates.matchedTerms[candidate] = pass + 1;
+                            candidates.scores[candidate] += postings.weights[i] * termScore;
+                        }
+                    }
+                }
+            }
+            return collect(query, type, offset, limit, queryTerms.size(), candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchResults collect(String query, SearchHit.Type type, int offset, int limit, int termCount,
+                                  Candidates candidates) {
+        int wanted = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        double[] scores = candidates.scores;
+        int[] candidateDocuments = candidates.documents;
+        // Lowest score at the head, and among equal scores the newest document, so older ones win ties
+        PriorityQueue<Integer> best = new PriorityQueue<>(Math.min(wanted, 1024) + 1, (a, b) -> {
+            int byScore = Double.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(candidateDocuments[b], candidateDocuments[a]);
+        });
+
+        int total = 0;
+        for (int candidate = 0; candidate < candidates.size; candidate++) {
+            if (candidates.matchedTerms[candidate] != termCount) {
+                continue;
+            }
+            if (type != null && documents.get(candidateDocuments[candidate]).type != type) {
+                continue;
+            }
+            total++;
+            if (best.size() < wanted) {
+                best.add(candidate);
+            } else if (scores[candidate] > scores[best.peek()]) {
+                // Most hits can't make the page, so the heap is only touched by ones that can
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        List<SearchHit> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            int candidate = best.poll();
+            Document doc = documents.get(candidateDocuments[candidate]);
+            ranked.add(new SearchHit(doc.type, doc.id, doc.sprintId, doc.storyId, doc.title, scores[candidate]));
+        }
+        Collections.reverse(ranked);
+        List<SearchHit> page = offset >= ranked.size() ? Collections.emptyList()
+                : new ArrayList<>(ranked.subList(offset, ranked.size()));
+        return new SearchResults(query, total, offset, limit, page);
+    }
+
+    private static int[] orderByPostingCount(List<NavigableMap<String, Postings>> expansions) {
+        long[] counts = new long[expansions.size()];
+        Integer[] order = new Integer[expansions.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            for (Postings postings : expansions.get(i).values()) {
+                counts[i] += postings.size;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[a], counts[b]));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return The number of stories and tasks in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index and indexes the whole workspace again.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            documents.clear();
+            documentsByKey.clear();
+            taskIdsByStory.clear();
+            storyIdsBySprint.clear();
+            liveDocuments = 0;
+
+            for (Sprint sprint : sprintManager.getAllSprints()) {
+                for (UserStory story : sprint.getUserStories()) {
+                    addStory(sprint.getId(), story.getId(), story.getTitle(), story.getDescription());
+                    for (Task task : story.getTasks()) {
+                        addTask(sprint.getId(), story.getId(), task.getId(), task.getTitle(), task.getDescription());
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case STORY_CREATED:
+            case STORY_UPDATED:
+            case TASK_CREATED:
+            case TASK_UPDATED:
+            case STORY_DELETED:
+            case TASK_DELETED:
+            case SPRINT_DELETED:
+                break;
+            case WORKSPACE_IMPORTED:
+                rebuild();
+                return;
+            default:
+                // Status, assignment, sprint and member changes don't touch indexed text
+                return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case STORY_CREATED:
+                case STORY_UPDATED: {
+                    JsonObject story = snapshot(event, "story");
+                    addStory(event.getSprintId(), event.getStoryId(), text(story, "title"), text(story, "description"));
+                    break;
+                }
+                case TASK_CREATED:
+                case TASK_UPDATED: {
+                    JsonObject task = snapshot(event, "task");
+                    addTask(event.getSprintId(), event.getStoryId(), event.getTaskId(), text(task, "title"),
+                            text(task, "description"));
+                    break;
+                }
+                case TASK_DELETED:
+                    removeTask(event.getStoryId(), event.getTaskId());
+                    break;
+                case STORY_DELETED:
+                    removeStory(event.getSprintId(), event.getStoryId());
+                    break;
+                default:
+                    Set<String> storyIds = storyIdsBySprint.remove(event.getSprintId());
+                    if (storyIds != null) {
+                        for (String storyId : new ArrayList<>(storyIds)) {
+                            removeStory(null, storyId);
+                        }
+                    }
+                    break;
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addStory(String sprintId, String storyId, String title, String description) {
+        retire("story:" + storyId);
+        index("story:" + storyId, new Document(SearchHit.Type.STORY, storyId, sprintId, storyId, title),
+                title, description);
+        if (sprintId != null) {
+            storyIdsBySprint.computeIfAbsent(sprintId, key -> new HashSet<>()).add(storyId);
+        }
+    }
+
+    private void addTask(String sprintId, String storyId, String taskId, String title, String description) {
+        retire("task:" + taskId);
+        index("task:" + taskId, new Document(SearchHit.Type.TASK, taskId, sprintId, storyId, title),
+                title, description);
+        if (storyId != null) {
+            taskIdsByStory.computeIfAbsent(storyId, key -> new HashSet<>()).add(taskId);
+        }
+    }
+
+    private void removeTask(String storyId, String taskId) {
+        retire("task:" + taskId);
+        Set<String> taskIds = taskIdsByStory.get(storyId);
+        if (taskIds != null) {
+            taskIds.remove(taskId);
+        }
+    }
+
+    private void removeStory(String sprintId, String storyId) {
+        retire("story:" + storyId);
+        Set<String> taskIds = taskIdsByStory.remove(storyId);
+        if (taskIds != null) {
+            for (String taskId : taskIds) {
+                retire("task:" + taskId);
+            }
+        }
+        Set<String> storyIds = storyIdsBySprint.get(sprintId);
+        if (storyIds != null) {
+            storyIds.remove(storyId);
+        }
+    }
+
+    private void index(String key, Document document, String title, String description) {
+        int number = documents.size();
+        documents.add(document);
+        documentsByKey.put(key, number);
+        liveDocuments++;
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : Tokenizer.tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(number, entry.getValue());
+        }
+    }
+
+    private void retire(String key) {
+        Integer number = documentsByKey.remove(key);
+        if (number != null) {
+            documents.set(number, null);
+            liveDocuments--;
+        }
+    }
+
+    /**
+     * Renumbers the live documents from zero and drops retired ones from the postings, once
+     * retired documents outnumber live ones.
+     */
+    private void compactIfNeeded() {
+        int retired = documents.size() - liveDocuments;
+        if (retired < MIN_DOCUMENTS_BEFORE_COMPACTION || retired < liveDocuments) {
+            return;
+        }
+
+        int[] renumbered = new int[documents.size()];
+        List<Document> compacted = new ArrayList<>(liveDocuments);
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            renumbered[i] = document == null ? -1 : compacted.size();
+            if (document != null) {
+                compacted.add(document);
+            }
+        }
+
+        Iterator<Postings> it = terms.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int number = renumbered[postings.documents[i]];
+                if (number >= 0) {
+                    postings.documents[kept] = number;
+                    postings.weights[kept] = postings.weights[i];
+                    kept++;
+                }
+            }
+            postings.size = kept;
+            if (kept == 0) {
+                it.remove();
+            }
+        }
+
+        for (Map.Entry<String, Integer> entry : documentsByKey.entrySet()) {
+            entry.setValue(renumbered[entry.getValue()]);
+        }
+        documents.clear();
+        documents.addAll(compacted);
+    }
+
+    private static JsonObject snapshot(ChangeEvent event, String name) {
+        JsonObject data = event.getData();
+        if (data == null || !data.has(name) || !data.get(name).isJsonObject()) {
+            return new JsonObject();
+        }
+        return data.getAsJsonObject(name);
+    }
+
+    private static String text(JsonObject snapshot, String field) {
+        JsonElement value = snapshot.get(field);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.agileteam.sprinttracker.search;
+
+import java.util.List;
+
+/**
+ * One page of search hits, best first, and how many there are in total.
+ */
+public class SearchResults {
+    private final String query;
+    private final int total;
+    private final int offset;
+    private final int limit;
+    private final List<SearchHit> hits;
+
+    SearchResults(String query, int total, int offset, int limit, List<SearchHit> hits) {
+        this.query = query;
+        this.total = total;
+        this.offset = offset;
+        this.limit = limit;
+        this.hits = hits;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+}
@@ -0,0 +1,43 @@
+package com.agileteam.sprinttracker.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into search terms: runs of letters and digits, folded to lower case. Everything
+ * else separates terms, so "log-in" is two terms and "v2" is one.
+ */
+public final class Tokenizer {
+    /** Longer runs are cut short; nobody types them into a search box. */
+    static final int MAX_TERM_LENGTH = 40;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * @return The terms in order of appearance, with repeats; empty for null or blank text
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+}
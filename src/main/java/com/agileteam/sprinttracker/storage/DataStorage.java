@@ -1,6 +1,14 @@
 package com.agileteam.sprinttracker.storage;
 
+import com.agileteam.sprinttracker.history.TransitionHistory;
+import com.agileteam.sprinttracker.logging.Log;
+import com.agileteam.sprinttracker.logging.Logger;
 import com.agileteam.sprinttracker.manager.SprintManager;
+import com.agileteam.sprinttracker.metrics.Counter;
+import com.agileteam.sprinttracker.metrics.LatencyHistogram;
+import com.agileteam.sprinttracker.metrics.MetricFamily;
+import com.agileteam.sprinttracker.metrics.MetricsRegistry;
+import com.agileteam.sprinttracker.profiling.StorageEvent;
 import com.agileteam.sprinttracker.model.Sprint;
 import com.agileteam.sprinttracker.model.Task;
 import com.agileteam.sprinttracker.model.TeamMember;
@@ -15,10 +23,22 @@ import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -30,10 +50,22 @@ import java.util.Map;
  * Responsible for saving and loading project data.
  */
 public class DataStorage {
-    private static final String DATA_DIRECTORY = "data";
-    private static final String SPRINTS_FILE = DATA_DIRECTORY + File.separator + "sprints.json";
-    private static final String TEAM_MEMBERS_FILE = DATA_DIRECTORY + File.separator + "team_members.json";
+    private static final String DEFAULT_DATA_DIRECTORY = "data";
+    private static final String SPRINTS_FILE_NAME = "sprints.json";
+    private static final String TEAM_MEMBERS_FILE_NAME = "team_members.json";
+    private static final String HISTORY_FILE_NAME = "history.dat";
+    private static final int HISTORY_MAGIC = 0x53544831;
+    private static final int HISTORY_FORMAT_VERSION = 1;
+
+    private static final Logger LOG = Log.getLogger(DataStorage.class);
     
+    private static final MetricFamily<LatencyHistogram> DURATION = MetricsRegistry.getDefault()
+            .histogramFamily("sprinttracker_storage_duration_seconds", "Time to save or load the workspace files",
+                    "operation");
+    private static final MetricFamily<Counter> BYTES = MetricsRegistry.getDefault()
+            .counterFamily("sprinttracker_storage_bytes_total", "Bytes written or read by workspace saves and loads",
+                    "operation");
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     // Custom TypeAdapters for serializing/deserializing LocalDate
@@ -60,22 +92,55 @@ public class DataStorage {
             .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
             .create();
     
+    private final File dataDirectory;
+    private final File sprintsFile;
+    private final File teamMembersFile;
+    private final File historyFile;
+
+    // The history file on disk holds savedHistory up to savedHistoryMark and is savedHistoryBytes long
+    private TransitionHistory savedHistory;
+    private TransitionHistory.Mark savedHistoryMark;
+    private long savedHistoryBytes;
+    
     public DataStorage() {
+        this(new File(DEFAULT_DATA_DIRECTORY));
+    }
+    
+    /**
+     * @param dataDirectory The directory to keep the data files in; created if it doesn't exist
+     */
+    public DataStorage(File dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        this.sprintsFile = new File(dataDirectory, SPRINTS_FILE_NAME);
+        this.teamMembersFile = new File(dataDirectory, TEAM_MEMBERS_FILE_NAME);
+        this.historyFile = new File(dataDirectory, HISTORY_FILE_NAME);
+        
         // Create the data directory if it doesn't exist
-        File dir = new File(DATA_DIRECTORY);
-        if (!dir.exists()) {
-            dir.mkdirs();
+        if (!dataDirectory.exists()) {
+            dataDirectory.mkdirs();
         }
     }
     
     /**
      * Saves all sprint and team member data to files.
+     * Each file is written to a temporary file first and then renamed over the old one, so a save
+     * that is cut short never leaves a half-written file. Saves are serialized, so the last one to
+     * return has written the latest state. The transition history is appended to rather than
+     * rewritten, so each save only writes the transitions recorded since the last one.
      * @param sprintManager The sprint manager containing all data
      * @throws IOException If there was an error writing to files
      */
-    public void saveData(SprintManager sprintManager) throws IOException {
+    public synchronized void saveData(SprintManager sprintManager) throws IOException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         saveTeamMembers(sprintManager.getAllTeamMembers());
         saveSprints(sprintManager.getAllSprints(), sprintManager.getCurrentSprint());
+        saveHistory(sprintManager.getTransitionHistory());
+        DURATION.labels("save").recordNanos(System.nanoTime() - startNanos);
+        long bytes = dataFileBytes();
+        BYTES.labels("save").add(bytes);
+        commitStorageEvent(event, "save", sprintManager, bytes);
     }
     
     /**
@@ -84,6 +149,9 @@ public class DataStorage {
      * @throws IOException If there was an error reading from files
      */
     public SprintManager loadData() throws IOException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
         SprintManager sprintManager = new SprintManager();
         
         // First load team members so we can reference them when loading sprints
@@ -97,9 +165,55 @@ public class DataStorage {
         if (currentSprint != null) {
             sprintManager.setCurrentSprint(currentSprint);
         }
+        sprintManager.rebuildWorkload();
         
+        // Tasks saved before the history existed start their history now
+        loadHistory(sprintManager.getTransitionHistory());
+        sprintManager.getTransitionHistory().recordBaseline(System.currentTimeMillis());
+        
+        DURATION.labels("load").recordNanos(System.nanoTime() - startNanos);
+        long bytes = dataFileBytes();
+        BYTES.labels("load").add(bytes);
+        commitStorageEvent(event, "load", sprintManager, bytes);
         return sprintManager;
     }
+
+    /**
+     * Ends a storage event. The entity counts walk the whole model, so they are only taken when
+     * a recording is actually going to keep the event.
+     */
+    private static void commitStorageEvent(StorageEvent event, String operation, SprintManager sprintManager,
+                                           long bytes) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation;
+        event.bytes = bytes;
+        event.teamMembers = sprintManager.getAllTeamMembers().size();
+        event.sprints = sprintManager.getAllSprints().size();
+        for (Sprint sprint : sprintManager.getAllSprints()) {
+            event.userStories += sprint.getUserStories().size();
+            for (UserStory story : sprint.getUserStories()) {
+                event.tasks += story.getTasks().size();
+            }
+        }
+        event.commit();
+    }
+
+    /**
+     * @return The directory the data files are kept in
+     */
+    public File getDataDirectory() {
+        return dataDirectory;
+    }
+
+    /**
+     * @return The combined size of the data files; a missing file counts as zero
+     */
+    private long dataFileBytes() {
+        return teamMembersFile.length() + sprintsFile.length() + historyFile.length();
+    }
     
     /**
      * Saves team members to a JSON file.
@@ -109,18 +223,18 @@ public class DataStorage {
         
         for (TeamMember member : teamMembers) {
             JsonObject memberObj = new JsonObject();
-            memberObj.addProperty("id", member.getName());  // Using name as ID for simplicity
+            memberObj.addProperty("id", member.getId());
             memberObj.addProperty("name", member.getName());
             memberObj.addProperty("email", member.getEmail());
             memberObj.addProperty("githubUsername", member.getGithubUsername());
+            memberObj.addProperty("role", member.getRole());
+            memberObj.addProperty("version", member.getVersion());
             
             // We don't save tasks here, as they'll be saved with the sprints
             membersArray.add(memberObj);
         }
         
-        try (FileWriter writer = new FileWriter(TEAM_MEMBERS_FILE)) {
-            gson.toJson(membersArray, writer);
-        }
+        writeAtomically(teamMembersFile, membersArray);
     }
     
     /**
@@ -128,7 +242,7 @@ public class DataStorage {
      */
     private List<TeamMember> loadTeamMembers() throws IOException {
         List<TeamMember> teamMembers = new ArrayList<>();
-        File file = new File(TEAM_MEMBERS_FILE);
+        File file = teamMembersFile;
         
         if (!file.exists()) {
             return teamMembers;  // Return empty list if file doesn't exist
@@ -144,7 +258,30 @@ public class DataStorage {
                 String githubUsername = memberObj.has("githubUsername") ? 
                         memberObj.get("githubUsername").getAsString() : null;
                 
-                teamMembers.add(new TeamMember(name, email, githubUsername));
+                TeamMember member = new TeamMember(name, email, githubUsername);
+                // Files saved before roles were kept leave the default role
+                if (memberObj.has("role") && !memberObj.get("role").isJsonNull()) {
+                    member.setRole(memberObj.get("role").getAsString());
+                }
+                if (memberObj.has("version")) {
+                    member.setVersion(memberObj.get("version").getAsLong());
+                }
+                // Keep the ID stable across restarts; the transition history refers to members by ID.
+                // Older files saved the name here, which is still unique enough to serve as one.
+                // Assignments are saved by name and survive a new ID, but the transition history and the
+                // analytics built on it would lose track of the member, so fail the load instead.
+                if (memberObj.has("id")) {
+                    String id = memberObj.get("id").getAsString();
+                    try {
+                        java.lang.reflect.Field idField = TeamMember.class.getDeclaredField("id");
+                        idField.setAccessible(true);
+                        idField.set(member, id);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        LOG.error("Could not restore a team member's ID", "memberId", id, e);
+                        throw new IOException("Could not restore the ID of team member " + id, e);
+                    }
+                }
+                teamMembers.add(member);
             }
         }
         
@@ -171,6 +308,7 @@ public class DataStorage {
             sprintObj.addProperty("startDate", sprint.getStartDate().format(DATE_FORMATTER));
             sprintObj.addProperty("endDate", sprint.getEndDate().format(DATE_FORMATTER));
             sprintObj.addProperty("goal", sprint.getGoal());
+            sprintObj.addProperty("version", sprint.getVersion());
             
             // Save user stories
             JsonArray storiesArray = new JsonArray();
@@ -181,6 +319,7 @@ public class DataStorage {
                 storyObj.addProperty("description", story.getDescription());
                 storyObj.addProperty("priority", story.getPriority().name());
                 storyObj.addProperty("storyPoints", story.getStoryPoints());
+                storyObj.addProperty("version", story.getVersion());
                 
                 // Save tasks
                 JsonArray tasksArray = new JsonArray();
@@ -190,6 +329,7 @@ public class DataStorage {
                     taskObj.addProperty("title", task.getTitle());
                     taskObj.addProperty("description", task.getDescription());
                     taskObj.addProperty("status", task.getStatus().name());
+                    taskObj.addProperty("version", task.getVersion());
                     
                     if (task.getGithubIssueUrl() != null) {
                         taskObj.addProperty("githubIssueUrl", task.getGithubIssueUrl());
@@ -213,8 +353,108 @@ public class DataStorage {
         
         rootObj.add("sprints", sprintsArray);
         
-        try (FileWriter writer = new FileWriter(SPRINTS_FILE)) {
-            gson.toJson(rootObj, writer);
+        writeAtomically(sprintsFile, rootObj);
+    }
+    
+    /**
+     * Saves the transition history.
+     * The file is a header followed by length-prefixed segments. A save appends one segment with
+     * what was recorded since the previous save; the whole file is only rewritten, atomically, when
+     * this storage hasn't written or read the history before.
+     */
+    private void saveHistory(TransitionHistory history) throws IOException {
+        if (history == savedHistory && historyFile.length() == savedHistoryBytes) {
+            if (history.mark().equals(savedHistoryMark)) {
+                return;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            TransitionHistory.Mark mark = history.writeSegment(new DataOutputStream(buffer), savedHistoryMark);
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(historyFile, true))) {
+                out.writeInt(buffer.size());
+                buffer.writeTo(out);
+            }
+            savedHistoryMark = mark;
+            savedHistoryBytes += Integer.BYTES + buffer.size();
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        TransitionHistory.Mark mark = history.writeSegment(new DataOutputStream(buffer), TransitionHistory.Mark.EMPTY);
+        File tempFile = new File(historyFile.getParentFile(), historyFile.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(HISTORY_MAGIC);
+            out.writeInt(HISTORY_FORMAT_VERSION);
+            out.writeInt(buffer.size());
+            buffer.writeTo(out);
+        }
+        moveIntoPlace(tempFile, historyFile);
+        savedHistory = history;
+        savedHistoryMark = mark;
+        savedHistoryBytes = historyFile.length();
+    }
+
+    /**
+     * Loads the transition history into an empty history. A segment cut short by a crash during
+     * a save is dropped, and the next save rewrites the file without it. A damaged file loses
+     * history from the damage onwards but never the workspace itself.
+     */
+    private void loadHistory(TransitionHistory history) {
+        if (!historyFile.exists()) {
+            return;
+        }
+
+        boolean complete = true;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(historyFile)))) {
+            if (in.readInt() != HISTORY_MAGIC || in.readInt() != HISTORY_FORMAT_VERSION) {
+                throw new IOException("Unrecognized history file: " + historyFile);
+            }
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] segment = new byte[length];
+                try {
+                    in.readFully(segment);
+                } catch (EOFException e) {
+                    complete = false;
+                    break;
+                }
+                history.readSegment(new DataInputStream(new ByteArrayInputStream(segment)));
+            }
+        } catch (IOException e) {
+            LOG.error("Could not read the transition history; keeping what was read", "file", historyFile, e);
+            return;
+        }
+
+        if (complete) {
+            savedHistory = history;
+            savedHistoryMark = history.mark();
+            savedHistoryBytes = historyFile.length();
+        } else {
+            LOG.warn("Dropped an incomplete transition history segment", "file", historyFile);
+        }
+    }
+
+    /**
+     * Writes JSON to a temporary file next to the target, then moves it into place.
+     */
+    private void writeAtomically(File file, JsonElement json) throws IOException {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            gson.toJson(json, writer);
+        }
+        moveIntoPlace(tempFile, file);
+    }
+
+    private static void moveIntoPlace(File tempFile, File file) throws IOException {
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
     }
     
@@ -223,7 +463,7 @@ public class DataStorage {
      * @return The current sprint, or null if none was saved
      */
     private Sprint loadSprints(SprintManager sprintManager) throws IOException {
-        File file = new File(SPRINTS_FILE);
+        File file = sprintsFile;
         Sprint currentSprint = null;
         Map<String, TeamMember> teamMemberMap = new HashMap<>();
         
@@ -254,6 +494,9 @@ public class DataStorage {
                 String goal = sprintObj.has("goal") ? sprintObj.get("goal").getAsString() : "";
                 
                 Sprint sprint = new Sprint(name, startDate, endDate, goal);
+                if (sprintObj.has("version")) {
+                    sprint.setVersion(sprintObj.get("version").getAsLong());
+                }
                 // We need to manually set the ID to match the saved one
                 try {
                     java.lang.reflect.Field idField = Sprint.class.getDeclaredField("id");
@@ -291,6 +534,9 @@ public class DataStorage {
                     int storyPoints = storyObj.get("storyPoints").getAsInt();
                     
                     UserStory story = new UserStory(title, description, priority, storyPoints);
+                    if (storyObj.has("version")) {
+                        story.setVersion(storyObj.get("version").getAsLong());
+                    }
                     // Set the ID manually
                     try {
                         java.lang.reflect.Field idField = UserStory.class.getDeclaredField("id");
@@ -313,6 +559,9 @@ public class DataStorage {
                         
                         Task task = new Task(taskTitle, taskDescription);
                         task.setStatus(status);
+                        if (taskObj.has("version")) {
+                            task.setVersion(taskObj.get("version").getAsLong());
+                        }
                         
                         // Set GitHub issue URL if it exists
                         if (taskObj.has("githubIssueUrl")) {
@@ -673,6 +673,7 @@ public class UIManager {
         
         Task task = new Task(title, description);
         userStory.addTask(task);
+        userStory.refreshWorkload();
         
         System.out.println("\nTask added successfully!");
         
@@ -766,6 +767,7 @@ public class UIManager {
                 
                 if (confirmation.equalsIgnoreCase("y")) {
                     userStory.removeTask(selectedTask);
+                    userStory.refreshWorkload();
                     System.out.println("Task removed successfully!");
                 } else {
                     System.out.println("Removal cancelled.");
@@ -1445,6 +1447,7 @@ public class UIManager {
                 selectedStory.addTask(task);
                 tasksAdded++;
             }
+            selectedStory.refreshWorkload();
             
             System.out.println("\nAdded " + tasksAdded + " tasks to user story: " + selectedStory.getTitle());
             gitHub.close();
@@ -65,12 +65,40 @@ class ApiClient {
         }
     }
 
-    async put(url, data) {
+    // Pass the version the data was based on to reject the update if someone else changed it first
+    async put(url, data, version = null) {
         try {
+            const headers = {
+                'Content-Type': 'application/json'
+            };
+            if (version !== null) {
+                headers['If-Match'] = `"${version}"`;
+            }
             const response = await fetch(`${this.baseUrl}${url}`, {
                 method: 'PUT',
+                headers: headers,
+                body: JSON.stringify(data)
+            });
+            if (response.status === 412) {
+                throw new Error('This item was changed by someone else. Reload it and try again.');
+            }
+            if (!response.ok) {
+                throw new Error(`API Error: ${response.status} - ${response.statusText}`);
+            }
+            return await response.json();
+        } catch (error) {
+            console.error(`PUT Error for ${url}:`, error);
+            throw error;
+        }
+    }
+
+    // Sends only the fields to change (JSON merge patch)
+    async patch(url, data) {
+        try {
+            const response = await fetch(`${this.baseUrl}${url}`, {
+                method: 'PATCH',
                 headers: {
-                    'Content-Type': 'application/json'
+                    'Content-Type': 'application/merge-patch+json'
                 },
                 body: JSON.stringify(data)
             });
@@ -79,7 +107,7 @@ class ApiClient {
             }
             return await response.json();
         } catch (error) {
-            console.error(`PUT Error for ${url}:`, error);
+            console.error(`PATCH Error for ${url}:`, error);
             throw error;
         }
     }
@@ -112,8 +140,8 @@ class ApiClient {
         return this.post('/sprints', sprint);
     }
 
-    async updateSprint(id, sprint) {
-        return this.put(`/sprints/${id}`, sprint);
+    async updateSprint(id, sprint, version = null) {
+        return this.put(`/sprints/${id}`, sprint, version);
     }
 
     async deleteSprint(id) {
@@ -133,8 +161,8 @@ class ApiClient {
         return this.post(`/sprints/${sprintId}/stories`, story);
     }
 
-    async updateUserStory(sprintId, storyId, story) {
-        return this.put(`/sprints/${sprintId}/stories/${storyId}`, story);
+    async updateUserStory(sprintId, storyId, story, version = null) {
+        return this.put(`/sprints/${sprintId}/stories/${storyId}`, story, version);
     }
 
     async deleteUserStory(sprintId, storyId) {
@@ -154,8 +182,12 @@ class ApiClient {
         return this.post(`/sprints/${sprintId}/stories/${storyId}/tasks`, task);
     }
 
-    async updateTask(sprintId, storyId, taskId, task) {
-        return this.put(`/sprints/${sprintId}/stories/${storyId}/tasks/${taskId}`, task);
+    async updateTask(sprintId, storyId, taskId, task, version = null) {
+        return this.put(`/sprints/${sprintId}/stories/${storyId}/tasks/${taskId}`, task, version);
+    }
+
+    async patchTask(sprintId, storyId, taskId, changes) {
+        return this.patch(`/sprints/${sprintId}/stories/${storyId}/tasks/${taskId}`, changes);
     }
 
     async deleteTask(sprintId, storyId, taskId) {
@@ -167,6 +199,10 @@ class ApiClient {
         return this.get('/team-members');
     }
 
+    async getTeamWorkload() {
+        return this.get('/team-members/workload');
+    }
+
     async getTeamMember(id) {
         return this.get(`/team-members/${id}`);
     }
@@ -175,8 +211,8 @@ class ApiClient {
         return this.post('/team-members', teamMember);
     }
 
-    async updateTeamMember(id, teamMember) {
-        return this.put(`/team-members/${id}`, teamMember);
+    async updateTeamMember(id, teamMember, version = null) {
+        return this.put(`/team-members/${id}`, teamMember, version);
     }
 
     async deleteTeamMember(id) {
@@ -191,6 +227,11 @@ class ApiClient {
     async importGitHubIssues(owner, repo, sprintId, userStoryId) {
         return this.post(`/github/issues?owner=${owner}&repo=${repo}&sprintId=${sprintId}&userStoryId=${userStoryId}`);
     }
+
+    // Live change feed (Server-Sent Events)
+    openEventStream() {
+        return new EventSource(`${this.baseUrl}/events`);
+    }
 }
 
 // Create global API client instance
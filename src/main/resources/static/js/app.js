@@ -42,6 +42,9 @@ class App {
             // Start with sprints section
             this.showSprintsSection();
             
+            // Receive other users' changes as they happen instead of polling
+            this.initEventStream();
+            
             hideLoading();
         } catch (error) {
             hideLoading();
@@ -49,6 +52,64 @@ class App {
         }
     }
     
+    // Subscribe to the server's change feed and patch the current view from each event
+    initEventStream() {
+        if (!window.EventSource) return;
+        
+        this.eventSource = api.openEventStream();
+        
+        ['sprint.created', 'sprint.updated', 'sprint.deleted',
+         'story.created', 'story.updated', 'story.deleted'].forEach(name => {
+            this.eventSource.addEventListener(name, (e) => applySprintEvent(JSON.parse(e.data)));
+        });
+        
+        ['task.created', 'task.updated', 'task.status_changed', 'task.assigned', 'task.deleted'].forEach(name => {
+            this.eventSource.addEventListener(name, (e) => {
+                const event = JSON.parse(e.data);
+                applySprintEvent(event);
+                applyTaskEvent(event);
+            });
+        });
+        
+        ['member.created', 'member.updated', 'member.deleted'].forEach(name => {
+            this.eventSource.addEventListener(name, (e) => this.applyMemberEvent(JSON.parse(e.data)));
+        });
+        
+        // The server asks for a full reload after bulk imports or if we fell behind
+        ['resync', 'workspace.imported'].forEach(name => {
+            this.eventSource.addEventListener(name, () => this.refreshCurrentView());
+        });
+    }
+    
+    // Keep the cached team member list in sync
+    applyMemberEvent(event) {
+        const index = this.teamMembers.findIndex(m => m.id === event.memberId);
+        if (event.type === 'member.deleted') {
+            if (index >= 0) this.teamMembers.splice(index, 1);
+        } else if (index >= 0) {
+            this.teamMembers[index] = { ...this.teamMembers[index], ...event.member };
+        } else {
+            this.teamMembers.push(event.member);
+        }
+        
+        if (this.currentSection === 'team' && isViewVisible('team-members-view')) {
+            renderTeamMembers(this.teamMembers);
+        }
+    }
+    
+    // Reload whatever is on screen
+    refreshCurrentView() {
+        if (isViewVisible('story-details-view') && this.currentSprint && this.currentStory) {
+            this.showStoryDetails(this.currentSprint.id, this.currentStory.id);
+        } else if (isViewVisible('sprint-details-view') && this.currentSprint) {
+            this.showSprintDetails(this.currentSprint.id);
+        } else if (this.currentSection === 'team') {
+            this.showTeamSection();
+        } else if (this.currentSection === 'sprints') {
+            this.showSprintsSection();
+        }
+    }
+    
     // Show Sprints Section
     async showSprintsSection() {
         this.currentSection = 'sprints';
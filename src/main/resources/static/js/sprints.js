@@ -196,6 +196,7 @@ function openSprintModal(sprint = null) {
     
     // Store sprint ID if editing
     document.getElementById('sprint-modal').setAttribute('data-sprint-id', sprint ? sprint.id : '');
+    setEditVersion('sprint-modal', sprint);
     
     modal.show();
 }
@@ -229,7 +230,7 @@ async function saveSprint() {
         showLoading();
         
         if (isEditing) {
-            await api.updateSprint(sprintId, sprint);
+            await api.updateSprint(sprintId, sprint, getEditVersion('sprint-modal'));
         } else {
             await api.createSprint(sprint);
         }
@@ -311,4 +312,59 @@ async function deleteStoryFromSprint(sprintId, storyId) {
         hideLoading();
         handleApiError(error);
     }
-} 
\ No newline at end of file
+}
+
+// Apply a change event from the server to the cached sprints and re-render the visible view.
+// Task events are handled here too because they change story and sprint progress.
+function applySprintEvent(event) {
+    if (event.type === 'sprint.deleted') {
+        app.sprints = app.sprints.filter(s => s.id !== event.sprintId);
+        if (app.currentSprint && app.currentSprint.id === event.sprintId) {
+            app.currentSprint = null;
+            if (isViewVisible('sprint-details-view') || isViewVisible('story-details-view')) {
+                app.showSprintsSection();
+                return;
+            }
+        }
+    } else if (event.type === 'sprint.created') {
+        if (!app.sprints.some(s => s.id === event.sprintId)) {
+            app.sprints.push({ ...event.sprint, userStories: [] });
+        }
+    } else {
+        // Patch the list entry and the open sprint, which are separate objects
+        const listSprint = app.sprints.find(s => s.id === event.sprintId);
+        const openSprint = app.currentSprint && app.currentSprint.id === event.sprintId ? app.currentSprint : null;
+        [listSprint, openSprint].forEach(sprint => {
+            if (sprint) patchSprint(sprint, event);
+        });
+    }
+    
+    if (isViewVisible('sprints-view')) {
+        renderSprints(app.sprints);
+    } else if (isViewVisible('sprint-details-view') && app.currentSprint && app.currentSprint.id === event.sprintId) {
+        renderSprintDetails(app.currentSprint);
+    }
+}
+
+// Patch one cached sprint object from a sprint, story or task event
+function patchSprint(sprint, event) {
+    if (event.type === 'sprint.updated') {
+        Object.assign(sprint, event.sprint);
+        return;
+    }
+    
+    sprint.userStories = sprint.userStories || [];
+    const storyIndex = sprint.userStories.findIndex(s => s.id === event.storyId);
+    
+    if (event.type === 'story.created') {
+        if (storyIndex < 0) sprint.userStories.push({ ...event.story, tasks: [] });
+    } else if (event.type === 'story.updated') {
+        if (storyIndex >= 0) Object.assign(sprint.userStories[storyIndex], event.story);
+    } else if (event.type === 'story.deleted') {
+        if (storyIndex >= 0) sprint.userStories.splice(storyIndex, 1);
+    } else if (event.type.startsWith('task.') && storyIndex >= 0) {
+        const story = sprint.userStories[storyIndex];
+        story.tasks = story.tasks || [];
+        patchTaskList(story.tasks, event);
+    }
+}
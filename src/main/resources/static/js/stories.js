@@ -61,6 +61,7 @@ function openStoryModal(story = null) {
     
     // Store story ID if editing
     document.getElementById('story-modal').setAttribute('data-story-id', story ? story.id : '');
+    setEditVersion('story-modal', story);
     
     modal.show();
 }
@@ -97,7 +98,7 @@ async function saveUserStory() {
         showLoading();
         
         if (isEditing) {
-            await api.updateUserStory(app.currentSprint.id, storyId, story);
+            await api.updateUserStory(app.currentSprint.id, storyId, story, getEditVersion('story-modal'));
         } else {
             await api.createUserStory(app.currentSprint.id, story);
         }
@@ -41,6 +41,7 @@ function openTaskModal(task = null) {
     
     // Store task ID if editing
     document.getElementById('task-modal').setAttribute('data-task-id', task ? task.id : '');
+    setEditVersion('task-modal', task);
     
     modal.show();
 }
@@ -109,7 +110,7 @@ async function saveTask() {
         showLoading();
         
         if (isEditing) {
-            await api.updateTask(app.currentSprint.id, app.currentStory.id, taskId, task);
+            await api.updateTask(app.currentSprint.id, app.currentStory.id, taskId, task, getEditVersion('task-modal'));
         } else {
             const response = await api.createTask(app.currentSprint.id, app.currentStory.id, task);
             console.log('Task creation response:', response);
@@ -202,38 +203,11 @@ async function moveTask(taskId, newStatus) {
             throw new Error(`Task not found with ID: ${taskId}`);
         }
         
-        // Create task update with new status
-        const updatedTask = {
-            id: task.id,
-            title: task.title,
-            description: task.description || '',
-            status: newStatus,
-            assignedTeamMemberId: task.assignedTeamMemberId || null
-        };
-        
         console.log(`Moving task ${taskId} to ${newStatus}`);
         
-        // Debug the update
-        console.log('Sending updated task:', updatedTask);
-        
-        // Convert frontend status to backend format
-        // This ensures we send the correct format to the server
-        let backendStatus = newStatus;
-        if (newStatus === 'TODO') {
-            backendStatus = 'TO_DO';
-        }
-        
-        // Always use the backend format for the API call
-        const apiPayload = {
-            ...updatedTask,
-            status: backendStatus
-        };
-        
-        console.log('API payload with correct backend status format:', apiPayload);
-        
-        // Update task with backend format status
+        // Only the status changes, so send just that field as a merge patch
         try {
-            await api.updateTask(app.currentSprint.id, app.currentStory.id, taskId, apiPayload);
+            await api.patchTask(app.currentSprint.id, app.currentStory.id, taskId, { status: newStatus });
             console.log('Task status updated successfully');
         } catch (updateError) {
             console.error('Error updating task status:', updateError);
@@ -269,4 +243,34 @@ async function moveTask(taskId, newStatus) {
         hideLoading();
         handleApiError(error);
     }
-} 
\ No newline at end of file
+}
+
+// Apply a task change event from the server to the open story board
+function applyTaskEvent(event) {
+    if (!app.currentStory || app.currentStory.id !== event.storyId) return;
+    
+    // The open story may be shared with app.currentSprint, which applySprintEvent already patched
+    const inCurrentSprint = app.currentSprint && app.currentSprint.userStories &&
+        app.currentSprint.userStories.includes(app.currentStory);
+    if (!inCurrentSprint) {
+        app.currentStory.tasks = app.currentStory.tasks || [];
+        patchTaskList(app.currentStory.tasks, event);
+    }
+    
+    if (isViewVisible('story-details-view')) {
+        renderStoryDetails(app.currentStory, app.teamMembers);
+    }
+}
+
+// Insert, update or remove a task in a list from a task event
+function patchTaskList(tasks, event) {
+    const index = tasks.findIndex(t => t.id === event.taskId);
+    
+    if (event.type === 'task.deleted') {
+        if (index >= 0) tasks.splice(index, 1);
+    } else if (index >= 0) {
+        tasks[index] = { ...tasks[index], ...event.task };
+    } else {
+        tasks.push(event.task);
+    }
+}
@@ -38,6 +38,7 @@ function renderTeamMembers(teamMembers) {
                     <h5 class="card-title">${member.name}</h5>
                     <p class="card-text">${member.email}</p>
                     ${member.githubUsername ? `<p class="github-username"><i class="fab fa-github me-2"></i>${member.githubUsername}</p>` : ''}
+                    <div class="team-member-workload" data-member-id="${member.id}"></div>
                     <div class="team-member-actions">
                         <button class="btn btn-sm btn-outline-warning me-2 edit-team-member-btn" data-member-id="${member.id}">
                             <i class="fas fa-edit"></i>
@@ -61,6 +62,30 @@ function renderTeamMembers(teamMembers) {
         
         container.appendChild(card);
     });
+
+    renderTeamWorkload();
+}
+
+// Fill in each member card's workload; the whole team's comes from one request
+async function renderTeamWorkload() {
+    try {
+        const workload = await api.getTeamWorkload();
+        workload.forEach(load => {
+            const element = document.querySelector(`.team-member-workload[data-member-id="${load.memberId}"]`);
+            if (!element) {
+                return;
+            }
+            element.innerHTML = `
+                <span class="badge bg-secondary me-1" title="To do">${load.toDoTasks} to do</span>
+                <span class="badge bg-primary me-1" title="In progress">${load.inProgressTasks} in progress</span>
+                <span class="badge bg-success me-1" title="Done">${load.doneTasks} done</span>
+                <p class="open-points mb-0 mt-2">${load.openStoryPoints} open story points</p>
+            `;
+        });
+    } catch (error) {
+        // The cards are still useful without workload figures
+        console.error('Failed to load team workload', error);
+    }
 }
 
 // Open team member creation/edit modal
@@ -85,6 +110,7 @@ function openTeamMemberModal(member = null) {
     
     // Store member ID if editing
     document.getElementById('team-member-modal').setAttribute('data-member-id', member ? member.id : '');
+    setEditVersion('team-member-modal', member);
     
     modal.show();
 }
@@ -117,7 +143,7 @@ async function saveTeamMember() {
         showLoading();
         
         if (isEditing) {
-            await api.updateTeamMember(memberId, teamMember);
+            await api.updateTeamMember(memberId, teamMember, getEditVersion('team-member-modal'));
         } else {
             await api.createTeamMember(teamMember);
         }
@@ -63,6 +63,24 @@ function showView(viewId) {
     });
 }
 
+// Remember the version of the entity opened in an edit modal, so a save can't overwrite someone else's change
+function setEditVersion(modalId, entity) {
+    const version = entity && entity.version !== undefined ? entity.version : '';
+    document.getElementById(modalId).setAttribute('data-version', version);
+}
+
+// The version remembered by setEditVersion, or null if unknown
+function getEditVersion(modalId) {
+    const version = document.getElementById(modalId).getAttribute('data-version');
+    return version ? Number(version) : null;
+}
+
+// Check whether a view is currently shown
+function isViewVisible(viewId) {
+    const element = document.getElementById(viewId);
+    return element !== null && !element.classList.contains('d-none');
+}
+
 // Update navigation active state
 function updateNavActive(navId) {
     const navItems = [